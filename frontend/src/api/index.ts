@@ -12,6 +12,7 @@ import type {
   ClassroomGroupFeedMessageType,
   CreateAiConfigPayload,
   CreateStudyPlanPayload,
+  CursorPage,
   Dictionary,
   DictionaryWord,
   Exam,
@@ -33,10 +34,12 @@ import type {
   StudentAttentionDailyStat,
   StudentDashboard,
   StudentDashboardRecordPayload,
+  StudentDashboardRecordResult,
   StudentPointSummary,
   StudentPointTransaction,
   StudentStudyPlanSummary,
   StudentWordMemory,
+  StudentWordMemoryFilter,
   StudyPlan,
   StudyPlanOverview,
   StudyPlanStudentAttention,
@@ -473,7 +476,7 @@ export const studentApi = {
 
 export const studentDashboardApi = {
   get: () => fetchJson<StudentDashboard>(`${API_BASE}/students/me/dashboard`),
-  record: (payload: StudentDashboardRecordPayload) => fetchJson<StudentDashboard>(
+  record: (payload: StudentDashboardRecordPayload) => fetchJson<StudentDashboardRecordResult>(
     `${API_BASE}/students/me/dashboard/records`,
     {
       method: 'POST',
@@ -484,15 +487,34 @@ export const studentDashboardApi = {
 
 export const studentPointApi = {
   getSummary: () => fetchJson<StudentPointSummary>(`${API_BASE}/students/me/points`),
-  getTransactions: (page: number = 0, size: number = 20) => fetchJson<Page<StudentPointTransaction>>(
-    `${API_BASE}/students/me/points/transactions?page=${page}&size=${size}`,
+  getTransactions: (cursor: string | null = null, size: number = 20) => fetchJson<CursorPage<StudentPointTransaction>>(
+    `${API_BASE}/students/me/points/transactions?size=${size}${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''}`,
   ),
 };
 
+const wordMemoryQuery = (page: number, size: number, filter: StudentWordMemoryFilter) => {
+  const searchParams = new URLSearchParams({ page: String(page), size: String(size) });
+  Object.entries(filter).forEach(([key, value]) => {
+    if (value !== undefined && value !== null && value !== '') {
+      searchParams.set(key, String(value));
+    }
+  });
+  return searchParams.toString();
+};
+
 export const studentWordMemoryApi = {
-  list: () => fetchJson<StudentWordMemory[]>(`${API_BASE}/students/me/word-memory`),
-  listWrongWords: () => fetchJson<StudentWordMemory[]>(`${API_BASE}/students/me/wrong-words`),
-  listFavoriteWords: () => fetchJson<StudentWordMemory[]>(`${API_BASE}/students/me/favorite-words`),
+  list: (page: number = 0, size: number = 20, filter: StudentWordMemoryFilter = {}) => fetchJson<Page<StudentWordMemory>>(
+    `${API_BASE}/students/me/word-memory?${wordMemoryQuery(page, size, filter)}`,
+  ),
+  lookup: (metaWordIds: number[]) => fetchJson<StudentWordMemory[]>(
+    `${API_BASE}/students/me/word-memory/lookup?metaWordIds=${metaWordIds.join(',')}`,
+  ),
+  listWrongWords: (page: number = 0, size: number = 20, filter: StudentWordMemoryFilter = {}) => fetchJson<Page<StudentWordMemory>>(
+    `${API_BASE}/students/me/wrong-words?${wordMemoryQuery(page, size, filter)}`,
+  ),
+  listFavoriteWords: (page: number = 0, size: number = 20, filter: StudentWordMemoryFilter = {}) => fetchJson<Page<StudentWordMemory>>(
+    `${API_BASE}/students/me/favorite-words?${wordMemoryQuery(page, size, filter)}`,
+  ),
   updateFavorite: (metaWordId: number, favorite: boolean) => fetchJson<StudentWordMemory>(
     `${API_BASE}/students/me/word-memory/${metaWordId}/favorite`,
     {
@@ -6,6 +6,14 @@ import { SyllableReader } from './SyllableReader';
 
 type LibraryTab = 'dictionaries' | 'wrong' | 'favorites';
 
+type MemoryPageState = {
+  number: number;
+  last: boolean;
+  totalElements: number;
+};
+
+const MEMORY_PAGE_SIZE = 50;
+
 export function StudentLibrary({
   dictionaries,
   initialDictionaryId,
@@ -23,6 +31,8 @@ export function StudentLibrary({
   const [favoriteWords, setFavoriteWords] = useState<StudentWordMemory[]>([]);
   const [loading, setLoading] = useState(false);
   const [memoryLoading, setMemoryLoading] = useState(false);
+  const [memoryPage, setMemoryPage] = useState<MemoryPageState | null>(null);
+  const [memoryLoadingMore, setMemoryLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [memoryError, setMemoryError] = useState<string | null>(null);
   const [favoriteUpdatingId, setFavoriteUpdatingId] = useState<number | null>(null);
@@ -55,6 +65,11 @@ export function StudentLibrary({
         setWords(page.content);
         setSelectedWord(null);
         setSelectedMemory(null);
+        if (page.content.length > 0) {
+          const memories = await studentWordMemoryApi.lookup(page.content.map((word) => word.id)).catch(() => []);
+          if (!active) return;
+          setMemoryByWordId((current) => ({ ...current, ...toMemoryMap(memories) }));
+        }
       } catch (loadError) {
         if (active) setError(loadError instanceof Error ? loadError.message : '词书加载失败');
       } finally {
@@ -64,36 +79,24 @@ export function StudentLibrary({
     return () => { active = false; };
   }, [selectedDictionaryId]);
 
-  useEffect(() => {
-    let active = true;
-    void Promise.resolve().then(async () => {
-      try {
-        const memories = await studentWordMemoryApi.list();
-        if (!active) return;
-        setMemoryByWordId(toMemoryMap(memories));
-      } catch {
-        if (active) setMemoryByWordId({});
-      }
-    });
-    return () => { active = false; };
-  }, []);
-
   useEffect(() => {
     if (tab === 'dictionaries') return;
+    const memoryTab = tab;
     let active = true;
     void Promise.resolve().then(async () => {
       setMemoryLoading(true);
       setMemoryError(null);
+      setMemoryPage(null);
       try {
-        const memories = tab === 'wrong'
-          ? await studentWordMemoryApi.listWrongWords()
-          : await studentWordMemoryApi.listFavoriteWords();
+        const page = await loadMemoryPage(memoryTab, 0);
         if (!active) return;
-        if (tab === 'wrong') {
+        const memories = page.content;
+        if (memoryTab === 'wrong') {
           setWrongWords(memories);
         } else {
           setFavoriteWords(memories);
         }
+        setMemoryPage({ number: page.number, last: page.last, totalElements: page.totalElements });
         setMemoryByWordId((current) => ({ ...current, ...toMemoryMap(memories) }));
         setSelectedMemory(memories[0] ?? null);
       } catch (loadError) {
@@ -105,6 +108,30 @@ export function StudentLibrary({
     return () => { active = false; };
   }, [tab]);
 
+  const loadMoreMemories = async () => {
+    if (tab === 'dictionaries' || !memoryPage || memoryPage.last) return;
+    setMemoryLoadingMore(true);
+    setMemoryError(null);
+    try {
+      const page = await loadMemoryPage(tab, memoryPage.number + 1);
+      const append = (current: StudentWordMemory[]) => {
+        const loadedIds = new Set(current.map((memory) => memory.metaWordId));
+        return [...current, ...page.content.filter((memory) => !loadedIds.has(memory.metaWordId))];
+      };
+      if (tab === 'wrong') {
+        setWrongWords(append);
+      } else {
+        setFavoriteWords(append);
+      }
+      setMemoryPage({ number: page.number, last: page.last, totalElements: page.totalElements });
+      setMemoryByWordId((current) => ({ ...current, ...toMemoryMap(page.content) }));
+    } catch (loadError) {
+      setMemoryError(loadError instanceof Error ? loadError.message : '记忆列表加载失败');
+    } finally {
+      setMemoryLoadingMore(false);
+    }
+  };
+
   const updateFavoriteState = (updated: StudentWordMemory) => {
     setMemoryByWordId((current) => ({ ...current, [updated.metaWordId]: updated }));
     setWrongWords((current) => current.map((memory) => memory.metaWordId === updated.metaWordId ? updated : memory));
@@ -190,6 +217,10 @@ export function StudentLibrary({
           }}
           favoriteUpdatingId={favoriteUpdatingId}
           onToggleFavorite={toggleFavorite}
+          totalCount={memoryPage?.totalElements ?? null}
+          hasMore={Boolean(memoryPage && !memoryPage.last)}
+          loadingMore={memoryLoadingMore}
+          onLoadMore={() => void loadMoreMemories()}
         />
       )}
     </>
@@ -205,6 +236,10 @@ function MemoryList({
   favoriteUpdatingId,
   onSelect,
   onToggleFavorite,
+  totalCount,
+  hasMore,
+  loadingMore,
+  onLoadMore,
 }: {
   title: string;
   empty: string;
@@ -214,6 +249,10 @@ function MemoryList({
   favoriteUpdatingId: number | null;
   onSelect: (memory: StudentWordMemory) => void;
   onToggleFavorite: (metaWordId: number, favorite: boolean) => Promise<void>;
+  totalCount: number | null;
+  hasMore: boolean;
+  loadingMore: boolean;
+  onLoadMore: () => void;
 }) {
   if (loading) {
     return <section className="library-empty"><BookOpen size={32} /><h2>正在加载</h2><p>正在整理你的复习词。</p></section>;
@@ -227,7 +266,7 @@ function MemoryList({
 
   return (
     <section className="memory-list">
-      <div className="section-header"><div><p className="eyebrow">Review</p><h2>{title}</h2></div><span className="subtle-count">{memories.length} 词</span></div>
+      <div className="section-header"><div><p className="eyebrow">Review</p><h2>{title}</h2></div><span className="subtle-count">{totalCount ?? memories.length} 词</span></div>
       <div className="word-chip-list memory-chip-list">
         {memories.map((memory) => (
           <button
@@ -239,6 +278,11 @@ function MemoryList({
             {memory.word}
           </button>
         ))}
+        {hasMore && (
+          <button type="button" onClick={onLoadMore} disabled={loadingMore}>
+            {loadingMore ? '加载中...' : '加载更多'}
+          </button>
+        )}
       </div>
       {renderWordDetail(
         memoryToWord(detail),
@@ -385,6 +429,12 @@ function renderWordDetail(
   );
 }
 
+function loadMemoryPage(tab: Exclude<LibraryTab, 'dictionaries'>, page: number) {
+  return tab === 'wrong'
+    ? studentWordMemoryApi.listWrongWords(page, MEMORY_PAGE_SIZE)
+    : studentWordMemoryApi.listFavoriteWords(page, MEMORY_PAGE_SIZE);
+}
+
 function toMemoryMap(memories: StudentWordMemory[]) {
   return memories.reduce<Record<number, StudentWordMemory>>((accumulator, memory) => {
     accumulator[memory.metaWordId] = memory;
@@ -11,7 +11,7 @@ import {
 } from '@phosphor-icons/react';
 import { studentPointApi } from '../api';
 import type {
-  Page,
+  CursorPage,
   PointSourceType,
   PointTransactionType,
   StudentPointSummary,
@@ -70,7 +70,7 @@ function transactionDescription(transaction: StudentPointTransaction) {
 export function StudentPoints() {
   const [summary, setSummary] = useState<StudentPointSummary | null>(null);
   const [transactions, setTransactions] = useState<StudentPointTransaction[]>([]);
-  const [transactionPage, setTransactionPage] = useState<Page<StudentPointTransaction> | null>(null);
+  const [transactionPage, setTransactionPage] = useState<CursorPage<StudentPointTransaction> | null>(null);
   const [loading, setLoading] = useState(true);
   const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
@@ -88,7 +88,7 @@ export function StudentPoints() {
       try {
         const [nextSummary, nextTransactions] = await Promise.all([
           studentPointApi.getSummary(),
-          studentPointApi.getTransactions(0, PAGE_SIZE),
+          studentPointApi.getTransactions(null, PAGE_SIZE),
         ]);
         if (!cancelled) {
           setSummary(nextSummary);
@@ -121,7 +121,7 @@ export function StudentPoints() {
     setLoadingMore(true);
     setLoadMoreError(null);
     try {
-      const nextPage = await studentPointApi.getTransactions(transactionPage.number + 1, PAGE_SIZE);
+      const nextPage = await studentPointApi.getTransactions(transactionPage.nextCursor, PAGE_SIZE);
       setTransactionPage(nextPage);
       setTransactions((current) => mergePointTransactions(current, nextPage.content));
     } catch (loadError) {
@@ -180,7 +180,7 @@ export function StudentPoints() {
       <section className="points-history" aria-labelledby="points-history-title">
         <div className="section-header">
           <div><p className="eyebrow">History</p><h2 id="points-history-title">积分明细</h2></div>
-          <span className="subtle-count">共 {transactionPage.totalElements} 条</span>
+          <span className="subtle-count">已加载 {transactions.length} 条</span>
         </div>
 
         {transactions.length === 0 ? (
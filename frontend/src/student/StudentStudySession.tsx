@@ -8,7 +8,7 @@ import type {
   StudyRecordResult,
 } from '../types';
 import { SyllableReader } from './SyllableReader';
-import { taskTypeLabel } from './student-workspace-state';
+import { applyDashboardRecord, taskTypeLabel } from './student-workspace-state';
 import {
   clearPendingStudySubmission,
   preparePendingStudySubmission,
@@ -104,12 +104,12 @@ export function StudentStudySession({ dashboard, onDashboardChange, onBackHome }
     pendingSubmissionRef.current = pending;
 
     try {
-      const nextDashboard = await studentDashboardApi.record(pending.payload);
+      const recorded = await studentDashboardApi.record(pending.payload);
       pendingSubmissionRef.current = clearPendingStudySubmission(
         pendingSubmissionRef.current,
         persistence,
       );
-      onDashboardChange(nextDashboard);
+      onDashboardChange(applyDashboardRecord(dashboard, recorded));
     } catch (recordError) {
       setNotice(null);
       setError(recordError instanceof Error ? recordError.message : '学习记录保存失败');
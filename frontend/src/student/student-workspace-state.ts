@@ -1,7 +1,18 @@
-import type { StudyTaskType } from '../types';
+import type {
+  StudentDashboard,
+  StudentDashboardRecordResult,
+  StudentDashboardTaskItem,
+  StudyTaskType,
+} from '../types';
 
 export type PronunciationAccent = 'US' | 'UK';
 
+const TASK_PRIORITY: Record<StudyTaskType, number> = {
+  OVERDUE_REVIEW: 0,
+  TODAY_REVIEW: 1,
+  NEW_LEARN: 2,
+};
+
 interface DashboardStateInput {
   hasPlans: boolean;
   allTasksCompleted: boolean;
@@ -31,3 +42,48 @@ export function taskTypeLabel(taskType: StudyTaskType): string {
 export function nextAccent(accent: PronunciationAccent): PronunciationAccent {
   return accent === 'US' ? 'UK' : 'US';
 }
+
+export function applyDashboardRecord(
+  dashboard: StudentDashboard,
+  result: StudentDashboardRecordResult,
+): StudentDashboard {
+  const recorded = dashboard.queue.find((item) => item.studentStudyPlanId === result.studentStudyPlanId
+    && item.studyDayTaskItemId === result.studyDayTaskItemId);
+  if (!recorded) {
+    return dashboard;
+  }
+
+  const remaining = dashboard.queue.filter((item) => item !== recorded);
+  const queue = result.completed
+    ? remaining
+    : [...remaining, { ...recorded, attemptCount: result.attemptCount }].sort(compareDashboardItems);
+  const completedCount = dashboard.completedCount + (result.completed ? 1 : 0);
+  const unfinishedCount = dashboard.totalCount - completedCount;
+  return {
+    ...dashboard,
+    completedCount,
+    completionRate: dashboard.totalCount === 0
+      ? 0
+      : Math.round((completedCount * 10000) / dashboard.totalCount) / 100,
+    allTasksCompleted: dashboard.totalCount > 0 && queue.length === 0,
+    reminders: dashboard.reminders
+      .map((reminder) => reminder.code === 'UNFINISHED_TODAY_TASK' ? { ...reminder, count: unfinishedCount } : reminder)
+      .filter((reminder) => reminder.count > 0),
+    queue,
+  };
+}
+
+function compareDashboardItems(left: StudentDashboardTaskItem, right: StudentDashboardTaskItem): number {
+  return Number(left.attemptCount > 0) - Number(right.attemptCount > 0)
+    || TASK_PRIORITY[left.taskType] - TASK_PRIORITY[right.taskType]
+    || compareNullableText(left.dueDate, right.dueDate)
+    || compareNullableText(left.planPublishedAt, right.planPublishedAt)
+    || left.studyDayTaskItemId - right.studyDayTaskItemId;
+}
+
+function compareNullableText(left?: string | null, right?: string | null): number {
+  if (left == null || right == null) {
+    return Number(left == null) - Number(right == null);
+  }
+  return left < right ? -1 : left > right ? 1 : 0;
+}
@@ -310,6 +310,12 @@ export interface DictionaryWord {
   createdAt?: string;
 }
 
+export interface CursorPage<T> {
+  content: T[];
+  nextCursor: string | null;
+  last: boolean;
+}
+
 export interface Page<T> {
   content: T[];
   totalElements: number;
@@ -435,6 +441,14 @@ export interface StudentWordMemory {
   lastStudiedAt?: string | null;
 }
 
+export interface StudentWordMemoryFilter {
+  dueOnOrBefore?: string;
+  minBoxLevel?: number;
+  maxBoxLevel?: number;
+  minMastery?: number;
+  maxMastery?: number;
+}
+
 export interface CreateStudyPlanPayload {
   name: string;
   description?: string;
@@ -643,6 +657,14 @@ export interface StudentDashboardRecordPayload extends RecordStudyPayload {
   studentStudyPlanId: number;
 }
 
+export interface StudentDashboardRecordResult {
+  studentStudyPlanId: number;
+  studyDayTaskItemId: number;
+  metaWordId: number;
+  attemptCount: number;
+  completed: boolean;
+}
+
 export type PointAccountStatus = 'ACTIVE' | 'FROZEN' | 'CLOSED';
 
 export type PointTransactionType = 'EARN' | 'DEDUCT' | 'FREEZE' | 'UNFREEZE' | 'SPEND' | 'REVERSE';
@@ -2,6 +2,7 @@ import assert from 'node:assert/strict';
 import test from 'node:test';
 
 import {
+  applyDashboardRecord,
   dashboardEmptyState,
   nextAccent,
   taskTypeLabel,
@@ -23,3 +24,77 @@ test('toggles pronunciation accent', () => {
   assert.equal(nextAccent('US'), 'UK');
   assert.equal(nextAccent('UK'), 'US');
 });
+
+function dashboardItem(studyDayTaskItemId, taskType, dueDate, attemptCount = 0) {
+  return {
+    studentStudyPlanId: 200,
+    studyDayTaskItemId,
+    studyPlanId: 50,
+    planName: '晨读计划',
+    metaWordId: studyDayTaskItemId,
+    taskType,
+    phase: 0,
+    dueDate,
+    attemptCount,
+  };
+}
+
+function dashboard(queue) {
+  return {
+    taskDate: '2026-06-22',
+    hasPlans: true,
+    allTasksCompleted: false,
+    overdueCount: 1,
+    reviewCount: 1,
+    newCount: 0,
+    completedCount: 0,
+    totalCount: 2,
+    completionRate: 0,
+    reminders: [
+      { code: 'UNFINISHED_TODAY_TASK', message: '今日学习任务尚未完成', count: 2 },
+      { code: 'OVERDUE_REVIEW', message: '存在逾期复习', count: 1 },
+    ],
+    queue,
+  };
+}
+
+test('moves an attempted dashboard item behind untouched items', () => {
+  const current = dashboard([
+    dashboardItem(401, 'OVERDUE_REVIEW', '2026-06-20'),
+    dashboardItem(402, 'TODAY_REVIEW', '2026-06-22'),
+  ]);
+
+  const next = applyDashboardRecord(current, {
+    studentStudyPlanId: 200,
+    studyDayTaskItemId: 401,
+    metaWordId: 401,
+    attemptCount: 1,
+    completed: false,
+  });
+
+  assert.deepEqual(next.queue.map((item) => item.studyDayTaskItemId), [402, 401]);
+  assert.equal(next.queue[1].attemptCount, 1);
+  assert.equal(next.completedCount, 0);
+});
+
+test('removes a completed dashboard item and refreshes progress', () => {
+  const current = dashboard([
+    dashboardItem(401, 'OVERDUE_REVIEW', '2026-06-20'),
+    dashboardItem(402, 'TODAY_REVIEW', '2026-06-22'),
+  ]);
+  const recorded = {
+    studentStudyPlanId: 200,
+    studyDayTaskItemId: 401,
+    metaWordId: 401,
+    attemptCount: 1,
+    completed: true,
+  };
+
+  const next = applyDashboardRecord(current, recorded);
+
+  assert.deepEqual(next.queue.map((item) => item.studyDayTaskItemId), [402]);
+  assert.equal(next.completedCount, 1);
+  assert.equal(next.completionRate, 50);
+  assert.equal(next.reminders[0].count, 1);
+  assert.equal(applyDashboardRecord(next, recorded), next);
+});
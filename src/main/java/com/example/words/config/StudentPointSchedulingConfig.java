@@ -1,7 +1,9 @@
 package com.example.words.config;
 
+import com.example.words.service.StudentPointRetryScheduler;
 import java.time.Clock;
 import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -21,9 +23,27 @@ public class StudentPointSchedulingConfig {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(1);
         executor.setMaxPoolSize(1);
-        executor.setQueueCapacity(100);
+        // A queued drain also relays rows committed after it was queued, so nudges beyond it are dropped.
+        executor.setQueueCapacity(1);
         executor.setThreadNamePrefix("student-point-event-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "studentPointRetryTaskExecutor")
+    public ThreadPoolTaskExecutor studentPointRetryTaskExecutor(
+            @Value("${student-points.retry.threads:4}") int threads
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(threads, 1));
+        executor.setMaxPoolSize(Math.max(threads, 1));
+        executor.setQueueCapacity(StudentPointRetryScheduler.BATCH_SIZE);
+        executor.setThreadNamePrefix("student-point-retry-");
+        // Claimed events must be posted; a full queue slows the claiming thread instead of dropping work.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(30);
         executor.initialize();
@@ -0,0 +1,25 @@
+package com.example.words.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class StudentWordMemoryProjectionConfig {
+
+    @Bean(name = "studentWordMemoryTaskExecutor")
+    public ThreadPoolTaskExecutor studentWordMemoryTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        // The projection cursor makes one pending drain enough for any number of nudges; the rest are discarded.
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("student-word-memory-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -5,6 +5,8 @@ import com.example.words.dto.StudentPointAdjustmentRequestDto;
 import com.example.words.dto.StudentPointAdminReasonRequest;
 import com.example.words.dto.StudentPointEventAttemptResponse;
 import com.example.words.dto.StudentPointEventResponse;
+import com.example.words.dto.StudentPointHistoryPage;
+import com.example.words.dto.StudentPointReconciliationStatusResponse;
 import com.example.words.dto.StudentPointRuleCreateRequest;
 import com.example.words.dto.StudentPointRuleAuditResponse;
 import com.example.words.dto.StudentPointRuleResponse;
@@ -15,6 +17,7 @@ import com.example.words.service.CurrentUserService;
 import com.example.words.service.StudentPointAdjustmentService;
 import com.example.words.service.StudentPointAdminQueryService;
 import com.example.words.service.StudentPointAdminService;
+import com.example.words.service.StudentPointReconciliationService;
 import com.example.words.service.StudentPointRuleService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -43,6 +46,7 @@ public class AdminStudentPointController {
     private final StudentPointAdjustmentService adjustmentService;
     private final StudentPointAdminService adminService;
     private final StudentPointRuleService ruleService;
+    private final StudentPointReconciliationService reconciliationService;
 
     @GetMapping("/accounts")
     public ResponseEntity<Page<AdminStudentPointAccountResponse>> getAccounts(
@@ -53,20 +57,20 @@ public class AdminStudentPointController {
     }
 
     @GetMapping("/transactions")
-    public ResponseEntity<Page<StudentPointTransactionResponse>> getTransactions(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<StudentPointHistoryPage<StudentPointTransactionResponse>> getTransactions(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size
     ) {
-        return ResponseEntity.ok(queryService.getTransactions(page, size));
+        return ResponseEntity.ok(queryService.getTransactions(cursor, size));
     }
 
     @GetMapping("/events")
-    public ResponseEntity<Page<StudentPointEventResponse>> getEvents(
+    public ResponseEntity<StudentPointHistoryPage<StudentPointEventResponse>> getEvents(
             @RequestParam(required = false) PointEventStatus status,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size
     ) {
-        return ResponseEntity.ok(queryService.getEvents(status, page, size));
+        return ResponseEntity.ok(queryService.getEvents(status, cursor, size));
     }
 
     @GetMapping("/events/{eventId}/attempts")
@@ -74,6 +78,11 @@ public class AdminStudentPointController {
         return ResponseEntity.ok(queryService.getAttempts(eventId));
     }
 
+    @GetMapping("/reconciliation")
+    public ResponseEntity<List<StudentPointReconciliationStatusResponse>> getReconciliationStatus() {
+        return ResponseEntity.ok(reconciliationService.getStatus());
+    }
+
     @PostMapping("/events/{eventId}/retry")
     public ResponseEntity<StudentPointEventResponse> retry(
             @PathVariable Long eventId,
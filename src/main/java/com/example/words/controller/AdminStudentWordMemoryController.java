@@ -0,0 +1,29 @@
+package com.example.words.controller;
+
+import com.example.words.dto.StudentWordMemoryRebuildResponse;
+import com.example.words.service.StudentWordMemoryProjector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/word-memory")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminStudentWordMemoryController {
+
+    private final StudentWordMemoryProjector projector;
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<StudentWordMemoryRebuildResponse> rebuild(
+            @RequestParam(required = false) Long studentId
+    ) {
+        return ResponseEntity.ok(studentId == null
+                ? projector.rebuildAll()
+                : projector.rebuildStudent(studentId));
+    }
+}
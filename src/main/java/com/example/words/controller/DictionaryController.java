@@ -12,8 +12,10 @@ import com.example.words.service.ClassroomDictionaryAssignmentService;
 import com.example.words.service.CurrentUserService;
 import com.example.words.service.DictionaryAssignmentService;
 import com.example.words.service.DictionaryService;
+import com.example.words.service.ResourceVersionService;
 import java.util.List;
 import java.util.Map;
+import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
@@ -37,6 +40,7 @@ public class DictionaryController {
     private final ClassroomDictionaryAssignmentService classroomDictionaryAssignmentService;
     private final AccessControlService accessControlService;
     private final BooksImportJobService booksImportJobService;
+    private final ResourceVersionService resourceVersionService;
 
     public DictionaryController(
             DictionaryService dictionaryService,
@@ -44,13 +48,15 @@ public class DictionaryController {
             DictionaryAssignmentService dictionaryAssignmentService,
             ClassroomDictionaryAssignmentService classroomDictionaryAssignmentService,
             AccessControlService accessControlService,
-            BooksImportJobService booksImportJobService) {
+            BooksImportJobService booksImportJobService,
+            ResourceVersionService resourceVersionService) {
         this.dictionaryService = dictionaryService;
         this.currentUserService = currentUserService;
         this.dictionaryAssignmentService = dictionaryAssignmentService;
         this.classroomDictionaryAssignmentService = classroomDictionaryAssignmentService;
         this.accessControlService = accessControlService;
         this.booksImportJobService = booksImportJobService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping
@@ -58,11 +64,36 @@ public class DictionaryController {
         return dictionaryService.findVisibleDictionariesForClassrooms(classroomIds, currentUserService.getCurrentUser());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<Page<Dictionary>> listPage(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String keyword) {
+        return ResponseEntity.ok(dictionaryService.findVisibleDictionariesPage(
+                currentUserService.getCurrentUser(),
+                page,
+                size,
+                category,
+                keyword
+        ));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Dictionary> get(@PathVariable Long id) {
-        return dictionaryService.findByIdVisibleToUser(id, currentUserService.getCurrentUser())
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Dictionary> get(@PathVariable Long id, WebRequest request) {
+        ResourceVersionService.VersionStamp stamp = resourceVersionService.currentStamp(
+                ResourceVersionService.DICTIONARIES,
+                ResourceVersionService.dictionaryKey(id)
+        );
+        Dictionary dictionary = dictionaryService.findByIdVisibleToUser(id, currentUserService.getCurrentUser())
+                .orElse(null);
+        if (dictionary == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (stamp.checkNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(dictionary);
     }
 
     @GetMapping("/category/{category}")
@@ -110,9 +141,7 @@ public class DictionaryController {
         Dictionary dictionary = dictionaryService.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Dictionary not found: " + id));
 
-        for (Long studentId : request.getStudentIds()) {
-            accessControlService.ensureCanAssignDictionaryToStudent(actor, dictionary, studentId);
-        }
+        accessControlService.ensureCanAssignDictionaryToStudents(actor, dictionary, request.getStudentIds());
 
         int assignedCount = dictionaryAssignmentService.assignDictionaryToStudents(dictionary, actor, request.getStudentIds());
         return ResponseEntity.ok(Map.of(
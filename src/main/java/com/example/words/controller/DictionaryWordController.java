@@ -17,6 +17,7 @@ import com.example.words.service.AccessControlService;
 import com.example.words.service.CurrentUserService;
 import com.example.words.service.DictionaryService;
 import com.example.words.service.DictionaryWordService;
+import com.example.words.service.ResourceVersionService;
 import com.example.words.service.AiGenerationService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -31,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -47,33 +49,45 @@ public class DictionaryWordController {
     private final CurrentUserService currentUserService;
     private final AccessControlService accessControlService;
     private final AiGenerationService aiGenerationService;
+    private final ResourceVersionService resourceVersionService;
 
     public DictionaryWordController(DictionaryWordService dictionaryWordService,
                                   CsvImportService csvImportService,
                                   DictionaryService dictionaryService,
                                   CurrentUserService currentUserService,
                                   AccessControlService accessControlService,
-                                  AiGenerationService aiGenerationService) {
+                                  AiGenerationService aiGenerationService,
+                                  ResourceVersionService resourceVersionService) {
         this.dictionaryWordService = dictionaryWordService;
         this.csvImportService = csvImportService;
         this.dictionaryService = dictionaryService;
         this.currentUserService = currentUserService;
         this.accessControlService = accessControlService;
         this.aiGenerationService = aiGenerationService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping("/dictionary/{dictionaryId}/words")
     public Page<MetaWord> getWordsByDictionary(
             @PathVariable Long dictionaryId,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        ResourceVersionService.VersionStamp stamp = dictionaryContentStamp(dictionaryId);
         ensureCanViewDictionary(dictionaryId);
+        if (stamp.checkNotModified(request)) {
+            return null;
+        }
         return dictionaryWordService.findMetaWordsByDictionaryId(dictionaryId, page, size);
     }
 
     @GetMapping("/dictionary/{dictionaryId}")
-    public List<DictionaryWord> getByDictionary(@PathVariable Long dictionaryId) {
+    public List<DictionaryWord> getByDictionary(@PathVariable Long dictionaryId, WebRequest request) {
+        ResourceVersionService.VersionStamp stamp = dictionaryContentStamp(dictionaryId);
         ensureCanViewDictionary(dictionaryId);
+        if (stamp.checkNotModified(request)) {
+            return null;
+        }
         return dictionaryWordService.findByDictionaryId(dictionaryId);
     }
 
@@ -84,8 +98,13 @@ public class DictionaryWordController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String keyword,
             @RequestParam(defaultValue = "entryOrder") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest request) {
+        ResourceVersionService.VersionStamp stamp = dictionaryContentStamp(dictionaryId);
         ensureCanViewDictionary(dictionaryId);
+        if (stamp.checkNotModified(request)) {
+            return null;
+        }
         return dictionaryWordService.findEntriesByDictionaryId(dictionaryId, page, size, keyword, sortBy, sortDir);
     }
 
@@ -268,6 +287,14 @@ public class DictionaryWordController {
         return ResponseEntity.noContent().build();
     }
 
+    private ResourceVersionService.VersionStamp dictionaryContentStamp(Long dictionaryId) {
+        return resourceVersionService.currentStamp(
+                ResourceVersionService.DICTIONARIES,
+                ResourceVersionService.META_WORDS,
+                ResourceVersionService.dictionaryKey(dictionaryId)
+        );
+    }
+
     private void ensureCanViewDictionary(Long dictionaryId) {
         AppUser actor = currentUserService.getCurrentUser();
         Dictionary dictionary = findDictionary(dictionaryId);
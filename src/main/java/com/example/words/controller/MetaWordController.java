@@ -1,13 +1,17 @@
 package com.example.words.controller;
 
+import com.example.words.model.AppUser;
 import com.example.words.model.MetaWord;
 import com.example.words.dto.BooksImportJobResponse;
+import com.example.words.service.AuthorizationContextService;
 import com.example.words.service.CurrentUserService;
 import com.example.words.service.MetaWordService;
+import com.example.words.service.ResourceVersionService;
 import com.example.words.service.BooksImportJobService;
 import com.example.words.dto.MetaWordDetailResponse;
 import com.example.words.dto.MetaWordSearchRequest;
 import com.example.words.dto.MetaWordEntryDtoV2;
+import java.util.Arrays;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.Page;
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/meta-words")
@@ -27,14 +32,20 @@ public class MetaWordController {
     private final MetaWordService metaWordService;
     private final BooksImportJobService booksImportJobService;
     private final CurrentUserService currentUserService;
+    private final ResourceVersionService resourceVersionService;
+    private final AuthorizationContextService authorizationContextService;
 
     public MetaWordController(
             MetaWordService metaWordService,
             BooksImportJobService booksImportJobService,
-            CurrentUserService currentUserService) {
+            CurrentUserService currentUserService,
+            ResourceVersionService resourceVersionService,
+            AuthorizationContextService authorizationContextService) {
         this.metaWordService = metaWordService;
         this.booksImportJobService = booksImportJobService;
         this.currentUserService = currentUserService;
+        this.resourceVersionService = resourceVersionService;
+        this.authorizationContextService = authorizationContextService;
     }
 
     @GetMapping
@@ -48,14 +59,20 @@ public class MetaWordController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MetaWord> get(@PathVariable Long id) {
+    public ResponseEntity<MetaWord> get(@PathVariable Long id, WebRequest request) {
+        if (resourceVersionService.currentStamp(ResourceVersionService.META_WORDS).checkNotModified(request)) {
+            return null;
+        }
         return metaWordService.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}/detail")
-    public ResponseEntity<MetaWordDetailResponse> getDetail(@PathVariable Long id) {
+    public ResponseEntity<MetaWordDetailResponse> getDetail(@PathVariable Long id, WebRequest request) {
+        if (detailStamp().checkNotModified(request)) {
+            return null;
+        }
         return metaWordService.findDetailById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -117,4 +134,17 @@ public class MetaWordController {
     public ResponseEntity<BooksImportJobResponse> importFromBooks() {
         return ResponseEntity.accepted().body(booksImportJobService.createAndStart(currentUserService.getCurrentUser().getId()));
     }
+
+    private ResourceVersionService.VersionStamp detailStamp() {
+        AppUser actor = currentUserService.getCurrentUser();
+        ResourceVersionService.VersionStamp stamp = resourceVersionService.currentStamp(
+                ResourceVersionService.META_WORDS,
+                ResourceVersionService.DICTIONARIES
+        );
+        Long[] assignedDictionaryIds = authorizationContextService.getContext(actor).assignedDictionaryIds()
+                .stream()
+                .sorted()
+                .toArray(Long[]::new);
+        return stamp.scopedTo(actor.getId() + "-" + Integer.toHexString(Arrays.hashCode(assignedDictionaryIds)));
+    }
 }
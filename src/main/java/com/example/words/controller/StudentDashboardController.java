@@ -1,6 +1,7 @@
 package com.example.words.controller;
 
 import com.example.words.dto.StudentDashboardRecordRequest;
+import com.example.words.dto.StudentDashboardRecordResponse;
 import com.example.words.dto.StudentDashboardResponse;
 import com.example.words.service.CurrentUserService;
 import com.example.words.service.StudentDashboardService;
@@ -34,7 +35,7 @@ public class StudentDashboardController {
     }
 
     @PostMapping("/records")
-    public ResponseEntity<StudentDashboardResponse> record(
+    public ResponseEntity<StudentDashboardRecordResponse> record(
             @Valid @RequestBody StudentDashboardRecordRequest request) {
         return ResponseEntity.ok(dashboardService.record(request, currentUserService.getCurrentUser()));
     }
@@ -1,11 +1,11 @@
 package com.example.words.controller;
 
+import com.example.words.dto.StudentPointHistoryPage;
 import com.example.words.dto.StudentPointSummaryResponse;
 import com.example.words.dto.StudentPointTransactionResponse;
 import com.example.words.service.CurrentUserService;
 import com.example.words.service.StudentPointQueryService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,11 +28,11 @@ public class StudentPointController {
     }
 
     @GetMapping("/transactions")
-    public ResponseEntity<Page<StudentPointTransactionResponse>> getTransactions(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<StudentPointHistoryPage<StudentPointTransactionResponse>> getTransactions(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size
     ) {
         return ResponseEntity.ok(queryService.getTransactions(
-                currentUserService.getCurrentUser().getId(), page, size));
+                currentUserService.getCurrentUser().getId(), cursor, size));
     }
 }
@@ -1,5 +1,7 @@
 package com.example.words.controller;
 
+import com.example.words.dto.RecordStudyBatchRequest;
+import com.example.words.dto.RecordStudyBatchResponse;
 import com.example.words.dto.RecordStudyRequest;
 import com.example.words.dto.StudentAttentionDailyStatResponse;
 import com.example.words.dto.StudentStudyPlanSummaryResponse;
@@ -49,6 +51,14 @@ public class StudentStudyPlanController {
         return ResponseEntity.ok(studyPlanService.recordStudy(id, request, currentUserService.getCurrentUser()));
     }
 
+    @PostMapping("/{id}/records/batch")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<RecordStudyBatchResponse> recordStudyBatch(
+            @PathVariable Long id,
+            @Valid @RequestBody RecordStudyBatchRequest request) {
+        return ResponseEntity.ok(studyPlanService.recordStudyBatch(id, request, currentUserService.getCurrentUser()));
+    }
+
     @GetMapping("/{id}/attention")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<List<StudentAttentionDailyStatResponse>> getAttention(@PathVariable Long id) {
@@ -5,7 +5,11 @@ import com.example.words.dto.UpdateFavoriteRequest;
 import com.example.words.service.CurrentUserService;
 import com.example.words.service.StudentWordMemoryService;
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +17,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -31,18 +36,59 @@ public class StudentWordMemoryController {
     }
 
     @GetMapping("/word-memory")
-    public ResponseEntity<List<StudentWordMemoryResponse>> listMemories() {
-        return ResponseEntity.ok(memoryService.listMemories(currentUserService.getCurrentUser()));
+    public ResponseEntity<Page<StudentWordMemoryResponse>> listMemories(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueOnOrBefore,
+            @RequestParam(required = false) Integer minBoxLevel,
+            @RequestParam(required = false) Integer maxBoxLevel,
+            @RequestParam(required = false) BigDecimal minMastery,
+            @RequestParam(required = false) BigDecimal maxMastery) {
+        return ResponseEntity.ok(memoryService.listMemories(
+                currentUserService.getCurrentUser(),
+                new StudentWordMemoryService.ListingFilter(dueOnOrBefore, minBoxLevel, maxBoxLevel, minMastery, maxMastery),
+                page,
+                size
+        ));
+    }
+
+    @GetMapping("/word-memory/lookup")
+    public ResponseEntity<List<StudentWordMemoryResponse>> lookupMemories(@RequestParam List<Long> metaWordIds) {
+        return ResponseEntity.ok(memoryService.findMemories(currentUserService.getCurrentUser(), metaWordIds));
     }
 
     @GetMapping("/wrong-words")
-    public ResponseEntity<List<StudentWordMemoryResponse>> listWrongWords() {
-        return ResponseEntity.ok(memoryService.listWrongWords(currentUserService.getCurrentUser()));
+    public ResponseEntity<Page<StudentWordMemoryResponse>> listWrongWords(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueOnOrBefore,
+            @RequestParam(required = false) Integer minBoxLevel,
+            @RequestParam(required = false) Integer maxBoxLevel,
+            @RequestParam(required = false) BigDecimal minMastery,
+            @RequestParam(required = false) BigDecimal maxMastery) {
+        return ResponseEntity.ok(memoryService.listWrongWords(
+                currentUserService.getCurrentUser(),
+                new StudentWordMemoryService.ListingFilter(dueOnOrBefore, minBoxLevel, maxBoxLevel, minMastery, maxMastery),
+                page,
+                size
+        ));
     }
 
     @GetMapping("/favorite-words")
-    public ResponseEntity<List<StudentWordMemoryResponse>> listFavoriteWords() {
-        return ResponseEntity.ok(memoryService.listFavoriteWords(currentUserService.getCurrentUser()));
+    public ResponseEntity<Page<StudentWordMemoryResponse>> listFavoriteWords(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueOnOrBefore,
+            @RequestParam(required = false) Integer minBoxLevel,
+            @RequestParam(required = false) Integer maxBoxLevel,
+            @RequestParam(required = false) BigDecimal minMastery,
+            @RequestParam(required = false) BigDecimal maxMastery) {
+        return ResponseEntity.ok(memoryService.listFavoriteWords(
+                currentUserService.getCurrentUser(),
+                new StudentWordMemoryService.ListingFilter(dueOnOrBefore, minBoxLevel, maxBoxLevel, minMastery, maxMastery),
+                page,
+                size
+        ));
     }
 
     @PatchMapping("/word-memory/{metaWordId}/favorite")
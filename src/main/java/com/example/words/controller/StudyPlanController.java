@@ -2,14 +2,20 @@ package com.example.words.controller;
 
 import com.example.words.dto.AppendStudyPlanStudentsRequest;
 import com.example.words.dto.CreateStudyPlanRequest;
+import com.example.words.dto.StudyPlanHistoryReportResponse;
 import com.example.words.dto.StudyPlanOverviewResponse;
+import com.example.words.dto.StudyPlanPublishJobResponse;
 import com.example.words.dto.StudyPlanResponse;
 import com.example.words.dto.StudyPlanStudentAttentionResponse;
 import com.example.words.dto.StudyPlanStudentSummaryResponse;
 import com.example.words.service.CurrentUserService;
+import com.example.words.service.StudyPlanPublishJobService;
 import com.example.words.service.StudyPlanService;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +23,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,10 +31,15 @@ import org.springframework.web.bind.annotation.RestController;
 public class StudyPlanController {
 
     private final StudyPlanService studyPlanService;
+    private final StudyPlanPublishJobService studyPlanPublishJobService;
     private final CurrentUserService currentUserService;
 
-    public StudyPlanController(StudyPlanService studyPlanService, CurrentUserService currentUserService) {
+    public StudyPlanController(
+            StudyPlanService studyPlanService,
+            StudyPlanPublishJobService studyPlanPublishJobService,
+            CurrentUserService currentUserService) {
         this.studyPlanService = studyPlanService;
+        this.studyPlanPublishJobService = studyPlanPublishJobService;
         this.currentUserService = currentUserService;
     }
 
@@ -55,6 +67,21 @@ public class StudyPlanController {
         return ResponseEntity.ok(studyPlanService.publishStudyPlan(id, currentUserService.getCurrentUser()));
     }
 
+    @PostMapping("/{id}/publish-jobs")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public ResponseEntity<StudyPlanPublishJobResponse> startPublishJob(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean pregenerateTasks) {
+        return ResponseEntity.accepted().body(
+                studyPlanPublishJobService.startPublish(id, pregenerateTasks, currentUserService.getCurrentUser()));
+    }
+
+    @GetMapping("/{id}/publish-jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public ResponseEntity<StudyPlanPublishJobResponse> getPublishJob(@PathVariable Long id, @PathVariable Long jobId) {
+        return ResponseEntity.ok(studyPlanPublishJobService.getJob(id, jobId, currentUserService.getCurrentUser()));
+    }
+
     @PostMapping("/{id}/students")
     @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
     public ResponseEntity<StudyPlanResponse> appendStudents(
@@ -69,12 +96,32 @@ public class StudyPlanController {
         return ResponseEntity.ok(studyPlanService.getOverview(id, currentUserService.getCurrentUser()));
     }
 
+    @GetMapping("/{id}/history")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public ResponseEntity<StudyPlanHistoryReportResponse> getHistoryReport(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long classroomId) {
+        return ResponseEntity.ok(studyPlanService.getHistoryReport(
+                id, from, to, classroomId, currentUserService.getCurrentUser()));
+    }
+
     @GetMapping("/{id}/students")
     @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
     public ResponseEntity<List<StudyPlanStudentSummaryResponse>> listPlanStudents(@PathVariable Long id) {
         return ResponseEntity.ok(studyPlanService.listPlanStudents(id, currentUserService.getCurrentUser()));
     }
 
+    @GetMapping("/{id}/students/page")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public ResponseEntity<Page<StudyPlanStudentSummaryResponse>> listPlanStudentsPage(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(studyPlanService.listPlanStudentsPage(id, page, size, currentUserService.getCurrentUser()));
+    }
+
     @GetMapping("/{id}/students/{studentId}/attention")
     @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
     public ResponseEntity<StudyPlanStudentAttentionResponse> getStudentAttention(
@@ -11,6 +11,7 @@ import com.example.words.model.TagType;
 import com.example.words.service.AccessControlService;
 import com.example.words.service.CurrentUserService;
 import com.example.words.service.DictionaryService;
+import com.example.words.service.ResourceVersionService;
 import com.example.words.service.TagService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -25,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
@@ -34,23 +36,34 @@ public class TagController {
     private final DictionaryService dictionaryService;
     private final CurrentUserService currentUserService;
     private final AccessControlService accessControlService;
+    private final ResourceVersionService resourceVersionService;
 
     public TagController(
             TagService tagService,
             DictionaryService dictionaryService,
             CurrentUserService currentUserService,
-            AccessControlService accessControlService) {
+            AccessControlService accessControlService,
+            ResourceVersionService resourceVersionService) {
         this.tagService = tagService;
         this.dictionaryService = dictionaryService;
         this.currentUserService = currentUserService;
         this.accessControlService = accessControlService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping("/dictionaries/{dictionaryId}/tags/tree")
     public List<TagTreeNodeResponse> getTagTree(
             @PathVariable Long dictionaryId,
-            @RequestParam(defaultValue = "CHAPTER") TagType type) {
+            @RequestParam(defaultValue = "CHAPTER") TagType type,
+            WebRequest request) {
+        ResourceVersionService.VersionStamp stamp = resourceVersionService.currentStamp(
+                ResourceVersionService.DICTIONARIES,
+                ResourceVersionService.dictionaryKey(dictionaryId)
+        );
         ensureCanViewDictionary(dictionaryId);
+        if (stamp.checkNotModified(request)) {
+            return null;
+        }
         return tagService.getTagTree(dictionaryId, type);
     }
 
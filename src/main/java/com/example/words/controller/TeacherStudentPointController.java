@@ -1,11 +1,15 @@
 package com.example.words.controller;
 
 import com.example.words.dto.StudentPointAdjustmentRequestDto;
+import com.example.words.dto.StudentPointHistoryPage;
+import com.example.words.dto.StudentPointLeaderboardResponse;
 import com.example.words.dto.StudentPointSummaryResponse;
 import com.example.words.dto.StudentPointTransactionResponse;
 import com.example.words.dto.TeacherStudentPointResponse;
+import com.example.words.model.PointLeaderboardPeriod;
 import com.example.words.service.CurrentUserService;
 import com.example.words.service.StudentPointAdjustmentService;
+import com.example.words.service.StudentPointLeaderboardService;
 import com.example.words.service.StudentPointQueryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +33,7 @@ public class TeacherStudentPointController {
     private final CurrentUserService currentUserService;
     private final StudentPointQueryService queryService;
     private final StudentPointAdjustmentService adjustmentService;
+    private final StudentPointLeaderboardService leaderboardService;
 
     @GetMapping("/students")
     public ResponseEntity<Page<TeacherStudentPointResponse>> getStudents(
@@ -47,13 +52,13 @@ public class TeacherStudentPointController {
     }
 
     @GetMapping("/students/{studentId}/transactions")
-    public ResponseEntity<Page<StudentPointTransactionResponse>> getTransactions(
+    public ResponseEntity<StudentPointHistoryPage<StudentPointTransactionResponse>> getTransactions(
             @PathVariable Long studentId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size
     ) {
         return ResponseEntity.ok(queryService.getManagedStudentTransactions(
-                currentUserService.getCurrentUser().getId(), studentId, page, size));
+                currentUserService.getCurrentUser().getId(), studentId, cursor, size));
     }
 
     @PostMapping("/students/{studentId}/adjustments")
@@ -69,4 +74,15 @@ public class TeacherStudentPointController {
                 )
         ));
     }
+
+    @GetMapping("/classrooms/{classroomId}/leaderboard")
+    public ResponseEntity<StudentPointLeaderboardResponse> getLeaderboard(
+            @PathVariable Long classroomId,
+            @RequestParam(defaultValue = "TODAY") PointLeaderboardPeriod period,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Long studentId
+    ) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(
+                classroomId, period, limit, studentId, currentUserService.getCurrentUser()));
+    }
 }
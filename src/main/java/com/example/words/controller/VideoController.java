@@ -6,6 +6,8 @@ import com.example.words.dto.VideoResponse;
 import com.example.words.model.ResourceScopeType;
 import com.example.words.model.VideoCloudPublishStatus;
 import com.example.words.model.VideoStatus;
+import com.example.words.service.CurrentUserService;
+import com.example.words.service.ResourceVersionService;
 import com.example.words.service.VideoAssetService;
 import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
@@ -18,6 +20,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestController
@@ -26,9 +29,16 @@ import org.springframework.web.multipart.MultipartFile;
 public class VideoController {
 
     private final VideoAssetService videoAssetService;
+    private final ResourceVersionService resourceVersionService;
+    private final CurrentUserService currentUserService;
 
-    public VideoController(VideoAssetService videoAssetService) {
+    public VideoController(
+            VideoAssetService videoAssetService,
+            ResourceVersionService resourceVersionService,
+            CurrentUserService currentUserService) {
         this.videoAssetService = videoAssetService;
+        this.resourceVersionService = resourceVersionService;
+        this.currentUserService = currentUserService;
     }
 
     @GetMapping("/page")
@@ -50,7 +60,14 @@ public class VideoController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<VideoResponse> get(@PathVariable Long id) {
+    public ResponseEntity<VideoResponse> get(@PathVariable Long id, WebRequest request) {
+        ResourceVersionService.VersionStamp stamp = resourceVersionService
+                .currentStamp(ResourceVersionService.VIDEOS, ResourceVersionService.videoKey(id))
+                .scopedTo(currentUserService.getCurrentUser().getId());
+        videoAssetService.ensureCanViewVideo(id);
+        if (stamp.checkNotModified(request)) {
+            return null;
+        }
         return ResponseEntity.ok(videoAssetService.getVideoResponse(id));
     }
 
@@ -0,0 +1,35 @@
+package com.example.words.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordStudyBatchItemResponse {
+
+    private String requestKey;
+    private Status status;
+    private Long studyRecordId;
+    private String errorCode;
+    private String message;
+
+    public static RecordStudyBatchItemResponse recorded(String requestKey, Long studyRecordId) {
+        return new RecordStudyBatchItemResponse(requestKey, Status.RECORDED, studyRecordId, null, null);
+    }
+
+    public static RecordStudyBatchItemResponse replayed(String requestKey, Long studyRecordId) {
+        return new RecordStudyBatchItemResponse(requestKey, Status.REPLAYED, studyRecordId, null, null);
+    }
+
+    public static RecordStudyBatchItemResponse rejected(String requestKey, String errorCode, String message) {
+        return new RecordStudyBatchItemResponse(requestKey, Status.REJECTED, null, errorCode, message);
+    }
+
+    public enum Status {
+        RECORDED,
+        REPLAYED,
+        REJECTED
+    }
+}
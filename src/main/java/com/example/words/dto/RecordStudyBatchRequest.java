@@ -0,0 +1,20 @@
+package com.example.words.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordStudyBatchRequest {
+
+    @Valid
+    @NotEmpty(message = "records cannot be empty")
+    @Size(max = 200, message = "records must not exceed 200 items")
+    private List<RecordStudyRequest> records;
+}
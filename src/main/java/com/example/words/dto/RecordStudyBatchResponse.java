@@ -0,0 +1,15 @@
+package com.example.words.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordStudyBatchResponse {
+
+    private List<RecordStudyBatchItemResponse> results;
+    private StudyTaskResponse task;
+}
@@ -0,0 +1,17 @@
+package com.example.words.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDashboardRecordResponse {
+
+    private Long studentStudyPlanId;
+    private Long studyDayTaskItemId;
+    private Long metaWordId;
+    private Integer attemptCount;
+    private Boolean completed;
+}
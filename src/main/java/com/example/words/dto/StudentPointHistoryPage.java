@@ -0,0 +1,30 @@
+package com.example.words.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paged history. Pass {@code nextCursor} back to read the following page; it is null on the
+ * last page.
+ */
+public record StudentPointHistoryPage<T>(
+        List<T> content,
+        String nextCursor,
+        boolean last
+) {
+
+    /**
+     * Builds a page from rows fetched with {@code size + 1} as the limit, so the extra row tells whether more remain.
+     */
+    public static <T> StudentPointHistoryPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new StudentPointHistoryPage<>(rows, null, true);
+        }
+        List<T> content = rows.subList(0, size);
+        return new StudentPointHistoryPage<>(content, cursorOf.apply(content.get(size - 1)), false);
+    }
+
+    public <R> StudentPointHistoryPage<R> map(Function<T, R> mapper) {
+        return new StudentPointHistoryPage<>(content.stream().map(mapper).toList(), nextCursor, last);
+    }
+}
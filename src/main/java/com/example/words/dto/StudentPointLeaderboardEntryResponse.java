@@ -0,0 +1,9 @@
+package com.example.words.dto;
+
+public record StudentPointLeaderboardEntryResponse(
+        Integer rank,
+        Long studentId,
+        String studentName,
+        Long points
+) {
+}
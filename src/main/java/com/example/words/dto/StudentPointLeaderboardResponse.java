@@ -0,0 +1,13 @@
+package com.example.words.dto;
+
+import com.example.words.model.PointLeaderboardPeriod;
+import java.util.List;
+
+public record StudentPointLeaderboardResponse(
+        Long classroomId,
+        PointLeaderboardPeriod period,
+        Integer participantCount,
+        List<StudentPointLeaderboardEntryResponse> entries,
+        StudentPointLeaderboardEntryResponse student
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.words.dto;
+
+import com.example.words.model.PointSourceType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentPointReconciliationStatusResponse {
+
+    private PointSourceType sourceType;
+    private Long lastCheckedId;
+    private Long latestSourceId;
+    private Long pendingIdLag;
+    private Long lagSeconds;
+    private LocalDateTime lastRunAt;
+    private Integer lastPublishedCount;
+}
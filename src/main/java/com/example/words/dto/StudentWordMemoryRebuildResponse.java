@@ -0,0 +1,7 @@
+package com.example.words.dto;
+
+public record StudentWordMemoryRebuildResponse(
+        int studentCount,
+        int memoryCount
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.words.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudyPlanHistoryDayResponse {
+
+    private LocalDate taskDate;
+    private Integer taskCount;
+    private Integer notStartedCount;
+    private Integer inProgressCount;
+    private Integer completedCount;
+    private Integer missedCount;
+    private BigDecimal averageCompletionRate;
+    private BigDecimal averageAttentionScore;
+    private Long totalFocusSeconds;
+    private Integer wordsLearned;
+    private boolean finalized;
+}
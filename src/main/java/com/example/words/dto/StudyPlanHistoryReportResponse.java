@@ -0,0 +1,22 @@
+package com.example.words.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudyPlanHistoryReportResponse {
+
+    private Long studyPlanId;
+    private String studyPlanName;
+    private Long classroomId;
+    private LocalDate from;
+    private LocalDate to;
+    private Long missedDays;
+    private Long wordsLearned;
+    private List<StudyPlanHistoryDayResponse> days;
+}
@@ -0,0 +1,24 @@
+package com.example.words.dto;
+
+import com.example.words.model.StudyPlanPublishJobStatus;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StudyPlanPublishJobResponse {
+
+    private Long jobId;
+    private Long studyPlanId;
+    private StudyPlanPublishJobStatus status;
+    private Boolean pregenerateTasks;
+    private Integer totalStudents;
+    private Integer enrolledStudents;
+    private String errorMessage;
+    private Long requestedByUserId;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.example.words.model;
+
+public enum PointLeaderboardPeriod {
+    TODAY,
+    WEEK,
+    LIFETIME
+}
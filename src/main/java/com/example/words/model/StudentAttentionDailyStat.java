@@ -62,6 +62,21 @@ public class StudentAttentionDailyStat {
     @Column(name = "attention_score", nullable = false, precision = 5, scale = 2)
     private BigDecimal attentionScore = BigDecimal.ZERO;
 
+    @Column(name = "record_count", nullable = false)
+    private Integer recordCount = 0;
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    private Integer totalDurationSeconds = 0;
+
+    @Column(name = "total_idle_seconds", nullable = false)
+    private Integer totalIdleSeconds = 0;
+
+    @Column(name = "total_interaction_count", nullable = false)
+    private Integer totalInteractionCount = 0;
+
+    @Column(name = "focus_histogram", columnDefinition = "TEXT")
+    private String focusHistogram;
+
     @CreatedDate
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,44 @@
+package com.example.words.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(
+        name = "student_point_daily_earnings",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_student_point_daily_earnings_student_date",
+                columnNames = {"student_id", "earned_date"}
+        )
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentPointDailyEarning {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "earned_date", nullable = false)
+    private LocalDate earnedDate;
+
+    @Column(name = "earned_points", nullable = false)
+    private Long earnedPoints = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,53 @@
+package com.example.words.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+@Entity
+@Table(name = "student_point_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class StudentPointOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "source_key", nullable = false, length = 200)
+    private String sourceKey;
+
+    @Column(name = "rule_code", nullable = false, length = 64)
+    private String ruleCode;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static StudentPointOutboxEntry create(Long studentId, Long sourceId, String sourceKey, String ruleCode) {
+        StudentPointOutboxEntry entry = new StudentPointOutboxEntry();
+        entry.setStudentId(studentId);
+        entry.setSourceId(sourceId);
+        entry.setSourceKey(sourceKey);
+        entry.setRuleCode(ruleCode);
+        return entry;
+    }
+}
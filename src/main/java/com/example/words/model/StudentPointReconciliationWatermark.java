@@ -0,0 +1,43 @@
+package com.example.words.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "student_point_reconciliation_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentPointReconciliationWatermark {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", length = 32)
+    private PointSourceType sourceType;
+
+    @Column(name = "last_checked_id", nullable = false)
+    private Long lastCheckedId = 0L;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+
+    @Column(name = "last_published_count", nullable = false)
+    private Integer lastPublishedCount = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static StudentPointReconciliationWatermark start(PointSourceType sourceType) {
+        StudentPointReconciliationWatermark watermark = new StudentPointReconciliationWatermark();
+        watermark.setSourceType(sourceType);
+        return watermark;
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -36,6 +37,9 @@ public class StudentStudyPlan {
     @Column(name = "student_id", nullable = false)
     private Long studentId;
 
+    @Column(name = "classroom_id")
+    private Long classroomId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private StudentStudyPlanStatus status = StudentStudyPlanStatus.ACTIVE;
@@ -64,6 +68,31 @@ public class StudentStudyPlan {
     @Column(name = "attention_score", nullable = false, precision = 5, scale = 2)
     private BigDecimal attentionScore = BigDecimal.ZERO;
 
+    @Column(name = "stat_day_count", nullable = false)
+    private Integer statDayCount = 0;
+
+    @Column(name = "daily_avg_focus_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal dailyAvgFocusTotal = BigDecimal.ZERO;
+
+    @Column(name = "daily_attention_total", nullable = false, precision = 12, scale = 2)
+    private BigDecimal dailyAttentionTotal = BigDecimal.ZERO;
+
+    @Column(name = "new_word_cursor_sort_key")
+    private String newWordCursorSortKey;
+
+    @Column(name = "new_word_cursor_entry_order")
+    private Integer newWordCursorEntryOrder;
+
+    @Column(name = "new_word_cursor_word_id")
+    private Long newWordCursorWordId;
+
+    @Column(name = "new_word_cursor_version", length = 64)
+    private String newWordCursorVersion;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
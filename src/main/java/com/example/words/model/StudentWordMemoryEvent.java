@@ -57,6 +57,9 @@ public class StudentWordMemoryEvent {
     @Column(name = "box_level_after", nullable = false)
     private Integer boxLevelAfter;
 
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+
     @CreatedDate
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,40 @@
+package com.example.words.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "student_word_memory_projection_cursors")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentWordMemoryProjectionCursor {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", length = 32)
+    private StudentWordMemorySourceType sourceType;
+
+    @Column(name = "last_source_id", nullable = false)
+    private Long lastSourceId = 0L;
+
+    @Column(name = "last_projected_at")
+    private LocalDateTime lastProjectedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static StudentWordMemoryProjectionCursor start(StudentWordMemorySourceType sourceType) {
+        StudentWordMemoryProjectionCursor cursor = new StudentWordMemoryProjectionCursor();
+        cursor.setSourceType(sourceType);
+        return cursor;
+    }
+}
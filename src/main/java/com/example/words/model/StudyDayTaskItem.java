@@ -41,6 +41,9 @@ public class StudyDayTaskItem {
     @Column(name = "task_order", nullable = false)
     private Integer taskOrder;
 
+    @Column(name = "attempt_count", nullable = false)
+    private Integer attemptCount = 0;
+
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
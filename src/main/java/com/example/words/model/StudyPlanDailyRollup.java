@@ -0,0 +1,73 @@
+package com.example.words.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "study_plan_daily_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudyPlanDailyRollup {
+
+    public static final long PLAN_SCOPE = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "study_plan_id", nullable = false)
+    private Long studyPlanId;
+
+    @Column(name = "classroom_id", nullable = false)
+    private Long classroomId = PLAN_SCOPE;
+
+    @Column(name = "task_date", nullable = false)
+    private LocalDate taskDate;
+
+    @Column(name = "task_count", nullable = false)
+    private Integer taskCount = 0;
+
+    @Column(name = "not_started_count", nullable = false)
+    private Integer notStartedCount = 0;
+
+    @Column(name = "in_progress_count", nullable = false)
+    private Integer inProgressCount = 0;
+
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount = 0;
+
+    @Column(name = "missed_count", nullable = false)
+    private Integer missedCount = 0;
+
+    @Column(name = "completion_rate_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal completionRateTotal = BigDecimal.ZERO;
+
+    @Column(name = "attention_score_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal attentionScoreTotal = BigDecimal.ZERO;
+
+    @Column(name = "total_focus_seconds", nullable = false)
+    private Long totalFocusSeconds = 0L;
+
+    @Column(name = "words_learned", nullable = false)
+    private Integer wordsLearned = 0;
+
+    @Column(name = "finalized", nullable = false)
+    private boolean finalized;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,9 @@
+package com.example.words.model;
+
+public enum StudyPlanPublishJobStatus {
+    PENDING,
+    ENROLLING,
+    PREGENERATING,
+    SUCCEEDED,
+    FAILED
+}
@@ -5,6 +5,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -19,4 +22,17 @@ public interface DictionaryAssignmentRepository extends JpaRepository<Dictionary
     Optional<DictionaryAssignment> findByDictionaryIdAndStudentId(Long dictionaryId, Long studentId);
 
     boolean existsByDictionaryIdAndStudentId(Long dictionaryId, Long studentId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO dictionary_assignments (dictionary_id, student_id, assigned_by_user_id)
+            SELECT :dictionaryId, student.id, :assignedByUserId
+            FROM users student
+            WHERE student.id IN (:studentIds)
+            ON CONFLICT (dictionary_id, student_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissing(
+            @Param("dictionaryId") Long dictionaryId,
+            @Param("studentIds") Collection<Long> studentIds,
+            @Param("assignedByUserId") Long assignedByUserId);
 }
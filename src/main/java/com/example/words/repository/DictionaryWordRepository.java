@@ -1,6 +1,7 @@
 package com.example.words.repository;
 
 import com.example.words.model.DictionaryWord;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -25,6 +26,27 @@ public interface DictionaryWordRepository extends JpaRepository<DictionaryWord,
             """)
     List<DictionaryWord> findByDictionaryIdOrderByDisplayOrder(@Param("dictionaryId") Long dictionaryId);
 
+    @Query("""
+            SELECT dw.id AS id,
+                   dw.metaWordId AS metaWordId,
+                   COALESCE(t.sortKey, '') AS sortKey,
+                   dw.entryOrder AS entryOrder
+            FROM DictionaryWord dw
+            LEFT JOIN Tag t ON dw.chapterTagId = t.id
+            WHERE dw.dictionaryId = :dictionaryId
+              AND (COALESCE(t.sortKey, '') > :sortKey
+                   OR (COALESCE(t.sortKey, '') = :sortKey
+                       AND (dw.entryOrder > :entryOrder
+                            OR (dw.entryOrder = :entryOrder AND dw.id > :id))))
+            ORDER BY COALESCE(t.sortKey, ''), dw.entryOrder, dw.id
+            """)
+    List<DisplayPosition> findDisplayPositionsAfter(
+            @Param("dictionaryId") Long dictionaryId,
+            @Param("sortKey") String sortKey,
+            @Param("entryOrder") Integer entryOrder,
+            @Param("id") Long id,
+            Pageable pageable);
+
     @Query("""
             SELECT dw
             FROM DictionaryWord dw
@@ -118,6 +140,11 @@ public interface DictionaryWordRepository extends JpaRepository<DictionaryWord,
 
     boolean existsByDictionaryIdAndMetaWordId(Long dictionaryId, Long metaWordId);
 
+    boolean existsByDictionaryIdInAndMetaWordId(Collection<Long> dictionaryIds, Long metaWordId);
+
+    @Query("SELECT DISTINCT dw.metaWordId FROM DictionaryWord dw WHERE dw.dictionaryId IN :dictionaryIds")
+    List<Long> findDistinctMetaWordIdsByDictionaryIdIn(@Param("dictionaryIds") Collection<Long> dictionaryIds);
+
     long countByDictionaryId(Long dictionaryId);
 
     long countByChapterTagId(Long chapterTagId);
@@ -133,4 +160,15 @@ public interface DictionaryWordRepository extends JpaRepository<DictionaryWord,
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("DELETE FROM DictionaryWord dw WHERE dw.dictionaryId = :dictionaryId")
     int deleteByDictionaryId(@Param("dictionaryId") Long dictionaryId);
+
+    interface DisplayPosition {
+
+        Long getId();
+
+        Long getMetaWordId();
+
+        String getSortKey();
+
+        Integer getEntryOrder();
+    }
 }
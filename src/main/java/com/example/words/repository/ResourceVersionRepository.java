@@ -0,0 +1,22 @@
+package com.example.words.repository;
+
+import com.example.words.model.ResourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, String> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO resource_versions (resource_key, version, updated_at)
+            VALUES (:resourceKey, 1, CURRENT_TIMESTAMP)
+            ON CONFLICT (resource_key)
+            DO UPDATE SET version = resource_versions.version + 1,
+                          updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int bump(@Param("resourceKey") String resourceKey);
+}
@@ -0,0 +1,64 @@
+package com.example.words.repository;
+
+import com.example.words.model.StudentPointDailyEarning;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudentPointDailyEarningRepository extends JpaRepository<StudentPointDailyEarning, Long> {
+
+    Optional<StudentPointDailyEarning> findByStudentIdAndEarnedDate(Long studentId, LocalDate earnedDate);
+
+    List<StudentPointDailyEarning> findByStudentIdInAndEarnedDate(Collection<Long> studentIds, LocalDate earnedDate);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update StudentPointDailyEarning earning
+               set earning.earnedPoints = earning.earnedPoints + :delta,
+                   earning.updatedAt = :now
+             where earning.studentId = :studentId
+               and earning.earnedDate = :earnedDate
+            """)
+    int addEarnedPoints(
+            @Param("studentId") Long studentId,
+            @Param("earnedDate") LocalDate earnedDate,
+            @Param("delta") long delta,
+            @Param("now") LocalDateTime now);
+
+    @Query("""
+            select earning.studentId as studentId,
+                   sum(earning.earnedPoints) as total,
+                   max(earning.updatedAt) as lastUpdatedAt
+              from StudentPointDailyEarning earning
+             where earning.earnedDate >= :from
+               and earning.earnedDate <= :to
+             group by earning.studentId
+            """)
+    List<EarnedTotal> sumEarnedBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+            select earning.studentId as studentId,
+                   sum(earning.earnedPoints) as total,
+                   max(earning.updatedAt) as lastUpdatedAt
+              from StudentPointDailyEarning earning
+             group by earning.studentId
+            """)
+    List<EarnedTotal> sumEarnedByStudent();
+
+    interface EarnedTotal {
+
+        Long getStudentId();
+
+        Long getTotal();
+
+        LocalDateTime getLastUpdatedAt();
+    }
+}
@@ -23,6 +23,8 @@ public interface StudentPointEventRepository extends JpaRepository<StudentPointE
 
     Optional<StudentPointEvent> findByIdempotencyKey(String idempotencyKey);
 
+    List<StudentPointEvent> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
     Optional<StudentPointEvent> findBySourceTypeAndSourceId(PointSourceType sourceType, Long sourceId);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
@@ -42,6 +44,48 @@ public interface StudentPointEventRepository extends JpaRepository<StudentPointE
 
     Page<StudentPointEvent> findByStatus(PointEventStatus status, Pageable pageable);
 
+    @Query("""
+            select event from StudentPointEvent event
+             order by event.createdAt desc, event.id desc
+            """)
+    List<StudentPointEvent> findLatest(Pageable pageable);
+
+    // The redundant createdAt <= bound is what Postgres can use to start the history index range at the cursor.
+    @Query("""
+            select event from StudentPointEvent event
+             where event.createdAt <= :createdAt
+               and (event.createdAt < :createdAt
+                    or (event.createdAt = :createdAt and event.id < :id))
+             order by event.createdAt desc, event.id desc
+            """)
+    List<StudentPointEvent> findBefore(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query("""
+            select event from StudentPointEvent event
+             where event.status = :status
+             order by event.createdAt desc, event.id desc
+            """)
+    List<StudentPointEvent> findLatestByStatus(@Param("status") PointEventStatus status, Pageable pageable);
+
+    @Query("""
+            select event from StudentPointEvent event
+             where event.status = :status
+               and event.createdAt <= :createdAt
+               and (event.createdAt < :createdAt
+                    or (event.createdAt = :createdAt and event.id < :id))
+             order by event.createdAt desc, event.id desc
+            """)
+    List<StudentPointEvent> findByStatusBefore(
+            @Param("status") PointEventStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
             update StudentPointEvent event
@@ -74,21 +118,36 @@ public interface StudentPointEventRepository extends JpaRepository<StudentPointE
     @Query("select event from StudentPointEvent event where event.id = :eventId")
     Optional<StudentPointEvent> findByIdForUpdate(@Param("eventId") Long eventId);
 
-    @Query("""
-            select event.id
-              from StudentPointEvent event
-             where event.status in (
-                 com.example.words.model.PointEventStatus.PENDING,
-                 com.example.words.model.PointEventStatus.FAILED
+    /**
+     * Claims up to {@code batchSize} due events for automatic processing in one statement. Rows another worker
+     * has locked are skipped rather than waited on, so concurrent workers never claim the same event.
+     */
+    @Query(value = """
+            UPDATE student_point_events event
+               SET status = 'PROCESSING',
+                   processing_trigger_type = 'AUTO',
+                   processing_operator_id = NULL,
+                   processing_operator_role = NULL,
+                   processing_reason = NULL,
+                   processing_started_at = :startedAt,
+                   updated_at = :startedAt
+             WHERE event.id IN (
+                   SELECT due.id
+                     FROM student_point_events due
+                    WHERE due.status IN ('PENDING', 'FAILED')
+                      AND due.auto_attempt_count < :maxAutoAttempts
+                      AND (due.next_retry_at IS NULL OR due.next_retry_at <= :startedAt)
+                    ORDER BY due.id
+                    LIMIT :batchSize
+                      FOR UPDATE SKIP LOCKED
              )
-               and event.autoAttemptCount < :maxAutoAttempts
-               and (event.nextRetryAt is null or event.nextRetryAt <= :now)
-             order by event.id
-            """)
-    List<Long> findDueEventIds(
-            @Param("now") LocalDateTime now,
+            RETURNING event.id AS id,
+                      event.student_id AS studentId
+            """, nativeQuery = true)
+    List<ClaimedEvent> claimDueBatch(
+            @Param("startedAt") LocalDateTime startedAt,
             @Param("maxAutoAttempts") int maxAutoAttempts,
-            Pageable pageable
+            @Param("batchSize") int batchSize
     );
 
     @Query("""
@@ -118,4 +177,11 @@ public interface StudentPointEventRepository extends JpaRepository<StudentPointE
             @Param("afterId") Long afterId,
             Pageable pageable
     );
+
+    interface ClaimedEvent {
+
+        Long getId();
+
+        Long getStudentId();
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.words.repository;
+
+import com.example.words.model.StudentPointOutboxEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudentPointOutboxRepository extends JpaRepository<StudentPointOutboxEntry, Long> {
+
+    // A lock timeout of -2 renders as FOR UPDATE SKIP LOCKED, so concurrent relays take disjoint batches.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select entry from StudentPointOutboxEntry entry order by entry.id")
+    List<StudentPointOutboxEntry> lockNextBatch(Pageable pageable);
+}
@@ -0,0 +1,11 @@
+package com.example.words.repository;
+
+import com.example.words.model.PointSourceType;
+import com.example.words.model.StudentPointReconciliationWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudentPointReconciliationWatermarkRepository
+        extends JpaRepository<StudentPointReconciliationWatermark, PointSourceType> {
+}
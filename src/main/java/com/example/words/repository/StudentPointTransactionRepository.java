@@ -17,53 +17,49 @@ public interface StudentPointTransactionRepository extends JpaRepository<Student
 
     Optional<StudentPointTransaction> findByIdempotencyKey(String idempotencyKey);
 
+    List<StudentPointTransaction> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
     Page<StudentPointTransaction> findByStudentId(Long studentId, Pageable pageable);
 
     @Query("""
-            select coalesce(sum(transaction.amount), 0)
-              from StudentPointTransaction transaction
+            select transaction from StudentPointTransaction transaction
              where transaction.studentId = :studentId
-               and transaction.transactionType = com.example.words.model.PointTransactionType.EARN
-               and transaction.createdAt >= :start
-               and transaction.createdAt < :end
-               and not exists (
-                   select reversal.id
-                     from StudentPointTransaction reversal
-                    where reversal.transactionType = com.example.words.model.PointTransactionType.REVERSE
-                      and reversal.reversedTransactionId = transaction.id
-               )
+             order by transaction.createdAt desc, transaction.id desc
             """)
-    Long sumEarnedByStudentIdBetween(
-            @Param("studentId") Long studentId,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end
-    );
+    List<StudentPointTransaction> findLatestByStudentId(@Param("studentId") Long studentId, Pageable pageable);
 
+    // The redundant createdAt <= bound is what Postgres can use to start the history index range at the cursor.
     @Query("""
-            select transaction.studentId as studentId, sum(transaction.amount) as total
-              from StudentPointTransaction transaction
-             where transaction.studentId in :studentIds
-               and transaction.transactionType = com.example.words.model.PointTransactionType.EARN
-               and transaction.createdAt >= :start
-               and transaction.createdAt < :end
-               and not exists (
-                   select reversal.id
-                     from StudentPointTransaction reversal
-                    where reversal.transactionType = com.example.words.model.PointTransactionType.REVERSE
-                      and reversal.reversedTransactionId = transaction.id
-               )
-             group by transaction.studentId
+            select transaction from StudentPointTransaction transaction
+             where transaction.studentId = :studentId
+               and transaction.createdAt <= :createdAt
+               and (transaction.createdAt < :createdAt
+                    or (transaction.createdAt = :createdAt and transaction.id < :id))
+             order by transaction.createdAt desc, transaction.id desc
             """)
-    List<StudentPointEarnedTotal> sumEarnedByStudentIdsBetween(
-            @Param("studentIds") Collection<Long> studentIds,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end
+    List<StudentPointTransaction> findByStudentIdBefore(
+            @Param("studentId") Long studentId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
     );
 
-    interface StudentPointEarnedTotal {
-
-        Long getStudentId();
+    @Query("""
+            select transaction from StudentPointTransaction transaction
+             order by transaction.createdAt desc, transaction.id desc
+            """)
+    List<StudentPointTransaction> findLatest(Pageable pageable);
 
-        Long getTotal();
-    }
+    @Query("""
+            select transaction from StudentPointTransaction transaction
+             where transaction.createdAt <= :createdAt
+               and (transaction.createdAt < :createdAt
+                    or (transaction.createdAt = :createdAt and transaction.id < :id))
+             order by transaction.createdAt desc, transaction.id desc
+            """)
+    List<StudentPointTransaction> findBefore(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
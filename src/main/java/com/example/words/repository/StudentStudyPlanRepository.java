@@ -1,11 +1,16 @@
 package com.example.words.repository;
 
 import com.example.words.model.StudentStudyPlan;
-import jakarta.persistence.LockModeType;
+import com.example.words.model.StudentStudyPlanStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,13 +18,253 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface StudentStudyPlanRepository extends JpaRepository<StudentStudyPlan, Long> {
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select plan from StudentStudyPlan plan where plan.id = :id")
-    Optional<StudentStudyPlan> findByIdForUpdate(@Param("id") Long id);
-
     List<StudentStudyPlan> findByStudentIdOrderByCreatedAtDesc(Long studentId);
 
     List<StudentStudyPlan> findByStudyPlanIdOrderByStudentIdAsc(Long studyPlanId);
 
     List<StudentStudyPlan> findByStudyPlanIdAndStudentIdOrderByCreatedAtAsc(Long studyPlanId, Long studentId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO student_study_plans (study_plan_id, student_id, classroom_id, status, joined_at)
+            SELECT :studyPlanId,
+                   student.id,
+                   (SELECT MIN(member.classroom_id)
+                      FROM classroom_members member
+                      JOIN study_plan_classrooms plan_classroom ON plan_classroom.classroom_id = member.classroom_id
+                     WHERE plan_classroom.study_plan_id = :studyPlanId
+                       AND member.student_id = student.id),
+                   'ACTIVE',
+                   :joinedAt
+            FROM users student
+            WHERE student.id IN (:studentIds)
+            ON CONFLICT (study_plan_id, student_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertActiveStudents(
+            @Param("studyPlanId") Long studyPlanId,
+            @Param("studentIds") Collection<Long> studentIds,
+            @Param("joinedAt") LocalDateTime joinedAt);
+
+    @Query("""
+            select plan.id
+              from StudentStudyPlan plan
+             where plan.studyPlanId = :studyPlanId
+               and plan.status = :status
+               and plan.id > :afterId
+             order by plan.id
+            """)
+    List<Long> findIdsByStudyPlanIdAndStatusAfter(
+            @Param("studyPlanId") Long studyPlanId,
+            @Param("status") StudentStudyPlanStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query(value = """
+            SELECT COUNT(*) AS totalStudents,
+                   COALESCE(SUM(CASE WHEN today.today_status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS completedStudents,
+                   COALESCE(SUM(CASE WHEN today.today_status = 'NOT_STARTED' THEN 1 ELSE 0 END), 0) AS notStartedStudents,
+                   COALESCE(SUM(CASE WHEN today.today_status = 'IN_PROGRESS' THEN 1 ELSE 0 END), 0) AS inProgressStudents,
+                   COALESCE(SUM(CASE WHEN today.today_status = 'MISSED' THEN 1 ELSE 0 END), 0) AS missedStudents,
+                   COALESCE(SUM(today.completion_rate), 0) AS completionRateTotal,
+                   COALESCE(SUM(today.attention_score), 0) AS attentionScoreTotal
+              FROM (
+                    SELECT CASE
+                               WHEN task.id IS NULL THEN 'NOT_STARTED'
+                               WHEN task.completed_count >= task.new_count + task.review_count + task.overdue_count
+                                   THEN 'COMPLETED'
+                               WHEN task.status = 'NOT_STARTED' AND task.completed_count > 0 THEN 'IN_PROGRESS'
+                               ELSE task.status
+                           END AS today_status,
+                           CASE
+                               WHEN task.id IS NULL THEN 0
+                               WHEN task.new_count + task.review_count + task.overdue_count = 0 THEN 100
+                               ELSE ROUND(task.completed_count * 100.0
+                                       / (task.new_count + task.review_count + task.overdue_count), 2)
+                           END AS completion_rate,
+                           COALESCE(task.attention_score, 0) AS attention_score
+                      FROM student_study_plans plan
+                      LEFT JOIN study_day_tasks task
+                        ON task.student_study_plan_id = plan.id
+                       AND task.task_date = :taskDate
+                     WHERE plan.study_plan_id = :studyPlanId
+                   ) today
+            """, nativeQuery = true)
+    StudyPlanDailyAggregate aggregateDailyProgress(
+            @Param("studyPlanId") Long studyPlanId,
+            @Param("taskDate") LocalDate taskDate);
+
+    @Query(value = """
+            SELECT plan.student_id AS studentId,
+                   student.display_name AS studentName,
+                   plan.id AS studentStudyPlanId,
+                   plan.status AS status,
+                   CASE
+                       WHEN task.id IS NULL THEN 'NOT_STARTED'
+                       WHEN task.completed_count >= task.new_count + task.review_count + task.overdue_count
+                           THEN 'COMPLETED'
+                       WHEN task.status = 'NOT_STARTED' AND task.completed_count > 0 THEN 'IN_PROGRESS'
+                       ELSE task.status
+                   END AS todayStatus,
+                   COALESCE(task.completed_count, 0) AS completedCount,
+                   COALESCE(task.new_count + task.review_count + task.overdue_count, 0) AS totalTaskCount,
+                   CASE
+                       WHEN task.id IS NULL THEN 0
+                       WHEN task.new_count + task.review_count + task.overdue_count = 0 THEN 100
+                       ELSE ROUND(task.completed_count * 100.0
+                               / (task.new_count + task.review_count + task.overdue_count), 2)
+                   END AS completionRate,
+                   COALESCE(task.total_focus_seconds, 0) AS totalFocusSeconds,
+                   COALESCE(task.avg_focus_seconds_per_word, 0) AS avgFocusSecondsPerWord,
+                   COALESCE(task.attention_score, 0) AS attentionScore,
+                   plan.current_streak AS currentStreak,
+                   plan.last_study_at AS lastStudyAt
+              FROM student_study_plans plan
+              JOIN users student ON student.id = plan.student_id
+              LEFT JOIN study_day_tasks task
+                ON task.student_study_plan_id = plan.id
+               AND task.task_date = :taskDate
+             WHERE plan.study_plan_id = :studyPlanId
+             ORDER BY plan.student_id, plan.id
+            """,
+            countQuery = """
+            SELECT COUNT(*)
+              FROM student_study_plans plan
+              JOIN users student ON student.id = plan.student_id
+             WHERE plan.study_plan_id = :studyPlanId
+            """,
+            nativeQuery = true)
+    Page<StudyPlanStudentDailyRow> findDailyRowsByStudyPlanId(
+            @Param("studyPlanId") Long studyPlanId,
+            @Param("taskDate") LocalDate taskDate,
+            Pageable pageable);
+
+    @Query(value = """
+            SELECT plan.id AS studentStudyPlanId,
+                   study_plan.id AS studyPlanId,
+                   study_plan.name AS planName,
+                   study_plan.published_at AS planPublishedAt,
+                   today.task_date AS taskDate,
+                   CASE
+                       WHEN study_plan.status IN ('PUBLISHED', 'COMPLETED')
+                        AND study_plan.start_date <= today.task_date
+                        AND (study_plan.end_date IS NULL OR study_plan.end_date >= today.task_date)
+                           THEN TRUE
+                       ELSE FALSE
+                   END AS taskExpected,
+                   task.id AS studyDayTaskId,
+                   task.overdue_count AS overdueCount,
+                   task.review_count AS reviewCount,
+                   task.new_count AS newCount,
+                   task.completed_count AS completedCount,
+                   item.id AS studyDayTaskItemId,
+                   item.meta_word_id AS metaWordId,
+                   item.task_type AS taskType,
+                   item.attempt_count AS attemptCount,
+                   progress.phase AS phase,
+                   progress.next_review_date AS dueDate
+              FROM student_study_plans plan
+              JOIN study_plans study_plan ON study_plan.id = plan.study_plan_id
+             CROSS JOIN LATERAL (
+                   SELECT CAST((CAST(:utcNow AS TIMESTAMP) AT TIME ZONE 'UTC') AT TIME ZONE study_plan.timezone AS DATE)
+                          AS task_date
+                   ) today
+              LEFT JOIN study_day_tasks task
+                ON task.student_study_plan_id = plan.id
+               AND task.task_date = today.task_date
+              LEFT JOIN study_day_task_items item
+                ON item.study_day_task_id = task.id
+               AND item.completed_at IS NULL
+              LEFT JOIN study_word_progresses progress
+                ON progress.student_study_plan_id = plan.id
+               AND progress.meta_word_id = item.meta_word_id
+             WHERE plan.student_id = :studentId
+               AND plan.status = 'ACTIVE'
+             ORDER BY plan.id, item.task_order
+            """, nativeQuery = true)
+    List<StudentDashboardQueueRow> findDashboardQueueRows(
+            @Param("studentId") Long studentId,
+            @Param("utcNow") LocalDateTime utcNow);
+
+    interface StudyPlanDailyAggregate {
+
+        Long getTotalStudents();
+
+        Long getCompletedStudents();
+
+        Long getNotStartedStudents();
+
+        Long getInProgressStudents();
+
+        Long getMissedStudents();
+
+        BigDecimal getCompletionRateTotal();
+
+        BigDecimal getAttentionScoreTotal();
+    }
+
+    interface StudyPlanStudentDailyRow {
+
+        Long getStudentId();
+
+        String getStudentName();
+
+        Long getStudentStudyPlanId();
+
+        String getStatus();
+
+        String getTodayStatus();
+
+        Integer getCompletedCount();
+
+        Integer getTotalTaskCount();
+
+        BigDecimal getCompletionRate();
+
+        Integer getTotalFocusSeconds();
+
+        BigDecimal getAvgFocusSecondsPerWord();
+
+        BigDecimal getAttentionScore();
+
+        Integer getCurrentStreak();
+
+        LocalDateTime getLastStudyAt();
+    }
+
+    interface StudentDashboardQueueRow {
+
+        Long getStudentStudyPlanId();
+
+        Long getStudyPlanId();
+
+        String getPlanName();
+
+        LocalDateTime getPlanPublishedAt();
+
+        LocalDate getTaskDate();
+
+        Boolean getTaskExpected();
+
+        Long getStudyDayTaskId();
+
+        Integer getOverdueCount();
+
+        Integer getReviewCount();
+
+        Integer getNewCount();
+
+        Integer getCompletedCount();
+
+        Long getStudyDayTaskItemId();
+
+        Long getMetaWordId();
+
+        String getTaskType();
+
+        Integer getAttemptCount();
+
+        Integer getPhase();
+
+        LocalDate getDueDate();
+    }
 }
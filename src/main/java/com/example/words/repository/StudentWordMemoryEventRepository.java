@@ -1,9 +1,12 @@
 package com.example.words.repository;
 
 import com.example.words.model.StudentWordMemoryEvent;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface StudentWordMemoryEventRepository extends JpaRepository<StudentWordMemoryEvent, Long> {
+
+    List<StudentWordMemoryEvent> findByStudentIdOrderByIdAsc(Long studentId);
 }
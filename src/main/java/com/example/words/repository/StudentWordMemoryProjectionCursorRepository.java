@@ -0,0 +1,20 @@
+package com.example.words.repository;
+
+import com.example.words.model.StudentWordMemoryProjectionCursor;
+import com.example.words.model.StudentWordMemorySourceType;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudentWordMemoryProjectionCursorRepository
+        extends JpaRepository<StudentWordMemoryProjectionCursor, StudentWordMemorySourceType> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select cursor from StudentWordMemoryProjectionCursor cursor where cursor.sourceType = :sourceType")
+    Optional<StudentWordMemoryProjectionCursor> findForUpdate(@Param("sourceType") StudentWordMemorySourceType sourceType);
+}
@@ -1,19 +1,103 @@
 package com.example.words.repository;
 
+import com.example.words.dto.StudentWordMemoryResponse;
 import com.example.words.model.StudentWordMemory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface StudentWordMemoryRepository extends JpaRepository<StudentWordMemory, Long> {
 
+    String RESPONSE_SELECT = """
+            select new com.example.words.dto.StudentWordMemoryResponse(
+                   metaWord.id, metaWord.word, metaWord.phonetic, metaWord.phoneticDetail, metaWord.syllableDetail,
+                   metaWord.definition, metaWord.translation, metaWord.partOfSpeech, metaWord.exampleSentence,
+                   memory.boxLevel, memory.masteryLevel, memory.nextReviewDate, memory.correctTimes,
+                   memory.wrongTimes, memory.correctStreak, memory.lastResult, memory.lastSource,
+                   memory.autoWrong, memory.favorite, memory.lastStudiedAt)
+              from StudentWordMemory memory
+              join MetaWord metaWord on metaWord.id = memory.metaWordId
+            """;
+
+    String COUNT_SELECT = """
+            select count(memory)
+              from StudentWordMemory memory
+            """;
+
+    String LISTING_FILTERS = """
+             where memory.studentId = :studentId
+               and (:dueOnOrBefore is null or memory.nextReviewDate <= :dueOnOrBefore)
+               and (:minBoxLevel is null or memory.boxLevel >= :minBoxLevel)
+               and (:maxBoxLevel is null or memory.boxLevel <= :maxBoxLevel)
+               and (:minMastery is null or memory.masteryLevel >= :minMastery)
+               and (:maxMastery is null or memory.masteryLevel <= :maxMastery)
+            """;
+
+    String LISTING_ORDER = """
+             order by memory.updatedAt desc, memory.id desc
+            """;
+
     Optional<StudentWordMemory> findByStudentIdAndMetaWordId(Long studentId, Long metaWordId);
 
-    List<StudentWordMemory> findByStudentIdOrderByUpdatedAtDesc(Long studentId);
+    List<StudentWordMemory> findByStudentIdAndMetaWordIdIn(Long studentId, Collection<Long> metaWordIds);
+
+    List<StudentWordMemory> findByStudentId(Long studentId);
+
+    @Query(value = RESPONSE_SELECT + LISTING_FILTERS + LISTING_ORDER,
+            countQuery = COUNT_SELECT + LISTING_FILTERS)
+    Page<StudentWordMemoryResponse> findResponses(
+            @Param("studentId") Long studentId,
+            @Param("dueOnOrBefore") LocalDate dueOnOrBefore,
+            @Param("minBoxLevel") Integer minBoxLevel,
+            @Param("maxBoxLevel") Integer maxBoxLevel,
+            @Param("minMastery") BigDecimal minMastery,
+            @Param("maxMastery") BigDecimal maxMastery,
+            Pageable pageable);
+
+    @Query(value = RESPONSE_SELECT + LISTING_FILTERS + " and memory.autoWrong = true" + LISTING_ORDER,
+            countQuery = COUNT_SELECT + LISTING_FILTERS + " and memory.autoWrong = true")
+    Page<StudentWordMemoryResponse> findWrongWordResponses(
+            @Param("studentId") Long studentId,
+            @Param("dueOnOrBefore") LocalDate dueOnOrBefore,
+            @Param("minBoxLevel") Integer minBoxLevel,
+            @Param("maxBoxLevel") Integer maxBoxLevel,
+            @Param("minMastery") BigDecimal minMastery,
+            @Param("maxMastery") BigDecimal maxMastery,
+            Pageable pageable);
+
+    @Query(value = RESPONSE_SELECT + LISTING_FILTERS + " and memory.favorite = true" + LISTING_ORDER,
+            countQuery = COUNT_SELECT + LISTING_FILTERS + " and memory.favorite = true")
+    Page<StudentWordMemoryResponse> findFavoriteWordResponses(
+            @Param("studentId") Long studentId,
+            @Param("dueOnOrBefore") LocalDate dueOnOrBefore,
+            @Param("minBoxLevel") Integer minBoxLevel,
+            @Param("maxBoxLevel") Integer maxBoxLevel,
+            @Param("minMastery") BigDecimal minMastery,
+            @Param("maxMastery") BigDecimal maxMastery,
+            Pageable pageable);
 
-    List<StudentWordMemory> findByStudentIdAndAutoWrongTrueOrderByUpdatedAtDesc(Long studentId);
+    @Query(RESPONSE_SELECT + """
+             where memory.studentId = :studentId
+               and memory.metaWordId in :metaWordIds
+            """)
+    List<StudentWordMemoryResponse> findResponsesByMetaWordIds(
+            @Param("studentId") Long studentId,
+            @Param("metaWordIds") Collection<Long> metaWordIds);
 
-    List<StudentWordMemory> findByStudentIdAndFavoriteTrueOrderByUpdatedAtDesc(Long studentId);
+    @Query("""
+            select distinct memory.studentId
+              from StudentWordMemory memory
+             where memory.studentId > :afterStudentId
+             order by memory.studentId
+            """)
+    List<Long> findStudentIdsAfter(@Param("afterStudentId") Long afterStudentId, Pageable pageable);
 }
@@ -2,8 +2,11 @@ package com.example.words.repository;
 
 import com.example.words.model.StudyDayTask;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,34 +18,113 @@ public interface StudyDayTaskRepository extends JpaRepository<StudyDayTask, Long
             Long studentStudyPlanId,
             LocalDate taskDate);
 
-    List<StudyDayTask> findByStudentStudyPlanIdAndTaskDateBeforeOrderByTaskDateAsc(
-            Long studentStudyPlanId,
-            LocalDate taskDate);
+    @Query(value = """
+            SELECT COUNT(*)
+              FROM (SELECT pg_advisory_xact_lock(:namespace, CAST(:studentStudyPlanId % 2147483647 AS INTEGER))) acquired
+            """, nativeQuery = true)
+    long lockTaskGeneration(
+            @Param("namespace") int namespace,
+            @Param("studentStudyPlanId") Long studentStudyPlanId);
+
+    @Query(value = """
+            SELECT task.id
+              FROM study_day_tasks task
+              JOIN student_study_plans plan ON plan.id = task.student_study_plan_id
+              JOIN study_plans study_plan ON study_plan.id = plan.study_plan_id
+             WHERE task.status IN ('NOT_STARTED', 'IN_PROGRESS')
+               AND task.task_date < CAST((CAST(:utcNow AS TIMESTAMP) AT TIME ZONE 'UTC') AT TIME ZONE study_plan.timezone AS DATE)
+             ORDER BY task.id
+             LIMIT :batchSize
+               FOR UPDATE OF task SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockExpiredUnfinishedTaskIds(
+            @Param("utcNow") LocalDateTime utcNow,
+            @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = """
+            UPDATE student_study_plans plan
+               SET missed_days = plan.missed_days + missed.missed_count,
+                   current_streak = 0,
+                   version = plan.version + 1,
+                   updated_at = CURRENT_TIMESTAMP
+              FROM (
+                    SELECT task.student_study_plan_id, COUNT(*) AS missed_count
+                      FROM study_day_tasks task
+                     WHERE task.id IN (:taskIds)
+                       AND task.completed_count < task.new_count + task.review_count + task.overdue_count
+                     GROUP BY task.student_study_plan_id
+                   ) missed
+             WHERE plan.id = missed.student_study_plan_id
+            """, nativeQuery = true)
+    int addMissedDaysForTasks(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query(value = """
+            UPDATE study_day_tasks task
+               SET status = CASE
+                       WHEN task.completed_count >= task.new_count + task.review_count + task.overdue_count THEN 'COMPLETED'
+                       ELSE 'MISSED'
+                   END
+             WHERE task.id IN (:taskIds)
+            """, nativeQuery = true)
+    int closeExpiredTasks(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("""
+            select distinct task.studentStudyPlanId
+              from StudyDayTask task
+             where task.studentStudyPlanId in :studentStudyPlanIds
+               and task.taskDate = :taskDate
+            """)
+    List<Long> findStudentStudyPlanIdsWithTaskOn(
+            @Param("studentStudyPlanIds") Collection<Long> studentStudyPlanIds,
+            @Param("taskDate") LocalDate taskDate);
 
     @Query(value = """
             SELECT task.id AS sourceId,
-                   plan.student_id AS studentId
+                   plan.student_id AS studentId,
+                   CASE WHEN task.status IN ('COMPLETED', 'MISSED') THEN TRUE ELSE FALSE END AS closed,
+                   COALESCE(task.completed_at, task.deadline_at, task.created_at) AS settledAt,
+                   CASE
+                       WHEN task.status = 'COMPLETED'
+                        AND task.points_eligible = TRUE
+                        AND (task.new_count + task.review_count + task.overdue_count) > 0
+                        AND task.completed_count >= (task.new_count + task.review_count + task.overdue_count)
+                        AND NOT EXISTS (
+                            SELECT 1
+                              FROM student_point_events event
+                             WHERE event.idempotency_key =
+                                   'study-day-task:' || task.id || ':completed:DAILY_TASK_COMPLETED'
+                        )
+                       THEN TRUE
+                       ELSE FALSE
+                   END AS eventMissing
               FROM study_day_tasks task
              JOIN student_study_plans plan ON plan.id = task.student_study_plan_id
-             WHERE task.status = 'COMPLETED'
-               AND task.points_eligible = TRUE
-               AND (task.new_count + task.review_count + task.overdue_count) > 0
-               AND task.completed_count >= (task.new_count + task.review_count + task.overdue_count)
-               AND NOT EXISTS (
-                   SELECT 1
-                     FROM student_point_events event
-                    WHERE event.idempotency_key =
-                          'study-day-task:' || task.id || ':completed:DAILY_TASK_COMPLETED'
-               )
+             WHERE task.id > :afterId
              ORDER BY task.id
-             LIMIT :batchSize
+             LIMIT :chunkSize
             """, nativeQuery = true)
-    List<MissingCompletedPointSource> findMissingCompletedPointSources(@Param("batchSize") int batchSize);
+    List<CompletedPointCandidate> findCompletedPointCandidatesAfter(
+            @Param("afterId") long afterId,
+            @Param("chunkSize") int chunkSize);
 
-    interface MissingCompletedPointSource {
+    @Query("select max(task.id) from StudyDayTask task")
+    Long findMaxId();
+
+    @Query("select min(task.createdAt) from StudyDayTask task where task.id > :afterId")
+    LocalDateTime findOldestCreatedAtAfter(@Param("afterId") long afterId);
+
+    interface CompletedPointCandidate {
 
         Long getSourceId();
 
         Long getStudentId();
+
+        Boolean getClosed();
+
+        LocalDateTime getSettledAt();
+
+        Boolean getEventMissing();
     }
 }
@@ -0,0 +1,173 @@
+package com.example.words.repository;
+
+import com.example.words.model.StudyPlanDailyRollup;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudyPlanDailyRollupRepository extends JpaRepository<StudyPlanDailyRollup, Long> {
+
+    List<StudyPlanDailyRollup> findByStudyPlanIdAndClassroomIdAndTaskDateBetweenOrderByTaskDateAsc(
+            Long studyPlanId,
+            Long classroomId,
+            LocalDate from,
+            LocalDate to);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO study_plan_daily_rollups AS rollup (
+                study_plan_id, classroom_id, task_date, task_count, not_started_count, in_progress_count,
+                completed_count, missed_count, completion_rate_total, attention_score_total,
+                total_focus_seconds, words_learned, created_at, updated_at
+            )
+            VALUES (
+                :studyPlanId, :classroomId, :taskDate, :taskCount, :notStartedCount, :inProgressCount,
+                :completedCount, :missedCount, :completionRateTotal, :attentionScoreTotal,
+                :totalFocusSeconds, :wordsLearned, :now, :now
+            )
+            ON CONFLICT (study_plan_id, classroom_id, task_date) DO UPDATE
+               SET task_count = rollup.task_count + EXCLUDED.task_count,
+                   not_started_count = rollup.not_started_count + EXCLUDED.not_started_count,
+                   in_progress_count = rollup.in_progress_count + EXCLUDED.in_progress_count,
+                   completed_count = rollup.completed_count + EXCLUDED.completed_count,
+                   missed_count = rollup.missed_count + EXCLUDED.missed_count,
+                   completion_rate_total = rollup.completion_rate_total + EXCLUDED.completion_rate_total,
+                   attention_score_total = rollup.attention_score_total + EXCLUDED.attention_score_total,
+                   total_focus_seconds = rollup.total_focus_seconds + EXCLUDED.total_focus_seconds,
+                   words_learned = rollup.words_learned + EXCLUDED.words_learned,
+                   updated_at = EXCLUDED.updated_at
+             WHERE rollup.finalized = FALSE
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("studyPlanId") Long studyPlanId,
+            @Param("classroomId") Long classroomId,
+            @Param("taskDate") LocalDate taskDate,
+            @Param("taskCount") int taskCount,
+            @Param("notStartedCount") int notStartedCount,
+            @Param("inProgressCount") int inProgressCount,
+            @Param("completedCount") int completedCount,
+            @Param("missedCount") int missedCount,
+            @Param("completionRateTotal") BigDecimal completionRateTotal,
+            @Param("attentionScoreTotal") BigDecimal attentionScoreTotal,
+            @Param("totalFocusSeconds") long totalFocusSeconds,
+            @Param("wordsLearned") int wordsLearned,
+            @Param("now") LocalDateTime now);
+
+    @Query(value = """
+            SELECT rollup.study_plan_id AS studyPlanId,
+                   rollup.task_date AS taskDate
+              FROM study_plan_daily_rollups rollup
+              JOIN study_plans study_plan ON study_plan.id = rollup.study_plan_id
+             WHERE rollup.finalized = FALSE
+               AND rollup.classroom_id = 0
+               AND rollup.task_date < CAST((CAST(:utcNow AS TIMESTAMP) AT TIME ZONE 'UTC') AT TIME ZONE study_plan.timezone AS DATE)
+               AND NOT EXISTS (
+                    SELECT 1
+                      FROM study_day_tasks task
+                      JOIN student_study_plans plan ON plan.id = task.student_study_plan_id
+                     WHERE plan.study_plan_id = rollup.study_plan_id
+                       AND task.task_date = rollup.task_date
+                       AND task.status IN ('NOT_STARTED', 'IN_PROGRESS')
+               )
+             ORDER BY rollup.task_date, rollup.study_plan_id
+             LIMIT :batchSize
+            """, nativeQuery = true)
+    List<ClosedPlanDay> findClosedOpenDays(
+            @Param("utcNow") LocalDateTime utcNow,
+            @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO study_plan_daily_rollups AS rollup (
+                study_plan_id, classroom_id, task_date, task_count, not_started_count, in_progress_count,
+                completed_count, missed_count, completion_rate_total, attention_score_total,
+                total_focus_seconds, words_learned, finalized, created_at, updated_at
+            )
+            SELECT day_task.study_plan_id,
+                   scope.classroom_id,
+                   day_task.task_date,
+                   COUNT(*),
+                   SUM(CASE WHEN day_task.bucket = 'NOT_STARTED' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN day_task.bucket = 'IN_PROGRESS' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN day_task.bucket = 'COMPLETED' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN day_task.bucket = 'MISSED' THEN 1 ELSE 0 END),
+                   SUM(day_task.completion_rate),
+                   SUM(day_task.attention_score),
+                   SUM(day_task.total_focus_seconds),
+                   SUM(day_task.words_learned),
+                   TRUE,
+                   :now,
+                   :now
+              FROM (
+                    SELECT plan.study_plan_id,
+                           plan.classroom_id,
+                           task.task_date,
+                           CASE
+                               WHEN task.completed_count >= task.new_count + task.review_count + task.overdue_count
+                                   THEN 'COMPLETED'
+                               WHEN task.status = 'MISSED' THEN 'MISSED'
+                               WHEN task.status = 'NOT_STARTED' AND task.completed_count = 0 THEN 'NOT_STARTED'
+                               ELSE 'IN_PROGRESS'
+                           END AS bucket,
+                           task.completion_rate,
+                           task.attention_score,
+                           task.total_focus_seconds,
+                           (SELECT COUNT(*)
+                              FROM study_day_task_items item
+                             WHERE item.study_day_task_id = task.id
+                               AND item.task_type = 'NEW_LEARN'
+                               AND item.completed_at IS NOT NULL) AS words_learned
+                      FROM student_study_plans plan
+                      JOIN study_day_tasks task
+                        ON task.student_study_plan_id = plan.id
+                       AND task.task_date = :taskDate
+                     WHERE plan.study_plan_id = :studyPlanId
+                   ) day_task
+             CROSS JOIN LATERAL (VALUES (CAST(0 AS BIGINT)), (day_task.classroom_id)) scope(classroom_id)
+             WHERE scope.classroom_id IS NOT NULL
+             GROUP BY day_task.study_plan_id, scope.classroom_id, day_task.task_date
+            ON CONFLICT (study_plan_id, classroom_id, task_date) DO UPDATE
+               SET task_count = EXCLUDED.task_count,
+                   not_started_count = EXCLUDED.not_started_count,
+                   in_progress_count = EXCLUDED.in_progress_count,
+                   completed_count = EXCLUDED.completed_count,
+                   missed_count = EXCLUDED.missed_count,
+                   completion_rate_total = EXCLUDED.completion_rate_total,
+                   attention_score_total = EXCLUDED.attention_score_total,
+                   total_focus_seconds = EXCLUDED.total_focus_seconds,
+                   words_learned = EXCLUDED.words_learned,
+                   finalized = TRUE,
+                   updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int rebuildDay(
+            @Param("studyPlanId") Long studyPlanId,
+            @Param("taskDate") LocalDate taskDate,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = """
+            UPDATE study_plan_daily_rollups
+               SET finalized = TRUE,
+                   updated_at = :now
+             WHERE study_plan_id = :studyPlanId
+               AND task_date = :taskDate
+            """, nativeQuery = true)
+    int markFinalized(
+            @Param("studyPlanId") Long studyPlanId,
+            @Param("taskDate") LocalDate taskDate,
+            @Param("now") LocalDateTime now);
+
+    interface ClosedPlanDay {
+
+        Long getStudyPlanId();
+
+        LocalDate getTaskDate();
+    }
+}
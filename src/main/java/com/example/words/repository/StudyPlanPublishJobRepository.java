@@ -0,0 +1,36 @@
+package com.example.words.repository;
+
+import com.example.words.model.StudyPlanPublishJob;
+import com.example.words.model.StudyPlanPublishJobStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudyPlanPublishJobRepository extends JpaRepository<StudyPlanPublishJob, Long> {
+
+    boolean existsByStudyPlanIdAndStatusIn(Long studyPlanId, Collection<StudyPlanPublishJobStatus> statuses);
+
+    Optional<StudyPlanPublishJob> findByIdAndStudyPlanId(Long id, Long studyPlanId);
+
+    @Modifying
+    @Query("""
+            update StudyPlanPublishJob j
+               set j.status = com.example.words.model.StudyPlanPublishJobStatus.FAILED,
+                   j.errorMessage = :errorMessage,
+                   j.finishedAt = :now,
+                   j.updatedAt = :now
+             where j.status in :statuses
+               and coalesce(j.updatedAt, j.startedAt, j.createdAt) < :staleBefore
+            """)
+    int failStaleJobs(
+            @Param("statuses") Collection<StudyPlanPublishJobStatus> statuses,
+            @Param("staleBefore") LocalDateTime staleBefore,
+            @Param("now") LocalDateTime now,
+            @Param("errorMessage") String errorMessage);
+}
@@ -1,6 +1,7 @@
 package com.example.words.repository;
 
 import com.example.words.model.StudyPlan;
+import com.example.words.model.StudyPlanStatus;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -9,4 +10,6 @@ import org.springframework.stereotype.Repository;
 public interface StudyPlanRepository extends JpaRepository<StudyPlan, Long> {
 
     List<StudyPlan> findByTeacherIdOrderByCreatedAtDesc(Long teacherId);
+
+    List<StudyPlan> findByStatusOrderByIdAsc(StudyPlanStatus status);
 }
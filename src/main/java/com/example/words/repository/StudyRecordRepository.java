@@ -2,6 +2,7 @@ package com.example.words.repository;
 
 import com.example.words.model.StudyRecord;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,30 +15,120 @@ public interface StudyRecordRepository extends JpaRepository<StudyRecord, Long>
 
     List<StudyRecord> findByStudentStudyPlanIdAndTaskDate(Long studentStudyPlanId, LocalDate taskDate);
 
+    boolean existsByStudentStudyPlanIdAndTaskDate(Long studentStudyPlanId, LocalDate taskDate);
+
+    boolean existsByStudentStudyPlanIdAndTaskDateAndMetaWordId(Long studentStudyPlanId, LocalDate taskDate, Long metaWordId);
+
     Optional<StudyRecord> findByRequestKey(String requestKey);
 
     @Query(value = """
             SELECT record.id AS sourceId,
-                   plan.student_id AS studentId
+                   plan.student_id AS studentId,
+                   record.created_at AS settledAt,
+                   CASE WHEN EXISTS (
+                       SELECT 1
+                         FROM student_point_events event
+                        WHERE event.idempotency_key =
+                              'study-record:' || record.id || ':correct:STUDY_RECORD_CORRECT'
+                   ) THEN FALSE ELSE TRUE END AS eventMissing
               FROM study_records record
              JOIN student_study_plans plan ON plan.id = record.student_study_plan_id
-             WHERE record.result = 'CORRECT'
+             WHERE record.id > :afterId
+               AND record.result = 'CORRECT'
                AND record.points_eligible = TRUE
+             ORDER BY record.id
+             LIMIT :chunkSize
+            """, nativeQuery = true)
+    List<CorrectPointCandidate> findCorrectPointCandidatesAfter(
+            @Param("afterId") long afterId,
+            @Param("chunkSize") int chunkSize);
+
+    @Query(value = """
+            SELECT record.id AS sourceId,
+                   plan.student_id AS studentId,
+                   record.meta_word_id AS metaWordId,
+                   study_plan.dictionary_id AS dictionaryId,
+                   study_plan.timezone AS timezone,
+                   record.result AS result,
+                   record.created_at AS createdAt,
+                   CASE WHEN EXISTS (
+                       SELECT 1
+                         FROM student_word_memory_events event
+                        WHERE event.source_type = 'PLAN_STUDY'
+                          AND event.source_id = record.id
+                   ) THEN TRUE ELSE FALSE END AS projected
+              FROM study_records record
+              JOIN student_study_plans plan ON plan.id = record.student_study_plan_id
+              JOIN study_plans study_plan ON study_plan.id = plan.study_plan_id
+             WHERE record.id > :afterId
+             ORDER BY record.id
+             LIMIT :chunkSize
+            """, nativeQuery = true)
+    List<MemoryProjectionCandidate> findMemoryProjectionCandidatesAfter(
+            @Param("afterId") long afterId,
+            @Param("chunkSize") int chunkSize);
+
+    @Query(value = """
+            SELECT record.id AS sourceId,
+                   plan.student_id AS studentId,
+                   record.meta_word_id AS metaWordId,
+                   study_plan.dictionary_id AS dictionaryId,
+                   study_plan.timezone AS timezone,
+                   record.result AS result,
+                   record.created_at AS createdAt,
+                   FALSE AS projected
+              FROM study_records record
+              JOIN student_study_plans plan ON plan.id = record.student_study_plan_id
+              JOIN study_plans study_plan ON study_plan.id = plan.study_plan_id
+             WHERE record.id > :fromId
+               AND record.id <= :toId
                AND NOT EXISTS (
-                   SELECT 1
-                     FROM student_point_events event
-                    WHERE event.idempotency_key =
-                          'study-record:' || record.id || ':correct:STUDY_RECORD_CORRECT'
+                    SELECT 1
+                      FROM student_word_memory_events event
+                     WHERE event.source_type = 'PLAN_STUDY'
+                       AND event.source_id = record.id
                )
              ORDER BY record.id
-             LIMIT :batchSize
+             LIMIT :chunkSize
             """, nativeQuery = true)
-    List<MissingCorrectPointSource> findMissingCorrectPointSources(@Param("batchSize") int batchSize);
+    List<MemoryProjectionCandidate> findUnprojectedMemoryCandidatesBetween(
+            @Param("fromId") long fromId,
+            @Param("toId") long toId,
+            @Param("chunkSize") int chunkSize);
+
+    @Query("select max(record.id) from StudyRecord record")
+    Long findMaxId();
 
-    interface MissingCorrectPointSource {
+    @Query("select min(record.createdAt) from StudyRecord record where record.id > :afterId")
+    LocalDateTime findOldestCreatedAtAfter(@Param("afterId") long afterId);
+
+    interface CorrectPointCandidate {
 
         Long getSourceId();
 
         Long getStudentId();
+
+        LocalDateTime getSettledAt();
+
+        Boolean getEventMissing();
+    }
+
+    interface MemoryProjectionCandidate {
+
+        Long getSourceId();
+
+        Long getStudentId();
+
+        Long getMetaWordId();
+
+        Long getDictionaryId();
+
+        String getTimezone();
+
+        String getResult();
+
+        LocalDateTime getCreatedAt();
+
+        Boolean getProjected();
     }
 }
@@ -1,8 +1,12 @@
 package com.example.words.repository;
 
 import com.example.words.model.StudyWordProgress;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,6 +16,43 @@ public interface StudyWordProgressRepository extends JpaRepository<StudyWordProg
 
     List<StudyWordProgress> findByStudentStudyPlanIdAndMetaWordId(Long studentStudyPlanId, Long metaWordId);
 
+    List<StudyWordProgress> findByStudentStudyPlanIdAndMetaWordIdIn(Long studentStudyPlanId, Collection<Long> metaWordIds);
+
+    @Query("""
+            select distinct progress.metaWordId
+              from StudyWordProgress progress
+             where progress.studentStudyPlanId = :studentStudyPlanId
+               and progress.metaWordId in :metaWordIds
+            """)
+    List<Long> findAssignedMetaWordIds(
+            @Param("studentStudyPlanId") Long studentStudyPlanId,
+            @Param("metaWordIds") Collection<Long> metaWordIds);
+
+    @Query(value = """
+            (SELECT progress.*
+               FROM study_word_progresses progress
+              WHERE progress.student_study_plan_id = :studentStudyPlanId
+                AND progress.next_review_date IS NOT NULL
+                AND progress.next_review_date <= :taskDate
+                AND (progress.last_review_at IS NULL OR CAST(progress.last_review_at AS DATE) <> :taskDate)
+              ORDER BY progress.next_review_date, progress.meta_word_id
+              LIMIT :limit)
+            UNION ALL
+            (SELECT progress.*
+               FROM study_word_progresses progress
+              WHERE progress.student_study_plan_id = :studentStudyPlanId
+                AND progress.next_review_date IS NULL
+                AND progress.last_review_at IS NULL
+                AND progress.status = 'NEW'
+                AND progress.assigned_date <= :taskDate
+              ORDER BY progress.assigned_date, progress.meta_word_id
+              LIMIT :limit)
+            """, nativeQuery = true)
+    List<StudyWordProgress> findDueForReview(
+            @Param("studentStudyPlanId") Long studentStudyPlanId,
+            @Param("taskDate") LocalDate taskDate,
+            @Param("limit") int limit);
+
     long countByStudentStudyPlanId(Long studentStudyPlanId);
 
     long countByStudentStudyPlanIdAndLastReviewAtIsNotNull(Long studentStudyPlanId);
@@ -5,6 +5,9 @@ import com.example.words.model.TagType;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,9 +15,37 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
     List<Tag> findByDictionaryIdAndTypeOrderBySortKeyAsc(Long dictionaryId, TagType type);
 
-    List<Tag> findByParentIdOrderBySortOrderAsc(Long parentId);
-
     boolean existsByParentId(Long parentId);
 
     Optional<Tag> findByDictionaryIdAndTypeAndParentIdIsNullAndName(Long dictionaryId, TagType type, String name);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            WITH RECURSIVE subtree AS (
+                SELECT t.id, t.level, t.path_name, t.path_key, t.sort_key
+                FROM tags t
+                WHERE t.id = :rootId
+                UNION ALL
+                SELECT child.id,
+                       parent.level + 1,
+                       parent.path_name || ' > ' || child.name,
+                       parent.path_key || '/' || child.id,
+                       parent.sort_key || '.' || LPAD(
+                               GREATEST(child.sort_order, 1)::text,
+                               GREATEST(LENGTH(GREATEST(child.sort_order, 1)::text), 6),
+                               '0')
+                FROM tags child
+                JOIN subtree parent ON child.parent_id = parent.id
+            )
+            UPDATE tags t
+            SET level = subtree.level,
+                path_name = subtree.path_name,
+                path_key = subtree.path_key,
+                sort_key = subtree.sort_key,
+                updated_at = CURRENT_TIMESTAMP
+            FROM subtree
+            WHERE t.id = subtree.id
+              AND t.id <> :rootId
+            """, nativeQuery = true)
+    int refreshDescendantPaths(@Param("rootId") Long rootId);
 }
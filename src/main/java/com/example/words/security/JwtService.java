@@ -1,15 +1,17 @@
 package com.example.words.security;
 
+import com.example.words.model.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.Optional;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -37,14 +39,26 @@ public class JwtService {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
+    public Optional<TokenClaims> parseToken(String token) {
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+
+        Long userId = claims.get("userId", Long.class);
+        String role = claims.get("role", String.class);
+        if (claims.getSubject() == null || userId == null || role == null
+                || claims.getExpiration() == null || !claims.getExpiration().after(new Date())) {
+            return Optional.empty();
+        }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        Claims claims = extractAllClaims(token);
-        return claims.getSubject().equals(userDetails.getUsername())
-                && claims.getExpiration().after(new Date());
+        try {
+            return Optional.of(new TokenClaims(userId, claims.getSubject(), UserRole.valueOf(role)));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
     }
 
     public long getExpirationSeconds() {
@@ -62,4 +76,7 @@ public class JwtService {
     private String toBase64(String rawSecret) {
         return java.util.Base64.getEncoder().encodeToString(rawSecret.getBytes(java.nio.charset.StandardCharsets.UTF_8));
     }
+
+    public record TokenClaims(Long userId, String username, UserRole role) {
+    }
 }
@@ -0,0 +1,71 @@
+package com.example.words.security;
+
+import com.example.words.repository.AppUserRepository;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class UserSnapshotCache {
+
+    private final AppUserRepository appUserRepository;
+    private final long ttlNanos;
+    private final Map<Long, CachedSnapshot> snapshotsByUserId = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versionsByUserId = new ConcurrentHashMap<>();
+
+    public UserSnapshotCache(
+            AppUserRepository appUserRepository,
+            @Value("${security.user-snapshot-ttl-ms:60000}") long ttlMs) {
+        this.appUserRepository = appUserRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    public Optional<AuthenticatedUser> find(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        long version = versionsByUserId.getOrDefault(userId, 0L);
+        long now = System.nanoTime();
+        CachedSnapshot cached = snapshotsByUserId.get(userId);
+        if (cached != null && cached.version() == version && now - cached.loadedAtNanos() < ttlNanos) {
+            return Optional.of(cached.user());
+        }
+
+        Optional<AuthenticatedUser> loaded = appUserRepository.findById(userId).map(AuthenticatedUser::from);
+        loaded.ifPresentOrElse(
+                user -> snapshotsByUserId.put(userId, new CachedSnapshot(version, now, user)),
+                () -> snapshotsByUserId.remove(userId)
+        );
+        return loaded;
+    }
+
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        bumpVersion(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bumpVersion(userId);
+                }
+            });
+        }
+    }
+
+    private void bumpVersion(Long userId) {
+        versionsByUserId.merge(userId, 1L, Long::sum);
+        snapshotsByUserId.remove(userId);
+    }
+
+    private record CachedSnapshot(long version, long loadedAtNanos, AuthenticatedUser user) {
+    }
+}
@@ -7,23 +7,17 @@ import com.example.words.model.Exam;
 import com.example.words.model.ResourceScopeType;
 import com.example.words.model.UserRole;
 import com.example.words.model.VideoAsset;
+import java.util.Collection;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AccessControlService {
 
-    private final DictionaryAssignmentService dictionaryAssignmentService;
-    private final ClassroomDictionaryAssignmentService classroomDictionaryAssignmentService;
-    private final TeacherStudentService teacherStudentService;
-
-    public AccessControlService(
-            DictionaryAssignmentService dictionaryAssignmentService,
-            ClassroomDictionaryAssignmentService classroomDictionaryAssignmentService,
-            TeacherStudentService teacherStudentService) {
-        this.dictionaryAssignmentService = dictionaryAssignmentService;
-        this.classroomDictionaryAssignmentService = classroomDictionaryAssignmentService;
-        this.teacherStudentService = teacherStudentService;
+    private final AuthorizationContextService authorizationContextService;
+
+    public AccessControlService(AuthorizationContextService authorizationContextService) {
+        this.authorizationContextService = authorizationContextService;
     }
 
     public void ensureAdmin(AppUser actor) {
@@ -54,18 +48,14 @@ public class AccessControlService {
             if (dictionary.getScopeType() == ResourceScopeType.SYSTEM
                     || actor.getId().equals(dictionary.getOwnerUserId())
                     || actor.getId().equals(dictionary.getCreatedBy())
-                    || classroomDictionaryAssignmentService.isDictionaryAssignedToTeacherClassrooms(
-                            dictionary.getId(),
-                            actor.getId()
-                    )) {
+                    || authorizationContextService.getContext(actor).hasAssignedDictionary(dictionary.getId())) {
                 return;
             }
         }
 
         if (actor.getRole() == UserRole.STUDENT) {
             if (dictionary.getScopeType() == ResourceScopeType.SYSTEM
-                    || dictionaryAssignmentService.isDictionaryAssignedToStudent(dictionary.getId(), actor.getId())
-                    || classroomDictionaryAssignmentService.isDictionaryAssignedToStudent(dictionary.getId(), actor.getId())) {
+                    || authorizationContextService.getContext(actor).hasAssignedDictionary(dictionary.getId())) {
                 return;
             }
         }
@@ -87,16 +77,18 @@ public class AccessControlService {
         throw new AccessDeniedException("You do not have permission to manage this dictionary");
     }
 
-    public void ensureCanAssignDictionaryToStudent(AppUser actor, Dictionary dictionary, Long studentId) {
+    public void ensureCanAssignDictionaryToStudents(AppUser actor, Dictionary dictionary, Collection<Long> studentIds) {
         if (actor.getRole() == UserRole.ADMIN) {
             return;
         }
 
         if (actor.getRole() == UserRole.TEACHER
                 && (dictionary.getScopeType() == ResourceScopeType.SYSTEM
-                || actor.getId().equals(dictionary.getOwnerUserId()))
-                && teacherStudentService.isTeacherResponsibleForStudent(actor.getId(), studentId)) {
-            return;
+                || actor.getId().equals(dictionary.getOwnerUserId()))) {
+            AuthorizationContextService.AuthorizationContext context = authorizationContextService.getContext(actor);
+            if (studentIds.stream().allMatch(context::isResponsibleForStudent)) {
+                return;
+            }
         }
 
         throw new AccessDeniedException("You do not have permission to assign this dictionary");
@@ -108,7 +100,7 @@ public class AccessControlService {
         }
 
         if (actor.getRole() == UserRole.TEACHER
-                && teacherStudentService.isTeacherResponsibleForStudent(actor.getId(), targetUserId)) {
+                && isResponsibleForStudent(actor, targetUserId)) {
             return;
         }
 
@@ -122,7 +114,7 @@ public class AccessControlService {
 
         if (actor.getRole() == UserRole.TEACHER) {
             if (actor.getId().equals(exam.getCreatedByUserId())
-                    || teacherStudentService.isTeacherResponsibleForStudent(actor.getId(), exam.getTargetUserId())) {
+                    || isResponsibleForStudent(actor, exam.getTargetUserId())) {
                 return;
             }
         }
@@ -175,4 +167,8 @@ public class AccessControlService {
 
         throw new AccessDeniedException("You do not have permission to manage this video");
     }
+
+    private boolean isResponsibleForStudent(AppUser actor, Long studentId) {
+        return authorizationContextService.getContext(actor).isResponsibleForStudent(studentId);
+    }
 }
@@ -0,0 +1,159 @@
+package com.example.words.service;
+
+import com.example.words.model.AppUser;
+import com.example.words.model.Classroom;
+import com.example.words.model.ClassroomDictionaryAssignment;
+import com.example.words.model.ClassroomMember;
+import com.example.words.model.DictionaryAssignment;
+import com.example.words.model.TeacherStudentRelation;
+import com.example.words.model.UserRole;
+import com.example.words.repository.ClassroomDictionaryAssignmentRepository;
+import com.example.words.repository.ClassroomMemberRepository;
+import com.example.words.repository.ClassroomRepository;
+import com.example.words.repository.DictionaryAssignmentRepository;
+import com.example.words.repository.TeacherStudentRelationRepository;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class AuthorizationContextService {
+
+    private final TeacherStudentRelationRepository teacherStudentRelationRepository;
+    private final ClassroomRepository classroomRepository;
+    private final ClassroomMemberRepository classroomMemberRepository;
+    private final ClassroomDictionaryAssignmentRepository classroomDictionaryAssignmentRepository;
+    private final DictionaryAssignmentRepository dictionaryAssignmentRepository;
+    private final long ttlNanos;
+    private final Map<Long, CachedContext> contextsByUserId = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public AuthorizationContextService(
+            TeacherStudentRelationRepository teacherStudentRelationRepository,
+            ClassroomRepository classroomRepository,
+            ClassroomMemberRepository classroomMemberRepository,
+            ClassroomDictionaryAssignmentRepository classroomDictionaryAssignmentRepository,
+            DictionaryAssignmentRepository dictionaryAssignmentRepository,
+            @Value("${access-control.context-ttl-ms:30000}") long ttlMs) {
+        this.teacherStudentRelationRepository = teacherStudentRelationRepository;
+        this.classroomRepository = classroomRepository;
+        this.classroomMemberRepository = classroomMemberRepository;
+        this.classroomDictionaryAssignmentRepository = classroomDictionaryAssignmentRepository;
+        this.dictionaryAssignmentRepository = dictionaryAssignmentRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    @Transactional(readOnly = true)
+    public AuthorizationContext getContext(AppUser actor) {
+        if (actor.getRole() == UserRole.ADMIN) {
+            return AuthorizationContext.EMPTY;
+        }
+
+        long currentGeneration = generation.get();
+        long now = System.nanoTime();
+        CachedContext cached = contextsByUserId.get(actor.getId());
+        if (cached != null
+                && cached.generation() == currentGeneration
+                && cached.role() == actor.getRole()
+                && now - cached.loadedAtNanos() < ttlNanos) {
+            return cached.context();
+        }
+
+        AuthorizationContext context = actor.getRole() == UserRole.TEACHER
+                ? loadTeacherContext(actor.getId())
+                : loadStudentContext(actor.getId());
+        contextsByUserId.put(actor.getId(), new CachedContext(currentGeneration, actor.getRole(), now, context));
+        return context;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        contextsByUserId.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    contextsByUserId.clear();
+                }
+            });
+        }
+    }
+
+    private AuthorizationContext loadTeacherContext(Long teacherId) {
+        Set<Long> classroomIds = new HashSet<>();
+        for (Classroom classroom : classroomRepository.findByTeacherId(teacherId)) {
+            classroomIds.add(classroom.getId());
+        }
+
+        Set<Long> studentIds = new HashSet<>();
+        for (TeacherStudentRelation relation : teacherStudentRelationRepository.findByTeacherId(teacherId)) {
+            studentIds.add(relation.getStudentId());
+        }
+
+        Set<Long> dictionaryIds = new HashSet<>();
+        if (!classroomIds.isEmpty()) {
+            for (ClassroomMember member : classroomMemberRepository.findByClassroomIdIn(classroomIds)) {
+                studentIds.add(member.getStudentId());
+            }
+            for (ClassroomDictionaryAssignment assignment
+                    : classroomDictionaryAssignmentRepository.findByClassroomIdIn(classroomIds)) {
+                dictionaryIds.add(assignment.getDictionaryId());
+            }
+        }
+
+        return new AuthorizationContext(Set.copyOf(studentIds), Set.copyOf(classroomIds), Set.copyOf(dictionaryIds));
+    }
+
+    private AuthorizationContext loadStudentContext(Long studentId) {
+        Set<Long> classroomIds = new HashSet<>();
+        for (ClassroomMember member : classroomMemberRepository.findByStudentId(studentId)) {
+            classroomIds.add(member.getClassroomId());
+        }
+
+        Set<Long> dictionaryIds = new HashSet<>();
+        for (DictionaryAssignment assignment : dictionaryAssignmentRepository.findByStudentId(studentId)) {
+            dictionaryIds.add(assignment.getDictionaryId());
+        }
+        if (!classroomIds.isEmpty()) {
+            for (ClassroomDictionaryAssignment assignment
+                    : classroomDictionaryAssignmentRepository.findByClassroomIdIn(classroomIds)) {
+                dictionaryIds.add(assignment.getDictionaryId());
+            }
+        }
+
+        return new AuthorizationContext(Set.of(), Set.copyOf(classroomIds), Set.copyOf(dictionaryIds));
+    }
+
+    private record CachedContext(
+            long generation,
+            UserRole role,
+            long loadedAtNanos,
+            AuthorizationContext context
+    ) {
+    }
+
+    public record AuthorizationContext(
+            Set<Long> responsibleStudentIds,
+            Set<Long> classroomIds,
+            Set<Long> assignedDictionaryIds
+    ) {
+        static final AuthorizationContext EMPTY = new AuthorizationContext(Set.of(), Set.of(), Set.of());
+
+        public boolean isResponsibleForStudent(Long studentId) {
+            return studentId != null && responsibleStudentIds.contains(studentId);
+        }
+
+        public boolean hasAssignedDictionary(Long dictionaryId) {
+            return dictionaryId != null && assignedDictionaryIds.contains(dictionaryId);
+        }
+    }
+}
@@ -120,6 +120,7 @@ public class BooksImportJobService {
     private final DictionaryWordRepository dictionaryWordRepository;
     private final DictionaryService dictionaryService;
     private final TagService tagService;
+    private final ResourceVersionService resourceVersionService;
     private final Executor booksImportTaskExecutor;
     private final BooksImportProgressEmitterService booksImportProgressEmitterService;
     private final JdbcTemplate jdbcTemplate;
@@ -136,6 +137,7 @@ public class BooksImportJobService {
             DictionaryWordRepository dictionaryWordRepository,
             DictionaryService dictionaryService,
             TagService tagService,
+            ResourceVersionService resourceVersionService,
             @Qualifier("booksImportTaskExecutor") Executor booksImportTaskExecutor,
             BooksImportProgressEmitterService booksImportProgressEmitterService,
             JdbcTemplate jdbcTemplate,
@@ -149,6 +151,7 @@ public class BooksImportJobService {
         this.dictionaryWordRepository = dictionaryWordRepository;
         this.dictionaryService = dictionaryService;
         this.tagService = tagService;
+        this.resourceVersionService = resourceVersionService;
         this.booksImportTaskExecutor = booksImportTaskExecutor;
         this.booksImportProgressEmitterService = booksImportProgressEmitterService;
         this.jdbcTemplate = jdbcTemplate;
@@ -230,6 +233,7 @@ public class BooksImportJobService {
             deletePublishedDictionaries(batchId);
             deleteBatchCreatedMetaWords(batchId);
             booksImportJobRepository.deleteById(batchId);
+            resourceVersionService.bump(ResourceVersionService.DICTIONARIES, ResourceVersionService.META_WORDS);
         });
     }
 
@@ -639,6 +643,7 @@ public class BooksImportJobService {
 
             upsertMetaWords(batchId);
             publishDictionaryEntries(batchId);
+            resourceVersionService.bump(ResourceVersionService.DICTIONARIES, ResourceVersionService.META_WORDS);
 
             if (unresolvedConflictCount == 0) {
                 transactionTemplate.executeWithoutResult(status -> {
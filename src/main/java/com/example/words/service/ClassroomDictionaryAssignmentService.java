@@ -30,16 +30,19 @@ public class ClassroomDictionaryAssignmentService {
     private final ClassroomRepository classroomRepository;
     private final ClassroomMemberRepository classroomMemberRepository;
     private final DictionaryRepository dictionaryRepository;
+    private final AuthorizationContextService authorizationContextService;
 
     public ClassroomDictionaryAssignmentService(
             ClassroomDictionaryAssignmentRepository classroomDictionaryAssignmentRepository,
             ClassroomRepository classroomRepository,
             ClassroomMemberRepository classroomMemberRepository,
-            DictionaryRepository dictionaryRepository) {
+            DictionaryRepository dictionaryRepository,
+            AuthorizationContextService authorizationContextService) {
         this.classroomDictionaryAssignmentRepository = classroomDictionaryAssignmentRepository;
         this.classroomRepository = classroomRepository;
         this.classroomMemberRepository = classroomMemberRepository;
         this.dictionaryRepository = dictionaryRepository;
+        this.authorizationContextService = authorizationContextService;
     }
 
     @Transactional(readOnly = true)
@@ -84,6 +87,9 @@ public class ClassroomDictionaryAssignmentService {
             classroomDictionaryAssignmentRepository.save(assignment);
             assignedCount++;
         }
+        if (assignedCount > 0) {
+            authorizationContextService.invalidateAll();
+        }
         return assignedCount;
     }
 
@@ -104,7 +110,9 @@ public class ClassroomDictionaryAssignmentService {
     public void removeDictionaryFromClassroom(Long classroomId, Long dictionaryId, AppUser actor) {
         Classroom classroom = getClassroomOrThrow(classroomId);
         ensureCanManageClassroom(actor, classroom);
-        classroomDictionaryAssignmentRepository.deleteByClassroomIdAndDictionaryId(classroomId, dictionaryId);
+        if (classroomDictionaryAssignmentRepository.deleteByClassroomIdAndDictionaryId(classroomId, dictionaryId) > 0) {
+            authorizationContextService.invalidateAll();
+        }
     }
 
     @Transactional(readOnly = true)
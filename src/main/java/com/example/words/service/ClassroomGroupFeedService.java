@@ -254,7 +254,7 @@ public class ClassroomGroupFeedService {
             throw new BadRequestException("Video is not ready for classroom playback");
         }
 
-        studentPointEventPublisher.publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+        studentPointEventPublisher.enqueue(new StudentPointEventPublisher.PublishRequest(
                 actor.getId(),
                 video.getId(),
                 videoWatchSourceKey(classroomId, videoId, actor.getId()),
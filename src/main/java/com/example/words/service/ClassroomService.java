@@ -41,18 +41,21 @@ public class ClassroomService {
     private final StudyPlanClassroomRepository studyPlanClassroomRepository;
     private final ClassroomDictionaryAssignmentRepository classroomDictionaryAssignmentRepository;
     private final UserService userService;
+    private final AuthorizationContextService authorizationContextService;
 
     public ClassroomService(
             ClassroomRepository classroomRepository,
             ClassroomMemberRepository classroomMemberRepository,
             StudyPlanClassroomRepository studyPlanClassroomRepository,
             ClassroomDictionaryAssignmentRepository classroomDictionaryAssignmentRepository,
-            UserService userService) {
+            UserService userService,
+            AuthorizationContextService authorizationContextService) {
         this.classroomRepository = classroomRepository;
         this.classroomMemberRepository = classroomMemberRepository;
         this.studyPlanClassroomRepository = studyPlanClassroomRepository;
         this.classroomDictionaryAssignmentRepository = classroomDictionaryAssignmentRepository;
         this.userService = userService;
+        this.authorizationContextService = authorizationContextService;
     }
 
     @Transactional(readOnly = true)
@@ -117,7 +120,9 @@ public class ClassroomService {
         classroom.setTeacherId(teacherId);
         classroom.setStatus(ClassroomStatus.ACTIVE);
 
-        return toResponse(classroomRepository.save(classroom));
+        Classroom savedClassroom = classroomRepository.save(classroom);
+        authorizationContextService.invalidateAll();
+        return toResponse(savedClassroom);
     }
 
     @Transactional
@@ -129,9 +134,14 @@ public class ClassroomService {
         ensureClassroomNameAvailable(name, classroomId);
         classroom.setName(name);
         classroom.setDescription(trimToNull(request.getDescription()));
+        Long previousTeacherId = classroom.getTeacherId();
         classroom.setTeacherId(resolveUpdatedTeacherId(request, classroom, actor));
 
-        return toResponse(classroomRepository.save(classroom));
+        Classroom savedClassroom = classroomRepository.save(classroom);
+        if (!Objects.equals(previousTeacherId, savedClassroom.getTeacherId())) {
+            authorizationContextService.invalidateAll();
+        }
+        return toResponse(savedClassroom);
     }
 
     @Transactional
@@ -140,6 +150,7 @@ public class ClassroomService {
         ensureCanManageClassroom(actor, classroom);
         if (canPhysicallyDelete(classroomId)) {
             classroomRepository.delete(classroom);
+            authorizationContextService.invalidateAll();
             return true;
         }
         classroom.setStatus(ClassroomStatus.ARCHIVED);
@@ -175,6 +186,7 @@ public class ClassroomService {
         }
 
         classroomMemberRepository.save(new ClassroomMember(null, classroomId, studentId, null));
+        authorizationContextService.invalidateAll();
     }
 
     @Transactional
@@ -182,6 +194,7 @@ public class ClassroomService {
         Classroom classroom = getClassroomEntity(classroomId);
         ensureCanManageClassroom(actor, classroom);
         classroomMemberRepository.deleteByClassroomIdAndStudentId(classroomId, studentId);
+        authorizationContextService.invalidateAll();
     }
 
     @Transactional(readOnly = true)
@@ -17,42 +17,42 @@ public class DictionaryAssignmentService {
 
     private final DictionaryAssignmentRepository dictionaryAssignmentRepository;
     private final UserService userService;
-    private final TeacherStudentService teacherStudentService;
+    private final AuthorizationContextService authorizationContextService;
 
     public DictionaryAssignmentService(
             DictionaryAssignmentRepository dictionaryAssignmentRepository,
             UserService userService,
-            TeacherStudentService teacherStudentService) {
+            AuthorizationContextService authorizationContextService) {
         this.dictionaryAssignmentRepository = dictionaryAssignmentRepository;
         this.userService = userService;
-        this.teacherStudentService = teacherStudentService;
+        this.authorizationContextService = authorizationContextService;
     }
 
     @Transactional
     public int assignDictionaryToStudents(Dictionary dictionary, AppUser actor, List<Long> studentIds) {
-        int assignedCount = 0;
-        for (Long studentId : studentIds) {
-            AppUser student = userService.getUserEntity(studentId);
+        List<Long> distinctStudentIds = studentIds.stream().distinct().toList();
+        if (distinctStudentIds.isEmpty()) {
+            return 0;
+        }
+
+        for (AppUser student : userService.getUserEntities(distinctStudentIds)) {
             if (student.getRole() != UserRole.STUDENT) {
-                throw new BadRequestException("User is not a student: " + studentId);
+                throw new BadRequestException("User is not a student: " + student.getId());
             }
+        }
 
-            if (actor.getRole() == UserRole.TEACHER
-                    && !teacherStudentService.isTeacherResponsibleForStudent(actor.getId(), studentId)) {
+        if (actor.getRole() == UserRole.TEACHER) {
+            AuthorizationContextService.AuthorizationContext context = authorizationContextService.getContext(actor);
+            if (!distinctStudentIds.stream().allMatch(context::isResponsibleForStudent)) {
                 throw new org.springframework.security.access.AccessDeniedException(
                         "Teacher cannot assign dictionaries to unrelated students");
             }
+        }
 
-            if (dictionaryAssignmentRepository.existsByDictionaryIdAndStudentId(dictionary.getId(), studentId)) {
-                continue;
-            }
-
-            DictionaryAssignment assignment = new DictionaryAssignment();
-            assignment.setDictionaryId(dictionary.getId());
-            assignment.setStudentId(studentId);
-            assignment.setAssignedByUserId(actor.getId());
-            dictionaryAssignmentRepository.save(assignment);
-            assignedCount++;
+        int assignedCount = dictionaryAssignmentRepository.insertMissing(
+                dictionary.getId(), distinctStudentIds, actor.getId());
+        if (assignedCount > 0) {
+            authorizationContextService.invalidateAll();
         }
         return assignedCount;
     }
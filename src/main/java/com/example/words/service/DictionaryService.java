@@ -9,14 +9,21 @@ import com.example.words.model.ResourceScopeType;
 import com.example.words.model.UserRole;
 import com.example.words.repository.ClassroomRepository;
 import com.example.words.repository.DictionaryRepository;
+import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,64 +33,61 @@ public class DictionaryService {
 
     private static final Logger log = LoggerFactory.getLogger(DictionaryService.class);
     private static final String TRANSLATION_DIR = "/app/books";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.ASC, "id");
 
     private final DictionaryRepository dictionaryRepository;
     private final DictionaryAssignmentService dictionaryAssignmentService;
     private final ClassroomDictionaryAssignmentService classroomDictionaryAssignmentService;
     private final AccessControlService accessControlService;
     private final ClassroomRepository classroomRepository;
+    private final AuthorizationContextService authorizationContextService;
+    private final ResourceVersionService resourceVersionService;
 
     public DictionaryService(
             DictionaryRepository dictionaryRepository,
             DictionaryAssignmentService dictionaryAssignmentService,
             ClassroomDictionaryAssignmentService classroomDictionaryAssignmentService,
             AccessControlService accessControlService,
-            ClassroomRepository classroomRepository) {
+            ClassroomRepository classroomRepository,
+            AuthorizationContextService authorizationContextService,
+            ResourceVersionService resourceVersionService) {
         this.dictionaryRepository = dictionaryRepository;
         this.dictionaryAssignmentService = dictionaryAssignmentService;
         this.classroomDictionaryAssignmentService = classroomDictionaryAssignmentService;
         this.accessControlService = accessControlService;
         this.classroomRepository = classroomRepository;
+        this.authorizationContextService = authorizationContextService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     public List<Dictionary> findAll() {
         return dictionaryRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Dictionary> findVisibleDictionaries(AppUser actor) {
-        List<Dictionary> dictionaries = dictionaryRepository.findAll();
-        if (actor.getRole() == UserRole.ADMIN) {
-            return dictionaries;
-        }
-
-        if (actor.getRole() == UserRole.TEACHER) {
-            Set<Long> assignedDictionaryIds = classroomDictionaryAssignmentService.getAssignedDictionaryIdsForTeacher(actor.getId());
-            return dictionaries.stream()
-                    .filter(dictionary -> dictionary.getScopeType() == ResourceScopeType.SYSTEM
-                            || actor.getId().equals(dictionary.getOwnerUserId())
-                            || actor.getId().equals(dictionary.getCreatedBy())
-                            || assignedDictionaryIds.contains(dictionary.getId()))
-                    .toList();
-        }
+        return dictionaryRepository.findAll(visibleTo(actor), DEFAULT_SORT);
+    }
 
-        Set<Long> assignedDictionaryIds = new LinkedHashSet<>(
-                dictionaryAssignmentService.getAssignedDictionaryIdsForStudent(actor.getId())
-        );
-        assignedDictionaryIds.addAll(classroomDictionaryAssignmentService.getAssignedDictionaryIdsForStudent(actor.getId()));
-        return dictionaries.stream()
-                .filter(dictionary -> dictionary.getScopeType() == ResourceScopeType.SYSTEM
-                        || assignedDictionaryIds.contains(dictionary.getId()))
-                .toList();
+    @Transactional(readOnly = true)
+    public Page<Dictionary> findVisibleDictionariesPage(AppUser actor, int page, int size, String category, String keyword) {
+        Specification<Dictionary> specification = Specification.where(visibleTo(actor))
+                .and(categoryEquals(category))
+                .and(nameContains(keyword));
+        return dictionaryRepository.findAll(specification, buildPageable(page, size));
     }
 
+    @Transactional(readOnly = true)
     public List<Dictionary> findAssignedDictionariesForStudent(Long studentId) {
         Set<Long> assignedDictionaryIds = new LinkedHashSet<>(
                 dictionaryAssignmentService.getAssignedDictionaryIdsForStudent(studentId)
         );
         assignedDictionaryIds.addAll(classroomDictionaryAssignmentService.getAssignedDictionaryIdsForStudent(studentId));
-        return dictionaryRepository.findAll().stream()
-                .filter(dictionary -> assignedDictionaryIds.contains(dictionary.getId()))
-                .toList();
+        if (assignedDictionaryIds.isEmpty()) {
+            return List.of();
+        }
+        return dictionaryRepository.findAll(idIn(assignedDictionaryIds), DEFAULT_SORT);
     }
 
     @Transactional(readOnly = true)
@@ -100,9 +104,10 @@ public class DictionaryService {
             return List.of();
         }
 
-        return findVisibleDictionaries(actor).stream()
-                .filter(dictionary -> dictionaryIds.contains(dictionary.getId()))
-                .toList();
+        return dictionaryRepository.findAll(
+                Specification.where(visibleTo(actor)).and(idIn(dictionaryIds)),
+                DEFAULT_SORT
+        );
     }
 
     public Optional<Dictionary> findById(Long id) {
@@ -129,15 +134,19 @@ public class DictionaryService {
         return dictionaryRepository.findByCategory(category);
     }
 
+    @Transactional(readOnly = true)
     public List<Dictionary> findByCategoryVisibleToUser(String category, AppUser actor) {
-        return findVisibleDictionaries(actor).stream()
-                .filter(dictionary -> category.equals(dictionary.getCategory()))
-                .toList();
+        return dictionaryRepository.findAll(
+                Specification.where(visibleTo(actor)).and(categoryEquals(category)),
+                DEFAULT_SORT
+        );
     }
 
     @Transactional
     public Dictionary save(Dictionary dictionary) {
-        return dictionaryRepository.save(dictionary);
+        Dictionary saved = dictionaryRepository.save(dictionary);
+        resourceVersionService.bump(ResourceVersionService.dictionaryKey(saved.getId()), ResourceVersionService.META_WORDS);
+        return saved;
     }
 
     @Transactional
@@ -195,12 +204,14 @@ public class DictionaryService {
                 dictionary.setEntryCount(wordCount);
             }
             dictionaryRepository.save(dictionary);
+            resourceVersionService.bumpDictionary(dictionaryId);
         });
     }
 
     @Transactional
     public void updateCounts(Long dictionaryId, int wordCount, int entryCount) {
         dictionaryRepository.updateCounts(dictionaryId, wordCount, entryCount);
+        resourceVersionService.bumpDictionary(dictionaryId);
     }
 
     @Transactional
@@ -208,6 +219,7 @@ public class DictionaryService {
         dictionaryRepository.findById(dictionaryId).ifPresent(dictionary -> {
             dictionary.setEntryCount(entryCount);
             dictionaryRepository.save(dictionary);
+            resourceVersionService.bumpDictionary(dictionaryId);
         });
     }
 
@@ -217,16 +229,19 @@ public class DictionaryService {
             return;
         }
         dictionaryRepository.incrementWordCount(dictionaryId, delta);
+        resourceVersionService.bumpDictionary(dictionaryId);
     }
 
     @Transactional
     public void deleteAll() {
         dictionaryRepository.deleteAll();
+        resourceVersionService.bump(ResourceVersionService.DICTIONARIES, ResourceVersionService.META_WORDS);
     }
 
     @Transactional
     public int deleteUserCreatedDictionaries() {
         int deletedCount = dictionaryRepository.deleteByCreationType(DictionaryCreationType.USER_CREATED);
+        resourceVersionService.bump(ResourceVersionService.DICTIONARIES, ResourceVersionService.META_WORDS);
         log.info("Deleted {} user-created dictionaries", deletedCount);
         return deletedCount;
     }
@@ -237,6 +252,7 @@ public class DictionaryService {
                 .map(dictionary -> {
                     if (dictionary.getCreationType() == DictionaryCreationType.USER_CREATED) {
                         dictionaryRepository.delete(dictionary);
+                        resourceVersionService.bump(ResourceVersionService.dictionaryKey(id), ResourceVersionService.META_WORDS);
                         log.info("Deleted user-created dictionary: {} (ID: {})", dictionary.getName(), id);
                         return true;
                     } else {
@@ -253,6 +269,7 @@ public class DictionaryService {
                 .map(dictionary -> {
                     accessControlService.ensureCanManageDictionary(actor, dictionary);
                     dictionaryRepository.delete(dictionary);
+                    resourceVersionService.bump(ResourceVersionService.dictionaryKey(id), ResourceVersionService.META_WORDS);
                     log.info("Deleted dictionary: {} (ID: {}) by user {}", dictionary.getName(), id, actor.getId());
                     return true;
                 })
@@ -304,6 +321,52 @@ public class DictionaryService {
         return "其他";
     }
 
+    private Specification<Dictionary> visibleTo(AppUser actor) {
+        if (actor.getRole() == UserRole.ADMIN) {
+            return null;
+        }
+
+        Set<Long> assignedDictionaryIds = authorizationContextService.getContext(actor).assignedDictionaryIds();
+        boolean teacher = actor.getRole() == UserRole.TEACHER;
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(criteriaBuilder.equal(root.get("scopeType"), ResourceScopeType.SYSTEM));
+            if (teacher) {
+                predicates.add(criteriaBuilder.equal(root.get("ownerUserId"), actor.getId()));
+                predicates.add(criteriaBuilder.equal(root.get("createdBy"), actor.getId()));
+            }
+            if (!assignedDictionaryIds.isEmpty()) {
+                predicates.add(root.get("id").in(assignedDictionaryIds));
+            }
+            return criteriaBuilder.or(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private Specification<Dictionary> idIn(Collection<Long> dictionaryIds) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(dictionaryIds);
+    }
+
+    private Specification<Dictionary> categoryEquals(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("category"), category);
+    }
+
+    private Specification<Dictionary> nameContains(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return null;
+        }
+        String pattern = "%" + keyword.trim().toLowerCase(Locale.ROOT) + "%";
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), pattern);
+    }
+
+    private Pageable buildPageable(int page, int size) {
+        int normalizedPage = Math.max(page, 1) - 1;
+        int normalizedSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return PageRequest.of(normalizedPage, normalizedSize, DEFAULT_SORT);
+    }
+
     private List<Classroom> resolveVisibleClassrooms(Collection<Long> classroomIds, AppUser actor) {
         List<Classroom> classrooms = new ArrayList<>();
         for (Long classroomId : classroomIds.stream().distinct().toList()) {
@@ -57,18 +57,21 @@ public class DictionaryWordService {
     private final TagRepository tagRepository;
     private final TagService tagService;
     private final DictionaryService dictionaryService;
+    private final ResourceVersionService resourceVersionService;
 
     public DictionaryWordService(
             DictionaryWordRepository dictionaryWordRepository,
             MetaWordRepository metaWordRepository,
             TagRepository tagRepository,
             TagService tagService,
-            DictionaryService dictionaryService) {
+            DictionaryService dictionaryService,
+            ResourceVersionService resourceVersionService) {
         this.dictionaryWordRepository = dictionaryWordRepository;
         this.metaWordRepository = metaWordRepository;
         this.tagRepository = tagRepository;
         this.tagService = tagService;
         this.dictionaryService = dictionaryService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     public List<DictionaryWord> findByDictionaryId(Long dictionaryId) {
@@ -151,11 +154,13 @@ public class DictionaryWordService {
     public void deleteByDictionaryId(Long dictionaryId) {
         dictionaryWordRepository.deleteByDictionaryId(dictionaryId);
         dictionaryService.updateCounts(dictionaryId, 0, 0);
+        resourceVersionService.bump(ResourceVersionService.META_WORDS);
     }
 
     @Transactional
     public void deleteAll() {
         dictionaryWordRepository.deleteAll();
+        resourceVersionService.bump(ResourceVersionService.DICTIONARIES, ResourceVersionService.META_WORDS);
     }
 
     @Transactional
@@ -326,6 +331,7 @@ public class DictionaryWordService {
         metaWord.setWord(entry.getWord().trim());
         updateMetaWordFields(metaWord, entry);
         MetaWord savedMetaWord = metaWordRepository.save(metaWord);
+        resourceVersionService.bump(ResourceVersionService.META_WORDS);
 
         if (!dictionaryWordRepository.existsByDictionaryIdAndMetaWordId(dictionaryId, savedMetaWord.getId())) {
             saveIfNotExists(dictionaryId, savedMetaWord.getId());
@@ -476,6 +482,7 @@ public class DictionaryWordService {
         int uniqueWordCount = (int) dictionaryWordRepository.countDistinctMetaWordIdByDictionaryId(dictionaryId);
         int entryCount = (int) dictionaryWordRepository.countByDictionaryId(dictionaryId);
         dictionaryService.updateCounts(dictionaryId, uniqueWordCount, entryCount);
+        resourceVersionService.bump(ResourceVersionService.META_WORDS);
     }
 
     private void updateMetaWordFields(MetaWord metaWord, MetaWordEntryDto dto) {
@@ -0,0 +1,77 @@
+package com.example.words.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.TreeMap;
+
+final class FocusHistogram {
+
+    private final TreeMap<Integer, Integer> counts;
+    private long total;
+
+    private FocusHistogram(TreeMap<Integer, Integer> counts) {
+        this.counts = counts;
+        this.total = counts.values().stream().mapToLong(Integer::longValue).sum();
+    }
+
+    static FocusHistogram empty() {
+        return new FocusHistogram(new TreeMap<>());
+    }
+
+    static FocusHistogram parse(String encoded) {
+        TreeMap<Integer, Integer> counts = new TreeMap<>();
+        if (encoded != null && !encoded.isBlank()) {
+            for (String bucket : encoded.split(",")) {
+                int separator = bucket.indexOf(':');
+                counts.merge(
+                        Integer.parseInt(bucket.substring(0, separator)),
+                        Integer.parseInt(bucket.substring(separator + 1)),
+                        Integer::sum);
+            }
+        }
+        return new FocusHistogram(counts);
+    }
+
+    void add(int focusSeconds) {
+        counts.merge(focusSeconds, 1, Integer::sum);
+        total++;
+    }
+
+    BigDecimal median() {
+        if (total == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        long middleIndex = total / 2;
+        Integer left = null;
+        long seen = 0;
+        for (Map.Entry<Integer, Integer> bucket : counts.entrySet()) {
+            long bucketEnd = seen + bucket.getValue();
+            if (total % 2 == 0 && left == null && middleIndex - 1 < bucketEnd) {
+                left = bucket.getKey();
+            }
+            if (middleIndex < bucketEnd) {
+                if (total % 2 == 1) {
+                    return BigDecimal.valueOf(bucket.getKey()).setScale(2, RoundingMode.HALF_UP);
+                }
+                return BigDecimal.valueOf(left)
+                        .add(BigDecimal.valueOf(bucket.getKey()))
+                        .divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+            }
+            seen = bucketEnd;
+        }
+        throw new IllegalStateException("Focus histogram total does not match its buckets");
+    }
+
+    String encode() {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<Integer, Integer> bucket : counts.entrySet()) {
+            if (!encoded.isEmpty()) {
+                encoded.append(',');
+            }
+            encoded.append(bucket.getKey()).append(':').append(bucket.getValue());
+        }
+        return encoded.toString();
+    }
+}
@@ -65,6 +65,7 @@ public class MetaWordService {
     private final TagRepository tagRepository;
     private final CurrentUserService currentUserService;
     private final AccessControlService accessControlService;
+    private final ResourceVersionService resourceVersionService;
     private final TransactionTemplate transactionTemplate;
 
     public MetaWordService(
@@ -74,6 +75,7 @@ public class MetaWordService {
             TagRepository tagRepository,
             CurrentUserService currentUserService,
             AccessControlService accessControlService,
+            ResourceVersionService resourceVersionService,
             PlatformTransactionManager transactionManager) {
         this.metaWordRepository = metaWordRepository;
         this.dictionaryService = dictionaryService;
@@ -81,6 +83,7 @@ public class MetaWordService {
         this.tagRepository = tagRepository;
         this.currentUserService = currentUserService;
         this.accessControlService = accessControlService;
+        this.resourceVersionService = resourceVersionService;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
@@ -115,7 +118,9 @@ public class MetaWordService {
 
     @Transactional
     public MetaWord save(MetaWord metaWord) {
-        return metaWordRepository.save(metaWord);
+        MetaWord saved = metaWordRepository.save(metaWord);
+        resourceVersionService.bump(ResourceVersionService.META_WORDS);
+        return saved;
     }
 
     @Transactional
@@ -140,6 +145,7 @@ public class MetaWordService {
             if (partOfSpeechDetail != null && !partOfSpeechDetail.isEmpty()) {
                 metaWord.setPartOfSpeechDetail(partOfSpeechDetail);
             }
+            resourceVersionService.bump(ResourceVersionService.META_WORDS);
             return metaWordRepository.save(metaWord);
         }
         MetaWord metaWord = new MetaWord(word, phoneticDetail, partOfSpeechDetail);
@@ -0,0 +1,174 @@
+package com.example.words.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic treap ordered by points descending, then student id. Updates and rank lookups are O(log n) and
+ * top-N reads are O(log n + N). Ties share a rank. Not thread-safe; callers synchronize.
+ */
+final class RankedScoreBoard {
+
+    private final Map<Long, Long> pointsByStudent = new HashMap<>();
+    private final SplittableRandom priorities = new SplittableRandom();
+    private Node root;
+
+    boolean contains(Long studentId) {
+        return pointsByStudent.containsKey(studentId);
+    }
+
+    int size() {
+        return pointsByStudent.size();
+    }
+
+    long points(Long studentId) {
+        return pointsByStudent.getOrDefault(studentId, 0L);
+    }
+
+    void put(Long studentId, long points) {
+        Long previous = pointsByStudent.put(studentId, points);
+        if (previous != null) {
+            root = remove(root, previous, studentId);
+        }
+        Node node = new Node(studentId, points, priorities.nextInt());
+        Node[] parts = split(root, points, studentId);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    void add(Long studentId, long delta) {
+        if (contains(studentId)) {
+            put(studentId, points(studentId) + delta);
+        }
+    }
+
+    /**
+     * Returns the 1-based competition rank, or 0 when the student is not on the board.
+     */
+    int rank(Long studentId) {
+        Long points = pointsByStudent.get(studentId);
+        return points == null ? 0 : countAbove(points) + 1;
+    }
+
+    List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(Math.min(limit, size()));
+        collect(root, limit, entries);
+        return entries;
+    }
+
+    private int countAbove(long points) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.points > points) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private void collect(Node node, int limit, List<Entry> entries) {
+        if (node == null || entries.size() >= limit) {
+            return;
+        }
+        collect(node.left, limit, entries);
+        if (entries.size() >= limit) {
+            return;
+        }
+        int position = entries.size() + 1;
+        Entry previous = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+        int rank = previous != null && previous.points() == node.points ? previous.rank() : position;
+        entries.add(new Entry(node.studentId, node.points, rank));
+        collect(node.right, limit, entries);
+    }
+
+    private Node remove(Node node, long points, Long studentId) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(points, studentId, node);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, points, studentId);
+        } else {
+            node.right = remove(node.right, points, studentId);
+        }
+        node.update();
+        return node;
+    }
+
+    // Splits into keys ordered before (points, studentId) and the rest.
+    private Node[] split(Node node, long points, Long studentId) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (compare(points, studentId, node) > 0) {
+            Node[] parts = split(node.right, points, studentId);
+            node.right = parts[0];
+            node.update();
+            return new Node[] {node, parts[1]};
+        }
+        Node[] parts = split(node.left, points, studentId);
+        node.left = parts[1];
+        node.update();
+        return new Node[] {parts[0], node};
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private int compare(long points, Long studentId, Node node) {
+        if (points != node.points) {
+            return points > node.points ? -1 : 1;
+        }
+        return studentId.compareTo(node.studentId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    record Entry(Long studentId, long points, int rank) {
+    }
+
+    private static final class Node {
+
+        private final Long studentId;
+        private final long points;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(Long studentId, long points, int priority) {
+            this.studentId = studentId;
+            this.points = points;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + RankedScoreBoard.size(left) + RankedScoreBoard.size(right);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.words.service;
+
+import com.example.words.model.ResourceVersion;
+import com.example.words.repository.ResourceVersionRepository;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+@Service
+public class ResourceVersionService {
+
+    public static final String DICTIONARIES = "dictionaries";
+    public static final String META_WORDS = "meta-words";
+    public static final String VIDEOS = "videos";
+
+    private static final String CACHE_CONTROL_VALUE = "private, no-cache";
+
+    private final ResourceVersionRepository resourceVersionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResourceVersionService(
+            ResourceVersionRepository resourceVersionRepository,
+            PlatformTransactionManager transactionManager) {
+        this.resourceVersionRepository = resourceVersionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public static String dictionaryKey(Long dictionaryId) {
+        return "dictionary:" + dictionaryId;
+    }
+
+    public static String videoKey(Long videoId) {
+        return "video:" + videoId;
+    }
+
+    public void bumpDictionary(Long dictionaryId) {
+        bump(dictionaryKey(dictionaryId));
+    }
+
+    public void bumpVideo(Long videoId) {
+        bump(videoKey(videoId));
+    }
+
+    public void bump(String... resourceKeys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> bumpNow(Arrays.asList(resourceKeys)));
+            return;
+        }
+
+        PendingBumps pendingBumps = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBumps candidate && candidate.owner() == this) {
+                pendingBumps = candidate;
+                break;
+            }
+        }
+        if (pendingBumps == null) {
+            pendingBumps = new PendingBumps();
+            TransactionSynchronizationManager.registerSynchronization(pendingBumps);
+        }
+        pendingBumps.keys.addAll(Arrays.asList(resourceKeys));
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp currentStamp(String... resourceKeys) {
+        Map<String, ResourceVersion> versions = resourceVersionRepository.findAllById(Arrays.asList(resourceKeys))
+                .stream()
+                .collect(Collectors.toMap(ResourceVersion::getResourceKey, Function.identity()));
+
+        StringBuilder tag = new StringBuilder();
+        long lastModified = -1L;
+        for (String resourceKey : resourceKeys) {
+            ResourceVersion version = versions.get(resourceKey);
+            if (!tag.isEmpty()) {
+                tag.append('.');
+            }
+            tag.append(version == null ? 0L : version.getVersion());
+            if (version != null && version.getUpdatedAt() != null) {
+                long updatedAt = version.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                lastModified = Math.max(lastModified, updatedAt);
+            }
+        }
+        return new VersionStamp(tag.toString(), lastModified);
+    }
+
+    private void bumpNow(Collection<String> resourceKeys) {
+        new TreeSet<>(resourceKeys).forEach(resourceVersionRepository::bump);
+    }
+
+    private final class PendingBumps implements TransactionSynchronization {
+
+        private final Set<String> keys = new TreeSet<>();
+
+        private ResourceVersionService owner() {
+            return ResourceVersionService.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            bumpNow(keys);
+        }
+    }
+
+    public record VersionStamp(String tag, long lastModifiedMillis) {
+
+        public VersionStamp scopedTo(Object discriminator) {
+            return new VersionStamp(tag + "-" + discriminator, lastModifiedMillis);
+        }
+
+        public String etag() {
+            return "\"" + tag + "\"";
+        }
+
+        public boolean checkNotModified(WebRequest request) {
+            if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+                servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_VALUE);
+            }
+            return request.checkNotModified(etag(), lastModifiedMillis);
+        }
+    }
+}
@@ -139,6 +139,7 @@ public class SparkJunior1600SeedService {
             StudentStudyPlan studentStudyPlan = new StudentStudyPlan();
             studentStudyPlan.setStudyPlanId(studyPlan.getId());
             studentStudyPlan.setStudentId(student.getId());
+            studentStudyPlan.setClassroomId(classroom.getId());
             studentStudyPlan.setStatus(StudentStudyPlanStatus.ACTIVE);
             studentStudyPlan.setJoinedAt(joinedAt);
             studentStudyPlanRepository.save(studentStudyPlan);
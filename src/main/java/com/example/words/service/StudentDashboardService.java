@@ -1,23 +1,31 @@
 package com.example.words.service;
 
 import com.example.words.dto.StudentDashboardRecordRequest;
+import com.example.words.dto.StudentDashboardRecordResponse;
 import com.example.words.dto.StudentDashboardReminderResponse;
 import com.example.words.dto.StudentDashboardResponse;
 import com.example.words.dto.StudentDashboardTaskItemResponse;
-import com.example.words.dto.StudentStudyPlanSummaryResponse;
-import com.example.words.dto.StudyTaskItemResponse;
-import com.example.words.dto.StudyTaskResponse;
 import com.example.words.model.AppUser;
-import com.example.words.model.StudentStudyPlanStatus;
+import com.example.words.model.MetaWord;
+import com.example.words.model.StudyDayTaskItem;
 import com.example.words.model.StudyTaskType;
+import com.example.words.model.UserRole;
+import com.example.words.repository.MetaWordRepository;
+import com.example.words.repository.StudentStudyPlanRepository;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,40 +39,59 @@ public class StudentDashboardService {
     );
 
     private final StudyPlanService studyPlanService;
-
-    public StudentDashboardService(StudyPlanService studyPlanService) {
+    private final StudentStudyPlanRepository studentStudyPlanRepository;
+    private final MetaWordRepository metaWordRepository;
+    private final Clock clock;
+
+    public StudentDashboardService(
+            StudyPlanService studyPlanService,
+            StudentStudyPlanRepository studentStudyPlanRepository,
+            MetaWordRepository metaWordRepository,
+            Clock clock) {
         this.studyPlanService = studyPlanService;
+        this.studentStudyPlanRepository = studentStudyPlanRepository;
+        this.metaWordRepository = metaWordRepository;
+        this.clock = clock;
     }
 
     @Transactional
     public StudentDashboardResponse getDashboard(AppUser actor) {
-        List<StudentStudyPlanSummaryResponse> plans = studyPlanService.listStudentStudyPlans(actor).stream()
-                .filter(plan -> plan.getStatus() == StudentStudyPlanStatus.ACTIVE)
+        if (actor.getRole() != UserRole.STUDENT) {
+            throw new AccessDeniedException("Only students can view personal study plans");
+        }
+
+        List<StudentStudyPlanRepository.StudentDashboardQueueRow> rows = loadQueueRows(actor);
+        List<Long> missingTaskPlanIds = rows.stream()
+                .filter(row -> row.getStudyDayTaskId() == null && Boolean.TRUE.equals(row.getTaskExpected()))
+                .map(StudentStudyPlanRepository.StudentDashboardQueueRow::getStudentStudyPlanId)
                 .toList();
+        if (!missingTaskPlanIds.isEmpty()) {
+            missingTaskPlanIds.forEach(studentStudyPlanId -> studyPlanService.ensureTodayTask(studentStudyPlanId, actor));
+            rows = loadQueueRows(actor);
+        }
+        Map<Long, MetaWord> metaWords = loadMetaWords(rows);
 
         List<StudentDashboardTaskItemResponse> queue = new ArrayList<>();
+        Set<Long> countedTaskIds = new HashSet<>();
         int overdueCount = 0;
         int reviewCount = 0;
         int newCount = 0;
         int completedCount = 0;
         LocalDate taskDate = null;
 
-        for (StudentStudyPlanSummaryResponse plan : plans) {
-            StudyTaskResponse task = studyPlanService.getTodayTask(plan.getStudentStudyPlanId(), actor);
-            Map<Long, Integer> attempts = studyPlanService.countTodayAttempts(
-                    plan.getStudentStudyPlanId(),
-                    task.getTaskDate(),
-                    actor
-            );
-
-            taskDate = taskDate == null ? task.getTaskDate() : taskDate;
-            overdueCount += value(task.getOverdueCount());
-            reviewCount += value(task.getReviewCount());
-            newCount += value(task.getNewCount());
-            completedCount += value(task.getCompletedCount());
-
-            for (StudyTaskItemResponse item : task.getQueue()) {
-                queue.add(toDashboardItem(plan, item, attempts.getOrDefault(item.getMetaWordId(), 0)));
+        for (StudentStudyPlanRepository.StudentDashboardQueueRow row : rows) {
+            if (row.getStudyDayTaskId() == null) {
+                continue;
+            }
+            if (countedTaskIds.add(row.getStudyDayTaskId())) {
+                taskDate = taskDate == null ? row.getTaskDate() : taskDate;
+                overdueCount += value(row.getOverdueCount());
+                reviewCount += value(row.getReviewCount());
+                newCount += value(row.getNewCount());
+                completedCount += value(row.getCompletedCount());
+            }
+            if (row.getStudyDayTaskItemId() != null) {
+                queue.add(toDashboardItem(row, metaWords.get(row.getMetaWordId())));
             }
         }
 
@@ -79,7 +106,7 @@ public class StudentDashboardService {
 
         return new StudentDashboardResponse(
                 taskDate,
-                !plans.isEmpty(),
+                !rows.isEmpty(),
                 allTasksCompleted,
                 overdueCount,
                 reviewCount,
@@ -92,39 +119,68 @@ public class StudentDashboardService {
         );
     }
 
-    @Transactional
-    public StudentDashboardResponse record(StudentDashboardRecordRequest request, AppUser actor) {
-        studyPlanService.recordStudy(
+    public StudentDashboardRecordResponse record(StudentDashboardRecordRequest request, AppUser actor) {
+        StudyDayTaskItem taskItem = studyPlanService.recordStudyItem(
                 request.getStudentStudyPlanId(),
                 request.toRecordStudyRequest(),
                 actor
         );
-        return getDashboard(actor);
+        return new StudentDashboardRecordResponse(
+                request.getStudentStudyPlanId(),
+                taskItem.getId(),
+                taskItem.getMetaWordId(),
+                taskItem.getAttemptCount(),
+                taskItem.getCompletedAt() != null
+        );
+    }
+
+    private List<StudentStudyPlanRepository.StudentDashboardQueueRow> loadQueueRows(AppUser actor) {
+        return studentStudyPlanRepository.findDashboardQueueRows(
+                actor.getId(),
+                LocalDateTime.now(clock.withZone(ZoneOffset.UTC))
+        );
+    }
+
+    private Map<Long, MetaWord> loadMetaWords(List<StudentStudyPlanRepository.StudentDashboardQueueRow> rows) {
+        Set<Long> metaWordIds = new HashSet<>();
+        for (StudentStudyPlanRepository.StudentDashboardQueueRow row : rows) {
+            if (row.getMetaWordId() != null) {
+                metaWordIds.add(row.getMetaWordId());
+            }
+        }
+        if (metaWordIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, MetaWord> metaWords = new HashMap<>();
+        for (MetaWord metaWord : metaWordRepository.findAllById(metaWordIds)) {
+            metaWords.put(metaWord.getId(), metaWord);
+        }
+        return metaWords;
     }
 
     private StudentDashboardTaskItemResponse toDashboardItem(
-            StudentStudyPlanSummaryResponse plan,
-            StudyTaskItemResponse item,
-            int attemptCount) {
+            StudentStudyPlanRepository.StudentDashboardQueueRow row,
+            MetaWord metaWord) {
         return new StudentDashboardTaskItemResponse(
-                plan.getStudentStudyPlanId(),
-                item.getStudyDayTaskItemId(),
-                plan.getStudyPlanId(),
-                plan.getPlanName(),
-                plan.getPlanPublishedAt(),
-                item.getMetaWordId(),
-                item.getWord(),
-                item.getDefinition(),
-                item.getTranslation(),
-                item.getPartOfSpeech(),
-                item.getExampleSentence(),
-                item.getPhonetic(),
-                item.getPhoneticDetail(),
-                item.getSyllableDetail(),
-                item.getTaskType(),
-                item.getPhase(),
-                item.getDueDate(),
-                attemptCount
+                row.getStudentStudyPlanId(),
+                row.getStudyDayTaskItemId(),
+                row.getStudyPlanId(),
+                row.getPlanName(),
+                row.getPlanPublishedAt(),
+                row.getMetaWordId(),
+                metaWord == null ? null : metaWord.getWord(),
+                metaWord == null ? null : metaWord.getDefinition(),
+                metaWord == null ? null : metaWord.getTranslation(),
+                metaWord == null ? null : metaWord.getPartOfSpeech(),
+                metaWord == null ? null : metaWord.getExampleSentence(),
+                metaWord == null ? null : metaWord.getPhonetic(),
+                metaWord == null ? null : metaWord.getPhoneticDetail(),
+                metaWord == null ? null : metaWord.getSyllableDetail(),
+                StudyTaskType.valueOf(row.getTaskType()),
+                row.getPhase() == null ? 0 : row.getPhase(),
+                row.getDueDate(),
+                value(row.getAttemptCount())
         );
     }
 
@@ -3,6 +3,7 @@ package com.example.words.service;
 import com.example.words.dto.AdminStudentPointAccountResponse;
 import com.example.words.dto.StudentPointEventAttemptResponse;
 import com.example.words.dto.StudentPointEventResponse;
+import com.example.words.dto.StudentPointHistoryPage;
 import com.example.words.dto.StudentPointRuleAuditResponse;
 import com.example.words.dto.StudentPointRuleResponse;
 import com.example.words.dto.StudentPointTransactionResponse;
@@ -58,10 +59,19 @@ public class StudentPointAdminQueryService {
     }
 
     @Transactional(readOnly = true)
-    public Page<StudentPointTransactionResponse> getTransactions(int page, int size) {
-        Page<StudentPointTransaction> transactions = transactionRepository.findAll(page(page, size));
+    public StudentPointHistoryPage<StudentPointTransactionResponse> getTransactions(String cursor, int size) {
+        StudentPointHistoryCursor position = StudentPointHistoryCursor.decode(cursor);
+        int pageSize = StudentPointHistoryCursor.pageSize(size);
+        Pageable probe = StudentPointHistoryCursor.probe(pageSize);
+        StudentPointHistoryPage<StudentPointTransaction> transactions = StudentPointHistoryPage.of(
+                position == null
+                        ? transactionRepository.findLatest(probe)
+                        : transactionRepository.findBefore(position.createdAt(), position.id(), probe),
+                pageSize,
+                transaction -> StudentPointHistoryCursor.encode(transaction.getCreatedAt(), transaction.getId())
+        );
         Map<Long, AppUser> users = findUsersByStudentIds(
-                transactions.stream().map(StudentPointTransaction::getStudentId).toList()
+                transactions.content().stream().map(StudentPointTransaction::getStudentId).toList()
         );
         return transactions.map(transaction -> StudentPointTransactionResponse.from(
                 transaction,
@@ -71,12 +81,20 @@ public class StudentPointAdminQueryService {
     }
 
     @Transactional(readOnly = true)
-    public Page<StudentPointEventResponse> getEvents(PointEventStatus status, int page, int size) {
-        Pageable pageable = page(page, size);
-        Page<StudentPointEvent> events =
-                status == null ? eventRepository.findAll(pageable) : eventRepository.findByStatus(status, pageable);
+    public StudentPointHistoryPage<StudentPointEventResponse> getEvents(
+            PointEventStatus status,
+            String cursor,
+            int size
+    ) {
+        StudentPointHistoryCursor position = StudentPointHistoryCursor.decode(cursor);
+        int pageSize = StudentPointHistoryCursor.pageSize(size);
+        StudentPointHistoryPage<StudentPointEvent> events = StudentPointHistoryPage.of(
+                findEvents(status, position, StudentPointHistoryCursor.probe(pageSize)),
+                pageSize,
+                event -> StudentPointHistoryCursor.encode(event.getCreatedAt(), event.getId())
+        );
         Map<Long, AppUser> users = findUsersByStudentIds(
-                events.stream().map(StudentPointEvent::getStudentId).toList()
+                events.content().stream().map(StudentPointEvent::getStudentId).toList()
         );
         return events.map(event -> StudentPointEventResponse.from(
                 event,
@@ -114,6 +132,21 @@ public class StudentPointAdminQueryService {
         );
     }
 
+    private List<StudentPointEvent> findEvents(
+            PointEventStatus status,
+            StudentPointHistoryCursor position,
+            Pageable probe
+    ) {
+        if (status == null) {
+            return position == null
+                    ? eventRepository.findLatest(probe)
+                    : eventRepository.findBefore(position.createdAt(), position.id(), probe);
+        }
+        return position == null
+                ? eventRepository.findLatestByStatus(status, probe)
+                : eventRepository.findByStatusBefore(status, position.createdAt(), position.id(), probe);
+    }
+
     private Map<Long, AppUser> findUsersByStudentIds(List<Long> studentIds) {
         List<Long> ids = studentIds.stream().distinct().toList();
         if (ids.isEmpty()) {
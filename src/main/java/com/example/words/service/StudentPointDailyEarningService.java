@@ -0,0 +1,87 @@
+package com.example.words.service;
+
+import com.example.words.model.PointTransactionType;
+import com.example.words.model.StudentPointDailyEarning;
+import com.example.words.model.StudentPointTransaction;
+import com.example.words.repository.StudentPointDailyEarningRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the per-student daily earned rollup in step with the ledger. Callers hold the student's account lock, so
+ * the update-then-insert below cannot race another posting for the same student.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentPointDailyEarningService {
+
+    private final StudentPointDailyEarningRepository earningRepository;
+    private final StudentPointLeaderboardService leaderboardService;
+    private final Clock clock;
+
+    public void recordPosted(StudentPointTransaction transaction) {
+        if (transaction.getTransactionType() == PointTransactionType.EARN) {
+            apply(transaction.getStudentId(), earnedDate(transaction), transaction.getAmount());
+        }
+    }
+
+    public void recordReversed(StudentPointTransaction original) {
+        if (original.getTransactionType() == PointTransactionType.EARN) {
+            apply(original.getStudentId(), earnedDate(original), -(long) original.getAmount());
+        }
+    }
+
+    public long todayEarned(Long studentId) {
+        return earningRepository.findByStudentIdAndEarnedDate(studentId, LocalDate.now(clock))
+                .map(StudentPointDailyEarning::getEarnedPoints)
+                .orElse(0L);
+    }
+
+    public Map<Long, Long> todayEarned(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return Map.of();
+        }
+        return earningRepository.findByStudentIdInAndEarnedDate(studentIds, LocalDate.now(clock)).stream()
+                .collect(Collectors.toMap(
+                        StudentPointDailyEarning::getStudentId,
+                        StudentPointDailyEarning::getEarnedPoints
+                ));
+    }
+
+    private void apply(Long studentId, LocalDate earnedDate, long delta) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (earningRepository.addEarnedPoints(studentId, earnedDate, delta, now) == 0) {
+            StudentPointDailyEarning earning = new StudentPointDailyEarning();
+            earning.setStudentId(studentId);
+            earning.setEarnedDate(earnedDate);
+            earning.setEarnedPoints(delta);
+            earning.setUpdatedAt(now);
+            earningRepository.save(earning);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    leaderboardService.recordEarned(studentId, earnedDate, delta, now);
+                }
+            });
+            return;
+        }
+        leaderboardService.recordEarned(studentId, earnedDate, delta, now);
+    }
+
+    private LocalDate earnedDate(StudentPointTransaction transaction) {
+        return transaction.getCreatedAt() == null
+                ? LocalDate.now(clock)
+                : transaction.getCreatedAt().toLocalDate();
+    }
+}
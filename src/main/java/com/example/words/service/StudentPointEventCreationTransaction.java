@@ -7,12 +7,19 @@ import com.example.words.model.StudentPointEvent;
 import com.example.words.model.StudentPointRule;
 import com.example.words.repository.StudentPointEventRepository;
 import com.example.words.repository.StudentPointRuleRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StudentPointEventCreationTransaction {
@@ -30,21 +37,23 @@ public class StudentPointEventCreationTransaction {
                         "Point rule not found: " + request.ruleCode()
                 ));
         validateRule(rule, request.ruleCode());
+        return eventRepository.saveAndFlush(ruleEvent(rule, request));
+    }
 
-        StudentPointEvent event = baseEvent(
-                request.studentId(),
-                rule.getSourceType(),
-                request.sourceId(),
-                request.sourceKey(),
-                rule.getCode().trim(),
-                rule.getName().trim(),
-                rule.getBasePoints(),
-                request.idempotencyKey(),
-                request.operatorId(),
-                request.operatorRole(),
-                request.reason()
-        );
-        return eventRepository.saveAndFlush(event);
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<StudentPointEvent> createRuleEvents(List<RuleEventRequest> requests) {
+        Map<String, Optional<StudentPointRule>> rules = new HashMap<>();
+        List<StudentPointEvent> events = new ArrayList<>();
+        for (RuleEventRequest request : requests) {
+            StudentPointRule rule = rules.computeIfAbsent(request.ruleCode(), this::findUsableRule).orElse(null);
+            if (rule == null) {
+                log.warn("Skipping student point event {} because rule {} is not usable",
+                        request.idempotencyKey(), request.ruleCode());
+                continue;
+            }
+            events.add(ruleEvent(rule, request));
+        }
+        return events.isEmpty() ? events : eventRepository.saveAllAndFlush(events);
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -60,6 +69,33 @@ public class StudentPointEventCreationTransaction {
         return eventRepository.saveAndFlush(event);
     }
 
+    private Optional<StudentPointRule> findUsableRule(String ruleCode) {
+        return ruleRepository.findByCodeForUpdate(ruleCode).filter(rule -> {
+            try {
+                validateRule(rule, ruleCode);
+                return true;
+            } catch (StudentPointOperationException exception) {
+                return false;
+            }
+        });
+    }
+
+    private StudentPointEvent ruleEvent(StudentPointRule rule, RuleEventRequest request) {
+        return baseEvent(
+                request.studentId(),
+                rule.getSourceType(),
+                request.sourceId(),
+                request.sourceKey(),
+                rule.getCode().trim(),
+                rule.getName().trim(),
+                rule.getBasePoints(),
+                request.idempotencyKey(),
+                request.operatorId(),
+                request.operatorRole(),
+                request.reason()
+        );
+    }
+
     private void validateRule(StudentPointRule rule, String requestedRuleCode) {
         if (!Boolean.TRUE.equals(rule.getEnabled())) {
             throw new StudentPointOperationException(
@@ -0,0 +1,128 @@
+package com.example.words.service;
+
+import com.example.words.model.PointEventStatus;
+import com.example.words.model.StudentPointEvent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Posts new point events right after creation. Each student maps to one single-threaded lane, so a student's
+ * postings stay ordered and never contend on the account lock, while different students post in parallel.
+ * Events that cannot be queued are left to {@link StudentPointRetryScheduler}.
+ */
+@Slf4j
+@Service
+public class StudentPointEventDispatcher implements DisposableBean {
+
+    private final StudentPointEventProcessor processor;
+    private final List<? extends Executor> lanes;
+
+    @Autowired
+    public StudentPointEventDispatcher(
+            StudentPointEventProcessor processor,
+            @Value("${student-points.dispatch.lanes:4}") int laneCount,
+            @Value("${student-points.dispatch.lane-capacity:500}") int laneCapacity
+    ) {
+        this(processor, createLanes(laneCount, laneCapacity));
+    }
+
+    StudentPointEventDispatcher(StudentPointEventProcessor processor, List<? extends Executor> lanes) {
+        if (lanes.isEmpty()) {
+            throw new IllegalArgumentException("At least one dispatch lane is required");
+        }
+        this.processor = processor;
+        this.lanes = lanes;
+    }
+
+    public void dispatch(StudentPointEvent event) {
+        if (event == null || event.getId() == null || event.getStatus() != PointEventStatus.PENDING) {
+            return;
+        }
+
+        Long eventId = event.getId();
+        try {
+            laneFor(event.getStudentId()).execute(() -> process(eventId));
+        } catch (RejectedExecutionException rejected) {
+            log.debug("Dispatch lane is full; student point event {} is left for the retry scheduler", eventId);
+        }
+    }
+
+    /**
+     * Dispatches events grouped by student, so each student's events are posted together under one account lock.
+     */
+    public void dispatchAll(List<StudentPointEvent> events) {
+        Map<Long, List<Long>> eventIdsByStudent = new LinkedHashMap<>();
+        for (StudentPointEvent event : events) {
+            if (event != null && event.getId() != null && event.getStatus() == PointEventStatus.PENDING) {
+                eventIdsByStudent.computeIfAbsent(event.getStudentId(), studentId -> new ArrayList<>())
+                        .add(event.getId());
+            }
+        }
+        eventIdsByStudent.forEach((studentId, eventIds) -> {
+            try {
+                laneFor(studentId).execute(() -> processBatch(eventIds));
+            } catch (RejectedExecutionException rejected) {
+                log.debug("Dispatch lane is full; student point events {} are left for the retry scheduler", eventIds);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        for (Executor lane : lanes) {
+            if (lane instanceof ThreadPoolTaskExecutor taskExecutor) {
+                taskExecutor.shutdown();
+            }
+        }
+    }
+
+    private Executor laneFor(Long studentId) {
+        return lanes.get(Math.floorMod(Long.hashCode(studentId), lanes.size()));
+    }
+
+    private void process(Long eventId) {
+        try {
+            processor.process(eventId, StudentPointEventService.AttemptContext.auto());
+        } catch (RuntimeException failure) {
+            log.warn("Immediate student point event processing failed for event {}", eventId, failure);
+        }
+    }
+
+    private void processBatch(List<Long> eventIds) {
+        if (eventIds.size() == 1) {
+            process(eventIds.get(0));
+            return;
+        }
+        try {
+            processor.processBatch(eventIds, StudentPointEventService.AttemptContext.auto());
+        } catch (RuntimeException failure) {
+            log.warn("Immediate student point batch processing failed for events {}", eventIds, failure);
+        }
+    }
+
+    private static List<ThreadPoolTaskExecutor> createLanes(int laneCount, int laneCapacity) {
+        List<ThreadPoolTaskExecutor> lanes = new ArrayList<>();
+        for (int index = 0; index < Math.max(laneCount, 1); index++) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setThreadNamePrefix("student-point-lane-" + index + "-");
+            executor.setCorePoolSize(1);
+            executor.setMaxPoolSize(1);
+            executor.setQueueCapacity(laneCapacity);
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationSeconds(30);
+            executor.initialize();
+            lanes.add(executor);
+        }
+        return lanes;
+    }
+}
@@ -4,9 +4,13 @@ import com.example.words.model.PointEventStatus;
 import com.example.words.model.StudentPointEvent;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StudentPointEventProcessor {
@@ -25,6 +29,57 @@ public class StudentPointEventProcessor {
         if (claimed.getStatus() == PointEventStatus.SUCCEEDED) {
             return claimed;
         }
+        return postOrRecordFailure(eventId);
+    }
+
+    /**
+     * Processes events of one student with a single ledger posting. If the batch cannot be posted as a whole, each
+     * claimed event falls back to its own posting so failures are recorded per event.
+     */
+    public void processBatch(List<Long> eventIds, StudentPointEventService.AttemptContext context) {
+        Instant startedAt = clock.instant();
+        List<Long> claimedIds = new ArrayList<>();
+        for (Long eventId : eventIds) {
+            try {
+                StudentPointEvent claimed = eventService.claim(eventId, context, startedAt);
+                if (claimed.getStatus() != PointEventStatus.SUCCEEDED) {
+                    claimedIds.add(eventId);
+                }
+            } catch (RuntimeException failure) {
+                log.debug("Skipping student point event {} that could not be claimed", eventId, failure);
+            }
+        }
+        postClaimed(claimedIds);
+    }
+
+    /**
+     * Posts events that are already claimed, one student's events at a time as {@link #processBatch} does.
+     */
+    public void postClaimed(List<Long> claimedIds) {
+        if (claimedIds.isEmpty()) {
+            return;
+        }
+        if (claimedIds.size() == 1) {
+            postOrRecordFailure(claimedIds.get(0));
+            return;
+        }
+
+        try {
+            postingTransaction.postBatch(claimedIds, clock.instant());
+            return;
+        } catch (RuntimeException failure) {
+            log.debug("Batch posting failed for events {}; posting them one by one", claimedIds, failure);
+        }
+        for (Long eventId : claimedIds) {
+            try {
+                postOrRecordFailure(eventId);
+            } catch (RuntimeException failure) {
+                log.warn("Student point event {} failed and its failure could not be recorded", eventId, failure);
+            }
+        }
+    }
+
+    private StudentPointEvent postOrRecordFailure(Long eventId) {
         try {
             return postingTransaction.post(eventId, clock.instant());
         } catch (RuntimeException failure) {
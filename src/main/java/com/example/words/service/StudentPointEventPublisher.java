@@ -1,91 +1,51 @@
 package com.example.words.service;
 
+import com.example.words.model.StudentPointOutboxEntry;
+import com.example.words.repository.StudentPointOutboxRepository;
 import lombok.extern.slf4j.Slf4j;
-import java.util.concurrent.RejectedExecutionException;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Records point publications in the outbox within the caller's transaction, so they commit or roll back with the
+ * source record. {@link StudentPointOutboxRelay} turns committed rows into events.
+ */
 @Service
 @Slf4j
 public class StudentPointEventPublisher {
 
-    private final StudentPointEventService eventService;
-    private final TaskExecutor taskExecutor;
+    private final StudentPointOutboxRepository outboxRepository;
+    private final StudentPointOutboxRelay relay;
 
-    public StudentPointEventPublisher(
-            StudentPointEventService eventService,
-            @Qualifier("studentPointEventTaskExecutor") TaskExecutor taskExecutor
-    ) {
-        this.eventService = eventService;
-        this.taskExecutor = taskExecutor;
+    public StudentPointEventPublisher(StudentPointOutboxRepository outboxRepository, StudentPointOutboxRelay relay) {
+        this.outboxRepository = outboxRepository;
+        this.relay = relay;
     }
 
-    public void publishAfterCommit(PublishRequest request) {
+    public void enqueue(PublishRequest request) {
         if (!isValid(request)) {
             log.error("Invalid student point publish request");
             return;
         }
 
-        if (TransactionSynchronizationManager.isActualTransactionActive()) {
-            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
-                log.error(
-                        "Cannot defer student point event because transaction synchronization is inactive: "
-                                + "sourceId={}, sourceKey={}, ruleCode={}",
-                        request.sourceId(),
-                        request.sourceKey(),
-                        request.ruleCode()
-                );
-                return;
-            }
+        outboxRepository.save(StudentPointOutboxEntry.create(
+                request.studentId(),
+                request.sourceId(),
+                request.sourceKey(),
+                request.ruleCode()
+        ));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
                 @Override
                 public void afterCommit() {
-                    submitEventCreation(request);
+                    relay.requestDrain();
                 }
             });
             return;
         }
 
-        createEvent(request);
-    }
-
-    private void submitEventCreation(PublishRequest request) {
-        try {
-            taskExecutor.execute(() -> createEvent(request));
-        } catch (RejectedExecutionException exception) {
-            log.error(
-                    "Student point event publication queue rejected request: "
-                            + "sourceId={}, sourceKey={}, ruleCode={}",
-                    request.sourceId(),
-                    request.sourceKey(),
-                    request.ruleCode(),
-                    exception
-            );
-        }
-    }
-
-    private void createEvent(PublishRequest request) {
-        try {
-            eventService.create(new StudentPointEventService.CreateRequest(
-                    request.studentId(),
-                    request.sourceId(),
-                    request.sourceKey(),
-                    request.ruleCode(),
-                    null,
-                    null
-            ));
-        } catch (RuntimeException exception) {
-            log.error(
-                    "Failed to create student point event: sourceId={}, sourceKey={}, ruleCode={}",
-                    request.sourceId(),
-                    request.sourceKey(),
-                    request.ruleCode(),
-                    exception
-            );
-        }
+        relay.requestDrain();
     }
 
     private boolean isValid(PublishRequest request) {
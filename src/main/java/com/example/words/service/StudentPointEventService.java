@@ -9,9 +9,15 @@ import com.example.words.repository.StudentPointEventRepository;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -19,6 +25,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StudentPointEventService {
@@ -43,24 +50,41 @@ public class StudentPointEventService {
             return requireMatchingOrdinaryIdentity(existing, identity);
         }
 
-        StudentPointEventCreationTransaction.RuleEventRequest transactionRequest =
-                new StudentPointEventCreationTransaction.RuleEventRequest(
-                        identity.studentId(),
-                        identity.sourceId(),
-                        identity.sourceKey(),
-                        identity.ruleCode(),
-                        identity.idempotencyKey(),
-                        identity.operatorId(),
-                        identity.operatorRole(),
-                        identity.reason()
-                );
         try {
-            return creationTransaction.createRuleEvent(transactionRequest);
+            return creationTransaction.createRuleEvent(toRuleEventRequest(identity));
         } catch (DataIntegrityViolationException exception) {
             return recoverOrdinaryUniqueRace(exception, identity);
         }
     }
 
+    /**
+     * Creates the missing rule events for a batch inside the caller's transaction. Invalid requests and requests
+     * whose event already exists are skipped; only newly created events are returned.
+     */
+    public List<StudentPointEvent> createBatch(List<CreateRequest> requests) {
+        Map<String, OrdinaryIdentity> identities = new LinkedHashMap<>();
+        for (CreateRequest request : requests) {
+            try {
+                OrdinaryIdentity identity = normalizeOrdinary(request);
+                identities.putIfAbsent(identity.idempotencyKey(), identity);
+            } catch (StudentPointOperationException exception) {
+                log.warn("Skipping invalid student point event request: {}", exception.getMessage());
+            }
+        }
+        if (identities.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> existingKeys = eventRepository.findByIdempotencyKeyIn(identities.keySet()).stream()
+                .map(StudentPointEvent::getIdempotencyKey)
+                .collect(Collectors.toSet());
+        List<StudentPointEventCreationTransaction.RuleEventRequest> missing = identities.values().stream()
+                .filter(identity -> !existingKeys.contains(identity.idempotencyKey()))
+                .map(this::toRuleEventRequest)
+                .toList();
+        return missing.isEmpty() ? List.of() : creationTransaction.createRuleEvents(missing);
+    }
+
     public StudentPointEvent createManualAdjustment(
             Long studentId,
             Long adjustmentRequestId,
@@ -126,6 +150,19 @@ public class StudentPointEventService {
         return resolveFailedClaim(current, normalized.triggerType());
     }
 
+    /**
+     * Claims a batch of due events for automatic retry in its own transaction, so the claims are visible to other
+     * nodes before any posting starts.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<StudentPointEventRepository.ClaimedEvent> claimDueBatch(int batchSize, Instant startedAt) {
+        return eventRepository.claimDueBatch(
+                LocalDateTime.ofInstant(startedAt, clock.getZone()),
+                StudentPointProcessingPolicy.MAX_AUTO_ATTEMPTS,
+                batchSize
+        );
+    }
+
     private StudentPointEvent resolveFailedClaim(
             StudentPointEvent event,
             PointAttemptTriggerType triggerType
@@ -223,6 +260,19 @@ public class StudentPointEventService {
         throw idempotencyConflict();
     }
 
+    private StudentPointEventCreationTransaction.RuleEventRequest toRuleEventRequest(OrdinaryIdentity identity) {
+        return new StudentPointEventCreationTransaction.RuleEventRequest(
+                identity.studentId(),
+                identity.sourceId(),
+                identity.sourceKey(),
+                identity.ruleCode(),
+                identity.idempotencyKey(),
+                identity.operatorId(),
+                identity.operatorRole(),
+                identity.reason()
+        );
+    }
+
     private OrdinaryIdentity normalizeOrdinary(CreateRequest request) {
         if (request == null) {
             throw invalidRequest("request is required");
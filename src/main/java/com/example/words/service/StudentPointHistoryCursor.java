@@ -0,0 +1,55 @@
+package com.example.words.service;
+
+import com.example.words.exception.StudentPointOperationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Opaque position in a history ordered by {@code (created_at, id)} descending. Seeking from it costs the same on
+ * the first page as on a year-old one, unlike OFFSET.
+ */
+public record StudentPointHistoryCursor(LocalDateTime createdAt, Long id) {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a blank cursor, meaning the newest page.
+     */
+    public static StudentPointHistoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new StudentPointHistoryCursor(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new StudentPointOperationException("INVALID_HISTORY_CURSOR", HttpStatus.BAD_REQUEST, "分页游标无效");
+        }
+    }
+
+    static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Fetches one row past the page so {@link com.example.words.dto.StudentPointHistoryPage#of} can tell whether
+     * another page follows.
+     */
+    static Pageable probe(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.words.service;
+
+import com.example.words.dto.StudentPointLeaderboardEntryResponse;
+import com.example.words.dto.StudentPointLeaderboardResponse;
+import com.example.words.model.AppUser;
+import com.example.words.model.PointLeaderboardPeriod;
+import com.example.words.repository.StudentPointDailyEarningRepository;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves classroom leaderboards from in-memory ranked boards built from the daily earned rollup. Postings on this
+ * node are applied as they commit; the periodic rebuild picks up postings from other nodes and any drift. The rebuild
+ * queries run outside the service monitor and are swapped in at the end, so postings never wait on the aggregates.
+ * Postings that arrive while a rebuild runs are replayed onto the new totals unless the rollup rows it read were
+ * already updated at or after the posting, which means the aggregate counted it.
+ */
+@Service
+public class StudentPointLeaderboardService {
+
+    static final int MAX_LIMIT = 100;
+
+    private final StudentPointDailyEarningRepository earningRepository;
+    private final ClassroomService classroomService;
+    private final UserService userService;
+    private final Clock clock;
+    private final int maxCachedClassrooms;
+
+    private final Object refreshLock = new Object();
+    private final Map<Long, ClassroomBoards> classroomBoards = new HashMap<>();
+    private final Map<Long, Set<Long>> cachedClassroomIdsByStudent = new HashMap<>();
+    private Map<PointLeaderboardPeriod, Map<Long, Long>> totals = new EnumMap<>(PointLeaderboardPeriod.class);
+    private Map<PointLeaderboardPeriod, Map<Long, LocalDateTime>> countedThrough =
+            new EnumMap<>(PointLeaderboardPeriod.class);
+    private List<Earned> rebuildBacklog;
+    private volatile LocalDate snapshotDate;
+
+    public StudentPointLeaderboardService(
+            StudentPointDailyEarningRepository earningRepository,
+            ClassroomService classroomService,
+            UserService userService,
+            Clock clock,
+            @Value("${student-points.leaderboard.max-cached-classrooms:1000}") int maxCachedClassrooms
+    ) {
+        this.earningRepository = earningRepository;
+        this.classroomService = classroomService;
+        this.userService = userService;
+        this.clock = clock;
+        this.maxCachedClassrooms = maxCachedClassrooms;
+    }
+
+    @Scheduled(fixedDelayString = "${student-points.leaderboard.refresh-ms:300000}")
+    public void refresh() {
+        synchronized (refreshLock) {
+            rebuild(LocalDate.now(clock));
+        }
+    }
+
+    public synchronized void recordEarned(Long studentId, LocalDate earnedDate, long delta, LocalDateTime postedAt) {
+        Earned earned = new Earned(studentId, earnedDate, delta, postedAt);
+        if (rebuildBacklog != null) {
+            rebuildBacklog.add(earned);
+        }
+        apply(earned);
+    }
+
+    public StudentPointLeaderboardResponse getLeaderboard(
+            Long classroomId,
+            PointLeaderboardPeriod period,
+            int limit,
+            Long studentId,
+            AppUser actor
+    ) {
+        Set<Long> memberIds = classroomService.getStudentIdsForClassrooms(List.of(classroomId), actor);
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(snapshotDate)) {
+            synchronized (refreshLock) {
+                if (!today.equals(snapshotDate)) {
+                    rebuild(today);
+                }
+            }
+        }
+        List<RankedScoreBoard.Entry> top;
+        RankedScoreBoard.Entry focused = null;
+        int participantCount;
+        synchronized (this) {
+            RankedScoreBoard board = boardsFor(classroomId, memberIds).byPeriod().get(period);
+            top = board.top(Math.min(Math.max(limit, 1), MAX_LIMIT));
+            if (studentId != null && board.contains(studentId)) {
+                focused = new RankedScoreBoard.Entry(studentId, board.points(studentId), board.rank(studentId));
+            }
+            participantCount = board.size();
+        }
+
+        Set<Long> userIds = top.stream().map(RankedScoreBoard.Entry::studentId)
+                .collect(Collectors.toCollection(HashSet::new));
+        if (focused != null) {
+            userIds.add(focused.studentId());
+        }
+        Map<Long, String> names = userService.getUserEntities(userIds).stream()
+                .collect(Collectors.toMap(AppUser::getId, AppUser::getDisplayName));
+        return new StudentPointLeaderboardResponse(
+                classroomId,
+                period,
+                participantCount,
+                top.stream().map(entry -> toResponse(entry, names)).toList(),
+                focused == null ? null : toResponse(focused, names)
+        );
+    }
+
+    private void rebuild(LocalDate today) {
+        synchronized (this) {
+            rebuildBacklog = new ArrayList<>();
+        }
+        try {
+            Map<PointLeaderboardPeriod, Map<Long, Long>> rebuiltTotals = new EnumMap<>(PointLeaderboardPeriod.class);
+            Map<PointLeaderboardPeriod, Map<Long, LocalDateTime>> rebuiltCountedThrough =
+                    new EnumMap<>(PointLeaderboardPeriod.class);
+            collect(PointLeaderboardPeriod.TODAY, earningRepository.sumEarnedBetween(today, today),
+                    rebuiltTotals, rebuiltCountedThrough);
+            collect(PointLeaderboardPeriod.WEEK, earningRepository.sumEarnedBetween(weekStart(today), today),
+                    rebuiltTotals, rebuiltCountedThrough);
+            collect(PointLeaderboardPeriod.LIFETIME, earningRepository.sumEarnedByStudent(),
+                    rebuiltTotals, rebuiltCountedThrough);
+            synchronized (this) {
+                totals = rebuiltTotals;
+                countedThrough = rebuiltCountedThrough;
+                classroomBoards.clear();
+                cachedClassroomIdsByStudent.clear();
+                snapshotDate = today;
+                rebuildBacklog.forEach(this::apply);
+            }
+        } finally {
+            synchronized (this) {
+                rebuildBacklog = null;
+            }
+        }
+    }
+
+    private void apply(Earned earned) {
+        if (snapshotDate == null || earned.delta() == 0) {
+            return;
+        }
+        List<PointLeaderboardPeriod> periods = new ArrayList<>(3);
+        periods.add(PointLeaderboardPeriod.LIFETIME);
+        if (!earned.earnedDate().isBefore(weekStart(snapshotDate)) && !earned.earnedDate().isAfter(snapshotDate)) {
+            periods.add(PointLeaderboardPeriod.WEEK);
+        }
+        if (earned.earnedDate().equals(snapshotDate)) {
+            periods.add(PointLeaderboardPeriod.TODAY);
+        }
+        Set<Long> classroomIds = cachedClassroomIdsByStudent.getOrDefault(earned.studentId(), Set.of());
+        for (PointLeaderboardPeriod period : periods) {
+            LocalDateTime counted = countedThrough.get(period).get(earned.studentId());
+            if (counted != null && !earned.postedAt().isAfter(counted)) {
+                continue;
+            }
+            totals.get(period).merge(earned.studentId(), earned.delta(), Long::sum);
+            for (Long classroomId : classroomIds) {
+                classroomBoards.get(classroomId).byPeriod().get(period).add(earned.studentId(), earned.delta());
+            }
+        }
+    }
+
+    private ClassroomBoards boardsFor(Long classroomId, Set<Long> memberIds) {
+        ClassroomBoards boards = classroomBoards.get(classroomId);
+        if (boards != null && boards.memberIds().equals(memberIds)) {
+            return boards;
+        }
+
+        Map<PointLeaderboardPeriod, RankedScoreBoard> byPeriod = new EnumMap<>(PointLeaderboardPeriod.class);
+        for (PointLeaderboardPeriod period : PointLeaderboardPeriod.values()) {
+            RankedScoreBoard board = new RankedScoreBoard();
+            Map<Long, Long> periodTotals = totals.get(period);
+            memberIds.forEach(memberId -> board.put(memberId, periodTotals.getOrDefault(memberId, 0L)));
+            byPeriod.put(period, board);
+        }
+        if (boards == null && classroomBoards.size() >= maxCachedClassrooms) {
+            classroomBoards.clear();
+            cachedClassroomIdsByStudent.clear();
+        } else if (boards != null) {
+            boards.memberIds().forEach(memberId -> uncacheMembership(memberId, classroomId));
+        }
+        boards = new ClassroomBoards(Set.copyOf(memberIds), byPeriod);
+        classroomBoards.put(classroomId, boards);
+        for (Long memberId : boards.memberIds()) {
+            cachedClassroomIdsByStudent.computeIfAbsent(memberId, ignored -> new HashSet<>()).add(classroomId);
+        }
+        return boards;
+    }
+
+    private void uncacheMembership(Long studentId, Long classroomId) {
+        Set<Long> classroomIds = cachedClassroomIdsByStudent.get(studentId);
+        if (classroomIds != null && classroomIds.remove(classroomId) && classroomIds.isEmpty()) {
+            cachedClassroomIdsByStudent.remove(studentId);
+        }
+    }
+
+    private StudentPointLeaderboardEntryResponse toResponse(RankedScoreBoard.Entry entry, Map<Long, String> names) {
+        return new StudentPointLeaderboardEntryResponse(
+                entry.rank(),
+                entry.studentId(),
+                names.get(entry.studentId()),
+                entry.points()
+        );
+    }
+
+    private void collect(
+            PointLeaderboardPeriod period,
+            List<StudentPointDailyEarningRepository.EarnedTotal> earnedTotals,
+            Map<PointLeaderboardPeriod, Map<Long, Long>> rebuiltTotals,
+            Map<PointLeaderboardPeriod, Map<Long, LocalDateTime>> rebuiltCountedThrough
+    ) {
+        Map<Long, Long> periodTotals = new HashMap<>();
+        Map<Long, LocalDateTime> periodCountedThrough = new HashMap<>();
+        for (StudentPointDailyEarningRepository.EarnedTotal earnedTotal : earnedTotals) {
+            periodTotals.merge(earnedTotal.getStudentId(), earnedTotal.getTotal(), Long::sum);
+            if (earnedTotal.getLastUpdatedAt() != null) {
+                periodCountedThrough.put(earnedTotal.getStudentId(), earnedTotal.getLastUpdatedAt());
+            }
+        }
+        rebuiltTotals.put(period, periodTotals);
+        rebuiltCountedThrough.put(period, periodCountedThrough);
+    }
+
+    private LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record Earned(Long studentId, LocalDate earnedDate, long delta, LocalDateTime postedAt) {
+    }
+
+    private record ClassroomBoards(Set<Long> memberIds, Map<PointLeaderboardPeriod, RankedScoreBoard> byPeriod) {
+    }
+}
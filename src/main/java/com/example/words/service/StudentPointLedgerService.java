@@ -12,9 +12,15 @@ import com.example.words.repository.StudentPointAccountRepository;
 import com.example.words.repository.StudentPointAdjustmentRequestRepository;
 import com.example.words.repository.StudentPointTransactionRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -30,6 +36,7 @@ public class StudentPointLedgerService {
     private final StudentPointAccountRepository accountRepository;
     private final StudentPointTransactionRepository transactionRepository;
     private final StudentPointAdjustmentRequestRepository adjustmentRequestRepository;
+    private final StudentPointDailyEarningService dailyEarningService;
 
     @Transactional
     public StudentPointTransaction post(PostRequest request) {
@@ -49,43 +56,62 @@ public class StudentPointLedgerService {
             return validateIdempotentPost(existing.get(), request);
         }
 
-        int balanceBefore = account.getAvailablePoints();
-        int balanceAfter = addExact(balanceBefore, request.amount());
-        if (balanceAfter < 0) {
-            throw error("INSUFFICIENT_POINTS", HttpStatus.BAD_REQUEST, "积分余额不足");
-        }
+        StudentPointTransaction transaction = applyPost(account, request);
 
-        PointTransactionType transactionType;
-        if (request.amount() > 0) {
-            transactionType = PointTransactionType.EARN;
-            account.setLifetimeEarnedPoints(addExact(account.getLifetimeEarnedPoints(), request.amount()));
-        } else {
-            transactionType = PointTransactionType.DEDUCT;
-            account.setLifetimeSpentPoints(
-                    addExact(account.getLifetimeSpentPoints(), negateExact(request.amount()))
-            );
+        accountRepository.save(account);
+        StudentPointTransaction saved = saveTransaction(transaction);
+        dailyEarningService.recordPosted(saved);
+        return saved;
+    }
+
+    /**
+     * Posts several requests for one student under a single account lock. Results follow the request order;
+     * replayed idempotency keys return their existing transaction, as {@link #post(PostRequest)} does.
+     */
+    @Transactional
+    public List<StudentPointTransaction> postBatch(List<PostRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        requests.forEach(this::validatePostRequest);
+        Long studentId = requests.get(0).studentId();
+        if (requests.stream().anyMatch(request -> !studentId.equals(request.studentId()))) {
+            throw error("POINT_BATCH_STUDENT_MISMATCH", HttpStatus.BAD_REQUEST, "批量入账只能包含同一学生");
         }
-        account.setAvailablePoints(balanceAfter);
 
-        StudentPointTransaction transaction = new StudentPointTransaction();
-        transaction.setAccountId(account.getId());
-        transaction.setStudentId(account.getStudentId());
-        transaction.setTransactionType(transactionType);
-        transaction.setAmount(request.amount());
-        transaction.setBalanceBefore(balanceBefore);
-        transaction.setBalanceAfter(balanceAfter);
-        transaction.setFrozenBefore(account.getFrozenPoints());
-        transaction.setFrozenAfter(account.getFrozenPoints());
-        transaction.setSourceType(request.sourceType());
-        transaction.setSourceId(request.sourceId());
-        transaction.setSourceKey(request.sourceKey());
-        transaction.setRuleCode(request.ruleCode());
-        transaction.setIdempotencyKey(request.idempotencyKey());
-        applyActor(transaction, request.actor());
-        transaction.setReason(request.reason());
+        Map<String, StudentPointTransaction> transactions = findExistingTransactions(
+                requests.stream().map(PostRequest::idempotencyKey).toList()
+        );
+        List<PostRequest> pending = requests.stream()
+                .filter(request -> !transactions.containsKey(request.idempotencyKey()))
+                .toList();
+        if (!pending.isEmpty()) {
+            StudentPointAccount account = lockActiveAccount(studentId);
+
+            // Same late-key recheck as post(), limited to the keys that were still missing.
+            transactions.putAll(findExistingTransactions(
+                    pending.stream().map(PostRequest::idempotencyKey).toList()
+            ));
+            List<StudentPointTransaction> created = new ArrayList<>();
+            for (PostRequest request : pending) {
+                if (!transactions.containsKey(request.idempotencyKey())) {
+                    StudentPointTransaction transaction = applyPost(account, request);
+                    transactions.put(request.idempotencyKey(), transaction);
+                    created.add(transaction);
+                }
+            }
+            if (!created.isEmpty()) {
+                accountRepository.save(account);
+                saveTransactions(created);
+                created.forEach(dailyEarningService::recordPosted);
+            }
+        }
 
-        accountRepository.save(account);
-        return saveTransaction(transaction);
+        List<StudentPointTransaction> results = new ArrayList<>(requests.size());
+        for (PostRequest request : requests) {
+            results.add(validateIdempotentPost(transactions.get(request.idempotencyKey()), request));
+        }
+        return results;
     }
 
     @Transactional
@@ -151,6 +177,7 @@ public class StudentPointLedgerService {
 
         accountRepository.save(account);
         StudentPointTransaction savedReversal = saveTransaction(reversal);
+        dailyEarningService.recordReversed(original);
         if (adjustment != null) {
             adjustment.setStatus(PointAdjustmentStatus.REVERSED);
             adjustment.setReverseTransactionId(savedReversal.getId());
@@ -160,6 +187,55 @@ public class StudentPointLedgerService {
         return savedReversal;
     }
 
+    private Map<String, StudentPointTransaction> findExistingTransactions(List<String> idempotencyKeys) {
+        return transactionRepository.findByIdempotencyKeyIn(idempotencyKeys).stream()
+                .collect(Collectors.toMap(
+                        StudentPointTransaction::getIdempotencyKey,
+                        Function.identity(),
+                        (left, right) -> left,
+                        LinkedHashMap::new
+                ));
+    }
+
+    private StudentPointTransaction applyPost(StudentPointAccount account, PostRequest request) {
+        int balanceBefore = account.getAvailablePoints();
+        int balanceAfter = addExact(balanceBefore, request.amount());
+        if (balanceAfter < 0) {
+            throw error("INSUFFICIENT_POINTS", HttpStatus.BAD_REQUEST, "积分余额不足");
+        }
+
+        PointTransactionType transactionType;
+        if (request.amount() > 0) {
+            transactionType = PointTransactionType.EARN;
+            account.setLifetimeEarnedPoints(addExact(account.getLifetimeEarnedPoints(), request.amount()));
+        } else {
+            transactionType = PointTransactionType.DEDUCT;
+            account.setLifetimeSpentPoints(
+                    addExact(account.getLifetimeSpentPoints(), negateExact(request.amount()))
+            );
+        }
+        account.setAvailablePoints(balanceAfter);
+
+        StudentPointTransaction transaction = new StudentPointTransaction();
+        transaction.setAccountId(account.getId());
+        transaction.setStudentId(account.getStudentId());
+        transaction.setTransactionType(transactionType);
+        transaction.setAmount(request.amount());
+        transaction.setBalanceBefore(balanceBefore);
+        transaction.setBalanceAfter(balanceAfter);
+        transaction.setFrozenBefore(account.getFrozenPoints());
+        transaction.setFrozenAfter(account.getFrozenPoints());
+        transaction.setSourceType(request.sourceType());
+        transaction.setSourceId(request.sourceId());
+        transaction.setSourceKey(request.sourceKey());
+        transaction.setRuleCode(request.ruleCode());
+        transaction.setIdempotencyKey(request.idempotencyKey());
+        applyActor(transaction, request.actor());
+        transaction.setReason(request.reason());
+
+        return transaction;
+    }
+
     private void validatePostRequest(PostRequest request) {
         if (request == null || request.studentId() == null || request.studentId() <= 0) {
             throw error("INVALID_STUDENT_ID", HttpStatus.BAD_REQUEST, "学生 ID 无效");
@@ -224,6 +300,17 @@ public class StudentPointLedgerService {
         }
     }
 
+    private void saveTransactions(List<StudentPointTransaction> transactions) {
+        try {
+            transactionRepository.saveAllAndFlush(transactions);
+        } catch (DataIntegrityViolationException ex) {
+            if (isIdempotencyConstraintViolation(ex)) {
+                throw idempotencyKeyConflict();
+            }
+            throw ex;
+        }
+    }
+
     private boolean isIdempotencyConstraintViolation(Throwable failure) {
         Throwable current = failure;
         while (current != null) {
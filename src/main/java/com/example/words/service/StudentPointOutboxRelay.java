@@ -0,0 +1,91 @@
+package com.example.words.service;
+
+import com.example.words.model.StudentPointEvent;
+import com.example.words.model.StudentPointOutboxEntry;
+import com.example.words.repository.StudentPointOutboxRepository;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves committed outbox rows into student point events. Each batch is locked with SKIP LOCKED, turned into events
+ * and deleted in one transaction, so concurrent relays never take the same rows and a crash only repeats a batch.
+ */
+@Slf4j
+@Service
+public class StudentPointOutboxRelay {
+
+    static final int BATCH_SIZE = 200;
+
+    private final StudentPointOutboxRepository outboxRepository;
+    private final StudentPointEventService eventService;
+    private final StudentPointEventDispatcher dispatcher;
+    private final TaskExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public StudentPointOutboxRelay(
+            StudentPointOutboxRepository outboxRepository,
+            StudentPointEventService eventService,
+            StudentPointEventDispatcher dispatcher,
+            @Qualifier("studentPointEventTaskExecutor") TaskExecutor taskExecutor,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.eventService = eventService;
+        this.dispatcher = dispatcher;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void requestDrain() {
+        taskExecutor.execute(this::drain);
+    }
+
+    @Scheduled(fixedDelayString = "${student-points.outbox-relay-delay-ms:1000}")
+    public void drain() {
+        while (true) {
+            RelayedBatch batch;
+            try {
+                batch = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException failure) {
+                log.error("Student point outbox relay batch failed; rows stay queued for the next drain", failure);
+                return;
+            }
+            if (batch == null) {
+                return;
+            }
+            dispatcher.dispatchAll(batch.created());
+            if (batch.size() < BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private RelayedBatch relayBatch() {
+        List<StudentPointOutboxEntry> entries = outboxRepository.lockNextBatch(PageRequest.of(0, BATCH_SIZE));
+        if (entries.isEmpty()) {
+            return null;
+        }
+        List<StudentPointEvent> created = eventService.createBatch(entries.stream()
+                .map(entry -> new StudentPointEventService.CreateRequest(
+                        entry.getStudentId(),
+                        entry.getSourceId(),
+                        entry.getSourceKey(),
+                        entry.getRuleCode(),
+                        null,
+                        null
+                ))
+                .toList());
+        outboxRepository.deleteAllInBatch(entries);
+        return new RelayedBatch(entries.size(), created);
+    }
+
+    private record RelayedBatch(int size, List<StudentPointEvent> created) {
+    }
+}
@@ -15,6 +15,8 @@ import com.example.words.repository.StudentPointEventRepository;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -41,7 +43,40 @@ public class StudentPointPostingTransaction {
             throw error("POINT_EVENT_NOT_PROCESSING", HttpStatus.CONFLICT, "积分事件不在处理状态");
         }
 
-        StudentPointTransaction transaction = ledgerService.post(new StudentPointLedgerService.PostRequest(
+        StudentPointTransaction transaction = ledgerService.post(postRequest(event));
+        return complete(event, transaction, finished);
+    }
+
+    /**
+     * Posts several claimed events of one student in one transaction, so the account row is locked and updated
+     * once for the whole batch.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<StudentPointEvent> postBatch(List<Long> eventIds, Instant finishedAt) {
+        LocalDateTime finished = LocalDateTime.ofInstant(finishedAt, clock.getZone());
+        List<StudentPointEvent> events = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds.stream().sorted().toList()) {
+            StudentPointEvent event = eventRepository.findByIdForUpdate(eventId)
+                    .orElseThrow(() -> error("POINT_EVENT_NOT_FOUND", HttpStatus.NOT_FOUND,
+                            "积分事件不存在: " + eventId));
+            if (event.getStatus() != PointEventStatus.PROCESSING) {
+                throw error("POINT_EVENT_NOT_PROCESSING", HttpStatus.CONFLICT, "积分事件不在处理状态");
+            }
+            events.add(event);
+        }
+
+        List<StudentPointTransaction> transactions = ledgerService.postBatch(
+                events.stream().map(this::postRequest).toList()
+        );
+        List<StudentPointEvent> posted = new ArrayList<>(events.size());
+        for (int index = 0; index < events.size(); index++) {
+            posted.add(complete(events.get(index), transactions.get(index), finished));
+        }
+        return posted;
+    }
+
+    private StudentPointLedgerService.PostRequest postRequest(StudentPointEvent event) {
+        return new StudentPointLedgerService.PostRequest(
                 event.getStudentId(),
                 event.getPoints(),
                 event.getSourceType(),
@@ -51,8 +86,14 @@ public class StudentPointPostingTransaction {
                 event.getIdempotencyKey(),
                 new StudentPointLedgerService.Actor(event.getOperatorId(), event.getOperatorRole()),
                 event.getReason()
-        ));
+        );
+    }
 
+    private StudentPointEvent complete(
+            StudentPointEvent event,
+            StudentPointTransaction transaction,
+            LocalDateTime finished
+    ) {
         closeManualAdjustment(event, transaction, finished);
 
         StudentPointEventAttempt attempt = newAttempt(event, PointEventAttemptStatus.SUCCEEDED, finished);
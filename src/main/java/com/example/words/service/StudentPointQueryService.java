@@ -1,23 +1,21 @@
 package com.example.words.service;
 
+import com.example.words.dto.StudentPointHistoryPage;
 import com.example.words.dto.StudentPointSummaryResponse;
 import com.example.words.dto.StudentPointTransactionResponse;
 import com.example.words.dto.TeacherStudentPointResponse;
 import com.example.words.dto.UserResponse;
 import com.example.words.exception.StudentPointOperationException;
 import com.example.words.model.StudentPointAccount;
+import com.example.words.model.StudentPointTransaction;
 import com.example.words.repository.StudentPointAccountRepository;
 import com.example.words.repository.StudentPointTransactionRepository;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,22 +24,32 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class StudentPointQueryService {
 
-    private static final int MAX_PAGE_SIZE = 100;
-
     private final StudentPointAccountRepository accountRepository;
     private final StudentPointTransactionRepository transactionRepository;
     private final TeacherStudentService teacherStudentService;
+    private final StudentPointDailyEarningService dailyEarningService;
 
     @Transactional(readOnly = true)
     public StudentPointSummaryResponse getSummary(Long studentId) {
         StudentPointAccount account = requireAccount(studentId);
-        return StudentPointSummaryResponse.from(account, todayEarned(studentId));
+        return StudentPointSummaryResponse.from(account, dailyEarningService.todayEarned(studentId));
     }
 
     @Transactional(readOnly = true)
-    public Page<StudentPointTransactionResponse> getTransactions(Long studentId, int page, int size) {
+    public StudentPointHistoryPage<StudentPointTransactionResponse> getTransactions(
+            Long studentId,
+            String cursor,
+            int size
+    ) {
         requireAccount(studentId);
-        return transactionRepository.findByStudentId(studentId, page(page, size))
+        StudentPointHistoryCursor position = StudentPointHistoryCursor.decode(cursor);
+        int pageSize = StudentPointHistoryCursor.pageSize(size);
+        List<StudentPointTransaction> rows = position == null
+                ? transactionRepository.findLatestByStudentId(studentId, StudentPointHistoryCursor.probe(pageSize))
+                : transactionRepository.findByStudentIdBefore(
+                        studentId, position.createdAt(), position.id(), StudentPointHistoryCursor.probe(pageSize));
+        return StudentPointHistoryPage.of(rows, pageSize, transaction -> StudentPointHistoryCursor.encode(
+                        transaction.getCreatedAt(), transaction.getId()))
                 .map(StudentPointTransactionResponse::from);
     }
 
@@ -57,7 +65,7 @@ public class StudentPointQueryService {
                         students.stream().map(UserResponse::getId).toList()
                 ).stream()
                 .collect(Collectors.toMap(StudentPointAccount::getStudentId, Function.identity()));
-        Map<Long, Long> todayEarned = todayEarned(
+        Map<Long, Long> todayEarned = dailyEarningService.todayEarned(
                 students.stream().map(UserResponse::getId).toList()
         );
         return students.map(student -> {
@@ -84,22 +92,14 @@ public class StudentPointQueryService {
     }
 
     @Transactional(readOnly = true)
-    public Page<StudentPointTransactionResponse> getManagedStudentTransactions(
+    public StudentPointHistoryPage<StudentPointTransactionResponse> getManagedStudentTransactions(
             Long teacherId,
             Long studentId,
-            int page,
+            String cursor,
             int size
     ) {
         requireManagedStudent(teacherId, studentId);
-        return getTransactions(studentId, page, size);
-    }
-
-    public Pageable page(int page, int size) {
-        return PageRequest.of(
-                Math.max(page, 0),
-                Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
-                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))
-        );
+        return getTransactions(studentId, cursor, size);
     }
 
     private void requireManagedStudent(Long teacherId, Long studentId) {
@@ -115,23 +115,6 @@ public class StudentPointQueryService {
                         "Student point account does not exist"));
     }
 
-    private long todayEarned(Long studentId) {
-        LocalDateTime start = LocalDate.now().atStartOfDay();
-        return transactionRepository.sumEarnedByStudentIdBetween(studentId, start, start.plusDays(1));
-    }
-
-    private Map<Long, Long> todayEarned(java.util.List<Long> studentIds) {
-        if (studentIds.isEmpty()) {
-            return Map.of();
-        }
-        LocalDateTime start = LocalDate.now().atStartOfDay();
-        return transactionRepository.sumEarnedByStudentIdsBetween(studentIds, start, start.plusDays(1)).stream()
-                .collect(Collectors.toMap(
-                        StudentPointTransactionRepository.StudentPointEarnedTotal::getStudentId,
-                        StudentPointTransactionRepository.StudentPointEarnedTotal::getTotal
-                ));
-    }
-
     private StudentPointOperationException error(String code, HttpStatus status, String message) {
         return new StudentPointOperationException(code, status, message);
     }
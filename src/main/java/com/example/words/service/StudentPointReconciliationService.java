@@ -1,56 +1,211 @@
 package com.example.words.service;
 
+import com.example.words.dto.StudentPointReconciliationStatusResponse;
+import com.example.words.model.PointSourceType;
+import com.example.words.model.StudentPointReconciliationWatermark;
+import com.example.words.repository.StudentPointReconciliationWatermarkRepository;
 import com.example.words.repository.StudyDayTaskRepository;
 import com.example.words.repository.StudyRecordRepository;
-import lombok.RequiredArgsConstructor;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Publishes point events that the normal path lost. Each source keeps a persisted id watermark; a run scans only
+ * newer rows in keyset chunks and never moves the watermark past a row that is still inside the grace window, still
+ * open, or whose publish failed, so late commits, late task completions and failed publishes are picked up by a later
+ * run. Tasks stay open until their day ends, so the task scan keeps going past them within a run instead of waiting.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class StudentPointReconciliationService {
 
-    static final int BATCH_SIZE = 100;
+    static final int CHUNK_SIZE = 500;
 
     private final StudyRecordRepository studyRecordRepository;
     private final StudyDayTaskRepository studyDayTaskRepository;
+    private final StudentPointReconciliationWatermarkRepository watermarkRepository;
     private final StudentPointEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration graceWindow;
+
+    public StudentPointReconciliationService(
+            StudyRecordRepository studyRecordRepository,
+            StudyDayTaskRepository studyDayTaskRepository,
+            StudentPointReconciliationWatermarkRepository watermarkRepository,
+            StudentPointEventPublisher publisher,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            @Value("${student-points.reconciliation.grace-seconds:300}") long graceSeconds
+    ) {
+        this.studyRecordRepository = studyRecordRepository;
+        this.studyDayTaskRepository = studyDayTaskRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.graceWindow = Duration.ofSeconds(graceSeconds);
+    }
 
     public void reconcileMissingEvents() {
-        for (StudyRecordRepository.MissingCorrectPointSource source
-                : studyRecordRepository.findMissingCorrectPointSources(BATCH_SIZE)) {
-            publishRecord(source);
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(graceWindow);
+        reconcile(PointSourceType.STUDY_RECORD, cutoff);
+        reconcile(PointSourceType.STUDY_TASK, cutoff);
+    }
+
+    public List<StudentPointReconciliationStatusResponse> getStatus() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return List.of(
+                status(PointSourceType.STUDY_RECORD, studyRecordRepository.findMaxId(), now),
+                status(PointSourceType.STUDY_TASK, studyDayTaskRepository.findMaxId(), now)
+        );
+    }
+
+    private void reconcile(PointSourceType sourceType, LocalDateTime cutoff) {
+        int published = 0;
+        Long scanAfterId = null;
+        while (true) {
+            ChunkResult chunk;
+            int publishedBefore = published;
+            Long chunkAfterId = scanAfterId;
+            try {
+                chunk = transactionTemplate.execute(
+                        status -> reconcileChunk(sourceType, cutoff, chunkAfterId, publishedBefore));
+            } catch (RuntimeException exception) {
+                log.error("Student point reconciliation chunk failed for {}", sourceType, exception);
+                return;
+            }
+            published += chunk.published();
+            if (!chunk.hasMore()) {
+                break;
+            }
+            scanAfterId = chunk.scannedId();
         }
-        for (StudyDayTaskRepository.MissingCompletedPointSource source
-                : studyDayTaskRepository.findMissingCompletedPointSources(BATCH_SIZE)) {
-            publishTask(source);
+        if (published > 0) {
+            log.info("Student point reconciliation published {} missing {} events", published, sourceType);
         }
     }
 
-    private void publishRecord(StudyRecordRepository.MissingCorrectPointSource source) {
+    private ChunkResult reconcileChunk(
+            PointSourceType sourceType,
+            LocalDateTime cutoff,
+            Long scanAfterId,
+            int publishedBefore
+    ) {
+        StudentPointReconciliationWatermark watermark = watermarkRepository.findById(sourceType)
+                .orElseGet(() -> StudentPointReconciliationWatermark.start(sourceType));
+        long checkedId = watermark.getLastCheckedId();
+        long scannedId = scanAfterId == null ? checkedId : scanAfterId;
+        int published = 0;
+        boolean settledChunk = true;
+        int scanned;
+
+        if (sourceType == PointSourceType.STUDY_RECORD) {
+            List<StudyRecordRepository.CorrectPointCandidate> candidates =
+                    studyRecordRepository.findCorrectPointCandidatesAfter(checkedId, CHUNK_SIZE);
+            scanned = candidates.size();
+            for (StudyRecordRepository.CorrectPointCandidate candidate : candidates) {
+                if (isInGraceWindow(candidate.getSettledAt(), cutoff)) {
+                    settledChunk = false;
+                    break;
+                }
+                if (Boolean.TRUE.equals(candidate.getEventMissing())) {
+                    if (!publishRecord(candidate)) {
+                        settledChunk = false;
+                        break;
+                    }
+                    published++;
+                }
+                checkedId = candidate.getSourceId();
+            }
+            scannedId = checkedId;
+        } else {
+            // The watermark only follows the scan while every task behind it is settled.
+            boolean watermarkFollows = scannedId == checkedId;
+            List<StudyDayTaskRepository.CompletedPointCandidate> candidates =
+                    studyDayTaskRepository.findCompletedPointCandidatesAfter(scannedId, CHUNK_SIZE);
+            scanned = candidates.size();
+            for (StudyDayTaskRepository.CompletedPointCandidate candidate : candidates) {
+                boolean settled = Boolean.TRUE.equals(candidate.getClosed())
+                        && !isInGraceWindow(candidate.getSettledAt(), cutoff);
+                if (settled && Boolean.TRUE.equals(candidate.getEventMissing())) {
+                    if (!publishTask(candidate)) {
+                        settledChunk = false;
+                        break;
+                    }
+                    published++;
+                }
+                watermarkFollows = watermarkFollows && settled;
+                if (watermarkFollows) {
+                    checkedId = candidate.getSourceId();
+                }
+                scannedId = candidate.getSourceId();
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        watermark.setLastCheckedId(checkedId);
+        watermark.setLastRunAt(now);
+        watermark.setLastPublishedCount(publishedBefore + published);
+        watermark.setUpdatedAt(now);
+        watermarkRepository.save(watermark);
+        return new ChunkResult(published, settledChunk && scanned == CHUNK_SIZE, scannedId);
+    }
+
+    private StudentPointReconciliationStatusResponse status(PointSourceType sourceType, Long maxId, LocalDateTime now) {
+        StudentPointReconciliationWatermark watermark = watermarkRepository.findById(sourceType)
+                .orElseGet(() -> StudentPointReconciliationWatermark.start(sourceType));
+        long latestId = maxId == null ? 0L : maxId;
+        long checkedId = watermark.getLastCheckedId();
+        LocalDateTime oldestUnchecked = sourceType == PointSourceType.STUDY_RECORD
+                ? studyRecordRepository.findOldestCreatedAtAfter(checkedId)
+                : studyDayTaskRepository.findOldestCreatedAtAfter(checkedId);
+        return new StudentPointReconciliationStatusResponse(
+                sourceType,
+                checkedId,
+                latestId,
+                Math.max(latestId - checkedId, 0L),
+                oldestUnchecked == null ? 0L : Math.max(Duration.between(oldestUnchecked, now).getSeconds(), 0L),
+                watermark.getLastRunAt(),
+                watermark.getLastPublishedCount()
+        );
+    }
+
+    private boolean isInGraceWindow(LocalDateTime settledAt, LocalDateTime cutoff) {
+        return settledAt != null && settledAt.isAfter(cutoff);
+    }
+
+    private boolean publishRecord(StudyRecordRepository.CorrectPointCandidate source) {
         StudentPointEventPublisher.PublishRequest request = new StudentPointEventPublisher.PublishRequest(
                 source.getStudentId(),
                 source.getSourceId(),
                 "study-record:" + source.getSourceId() + ":correct",
                 "STUDY_RECORD_CORRECT"
         );
-        publishSafely(request);
+        return publishSafely(request);
     }
 
-    private void publishTask(StudyDayTaskRepository.MissingCompletedPointSource source) {
+    private boolean publishTask(StudyDayTaskRepository.CompletedPointCandidate source) {
         StudentPointEventPublisher.PublishRequest request = new StudentPointEventPublisher.PublishRequest(
                 source.getStudentId(),
                 source.getSourceId(),
                 "study-day-task:" + source.getSourceId() + ":completed",
                 "DAILY_TASK_COMPLETED"
         );
-        publishSafely(request);
+        return publishSafely(request);
     }
 
-    private void publishSafely(StudentPointEventPublisher.PublishRequest request) {
+    private boolean publishSafely(StudentPointEventPublisher.PublishRequest request) {
         try {
-            publisher.publishAfterCommit(request);
+            publisher.enqueue(request);
+            return true;
         } catch (RuntimeException exception) {
             log.error(
                     "Student point reconciliation failed: sourceId={}, sourceKey={}, ruleCode={}",
@@ -59,6 +214,10 @@ public class StudentPointReconciliationService {
                     request.ruleCode(),
                     exception
             );
+            return false;
         }
     }
+
+    private record ChunkResult(int published, boolean hasMore, long scannedId) {
+    }
 }
@@ -3,8 +3,14 @@ package com.example.words.service;
 import com.example.words.repository.StudentPointEventRepository;
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
@@ -15,43 +21,65 @@ import org.springframework.stereotype.Service;
 @Service
 public class StudentPointRetryScheduler {
 
+    public static final int BATCH_SIZE = 100;
+    static final int MAX_BATCHES_PER_RUN = 10;
     private static final int PAGE_SIZE = 100;
     private static final int PROCESSING_TIMEOUT_MINUTES = 10;
     private static final String RESTART_ERROR = "PROCESSING_INTERRUPTED_BY_SERVER_RESTART";
     private static final String TIMEOUT_ERROR = "PROCESSING_TIMEOUT";
 
     private final StudentPointEventRepository eventRepository;
+    private final StudentPointEventService eventService;
     private final StudentPointEventProcessor processor;
     private final StudentPointFailureRecorder failureRecorder;
+    private final Executor retryExecutor;
     private final Clock clock;
     private final LocalDateTime startupCutoff;
 
     public StudentPointRetryScheduler(
             StudentPointEventRepository eventRepository,
+            StudentPointEventService eventService,
             StudentPointEventProcessor processor,
             StudentPointFailureRecorder failureRecorder,
+            @Qualifier("studentPointRetryTaskExecutor") Executor retryExecutor,
             Clock clock
     ) {
         this.eventRepository = eventRepository;
+        this.eventService = eventService;
         this.processor = processor;
         this.failureRecorder = failureRecorder;
+        this.retryExecutor = retryExecutor;
         this.clock = clock;
         this.startupCutoff = LocalDateTime.now(clock);
     }
 
+    /**
+     * Claims due events in batches and posts each student's share on the retry pool. Claiming skips rows other
+     * nodes hold, so nodes and threads divide the backlog instead of colliding on the same events. A run stops after
+     * {@link #MAX_BATCHES_PER_RUN} batches so a large backlog drains over several runs instead of holding a scheduler
+     * thread until it is empty.
+     */
     @Scheduled(fixedDelayString = "${student-points.retry-delay-ms:60000}")
     public void retryDueEvents() {
-        LocalDateTime now = localNow();
-        List<Long> eventIds = eventRepository.findDueEventIds(
-                now,
-                StudentPointProcessingPolicy.MAX_AUTO_ATTEMPTS,
-                PageRequest.of(0, PAGE_SIZE)
-        );
-        for (Long eventId : eventIds) {
-            try {
-                processor.process(eventId, StudentPointEventService.AttemptContext.auto());
-            } catch (RuntimeException failure) {
-                log.warn("Automatic student point event retry failed for event {}", eventId, failure);
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<StudentPointEventRepository.ClaimedEvent> claimed =
+                    eventService.claimDueBatch(BATCH_SIZE, clock.instant());
+            if (claimed.isEmpty()) {
+                return;
+            }
+
+            Map<Long, List<Long>> eventIdsByStudent = new LinkedHashMap<>();
+            for (StudentPointEventRepository.ClaimedEvent event : claimed) {
+                eventIdsByStudent.computeIfAbsent(event.getStudentId(), studentId -> new ArrayList<>())
+                        .add(event.getId());
+            }
+            CompletableFuture.allOf(eventIdsByStudent.values().stream()
+                    .map(eventIds -> CompletableFuture.runAsync(() -> postClaimed(eventIds), retryExecutor))
+                    .toArray(CompletableFuture[]::new)
+            ).join();
+
+            if (claimed.size() < BATCH_SIZE) {
+                return;
             }
         }
     }
@@ -100,6 +128,14 @@ public class StudentPointRetryScheduler {
         }
     }
 
+    private void postClaimed(List<Long> eventIds) {
+        try {
+            processor.postClaimed(eventIds);
+        } catch (RuntimeException failure) {
+            log.warn("Automatic student point event retry failed for events {}", eventIds, failure);
+        }
+    }
+
     private LocalDateTime localNow() {
         return LocalDateTime.now(clock);
     }
@@ -0,0 +1,78 @@
+package com.example.words.service;
+
+import com.example.words.model.AppUser;
+import com.example.words.model.UserRole;
+import com.example.words.repository.DictionaryWordRepository;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Answers whether a student can see a word from a cached set of every meta-word id in their assigned dictionaries.
+ * Sets are keyed by the dictionary ids, read from {@link AuthorizationContextService} and invalidated with it, so
+ * classmates with the same assignments share one set; a set is reloaded once it is older than the context TTL. A
+ * word missing from the set is confirmed with one query, so words added to a dictionary are visible immediately;
+ * removals show up once the set expires.
+ */
+@Service
+public class StudentVisibleWordService {
+
+    private final AuthorizationContextService authorizationContextService;
+    private final DictionaryWordRepository dictionaryWordRepository;
+    private final long ttlNanos;
+    private final int maxCachedWordSets;
+    private final Map<Set<Long>, CachedWords> wordsByDictionaryIds = new ConcurrentHashMap<>();
+
+    public StudentVisibleWordService(
+            AuthorizationContextService authorizationContextService,
+            DictionaryWordRepository dictionaryWordRepository,
+            @Value("${access-control.context-ttl-ms:30000}") long ttlMs,
+            @Value("${access-control.max-cached-visible-word-sets:500}") int maxCachedWordSets) {
+        this.authorizationContextService = authorizationContextService;
+        this.dictionaryWordRepository = dictionaryWordRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxCachedWordSets = maxCachedWordSets;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isVisible(AppUser student, Long metaWordId) {
+        if (student.getRole() != UserRole.STUDENT || metaWordId == null) {
+            return false;
+        }
+
+        Set<Long> dictionaryIds = authorizationContextService.getContext(student).assignedDictionaryIds();
+        if (dictionaryIds.isEmpty()) {
+            return false;
+        }
+        if (visibleWords(dictionaryIds).contains(metaWordId)) {
+            return true;
+        }
+        return dictionaryWordRepository.existsByDictionaryIdInAndMetaWordId(dictionaryIds, metaWordId);
+    }
+
+    private VisibleWordSet visibleWords(Set<Long> dictionaryIds) {
+        long now = System.nanoTime();
+        CachedWords cached = wordsByDictionaryIds.get(dictionaryIds);
+        if (cached != null && now - cached.loadedAtNanos() < ttlNanos) {
+            return cached.words();
+        }
+
+        // Loading every word of the assigned dictionaries costs more than one exists query, but the set is then
+        // shared by every student with the same assignments for the rest of the TTL.
+        VisibleWordSet words = VisibleWordSet.of(
+                dictionaryWordRepository.findDistinctMetaWordIdsByDictionaryIdIn(dictionaryIds)
+        );
+        if (cached == null && wordsByDictionaryIds.size() >= maxCachedWordSets) {
+            wordsByDictionaryIds.clear();
+        }
+        wordsByDictionaryIds.put(Set.copyOf(dictionaryIds), new CachedWords(now, words));
+        return words;
+    }
+
+    private record CachedWords(long loadedAtNanos, VisibleWordSet words) {
+    }
+}
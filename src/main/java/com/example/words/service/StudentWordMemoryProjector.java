@@ -0,0 +1,234 @@
+package com.example.words.service;
+
+import com.example.words.dto.StudentWordMemoryRebuildResponse;
+import com.example.words.model.StudentWordMemoryProjectionCursor;
+import com.example.words.model.StudentWordMemorySourceType;
+import com.example.words.model.StudyRecordResult;
+import com.example.words.repository.StudentWordMemoryProjectionCursorRepository;
+import com.example.words.repository.StudentWordMemoryRepository;
+import com.example.words.repository.StudyRecordRepository;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Projects committed plan study records into word memories. A persisted cursor marks the last projected record and
+ * is locked while a chunk is applied, so one node projects at a time and a crash only repeats a chunk. The cursor only
+ * crosses an id gap once the record after it has settled, because the missing id may still be committing; the sweep
+ * picks up records that committed even later than that.
+ */
+@Slf4j
+@Service
+public class StudentWordMemoryProjector {
+
+    static final int CHUNK_SIZE = 500;
+    static final int REBUILD_BATCH_SIZE = 100;
+
+    private final StudyRecordRepository studyRecordRepository;
+    private final StudentWordMemoryProjectionCursorRepository cursorRepository;
+    private final StudentWordMemoryRepository memoryRepository;
+    private final StudentWordMemoryService memoryService;
+    private final TaskExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration settleWindow;
+    private final long sweepRecords;
+
+    public StudentWordMemoryProjector(
+            StudyRecordRepository studyRecordRepository,
+            StudentWordMemoryProjectionCursorRepository cursorRepository,
+            StudentWordMemoryRepository memoryRepository,
+            StudentWordMemoryService memoryService,
+            @Qualifier("studentWordMemoryTaskExecutor") TaskExecutor taskExecutor,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            @Value("${student-word-memory.projection.settle-seconds:3}") long settleSeconds,
+            @Value("${student-word-memory.projection.sweep-records:5000}") long sweepRecords
+    ) {
+        this.studyRecordRepository = studyRecordRepository;
+        this.cursorRepository = cursorRepository;
+        this.memoryRepository = memoryRepository;
+        this.memoryService = memoryService;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.settleWindow = Duration.ofSeconds(settleSeconds);
+        this.sweepRecords = sweepRecords;
+    }
+
+    public void requestProjectionAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDrain();
+                }
+            });
+            return;
+        }
+
+        requestDrain();
+    }
+
+    public void requestDrain() {
+        taskExecutor.execute(this::drain);
+    }
+
+    @Scheduled(fixedDelayString = "${student-word-memory.projection.delay-ms:1000}")
+    public void drain() {
+        while (true) {
+            Boolean hasMore;
+            try {
+                hasMore = transactionTemplate.execute(status -> projectChunk());
+            } catch (RuntimeException failure) {
+                log.error("Word memory projection chunk failed; records stay queued for the next drain", failure);
+                return;
+            }
+            if (!Boolean.TRUE.equals(hasMore)) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${student-word-memory.projection.sweep-ms:60000}")
+    public void sweep() {
+        try {
+            Integer projected = transactionTemplate.execute(status -> projectMissedRecords());
+            if (projected != null && projected > 0) {
+                log.warn("Word memory projection sweep applied {} records committed behind the cursor", projected);
+            }
+        } catch (RuntimeException failure) {
+            log.error("Word memory projection sweep failed", failure);
+        }
+    }
+
+    /**
+     * Rebuilds one student's memories from their events. The cursor stays locked meanwhile, so the projector cannot
+     * apply new records to memories that are being replayed.
+     */
+    public StudentWordMemoryRebuildResponse rebuildStudent(Long studentId) {
+        Integer memories = transactionTemplate.execute(status -> {
+            lockCursor();
+            return memoryService.rebuildFromEvents(studentId);
+        });
+        return new StudentWordMemoryRebuildResponse(1, memories == null ? 0 : memories);
+    }
+
+    public StudentWordMemoryRebuildResponse rebuildAll() {
+        int students = 0;
+        int memories = 0;
+        long afterStudentId = 0L;
+        while (true) {
+            List<Long> studentIds = memoryRepository.findStudentIdsAfter(
+                    afterStudentId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE)
+            );
+            for (Long studentId : studentIds) {
+                memories += rebuildStudent(studentId).memoryCount();
+                students++;
+            }
+            if (studentIds.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            afterStudentId = studentIds.get(studentIds.size() - 1);
+        }
+        log.info("Rebuilt {} word memories for {} students from events", memories, students);
+        return new StudentWordMemoryRebuildResponse(students, memories);
+    }
+
+    private boolean projectChunk() {
+        StudentWordMemoryProjectionCursor cursor = lockCursor();
+        long projectedId = cursor.getLastSourceId();
+        LocalDateTime settledBefore = LocalDateTime.now(clock).minus(settleWindow);
+        List<StudyRecordRepository.MemoryProjectionCandidate> candidates =
+                studyRecordRepository.findMemoryProjectionCandidatesAfter(projectedId, CHUNK_SIZE);
+
+        List<StudentWordMemoryService.PlanStudy> studies = new ArrayList<>();
+        boolean blocked = false;
+        for (StudyRecordRepository.MemoryProjectionCandidate candidate : candidates) {
+            if (candidate.getSourceId() != projectedId + 1 && isUnsettled(candidate, settledBefore)) {
+                blocked = true;
+                break;
+            }
+            if (!Boolean.TRUE.equals(candidate.getProjected())) {
+                studies.add(toPlanStudy(candidate));
+            }
+            projectedId = candidate.getSourceId();
+        }
+        if (projectedId == cursor.getLastSourceId()) {
+            return false;
+        }
+
+        memoryService.projectPlanStudies(studies);
+        LocalDateTime now = LocalDateTime.now(clock);
+        cursor.setLastSourceId(projectedId);
+        cursor.setLastProjectedAt(now);
+        cursor.setUpdatedAt(now);
+        cursorRepository.save(cursor);
+        return !blocked && candidates.size() == CHUNK_SIZE;
+    }
+
+    private int projectMissedRecords() {
+        StudentWordMemoryProjectionCursor cursor = lockCursor();
+        long toId = cursor.getLastSourceId();
+        List<StudentWordMemoryService.PlanStudy> studies = studyRecordRepository
+                .findUnprojectedMemoryCandidatesBetween(Math.max(toId - sweepRecords, 0L), toId, CHUNK_SIZE)
+                .stream()
+                .map(this::toPlanStudy)
+                .toList();
+        if (studies.isEmpty()) {
+            return 0;
+        }
+        return memoryService.projectPlanStudies(studies);
+    }
+
+    private StudentWordMemoryProjectionCursor lockCursor() {
+        return cursorRepository.findForUpdate(StudentWordMemorySourceType.PLAN_STUDY)
+                .orElseGet(() -> cursorRepository.saveAndFlush(
+                        StudentWordMemoryProjectionCursor.start(StudentWordMemorySourceType.PLAN_STUDY)));
+    }
+
+    private boolean isUnsettled(StudyRecordRepository.MemoryProjectionCandidate candidate, LocalDateTime settledBefore) {
+        return candidate.getCreatedAt() != null && candidate.getCreatedAt().isAfter(settledBefore);
+    }
+
+    private StudentWordMemoryService.PlanStudy toPlanStudy(StudyRecordRepository.MemoryProjectionCandidate candidate) {
+        return new StudentWordMemoryService.PlanStudy(
+                candidate.getSourceId(),
+                candidate.getStudentId(),
+                candidate.getMetaWordId(),
+                candidate.getDictionaryId(),
+                StudyRecordResult.valueOf(candidate.getResult()),
+                occurredAt(candidate)
+        );
+    }
+
+    private LocalDateTime occurredAt(StudyRecordRepository.MemoryProjectionCandidate candidate) {
+        LocalDateTime createdAt = candidate.getCreatedAt() == null ? LocalDateTime.now(clock) : candidate.getCreatedAt();
+        if (candidate.getTimezone() == null) {
+            return createdAt;
+        }
+        try {
+            return createdAt.atZone(clock.getZone())
+                    .withZoneSameInstant(ZoneId.of(candidate.getTimezone()))
+                    .toLocalDateTime();
+        } catch (DateTimeException invalidTimezone) {
+            return createdAt;
+        }
+    }
+}
@@ -1,20 +1,15 @@
 package com.example.words.service;
 
 import com.example.words.dto.StudentWordMemoryResponse;
+import com.example.words.exception.BadRequestException;
 import com.example.words.exception.ResourceNotFoundException;
 import com.example.words.model.AppUser;
-import com.example.words.model.ClassroomMember;
-import com.example.words.model.DictionaryWord;
 import com.example.words.model.MetaWord;
 import com.example.words.model.StudentWordMemory;
 import com.example.words.model.StudentWordMemoryEvent;
 import com.example.words.model.StudentWordMemorySourceType;
 import com.example.words.model.StudyRecordResult;
 import com.example.words.model.UserRole;
-import com.example.words.repository.ClassroomDictionaryAssignmentRepository;
-import com.example.words.repository.ClassroomMemberRepository;
-import com.example.words.repository.DictionaryAssignmentRepository;
-import com.example.words.repository.DictionaryWordRepository;
 import com.example.words.repository.MetaWordRepository;
 import com.example.words.repository.StudentWordMemoryEventRepository;
 import com.example.words.repository.StudentWordMemoryRepository;
@@ -22,7 +17,17 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,77 +38,116 @@ public class StudentWordMemoryService {
     private static final List<Integer> REVIEW_INTERVALS = List.of(0, 1, 2, 4, 7, 15, 30);
     private static final int AUTO_WRONG_CLEAR_BOX_LEVEL = 5;
     private static final int AUTO_WRONG_CLEAR_STREAK = 3;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_LOOKUP_SIZE = 500;
 
     private final StudentWordMemoryRepository memoryRepository;
     private final StudentWordMemoryEventRepository eventRepository;
     private final MetaWordRepository metaWordRepository;
-    private final DictionaryAssignmentRepository dictionaryAssignmentRepository;
-    private final DictionaryWordRepository dictionaryWordRepository;
-    private final ClassroomMemberRepository classroomMemberRepository;
-    private final ClassroomDictionaryAssignmentRepository classroomDictionaryAssignmentRepository;
+    private final StudentVisibleWordService studentVisibleWordService;
 
     public StudentWordMemoryService(
             StudentWordMemoryRepository memoryRepository,
             StudentWordMemoryEventRepository eventRepository,
             MetaWordRepository metaWordRepository,
-            DictionaryAssignmentRepository dictionaryAssignmentRepository,
-            DictionaryWordRepository dictionaryWordRepository,
-            ClassroomMemberRepository classroomMemberRepository,
-            ClassroomDictionaryAssignmentRepository classroomDictionaryAssignmentRepository) {
+            StudentVisibleWordService studentVisibleWordService) {
         this.memoryRepository = memoryRepository;
         this.eventRepository = eventRepository;
         this.metaWordRepository = metaWordRepository;
-        this.dictionaryAssignmentRepository = dictionaryAssignmentRepository;
-        this.dictionaryWordRepository = dictionaryWordRepository;
-        this.classroomMemberRepository = classroomMemberRepository;
-        this.classroomDictionaryAssignmentRepository = classroomDictionaryAssignmentRepository;
+        this.studentVisibleWordService = studentVisibleWordService;
     }
 
+    /**
+     * Applies plan study results in the given order. Each student's words are loaded once and their memories and
+     * events are written in one batch.
+     */
     @Transactional
-    public StudentWordMemory recordPlanStudy(
-            Long studentId,
-            Long metaWordId,
-            Long sourceId,
-            Long dictionaryId,
-            StudyRecordResult result,
-            LocalDateTime occurredAt) {
-        StudentWordMemory memory = getOrCreateMemory(studentId, metaWordId);
-        int boxBefore = value(memory.getBoxLevel());
-
-        applyResult(memory, result, occurredAt);
-        StudentWordMemory savedMemory = memoryRepository.save(memory);
+    public int projectPlanStudies(List<PlanStudy> studies) {
+        Map<Long, List<PlanStudy>> studiesByStudent = new LinkedHashMap<>();
+        for (PlanStudy study : studies) {
+            studiesByStudent.computeIfAbsent(study.studentId(), studentId -> new ArrayList<>()).add(study);
+        }
+        studiesByStudent.forEach(this::projectStudentStudies);
+        return studies.size();
+    }
 
-        StudentWordMemoryEvent event = new StudentWordMemoryEvent();
-        event.setStudentWordMemoryId(savedMemory.getId());
-        event.setStudentId(studentId);
-        event.setMetaWordId(metaWordId);
-        event.setSourceType(StudentWordMemorySourceType.PLAN_STUDY);
-        event.setSourceId(sourceId);
-        event.setDictionaryId(dictionaryId);
-        event.setResult(result);
-        event.setBoxLevelBefore(boxBefore);
-        event.setBoxLevelAfter(value(savedMemory.getBoxLevel()));
-        eventRepository.save(event);
+    /**
+     * Rebuilds a student's memories by replaying their events from a clean state. Favorites are not event sourced
+     * and are kept as they are.
+     */
+    @Transactional
+    public int rebuildFromEvents(Long studentId) {
+        Map<Long, StudentWordMemory> memoriesById = new HashMap<>();
+        for (StudentWordMemory memory : memoryRepository.findByStudentId(studentId)) {
+            resetProgress(memory);
+            memoriesById.put(memory.getId(), memory);
+        }
+        for (StudentWordMemoryEvent event : eventRepository.findByStudentIdOrderByIdAsc(studentId)) {
+            StudentWordMemory memory = memoriesById.get(event.getStudentWordMemoryId());
+            if (memory != null) {
+                LocalDateTime occurredAt = event.getOccurredAt() == null ? event.getCreatedAt() : event.getOccurredAt();
+                applyResult(memory, event.getResult(), occurredAt);
+            }
+        }
+        memoryRepository.saveAll(memoriesById.values());
+        return memoriesById.size();
+    }
 
-        return savedMemory;
+    @Transactional(readOnly = true)
+    public Page<StudentWordMemoryResponse> listMemories(AppUser actor, ListingFilter filter, int page, int size) {
+        ensureStudent(actor);
+        filter.validate();
+        return memoryRepository.findResponses(
+                actor.getId(),
+                filter.dueOnOrBefore(),
+                filter.minBoxLevel(),
+                filter.maxBoxLevel(),
+                filter.minMastery(),
+                filter.maxMastery(),
+                page(page, size)
+        );
     }
 
     @Transactional(readOnly = true)
-    public List<StudentWordMemoryResponse> listMemories(AppUser actor) {
+    public Page<StudentWordMemoryResponse> listWrongWords(AppUser actor, ListingFilter filter, int page, int size) {
         ensureStudent(actor);
-        return toResponses(memoryRepository.findByStudentIdOrderByUpdatedAtDesc(actor.getId()));
+        filter.validate();
+        return memoryRepository.findWrongWordResponses(
+                actor.getId(),
+                filter.dueOnOrBefore(),
+                filter.minBoxLevel(),
+                filter.maxBoxLevel(),
+                filter.minMastery(),
+                filter.maxMastery(),
+                page(page, size)
+        );
     }
 
     @Transactional(readOnly = true)
-    public List<StudentWordMemoryResponse> listWrongWords(AppUser actor) {
+    public Page<StudentWordMemoryResponse> listFavoriteWords(AppUser actor, ListingFilter filter, int page, int size) {
         ensureStudent(actor);
-        return toResponses(memoryRepository.findByStudentIdAndAutoWrongTrueOrderByUpdatedAtDesc(actor.getId()));
+        filter.validate();
+        return memoryRepository.findFavoriteWordResponses(
+                actor.getId(),
+                filter.dueOnOrBefore(),
+                filter.minBoxLevel(),
+                filter.maxBoxLevel(),
+                filter.minMastery(),
+                filter.maxMastery(),
+                page(page, size)
+        );
     }
 
     @Transactional(readOnly = true)
-    public List<StudentWordMemoryResponse> listFavoriteWords(AppUser actor) {
+    public List<StudentWordMemoryResponse> findMemories(AppUser actor, Collection<Long> metaWordIds) {
         ensureStudent(actor);
-        return toResponses(memoryRepository.findByStudentIdAndFavoriteTrueOrderByUpdatedAtDesc(actor.getId()));
+        if (metaWordIds == null || metaWordIds.isEmpty()) {
+            return List.of();
+        }
+        if (metaWordIds.size() > MAX_LOOKUP_SIZE) {
+            throw new BadRequestException("At most " + MAX_LOOKUP_SIZE + " words can be looked up at once");
+        }
+        return memoryRepository.findResponsesByMetaWordIds(actor.getId(), Set.copyOf(metaWordIds));
     }
 
     @Transactional
@@ -111,7 +155,7 @@ public class StudentWordMemoryService {
         ensureStudent(actor);
         MetaWord metaWord = metaWordRepository.findById(metaWordId)
                 .orElseThrow(() -> new ResourceNotFoundException("Meta word not found: " + metaWordId));
-        if (!isVisibleToStudent(actor.getId(), metaWord.getId())) {
+        if (!studentVisibleWordService.isVisible(actor, metaWord.getId())) {
             throw new AccessDeniedException("Word is not in an assigned dictionary");
         }
 
@@ -125,21 +169,69 @@ public class StudentWordMemoryService {
         return toResponse(updateFavorite(metaWordId, favorite, actor));
     }
 
+    private void projectStudentStudies(Long studentId, List<PlanStudy> studies) {
+        Map<Long, StudentWordMemory> memoriesByWord = new HashMap<>();
+        memoryRepository.findByStudentIdAndMetaWordIdIn(
+                studentId,
+                studies.stream().map(PlanStudy::metaWordId).collect(Collectors.toSet())
+        ).forEach(memory -> memoriesByWord.put(memory.getMetaWordId(), memory));
+
+        List<StudentWordMemoryEvent> events = new ArrayList<>();
+        List<StudentWordMemory> eventMemories = new ArrayList<>();
+        for (PlanStudy study : studies) {
+            StudentWordMemory memory = memoriesByWord.computeIfAbsent(
+                    study.metaWordId(),
+                    metaWordId -> newMemory(studentId, metaWordId)
+            );
+            int boxBefore = value(memory.getBoxLevel());
+            applyResult(memory, study.result(), study.occurredAt());
+
+            StudentWordMemoryEvent event = new StudentWordMemoryEvent();
+            event.setStudentId(studentId);
+            event.setMetaWordId(study.metaWordId());
+            event.setSourceType(StudentWordMemorySourceType.PLAN_STUDY);
+            event.setSourceId(study.sourceId());
+            event.setDictionaryId(study.dictionaryId());
+            event.setResult(study.result());
+            event.setBoxLevelBefore(boxBefore);
+            event.setBoxLevelAfter(value(memory.getBoxLevel()));
+            event.setOccurredAt(study.occurredAt());
+            events.add(event);
+            eventMemories.add(memory);
+        }
+
+        memoryRepository.saveAll(memoriesByWord.values());
+        for (int index = 0; index < events.size(); index++) {
+            events.get(index).setStudentWordMemoryId(eventMemories.get(index).getId());
+        }
+        eventRepository.saveAll(events);
+    }
+
     private StudentWordMemory getOrCreateMemory(Long studentId, Long metaWordId) {
         return memoryRepository.findByStudentIdAndMetaWordId(studentId, metaWordId)
-                .orElseGet(() -> {
-                    StudentWordMemory memory = new StudentWordMemory();
-                    memory.setStudentId(studentId);
-                    memory.setMetaWordId(metaWordId);
-                    memory.setBoxLevel(0);
-                    memory.setMasteryLevel(BigDecimal.ZERO);
-                    memory.setCorrectTimes(0);
-                    memory.setWrongTimes(0);
-                    memory.setCorrectStreak(0);
-                    memory.setAutoWrong(false);
-                    memory.setFavorite(false);
-                    return memory;
-                });
+                .orElseGet(() -> newMemory(studentId, metaWordId));
+    }
+
+    private StudentWordMemory newMemory(Long studentId, Long metaWordId) {
+        StudentWordMemory memory = new StudentWordMemory();
+        memory.setStudentId(studentId);
+        memory.setMetaWordId(metaWordId);
+        memory.setFavorite(false);
+        resetProgress(memory);
+        return memory;
+    }
+
+    private void resetProgress(StudentWordMemory memory) {
+        memory.setBoxLevel(0);
+        memory.setMasteryLevel(BigDecimal.ZERO);
+        memory.setNextReviewDate(null);
+        memory.setCorrectTimes(0);
+        memory.setWrongTimes(0);
+        memory.setCorrectStreak(0);
+        memory.setLastResult(null);
+        memory.setLastSource(null);
+        memory.setLastStudiedAt(null);
+        memory.setAutoWrong(false);
     }
 
     private void applyResult(StudentWordMemory memory, StudyRecordResult result, LocalDateTime occurredAt) {
@@ -174,30 +266,6 @@ public class StudentWordMemoryService {
         }
     }
 
-    private boolean isVisibleToStudent(Long studentId, Long metaWordId) {
-        return dictionaryWordRepository.findByMetaWordId(metaWordId).stream()
-                .map(DictionaryWord::getDictionaryId)
-                .anyMatch(dictionaryId -> dictionaryAssignmentRepository.existsByDictionaryIdAndStudentId(
-                        dictionaryId,
-                        studentId
-                ) || isAssignedThroughClassroom(studentId, dictionaryId));
-    }
-
-    private boolean isAssignedThroughClassroom(Long studentId, Long dictionaryId) {
-        List<Long> classroomIds = classroomMemberRepository.findByStudentId(studentId).stream()
-                .map(ClassroomMember::getClassroomId)
-                .distinct()
-                .toList();
-        return !classroomIds.isEmpty()
-                && classroomDictionaryAssignmentRepository.existsByDictionaryIdAndClassroomIdIn(dictionaryId, classroomIds);
-    }
-
-    private List<StudentWordMemoryResponse> toResponses(List<StudentWordMemory> memories) {
-        return memories.stream()
-                .map(this::toResponse)
-                .toList();
-    }
-
     private StudentWordMemoryResponse toResponse(StudentWordMemory memory) {
         MetaWord metaWord = metaWordRepository.findById(memory.getMetaWordId())
                 .orElseThrow(() -> new ResourceNotFoundException("Meta word not found: " + memory.getMetaWordId()));
@@ -225,6 +293,10 @@ public class StudentWordMemoryService {
         );
     }
 
+    private Pageable page(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
     private LocalDate nextReviewDate(LocalDate date, int boxLevel) {
         return date.plusDays(REVIEW_INTERVALS.get(Math.min(boxLevel, REVIEW_INTERVALS.size() - 1)));
     }
@@ -248,4 +320,34 @@ public class StudentWordMemoryService {
     private int value(Integer number) {
         return number == null ? 0 : number;
     }
+
+    public record ListingFilter(
+            LocalDate dueOnOrBefore,
+            Integer minBoxLevel,
+            Integer maxBoxLevel,
+            BigDecimal minMastery,
+            BigDecimal maxMastery
+    ) {
+
+        public static final ListingFilter NONE = new ListingFilter(null, null, null, null, null);
+
+        void validate() {
+            if (minBoxLevel != null && maxBoxLevel != null && minBoxLevel > maxBoxLevel) {
+                throw new BadRequestException("minBoxLevel must not exceed maxBoxLevel");
+            }
+            if (minMastery != null && maxMastery != null && minMastery.compareTo(maxMastery) > 0) {
+                throw new BadRequestException("minMastery must not exceed maxMastery");
+            }
+        }
+    }
+
+    public record PlanStudy(
+            Long sourceId,
+            Long studentId,
+            Long metaWordId,
+            Long dictionaryId,
+            StudyRecordResult result,
+            LocalDateTime occurredAt
+    ) {
+    }
 }
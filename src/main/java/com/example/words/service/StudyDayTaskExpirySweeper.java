@@ -0,0 +1,62 @@
+package com.example.words.service;
+
+import com.example.words.repository.StudyDayTaskRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class StudyDayTaskExpirySweeper {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final StudyDayTaskRepository studyDayTaskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public StudyDayTaskExpirySweeper(
+            StudyDayTaskRepository studyDayTaskRepository,
+            PlatformTransactionManager transactionManager,
+            Clock clock
+    ) {
+        this.studyDayTaskRepository = studyDayTaskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${study-plan.expiry-sweep-delay-ms:60000}")
+    public void sweepExpiredTasks() {
+        LocalDateTime utcNow = LocalDateTime.now(clock.withZone(ZoneOffset.UTC));
+        int swept = 0;
+        try {
+            int chunkSize;
+            do {
+                chunkSize = transactionTemplate.execute(status -> sweepChunk(utcNow));
+                swept += chunkSize;
+            } while (chunkSize == CHUNK_SIZE);
+        } catch (RuntimeException failure) {
+            log.warn("Study day task expiry sweep failed after {} tasks", swept, failure);
+            return;
+        }
+        if (swept > 0) {
+            log.debug("Closed {} expired study day tasks", swept);
+        }
+    }
+
+    private int sweepChunk(LocalDateTime utcNow) {
+        List<Long> taskIds = studyDayTaskRepository.lockExpiredUnfinishedTaskIds(utcNow, CHUNK_SIZE);
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        studyDayTaskRepository.addMissedDaysForTasks(taskIds);
+        studyDayTaskRepository.closeExpiredTasks(taskIds);
+        return taskIds.size();
+    }
+}
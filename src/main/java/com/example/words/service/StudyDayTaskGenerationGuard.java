@@ -0,0 +1,59 @@
+package com.example.words.service;
+
+import com.example.words.repository.StudyDayTaskRepository;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Serializes today-task generation per student study plan until the generating transaction completes.
+ */
+@Slf4j
+@Component
+public class StudyDayTaskGenerationGuard {
+
+    static final int STRIPES = 64;
+    static final long LOCAL_WAIT_MILLIS = 2000L;
+    private static final int ADVISORY_LOCK_NAMESPACE = 3901;
+
+    private final StudyDayTaskRepository studyDayTaskRepository;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public StudyDayTaskGenerationGuard(StudyDayTaskRepository studyDayTaskRepository) {
+        this.studyDayTaskRepository = studyDayTaskRepository;
+        for (int index = 0; index < STRIPES; index++) {
+            stripes[index] = new ReentrantLock();
+        }
+    }
+
+    public void acquire(Long studentStudyPlanId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Study day task generation requires an active transaction");
+        }
+
+        ReentrantLock lock = stripes[Math.floorMod(studentStudyPlanId.hashCode(), STRIPES)];
+        if (tryLock(lock)) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+        } else {
+            log.debug("Falling back to the database lock for student study plan {}", studentStudyPlanId);
+        }
+        studyDayTaskRepository.lockTaskGeneration(ADVISORY_LOCK_NAMESPACE, studentStudyPlanId);
+    }
+
+    private boolean tryLock(ReentrantLock lock) {
+        try {
+            return lock.tryLock(LOCAL_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.words.service;
+
+import com.example.words.model.StudentStudyPlanStatus;
+import com.example.words.model.StudyPlan;
+import com.example.words.model.StudyPlanStatus;
+import com.example.words.repository.StudentStudyPlanRepository;
+import com.example.words.repository.StudyDayTaskRepository;
+import com.example.words.repository.StudyPlanRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class StudyDayTaskPregenerationScheduler {
+
+    static final int CHUNK_SIZE = 200;
+
+    private final StudyPlanRepository studyPlanRepository;
+    private final StudentStudyPlanRepository studentStudyPlanRepository;
+    private final StudyDayTaskRepository studyDayTaskRepository;
+    private final StudyPlanService studyPlanService;
+    private final Executor executor;
+    private final Clock clock;
+    private final Map<Long, LocalDate> generatedDates = new ConcurrentHashMap<>();
+
+    public StudyDayTaskPregenerationScheduler(
+            StudyPlanRepository studyPlanRepository,
+            StudentStudyPlanRepository studentStudyPlanRepository,
+            StudyDayTaskRepository studyDayTaskRepository,
+            StudyPlanService studyPlanService,
+            @Qualifier("studyTaskPregenerationExecutor") Executor executor,
+            Clock clock
+    ) {
+        this.studyPlanRepository = studyPlanRepository;
+        this.studentStudyPlanRepository = studentStudyPlanRepository;
+        this.studyDayTaskRepository = studyDayTaskRepository;
+        this.studyPlanService = studyPlanService;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${study-plan.pregeneration-delay-ms:60000}")
+    public void pregenerateTodayTasks() {
+        List<StudyPlan> studyPlans = studyPlanRepository.findByStatusOrderByIdAsc(StudyPlanStatus.PUBLISHED);
+        Set<Long> publishedPlanIds = new HashSet<>();
+        for (StudyPlan studyPlan : studyPlans) {
+            publishedPlanIds.add(studyPlan.getId());
+            try {
+                LocalDate taskDate = LocalDate.now(clock.withZone(studyPlanService.resolveZoneId(studyPlan)));
+                if (taskDate.equals(generatedDates.get(studyPlan.getId()))) {
+                    continue;
+                }
+                if (!studyPlanService.canGenerateTodayTask(studyPlan, taskDate) || pregeneratePlan(studyPlan, taskDate)) {
+                    generatedDates.put(studyPlan.getId(), taskDate);
+                }
+            } catch (RuntimeException failure) {
+                log.warn("Study day task pre-generation failed for study plan {}", studyPlan.getId(), failure);
+            }
+        }
+        generatedDates.keySet().retainAll(publishedPlanIds);
+    }
+
+    boolean pregeneratePlan(StudyPlan studyPlan, LocalDate taskDate) {
+        List<CompletableFuture<Boolean>> chunks = new ArrayList<>();
+        long afterId = 0L;
+        while (true) {
+            List<Long> studentStudyPlanIds = studentStudyPlanRepository.findIdsByStudyPlanIdAndStatusAfter(
+                    studyPlan.getId(),
+                    StudentStudyPlanStatus.ACTIVE,
+                    afterId,
+                    PageRequest.of(0, CHUNK_SIZE)
+            );
+            if (studentStudyPlanIds.isEmpty()) {
+                break;
+            }
+            chunks.add(CompletableFuture.supplyAsync(
+                    () -> pregenerateChunk(studyPlan, taskDate, studentStudyPlanIds),
+                    executor
+            ));
+            afterId = studentStudyPlanIds.get(studentStudyPlanIds.size() - 1);
+            if (studentStudyPlanIds.size() < CHUNK_SIZE) {
+                break;
+            }
+        }
+
+        boolean complete = true;
+        for (CompletableFuture<Boolean> chunk : chunks) {
+            complete &= chunk.join();
+        }
+        return complete;
+    }
+
+    private boolean pregenerateChunk(StudyPlan studyPlan, LocalDate taskDate, List<Long> studentStudyPlanIds) {
+        Set<Long> generatedIds = new HashSet<>(
+                studyDayTaskRepository.findStudentStudyPlanIdsWithTaskOn(studentStudyPlanIds, taskDate));
+        boolean complete = true;
+        for (Long studentStudyPlanId : studentStudyPlanIds) {
+            if (generatedIds.contains(studentStudyPlanId)) {
+                continue;
+            }
+            try {
+                studyPlanService.pregenerateTodayTask(studentStudyPlanId, studyPlan, taskDate);
+            } catch (DataIntegrityViolationException concurrentlyGenerated) {
+                log.debug("Study day task for student study plan {} was generated concurrently", studentStudyPlanId);
+            } catch (RuntimeException failure) {
+                complete = false;
+                log.warn("Study day task pre-generation failed for student study plan {}", studentStudyPlanId, failure);
+            }
+        }
+        return complete;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.words.service;
+
+import com.example.words.repository.StudyPlanDailyRollupRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class StudyPlanDailyRollupFinalizer {
+
+    static final int CHUNK_SIZE = 100;
+
+    private final StudyPlanDailyRollupRepository studyPlanDailyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public StudyPlanDailyRollupFinalizer(
+            StudyPlanDailyRollupRepository studyPlanDailyRollupRepository,
+            PlatformTransactionManager transactionManager,
+            Clock clock
+    ) {
+        this.studyPlanDailyRollupRepository = studyPlanDailyRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${study-plan.rollup-finalize-delay-ms:300000}")
+    public void finalizeClosedDays() {
+        LocalDateTime utcNow = LocalDateTime.now(clock.withZone(ZoneOffset.UTC));
+        int finalized = 0;
+        try {
+            int chunkSize;
+            do {
+                chunkSize = transactionTemplate.execute(status -> finalizeChunk(utcNow));
+                finalized += chunkSize;
+            } while (chunkSize == CHUNK_SIZE);
+        } catch (RuntimeException failure) {
+            log.warn("Study plan rollup finalization failed after {} plan days", finalized, failure);
+            return;
+        }
+        if (finalized > 0) {
+            log.debug("Finalized {} study plan rollup days", finalized);
+        }
+    }
+
+    private int finalizeChunk(LocalDateTime utcNow) {
+        List<StudyPlanDailyRollupRepository.ClosedPlanDay> closedDays =
+                studyPlanDailyRollupRepository.findClosedOpenDays(utcNow, CHUNK_SIZE);
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (StudyPlanDailyRollupRepository.ClosedPlanDay closedDay : closedDays) {
+            if (studyPlanDailyRollupRepository.rebuildDay(closedDay.getStudyPlanId(), closedDay.getTaskDate(), now) == 0) {
+                studyPlanDailyRollupRepository.markFinalized(closedDay.getStudyPlanId(), closedDay.getTaskDate(), now);
+            }
+        }
+        return closedDays.size();
+    }
+}
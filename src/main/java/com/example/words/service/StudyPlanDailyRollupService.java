@@ -0,0 +1,218 @@
+package com.example.words.service;
+
+import com.example.words.model.StudentStudyPlan;
+import com.example.words.model.StudyDayTask;
+import com.example.words.model.StudyDayTaskStatus;
+import com.example.words.model.StudyPlanDailyRollup;
+import com.example.words.repository.StudyPlanDailyRollupRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the plan history rollups current as study day tasks change. Every student of a plan shares the plan-scope
+ * row, so deltas are folded in memory after commit and written by a periodic flush instead of inside the answer
+ * transaction. Deltas still pending when a node stops, or tasks that change outside a recording session, leave the
+ * live rows drifting; {@link StudyPlanDailyRollupFinalizer} rebuilds each day once it closes.
+ */
+@Slf4j
+@Service
+public class StudyPlanDailyRollupService {
+
+    private final StudyPlanDailyRollupRepository studyPlanDailyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Map<RollupKey, Delta> pendingDeltas = new ConcurrentHashMap<>();
+
+    public StudyPlanDailyRollupService(
+            StudyPlanDailyRollupRepository studyPlanDailyRollupRepository,
+            PlatformTransactionManager transactionManager,
+            Clock clock
+    ) {
+        this.studyPlanDailyRollupRepository = studyPlanDailyRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    public void recordTaskChange(
+            StudentStudyPlan studentStudyPlan,
+            TaskSnapshot before,
+            StudyDayTask after,
+            int wordsLearned
+    ) {
+        TaskSnapshot current = TaskSnapshot.of(after);
+        if (current.equals(before) && wordsLearned == 0) {
+            return;
+        }
+
+        TaskSnapshot previous = before == null ? TaskSnapshot.NONE : before;
+        Delta delta = Delta.between(previous, current, before == null, wordsLearned);
+        Long studyPlanId = studentStudyPlan.getStudyPlanId();
+        Long classroomId = studentStudyPlan.getClassroomId();
+        LocalDate taskDate = after.getTaskDate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addPending(studyPlanId, classroomId, taskDate, delta);
+                }
+            });
+            return;
+        }
+        addPending(studyPlanId, classroomId, taskDate, delta);
+    }
+
+    @Scheduled(fixedDelayString = "${study-plan.rollup-flush-delay-ms:5000}")
+    public void flushPendingDeltas() {
+        for (RollupKey key : List.copyOf(pendingDeltas.keySet())) {
+            Delta delta = pendingDeltas.remove(key);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyDelta(key, delta, LocalDateTime.now(clock)));
+            } catch (RuntimeException failure) {
+                pendingDeltas.merge(key, delta, Delta::plus);
+                log.warn("Study plan rollup flush failed for plan {} on {}", key.studyPlanId(), key.taskDate(), failure);
+                return;
+            }
+        }
+    }
+
+    public List<StudyPlanDailyRollup> findDays(Long studyPlanId, Long classroomId, LocalDate from, LocalDate to) {
+        return studyPlanDailyRollupRepository.findByStudyPlanIdAndClassroomIdAndTaskDateBetweenOrderByTaskDateAsc(
+                studyPlanId,
+                classroomId == null ? StudyPlanDailyRollup.PLAN_SCOPE : classroomId,
+                from,
+                to
+        );
+    }
+
+    private void addPending(Long studyPlanId, Long classroomId, LocalDate taskDate, Delta delta) {
+        pendingDeltas.merge(new RollupKey(studyPlanId, StudyPlanDailyRollup.PLAN_SCOPE, taskDate), delta, Delta::plus);
+        if (classroomId != null) {
+            pendingDeltas.merge(new RollupKey(studyPlanId, classroomId, taskDate), delta, Delta::plus);
+        }
+    }
+
+    private void applyDelta(RollupKey key, Delta delta, LocalDateTime now) {
+        studyPlanDailyRollupRepository.applyDelta(
+                key.studyPlanId(),
+                key.classroomId(),
+                key.taskDate(),
+                delta.taskCount(),
+                delta.notStartedCount(),
+                delta.inProgressCount(),
+                delta.completedCount(),
+                delta.missedCount(),
+                delta.completionRateTotal(),
+                delta.attentionScoreTotal(),
+                delta.totalFocusSeconds(),
+                delta.wordsLearned(),
+                now
+        );
+    }
+
+    private record RollupKey(Long studyPlanId, Long classroomId, LocalDate taskDate) {
+    }
+
+    private record Delta(
+            int taskCount,
+            int notStartedCount,
+            int inProgressCount,
+            int completedCount,
+            int missedCount,
+            BigDecimal completionRateTotal,
+            BigDecimal attentionScoreTotal,
+            long totalFocusSeconds,
+            int wordsLearned
+    ) {
+
+        static Delta between(TaskSnapshot previous, TaskSnapshot current, boolean newTask, int wordsLearned) {
+            return new Delta(
+                    newTask ? 1 : 0,
+                    current.countIn(Bucket.NOT_STARTED) - previous.countIn(Bucket.NOT_STARTED),
+                    current.countIn(Bucket.IN_PROGRESS) - previous.countIn(Bucket.IN_PROGRESS),
+                    current.countIn(Bucket.COMPLETED) - previous.countIn(Bucket.COMPLETED),
+                    current.countIn(Bucket.MISSED) - previous.countIn(Bucket.MISSED),
+                    current.completionRate().subtract(previous.completionRate()),
+                    current.attentionScore().subtract(previous.attentionScore()),
+                    (long) current.totalFocusSeconds() - previous.totalFocusSeconds(),
+                    wordsLearned
+            );
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(
+                    taskCount + other.taskCount,
+                    notStartedCount + other.notStartedCount,
+                    inProgressCount + other.inProgressCount,
+                    completedCount + other.completedCount,
+                    missedCount + other.missedCount,
+                    completionRateTotal.add(other.completionRateTotal),
+                    attentionScoreTotal.add(other.attentionScoreTotal),
+                    totalFocusSeconds + other.totalFocusSeconds,
+                    wordsLearned + other.wordsLearned
+            );
+        }
+    }
+
+    enum Bucket {
+        NOT_STARTED,
+        IN_PROGRESS,
+        COMPLETED,
+        MISSED
+    }
+
+    public record TaskSnapshot(
+            Bucket bucket,
+            BigDecimal completionRate,
+            BigDecimal attentionScore,
+            int totalFocusSeconds
+    ) {
+
+        static final TaskSnapshot NONE = new TaskSnapshot(null, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+        public static TaskSnapshot of(StudyDayTask task) {
+            return new TaskSnapshot(
+                    bucketOf(task),
+                    valueOrZero(task.getCompletionRate()),
+                    valueOrZero(task.getAttentionScore()),
+                    task.getTotalFocusSeconds() == null ? 0 : task.getTotalFocusSeconds()
+            );
+        }
+
+        int countIn(Bucket candidate) {
+            return bucket == candidate ? 1 : 0;
+        }
+
+        private static Bucket bucketOf(StudyDayTask task) {
+            int totalCount = task.getNewCount() + task.getReviewCount() + task.getOverdueCount();
+            if (task.getCompletedCount() >= totalCount) {
+                return Bucket.COMPLETED;
+            }
+            if (task.getStatus() == StudyDayTaskStatus.MISSED) {
+                return Bucket.MISSED;
+            }
+            if (task.getStatus() == StudyDayTaskStatus.NOT_STARTED && task.getCompletedCount() == 0) {
+                return Bucket.NOT_STARTED;
+            }
+            return Bucket.IN_PROGRESS;
+        }
+
+        private static BigDecimal valueOrZero(BigDecimal value) {
+            return value == null ? BigDecimal.ZERO : value;
+        }
+    }
+}
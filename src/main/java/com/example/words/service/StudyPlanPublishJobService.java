@@ -0,0 +1,192 @@
+package com.example.words.service;
+
+import com.example.words.dto.StudyPlanPublishJobResponse;
+import com.example.words.exception.ConflictException;
+import com.example.words.exception.ResourceNotFoundException;
+import com.example.words.model.AppUser;
+import com.example.words.model.StudyPlan;
+import com.example.words.model.StudyPlanPublishJob;
+import com.example.words.model.StudyPlanPublishJobStatus;
+import com.example.words.repository.StudyPlanPublishJobRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class StudyPlanPublishJobService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final Set<StudyPlanPublishJobStatus> ACTIVE_STATUSES = EnumSet.of(
+            StudyPlanPublishJobStatus.PENDING,
+            StudyPlanPublishJobStatus.ENROLLING,
+            StudyPlanPublishJobStatus.PREGENERATING
+    );
+
+    private final StudyPlanPublishJobRepository studyPlanPublishJobRepository;
+    private final StudyPlanService studyPlanService;
+    private final StudyDayTaskPregenerationScheduler pregenerationScheduler;
+    private final Executor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration staleAfter;
+
+    public StudyPlanPublishJobService(
+            StudyPlanPublishJobRepository studyPlanPublishJobRepository,
+            StudyPlanService studyPlanService,
+            StudyDayTaskPregenerationScheduler pregenerationScheduler,
+            @Qualifier("studyPlanPublishExecutor") Executor executor,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            @Value("${study-plan.publish.stale-after-ms:1800000}") long staleAfterMs
+    ) {
+        this.studyPlanPublishJobRepository = studyPlanPublishJobRepository;
+        this.studyPlanService = studyPlanService;
+        this.pregenerationScheduler = pregenerationScheduler;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+    }
+
+    public StudyPlanPublishJobResponse startPublish(Long studyPlanId, boolean pregenerateTasks, AppUser actor) {
+        List<Long> studentIds = studyPlanService.resolvePublishStudentIds(studyPlanId, actor);
+        if (studyPlanPublishJobRepository.existsByStudyPlanIdAndStatusIn(studyPlanId, ACTIVE_STATUSES)) {
+            throw new ConflictException("Study plan is already being published");
+        }
+
+        StudyPlanPublishJob job = new StudyPlanPublishJob();
+        job.setStudyPlanId(studyPlanId);
+        job.setRequestedByUserId(actor.getId());
+        job.setStatus(StudyPlanPublishJobStatus.PENDING);
+        job.setPregenerateTasks(pregenerateTasks);
+        job.setTotalStudents(studentIds.size());
+        job.setEnrolledStudents(0);
+        StudyPlanPublishJob savedJob;
+        try {
+            savedJob = studyPlanPublishJobRepository.save(job);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("Study plan is already being published");
+        }
+
+        try {
+            executor.execute(() -> run(savedJob.getId(), studyPlanId, studentIds, pregenerateTasks, actor));
+        } catch (RejectedExecutionException ex) {
+            markFailed(savedJob.getId(), "Too many study plan publish jobs are running");
+            throw new ConflictException("Too many study plan publish jobs are running, please retry later");
+        }
+        return toResponse(savedJob);
+    }
+
+    public StudyPlanPublishJobResponse getJob(Long studyPlanId, Long jobId, AppUser actor) {
+        studyPlanService.getManagedStudyPlan(studyPlanId, actor);
+        return studyPlanPublishJobRepository.findByIdAndStudyPlanId(jobId, studyPlanId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Study plan publish job not found: " + jobId));
+    }
+
+    /**
+     * Jobs whose worker died with its node never reach a final status, and the active-job index would block every
+     * later publish of their plan. Progress updates keep {@code updated_at} fresh while a job is alive.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${study-plan.publish.stale-sweep-delay-ms:300000}")
+    public void failStaleJobs() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int failed;
+        try {
+            failed = transactionTemplate.execute(status -> studyPlanPublishJobRepository.failStaleJobs(
+                    ACTIVE_STATUSES, now.minus(staleAfter), now, "Publish job stopped responding, please publish again"));
+        } catch (RuntimeException failure) {
+            log.warn("Stale study plan publish job sweep failed", failure);
+            return;
+        }
+        if (failed > 0) {
+            log.warn("Marked {} stale study plan publish jobs as failed", failed);
+        }
+    }
+
+    private void run(Long jobId, Long studyPlanId, List<Long> studentIds, boolean pregenerateTasks, AppUser actor) {
+        try {
+            updateJob(jobId, job -> {
+                job.setStatus(StudyPlanPublishJobStatus.ENROLLING);
+                job.setStartedAt(LocalDateTime.now(clock));
+            });
+            for (int from = 0; from < studentIds.size(); from += CHUNK_SIZE) {
+                int to = Math.min(from + CHUNK_SIZE, studentIds.size());
+                studyPlanService.enrollPublishStudents(studyPlanId, studentIds.subList(from, to), actor);
+                updateJob(jobId, job -> job.setEnrolledStudents(to));
+            }
+
+            StudyPlan studyPlan = studyPlanService.markPublished(studyPlanId);
+            if (pregenerateTasks) {
+                updateJob(jobId, job -> job.setStatus(StudyPlanPublishJobStatus.PREGENERATING));
+                LocalDate taskDate = LocalDate.now(clock.withZone(studyPlanService.resolveZoneId(studyPlan)));
+                if (studyPlanService.canGenerateTodayTask(studyPlan, taskDate)) {
+                    pregenerationScheduler.pregeneratePlan(studyPlan, taskDate);
+                }
+            }
+
+            updateJob(jobId, job -> {
+                job.setStatus(StudyPlanPublishJobStatus.SUCCEEDED);
+                job.setFinishedAt(LocalDateTime.now(clock));
+            });
+        } catch (RuntimeException failure) {
+            log.warn("Study plan publish job {} failed for study plan {}", jobId, studyPlanId, failure);
+            markFailed(jobId, failure.getMessage());
+        }
+    }
+
+    private void markFailed(Long jobId, String errorMessage) {
+        updateJob(jobId, job -> {
+            job.setStatus(StudyPlanPublishJobStatus.FAILED);
+            job.setErrorMessage(errorMessage);
+            job.setFinishedAt(LocalDateTime.now(clock));
+        });
+    }
+
+    private void updateJob(Long jobId, Consumer<StudyPlanPublishJob> mutator) {
+        // A job failed by the stale sweep stays failed even if its worker turns out to be alive.
+        transactionTemplate.executeWithoutResult(status -> studyPlanPublishJobRepository.findById(jobId)
+                .filter(job -> ACTIVE_STATUSES.contains(job.getStatus()))
+                .ifPresent(job -> {
+                    mutator.accept(job);
+                    studyPlanPublishJobRepository.save(job);
+                }));
+    }
+
+    private StudyPlanPublishJobResponse toResponse(StudyPlanPublishJob job) {
+        return new StudyPlanPublishJobResponse(
+                job.getId(),
+                job.getStudyPlanId(),
+                job.getStatus(),
+                job.getPregenerateTasks(),
+                job.getTotalStudents(),
+                job.getEnrolledStudents(),
+                job.getErrorMessage(),
+                job.getRequestedByUserId(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getCreatedAt(),
+                job.getUpdatedAt()
+        );
+    }
+}
@@ -2,9 +2,14 @@ package com.example.words.service;
 
 import com.example.words.dto.AppendStudyPlanStudentsRequest;
 import com.example.words.dto.CreateStudyPlanRequest;
+import com.example.words.dto.RecordStudyBatchItemResponse;
+import com.example.words.dto.RecordStudyBatchRequest;
+import com.example.words.dto.RecordStudyBatchResponse;
 import com.example.words.dto.RecordStudyRequest;
 import com.example.words.dto.StudentAttentionDailyStatResponse;
 import com.example.words.dto.StudentStudyPlanSummaryResponse;
+import com.example.words.dto.StudyPlanHistoryDayResponse;
+import com.example.words.dto.StudyPlanHistoryReportResponse;
 import com.example.words.dto.StudyPlanOverviewResponse;
 import com.example.words.dto.StudyPlanResponse;
 import com.example.words.dto.StudyPlanStudentAttentionResponse;
@@ -19,7 +24,6 @@ import com.example.words.model.Classroom;
 import com.example.words.model.ClassroomMember;
 import com.example.words.model.ClassroomStatus;
 import com.example.words.model.Dictionary;
-import com.example.words.model.DictionaryWord;
 import com.example.words.model.MetaWord;
 import com.example.words.model.StudentAttentionDailyStat;
 import com.example.words.model.StudentStudyPlan;
@@ -29,6 +33,7 @@ import com.example.words.model.StudyDayTaskItem;
 import com.example.words.model.StudyDayTaskStatus;
 import com.example.words.model.StudyPlan;
 import com.example.words.model.StudyPlanClassroom;
+import com.example.words.model.StudyPlanDailyRollup;
 import com.example.words.model.StudyPlanStatus;
 import com.example.words.model.StudyRecord;
 import com.example.words.model.StudyRecordResult;
@@ -60,7 +65,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -68,16 +73,29 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class StudyPlanService {
 
+    private static final int MAX_STUDENT_PAGE_SIZE = 100;
+    private static final int MAX_HISTORY_REPORT_DAYS = 366;
+    private static final int MAX_RECORD_ATTEMPTS = 3;
+    private static final int NEW_WORD_SCAN_PAGE_SIZE = 500;
+
     private final StudyPlanRepository studyPlanRepository;
     private final StudyPlanClassroomRepository studyPlanClassroomRepository;
     private final StudentStudyPlanRepository studentStudyPlanRepository;
@@ -94,8 +112,12 @@ public class StudyPlanService {
     private final MetaWordRepository metaWordRepository;
     private final AccessControlService accessControlService;
     private final UserService userService;
-    private final StudentWordMemoryService studentWordMemoryService;
+    private final StudentWordMemoryProjector studentWordMemoryProjector;
     private final StudentPointEventPublisher studentPointEventPublisher;
+    private final ResourceVersionService resourceVersionService;
+    private final StudyDayTaskGenerationGuard studyDayTaskGenerationGuard;
+    private final StudyPlanDailyRollupService studyPlanDailyRollupService;
+    private final TransactionTemplate transactionTemplate;
     private final ObjectMapper objectMapper;
 
     public StudyPlanService(
@@ -115,8 +137,12 @@ public class StudyPlanService {
             MetaWordRepository metaWordRepository,
             AccessControlService accessControlService,
             UserService userService,
-            StudentWordMemoryService studentWordMemoryService,
+            StudentWordMemoryProjector studentWordMemoryProjector,
             StudentPointEventPublisher studentPointEventPublisher,
+            ResourceVersionService resourceVersionService,
+            StudyDayTaskGenerationGuard studyDayTaskGenerationGuard,
+            StudyPlanDailyRollupService studyPlanDailyRollupService,
+            PlatformTransactionManager transactionManager,
             ObjectMapper objectMapper) {
         this.studyPlanRepository = studyPlanRepository;
         this.studyPlanClassroomRepository = studyPlanClassroomRepository;
@@ -134,8 +160,12 @@ public class StudyPlanService {
         this.metaWordRepository = metaWordRepository;
         this.accessControlService = accessControlService;
         this.userService = userService;
-        this.studentWordMemoryService = studentWordMemoryService;
+        this.studentWordMemoryProjector = studentWordMemoryProjector;
         this.studentPointEventPublisher = studentPointEventPublisher;
+        this.resourceVersionService = resourceVersionService;
+        this.studyDayTaskGenerationGuard = studyDayTaskGenerationGuard;
+        this.studyPlanDailyRollupService = studyPlanDailyRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.objectMapper = objectMapper;
     }
 
@@ -206,39 +236,42 @@ public class StudyPlanService {
         StudyPlan studyPlan = getStudyPlanEntity(studyPlanId);
         ensureCanManageStudyPlan(actor, studyPlan);
 
-        Dictionary dictionary = dictionaryService.findById(studyPlan.getDictionaryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Dictionary not found: " + studyPlan.getDictionaryId()));
+        PublishTarget publishTarget = resolvePublishTarget(studyPlan, actor);
+        enrollStudents(studyPlan, publishTarget.dictionary(), publishTarget.studentIds(), actor);
 
-        List<Long> classroomIds = studyPlanClassroomRepository.findByStudyPlanId(studyPlanId).stream()
-                .map(StudyPlanClassroom::getClassroomId)
-                .toList();
-        List<Classroom> classrooms = resolveManagedClassrooms(classroomIds, actor);
-        ensureDictionaryAvailableForClassrooms(studyPlan.getDictionaryId(), classrooms, actor);
-
-        Set<Long> studentIds = classroomIds.isEmpty()
-                ? Set.of()
-                : classroomMemberRepository.findByClassroomIdIn(classroomIds).stream()
-                        .map(ClassroomMember::getStudentId)
-                        .collect(Collectors.toCollection(LinkedHashSet::new));
+        studyPlan.setStatus(StudyPlanStatus.PUBLISHED);
+        StudyPlan savedStudyPlan = studyPlanRepository.save(studyPlan);
+        return toStudyPlanResponse(savedStudyPlan);
+    }
 
-        List<Long> assignableStudentIds = new ArrayList<>();
-        for (Long studentId : studentIds) {
-            accessControlService.ensureCanAssignDictionaryToStudent(actor, dictionary, studentId);
-            assignableStudentIds.add(studentId);
-        }
+    @Transactional(readOnly = true)
+    public StudyPlan getManagedStudyPlan(Long studyPlanId, AppUser actor) {
+        StudyPlan studyPlan = getStudyPlanEntity(studyPlanId);
+        ensureCanManageStudyPlan(actor, studyPlan);
+        return studyPlan;
+    }
 
-        if (!assignableStudentIds.isEmpty()) {
-            dictionaryAssignmentService.assignDictionaryToStudents(dictionary, actor, assignableStudentIds);
-        }
+    @Transactional(readOnly = true)
+    public List<Long> resolvePublishStudentIds(Long studyPlanId, AppUser actor) {
+        StudyPlan studyPlan = getStudyPlanEntity(studyPlanId);
+        ensureCanManageStudyPlan(actor, studyPlan);
+        return resolvePublishTarget(studyPlan, actor).studentIds();
+    }
 
-        LocalDateTime joinedAt = resolveNow(studyPlan);
-        for (Long studentId : assignableStudentIds) {
-            getOrCreateStudentStudyPlan(studyPlanId, studentId, joinedAt);
-        }
+    @Transactional
+    public int enrollPublishStudents(Long studyPlanId, List<Long> studentIds, AppUser actor) {
+        StudyPlan studyPlan = getStudyPlanEntity(studyPlanId);
+        ensureCanManageStudyPlan(actor, studyPlan);
+        Dictionary dictionary = dictionaryService.findById(studyPlan.getDictionaryId())
+                .orElseThrow(() -> new ResourceNotFoundException("Dictionary not found: " + studyPlan.getDictionaryId()));
+        return enrollStudents(studyPlan, dictionary, studentIds, actor);
+    }
 
+    @Transactional
+    public StudyPlan markPublished(Long studyPlanId) {
+        StudyPlan studyPlan = getStudyPlanEntity(studyPlanId);
         studyPlan.setStatus(StudyPlanStatus.PUBLISHED);
-        StudyPlan savedStudyPlan = studyPlanRepository.save(studyPlan);
-        return toStudyPlanResponse(savedStudyPlan);
+        return studyPlanRepository.save(studyPlan);
     }
 
     @Transactional
@@ -273,92 +306,91 @@ public class StudyPlanService {
         Dictionary dictionary = dictionaryService.findById(studyPlan.getDictionaryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Dictionary not found: " + studyPlan.getDictionaryId()));
 
-        for (Long studentId : studentIds) {
-            accessControlService.ensureCanAssignDictionaryToStudent(actor, dictionary, studentId);
-        }
-        dictionaryAssignmentService.assignDictionaryToStudents(dictionary, actor, studentIds);
-
-        LocalDateTime joinedAt = resolveNow(studyPlan);
-        for (Long studentId : studentIds) {
-            getOrCreateStudentStudyPlan(studyPlanId, studentId, joinedAt);
-        }
-
+        enrollStudents(studyPlan, dictionary, studentIds, actor);
         return toStudyPlanResponse(studyPlan);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public StudyPlanOverviewResponse getOverview(Long studyPlanId, AppUser actor) {
         StudyPlan studyPlan = getStudyPlanEntity(studyPlanId);
         ensureCanManageStudyPlan(actor, studyPlan);
 
-        List<StudentStudyPlan> studentStudyPlans = studentStudyPlanRepository.findByStudyPlanIdOrderByStudentIdAsc(studyPlanId);
         LocalDate taskDate = resolveToday(studyPlan);
-        long completedStudents = 0;
-        long notStartedStudents = 0;
-        long inProgressStudents = 0;
-        long missedStudents = 0;
-        BigDecimal completionTotal = BigDecimal.ZERO;
-        BigDecimal attentionTotal = BigDecimal.ZERO;
-
-        for (StudentStudyPlan studentStudyPlan : studentStudyPlans) {
-            markExpiredTasks(studentStudyPlan, taskDate);
-            StudyDayTask studyDayTask = canGenerateTodayTask(studyPlan, taskDate)
-                    ? getOrCreateTodayTask(studentStudyPlan, studyPlan, taskDate)
-                    : null;
-            if (studyDayTask == null) {
-                notStartedStudents++;
-                continue;
-            }
-
-            updateTaskStatusFromItems(studentStudyPlan, studyDayTask);
-            switch (studyDayTask.getStatus()) {
-                case COMPLETED -> completedStudents++;
-                case IN_PROGRESS -> inProgressStudents++;
-                case MISSED -> missedStudents++;
-                case NOT_STARTED -> notStartedStudents++;
-                default -> {
-                }
-            }
-            completionTotal = completionTotal.add(studyDayTask.getCompletionRate());
-            attentionTotal = attentionTotal.add(studyDayTask.getAttentionScore());
-        }
-
-        long totalStudents = studentStudyPlans.size();
+        StudentStudyPlanRepository.StudyPlanDailyAggregate aggregate =
+                studentStudyPlanRepository.aggregateDailyProgress(studyPlanId, taskDate);
+        long totalStudents = aggregate.getTotalStudents();
         return new StudyPlanOverviewResponse(
                 studyPlan.getId(),
                 studyPlan.getName(),
                 studyPlan.getStatus(),
                 taskDate,
                 totalStudents,
-                completedStudents,
-                notStartedStudents,
-                inProgressStudents,
-                missedStudents,
-                average(completionTotal, totalStudents),
-                average(attentionTotal, totalStudents)
+                aggregate.getCompletedStudents(),
+                aggregate.getNotStartedStudents(),
+                aggregate.getInProgressStudents(),
+                aggregate.getMissedStudents(),
+                average(aggregate.getCompletionRateTotal(), totalStudents),
+                average(aggregate.getAttentionScoreTotal(), totalStudents)
         );
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    public StudyPlanHistoryReportResponse getHistoryReport(
+            Long studyPlanId,
+            LocalDate from,
+            LocalDate to,
+            Long classroomId,
+            AppUser actor) {
+        StudyPlan studyPlan = getStudyPlanEntity(studyPlanId);
+        ensureCanManageStudyPlan(actor, studyPlan);
+        if (classroomId != null && !studyPlanClassroomRepository.existsByStudyPlanIdAndClassroomId(studyPlanId, classroomId)) {
+            throw new BadRequestException("classroomId is not a study plan classroom: " + classroomId);
+        }
+
+        LocalDate reportFrom = from == null ? studyPlan.getStartDate() : from;
+        LocalDate reportTo = to == null ? resolveToday(studyPlan) : to;
+        if (reportFrom.isAfter(reportTo)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (reportFrom.plusDays(MAX_HISTORY_REPORT_DAYS - 1).isBefore(reportTo)) {
+            throw new BadRequestException("History report range cannot exceed " + MAX_HISTORY_REPORT_DAYS + " days");
+        }
+
+        List<StudyPlanHistoryDayResponse> days = studyPlanDailyRollupService
+                .findDays(studyPlanId, classroomId, reportFrom, reportTo)
+                .stream()
+                .map(this::toHistoryDay)
+                .toList();
+        return new StudyPlanHistoryReportResponse(
+                studyPlan.getId(),
+                studyPlan.getName(),
+                classroomId,
+                reportFrom,
+                reportTo,
+                days.stream().mapToLong(StudyPlanHistoryDayResponse::getMissedCount).sum(),
+                days.stream().mapToLong(StudyPlanHistoryDayResponse::getWordsLearned).sum(),
+                days
+        );
+    }
+
+    @Transactional(readOnly = true)
     public List<StudyPlanStudentSummaryResponse> listPlanStudents(Long studyPlanId, AppUser actor) {
+        return findPlanStudents(studyPlanId, Pageable.unpaged(), actor).getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<StudyPlanStudentSummaryResponse> listPlanStudentsPage(Long studyPlanId, int page, int size, AppUser actor) {
+        Pageable pageable = PageRequest.of(Math.max(page, 1) - 1, Math.min(Math.max(size, 1), MAX_STUDENT_PAGE_SIZE));
+        return findPlanStudents(studyPlanId, pageable, actor);
+    }
+
+    private Page<StudyPlanStudentSummaryResponse> findPlanStudents(Long studyPlanId, Pageable pageable, AppUser actor) {
         StudyPlan studyPlan = getStudyPlanEntity(studyPlanId);
         ensureCanManageStudyPlan(actor, studyPlan);
 
         LocalDate taskDate = resolveToday(studyPlan);
-        List<StudentStudyPlan> studentStudyPlans = studentStudyPlanRepository.findByStudyPlanIdOrderByStudentIdAsc(studyPlanId);
-        List<StudyPlanStudentSummaryResponse> responses = new ArrayList<>();
-        for (StudentStudyPlan studentStudyPlan : studentStudyPlans) {
-            markExpiredTasks(studentStudyPlan, taskDate);
-            StudyDayTask studyDayTask = canGenerateTodayTask(studyPlan, taskDate)
-                    ? getOrCreateTodayTask(studentStudyPlan, studyPlan, taskDate)
-                    : null;
-            if (studyDayTask != null) {
-                updateTaskStatusFromItems(studentStudyPlan, studyDayTask);
-            }
-            AppUser student = userService.getUserEntity(studentStudyPlan.getStudentId());
-            responses.add(toPlanStudentSummary(studentStudyPlan, student, studyDayTask, taskDate));
-        }
-        return responses;
+        return studentStudyPlanRepository.findDailyRowsByStudyPlanId(studyPlanId, taskDate, pageable)
+                .map(row -> toPlanStudentSummary(row, taskDate));
     }
 
     @Transactional
@@ -372,7 +404,6 @@ public class StudyPlanService {
         for (StudentStudyPlan studentStudyPlan : studentStudyPlans) {
             StudyPlan studyPlan = getStudyPlanEntity(studentStudyPlan.getStudyPlanId());
             LocalDate taskDate = resolveToday(studyPlan);
-            markExpiredTasks(studentStudyPlan, taskDate);
             StudyDayTask studyDayTask = canGenerateTodayTask(studyPlan, taskDate) && isPublished(studyPlan)
                     ? getOrCreateTodayTask(studentStudyPlan, studyPlan, taskDate)
                     : null;
@@ -396,32 +427,196 @@ public class StudyPlanService {
         LocalDate taskDate = resolveToday(studyPlan);
         ensurePlanActiveOnDate(studyPlan, taskDate);
 
-        markExpiredTasks(studentStudyPlan, taskDate);
         StudyDayTask studyDayTask = getOrCreateTodayTask(studentStudyPlan, studyPlan, taskDate);
         updateTaskStatusFromItems(studentStudyPlan, studyDayTask);
         return toStudyTaskResponse(studentStudyPlan, studyDayTask);
     }
 
     @Transactional
-    public StudyTaskResponse recordStudy(Long studentStudyPlanId, RecordStudyRequest request, AppUser actor) {
-        StudentStudyPlan studentStudyPlan = studentStudyPlanRepository.findByIdForUpdate(studentStudyPlanId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Student study plan not found: " + studentStudyPlanId));
+    public void ensureTodayTask(Long studentStudyPlanId, AppUser actor) {
+        StudentStudyPlan studentStudyPlan = getStudentStudyPlanEntity(studentStudyPlanId);
         ensureStudentOwnsPlan(actor, studentStudyPlan);
 
+        StudyPlan studyPlan = getStudyPlanEntity(studentStudyPlan.getStudyPlanId());
+        LocalDate taskDate = resolveToday(studyPlan);
+        if (!isPublished(studyPlan) || !canGenerateTodayTask(studyPlan, taskDate)) {
+            return;
+        }
+
+        StudyDayTask studyDayTask = getOrCreateTodayTask(studentStudyPlan, studyPlan, taskDate);
+        updateTaskStatusFromItems(studentStudyPlan, studyDayTask);
+    }
+
+    @Transactional
+    public boolean pregenerateTodayTask(Long studentStudyPlanId, StudyPlan studyPlan, LocalDate taskDate) {
+        StudentStudyPlan studentStudyPlan = studentStudyPlanRepository.findById(studentStudyPlanId).orElse(null);
+        if (studentStudyPlan == null
+                || studentStudyPlan.getStatus() != StudentStudyPlanStatus.ACTIVE
+                || !isPublished(studyPlan)
+                || !canGenerateTodayTask(studyPlan, taskDate)) {
+            return false;
+        }
+
+        if (findStudyDayTask(studentStudyPlanId, taskDate).isPresent()) {
+            return false;
+        }
+        studyDayTaskGenerationGuard.acquire(studentStudyPlanId);
+        if (findStudyDayTask(studentStudyPlanId, taskDate).isPresent()) {
+            return false;
+        }
+        generateTodayTask(studentStudyPlan, studyPlan, taskDate);
+        return true;
+    }
+
+    public StudyTaskResponse recordStudy(Long studentStudyPlanId, RecordStudyRequest request, AppUser actor) {
+        return withRecordRetry(() -> doRecordStudy(studentStudyPlanId, request, actor));
+    }
+
+    private StudyTaskResponse doRecordStudy(Long studentStudyPlanId, RecordStudyRequest request, AppUser actor) {
+        StudentStudyPlan studentStudyPlan = loadOwnedStudentStudyPlan(studentStudyPlanId, actor);
+
         StudyRecord replayedRecord = studyRecordRepository.findByRequestKey(request.getRequestKey()).orElse(null);
         if (replayedRecord != null) {
             return replayStudyRequest(studentStudyPlan, request, replayedRecord);
         }
 
+        StudySession session = openStudySession(studentStudyPlan);
+        applyStudyRecord(session, request);
+        return closeStudySession(session);
+    }
+
+    public StudyDayTaskItem recordStudyItem(Long studentStudyPlanId, RecordStudyRequest request, AppUser actor) {
+        return withRecordRetry(() -> doRecordStudyItem(studentStudyPlanId, request, actor));
+    }
+
+    private StudyDayTaskItem doRecordStudyItem(Long studentStudyPlanId, RecordStudyRequest request, AppUser actor) {
+        StudentStudyPlan studentStudyPlan = loadOwnedStudentStudyPlan(studentStudyPlanId, actor);
+
+        StudyRecord replayedRecord = studyRecordRepository.findByRequestKey(request.getRequestKey()).orElse(null);
+        if (replayedRecord != null) {
+            verifyReplayedStudyRequest(studentStudyPlan, request, replayedRecord);
+            StudyDayTask studyDayTask = findReplayedTask(studentStudyPlan, replayedRecord);
+            return findStudyDayTaskItem(studyDayTask.getId(), replayedRecord.getMetaWordId())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Study day task item not found for replayed request: " + replayedRecord.getRequestKey()));
+        }
+
+        StudySession session = openStudySession(studentStudyPlan);
+        applyStudyRecord(session, request);
+        finishStudySession(session);
+        return session.recordedStudies().get(0).taskItem();
+    }
+
+    public RecordStudyBatchResponse recordStudyBatch(Long studentStudyPlanId, RecordStudyBatchRequest request, AppUser actor) {
+        return withRecordRetry(() -> doRecordStudyBatch(studentStudyPlanId, request, actor));
+    }
+
+    private RecordStudyBatchResponse doRecordStudyBatch(
+            Long studentStudyPlanId,
+            RecordStudyBatchRequest request,
+            AppUser actor) {
+        StudentStudyPlan studentStudyPlan = loadOwnedStudentStudyPlan(studentStudyPlanId, actor);
+
+        StudySession session = null;
+        StudyRecord lastReplayedRecord = null;
+        List<RecordStudyBatchItemResponse> results = new ArrayList<>();
+        for (RecordStudyRequest recordRequest : request.getRecords()) {
+            StudyRecord replayedRecord = studyRecordRepository.findByRequestKey(recordRequest.getRequestKey()).orElse(null);
+            if (replayedRecord != null) {
+                StudyPlan studyPlan = getStudyPlanEntity(studentStudyPlan.getStudyPlanId());
+                if (matchesStudyRequest(studentStudyPlanId, recordRequest, normalizeStudyTiming(recordRequest, studyPlan), replayedRecord)) {
+                    results.add(RecordStudyBatchItemResponse.replayed(recordRequest.getRequestKey(), replayedRecord.getId()));
+                } else {
+                    StudentPointOperationException conflict = studyRequestIdempotencyConflict();
+                    results.add(RecordStudyBatchItemResponse.rejected(
+                            recordRequest.getRequestKey(), conflict.getCode(), conflict.getMessage()));
+                }
+                lastReplayedRecord = replayedRecord;
+                continue;
+            }
+
+            if (session == null) {
+                session = openStudySession(studentStudyPlan);
+            }
+            try {
+                StudyRecord savedStudyRecord = applyStudyRecord(session, recordRequest);
+                results.add(RecordStudyBatchItemResponse.recorded(recordRequest.getRequestKey(), savedStudyRecord.getId()));
+            } catch (BadRequestException exception) {
+                results.add(RecordStudyBatchItemResponse.rejected(
+                        recordRequest.getRequestKey(), "BAD_REQUEST", exception.getMessage()));
+            }
+        }
+
+        StudyTaskResponse task;
+        if (session == null) {
+            task = toStudyTaskResponse(studentStudyPlan, findReplayedTask(studentStudyPlan, lastReplayedRecord));
+        } else if (session.recordedStudies().isEmpty()) {
+            task = toStudyTaskResponse(studentStudyPlan, session.studyDayTask());
+        } else {
+            task = closeStudySession(session);
+        }
+        return new RecordStudyBatchResponse(results, task);
+    }
+
+    private <T> T withRecordRetry(Supplier<T> recording) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                return recording.get();
+            } catch (DataIntegrityViolationException exception) {
+                if (containsConstraint(exception, "uk_study_records_request_key")) {
+                    throw studyRequestIdempotencyConflict();
+                }
+                throw exception;
+            }
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> recording.get());
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException conflict) {
+                // A request-key violation means a request with the same key committed first; the next attempt
+                // replays that record, or rejects it as a conflict when the payload differs.
+                if (attempt >= MAX_RECORD_ATTEMPTS) {
+                    throw conflict;
+                }
+            }
+        }
+    }
+
+    private StudentStudyPlan loadOwnedStudentStudyPlan(Long studentStudyPlanId, AppUser actor) {
+        StudentStudyPlan studentStudyPlan = studentStudyPlanRepository.findById(studentStudyPlanId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Student study plan not found: " + studentStudyPlanId));
+        ensureStudentOwnsPlan(actor, studentStudyPlan);
+        return studentStudyPlan;
+    }
+
+    private StudySession openStudySession(StudentStudyPlan studentStudyPlan) {
         StudyPlan studyPlan = getStudyPlanEntity(studentStudyPlan.getStudyPlanId());
         ensurePublished(studyPlan);
         LocalDate taskDate = resolveToday(studyPlan);
         ensurePlanActiveOnDate(studyPlan, taskDate);
 
-        markExpiredTasks(studentStudyPlan, taskDate);
         StudyDayTask studyDayTask = getOrCreateTodayTask(studentStudyPlan, studyPlan, taskDate);
-        boolean taskWasCompleted = studyDayTask.getStatus() == StudyDayTaskStatus.COMPLETED;
+        return new StudySession(
+                studentStudyPlan,
+                studyPlan,
+                taskDate,
+                studyDayTask,
+                studyDayTask.getStatus() == StudyDayTaskStatus.COMPLETED,
+                StudyPlanDailyRollupService.TaskSnapshot.of(studyDayTask),
+                parseReviewIntervals(studyPlan.getReviewIntervalsJson()),
+                new ArrayList<>()
+        );
+    }
+
+    private StudyRecord applyStudyRecord(StudySession session, RecordStudyRequest request) {
+        StudentStudyPlan studentStudyPlan = session.studentStudyPlan();
+        StudyPlan studyPlan = session.studyPlan();
+        StudyDayTask studyDayTask = session.studyDayTask();
+        Long studentStudyPlanId = studentStudyPlan.getId();
+        LocalDate taskDate = session.taskDate();
+
         StudyDayTaskItem taskItem = findStudyDayTaskItem(studyDayTask.getId(), request.getMetaWordId())
                 .orElseThrow(() -> new BadRequestException("Word is not scheduled for today's task"));
 
@@ -429,9 +624,9 @@ public class StudyPlanService {
             throw new BadRequestException("Word does not belong to the study plan dictionary");
         }
 
-        List<StudyRecord> existingRecords = studyRecordRepository.findByStudentStudyPlanIdAndTaskDate(studentStudyPlanId, taskDate);
-        boolean firstRecordToday = existingRecords.isEmpty();
-        List<Integer> reviewIntervals = parseReviewIntervals(studyPlan.getReviewIntervalsJson());
+        boolean firstRecordToday = !studyRecordRepository.existsByStudentStudyPlanIdAndTaskDate(studentStudyPlanId, taskDate);
+        boolean firstVisitToday = firstRecordToday || !studyRecordRepository
+                .existsByStudentStudyPlanIdAndTaskDateAndMetaWordId(studentStudyPlanId, taskDate, request.getMetaWordId());
         LocalDateTime now = resolveNow(studyPlan);
 
         StudyWordProgress studyWordProgress = findStudyWordProgress(studentStudyPlanId, request.getMetaWordId())
@@ -444,7 +639,7 @@ public class StudyPlanService {
         int interactionCount = timing.interactionCount();
         int stageBefore = studyWordProgress.getPhase() == null ? 0 : studyWordProgress.getPhase();
 
-        updateProgress(studyWordProgress, request.getResult(), reviewIntervals, now, focusSeconds);
+        updateProgress(studyWordProgress, request.getResult(), session.reviewIntervals(), now, focusSeconds);
         StudyWordProgress savedProgress = studyWordProgressRepository.save(studyWordProgress);
 
         StudyRecord studyRecord = StudyRecord.builder()
@@ -463,25 +658,7 @@ public class StudyPlanService {
                 .stageBefore(stageBefore)
                 .stageAfter(savedProgress.getPhase())
                 .build();
-        StudyRecord savedStudyRecord;
-        try {
-            savedStudyRecord = studyRecordRepository.save(studyRecord);
-        } catch (DataIntegrityViolationException exception) {
-            if (containsConstraint(exception, "uk_study_records_request_key")) {
-                throw studyRequestIdempotencyConflict();
-            }
-            throw exception;
-        }
-        if (studentWordMemoryService != null) {
-            studentWordMemoryService.recordPlanStudy(
-                    studentStudyPlan.getStudentId(),
-                    request.getMetaWordId(),
-                    savedStudyRecord.getId(),
-                    studyPlan.getDictionaryId(),
-                    request.getResult(),
-                    now
-            );
-        }
+        StudyRecord savedStudyRecord = studyRecordRepository.save(studyRecord);
 
         if (firstRecordToday) {
             updateStreak(studentStudyPlan, taskDate, now);
@@ -493,52 +670,87 @@ public class StudyPlanService {
             studyDayTask.setStartedAt(now);
         }
 
+        taskItem.setAttemptCount(taskItem.getAttemptCount() + 1);
+        boolean learnedNewWord = false;
         if (StudyTaskCompletionPolicy.completesTask(request.getResult()) && taskItem.getCompletedAt() == null) {
             taskItem.setCompletedAt(now);
-            studyDayTaskItemRepository.save(taskItem);
             studyDayTask.setCompletedCount(studyDayTask.getCompletedCount() + 1);
+            learnedNewWord = taskItem.getTaskType() == StudyTaskType.NEW_LEARN;
         }
-
-        refreshDailyStats(studentStudyPlan, studyPlan, studyDayTask, taskDate);
-        updateTaskStatusFromItems(studentStudyPlan, studyDayTask);
-        refreshStudentStudyPlanMetrics(studentStudyPlan, studyPlan);
-
-        studentStudyPlanRepository.save(studentStudyPlan);
-        studyDayTaskRepository.save(studyDayTask);
+        studyDayTaskItemRepository.save(taskItem);
+        session.recordedStudies().add(new RecordedStudy(savedStudyRecord, taskItem, firstVisitToday, learnedNewWord));
 
         if (savedStudyRecord.isPointsEligible() && request.getResult() == StudyRecordResult.CORRECT) {
-            studentPointEventPublisher.publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+            studentPointEventPublisher.enqueue(new StudentPointEventPublisher.PublishRequest(
                     studentStudyPlan.getStudentId(),
                     savedStudyRecord.getId(),
                     "study-record:" + savedStudyRecord.getId() + ":correct",
                     "STUDY_RECORD_CORRECT"
             ));
         }
-        if (!taskWasCompleted
+        return savedStudyRecord;
+    }
+
+    private StudyTaskResponse closeStudySession(StudySession session) {
+        finishStudySession(session);
+        return toStudyTaskResponse(session.studentStudyPlan(), session.studyDayTask());
+    }
+
+    private void finishStudySession(StudySession session) {
+        StudentStudyPlan studentStudyPlan = session.studentStudyPlan();
+        StudyDayTask studyDayTask = session.studyDayTask();
+
+        refreshDailyStats(studentStudyPlan, session.studyPlan(), studyDayTask, session.taskDate(), session.recordedStudies());
+        updateTaskStatusFromItems(studentStudyPlan, studyDayTask);
+        refreshStudentStudyPlanMetrics(studentStudyPlan, session.studyPlan());
+
+        studentStudyPlanRepository.save(studentStudyPlan);
+        studyDayTaskRepository.save(studyDayTask);
+        studyPlanDailyRollupService.recordTaskChange(
+                studentStudyPlan,
+                session.taskBefore(),
+                studyDayTask,
+                (int) session.recordedStudies().stream().filter(RecordedStudy::learnedNewWord).count()
+        );
+        if (studentWordMemoryProjector != null && !session.recordedStudies().isEmpty()) {
+            studentWordMemoryProjector.requestProjectionAfterCommit();
+        }
+
+        if (!session.taskWasCompleted()
                 && studyDayTask.isPointsEligible()
                 && studyDayTask.getStatus() == StudyDayTaskStatus.COMPLETED) {
-            studentPointEventPublisher.publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+            studentPointEventPublisher.enqueue(new StudentPointEventPublisher.PublishRequest(
                     studentStudyPlan.getStudentId(),
                     studyDayTask.getId(),
                     "study-day-task:" + studyDayTask.getId() + ":completed",
                     "DAILY_TASK_COMPLETED"
             ));
         }
-
-        return toStudyTaskResponse(studentStudyPlan, studyDayTask);
     }
 
     private StudyTaskResponse replayStudyRequest(
             StudentStudyPlan studentStudyPlan,
             RecordStudyRequest request,
             StudyRecord existing
+    ) {
+        verifyReplayedStudyRequest(studentStudyPlan, request, existing);
+        return toStudyTaskResponse(studentStudyPlan, findReplayedTask(studentStudyPlan, existing));
+    }
+
+    private void verifyReplayedStudyRequest(
+            StudentStudyPlan studentStudyPlan,
+            RecordStudyRequest request,
+            StudyRecord existing
     ) {
         StudyPlan studyPlan = getStudyPlanEntity(studentStudyPlan.getStudyPlanId());
         NormalizedStudyTiming timing = normalizeStudyTiming(request, studyPlan);
         if (!matchesStudyRequest(studentStudyPlan.getId(), request, timing, existing)) {
             throw studyRequestIdempotencyConflict();
         }
-        StudyDayTask task = studyDayTaskRepository
+    }
+
+    private StudyDayTask findReplayedTask(StudentStudyPlan studentStudyPlan, StudyRecord existing) {
+        return studyDayTaskRepository
                 .findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(
                         studentStudyPlan.getId(),
                         existing.getTaskDate()
@@ -546,8 +758,7 @@ public class StudyPlanService {
                 .stream()
                 .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException(
-                        "Study day task not found for replayed request: " + request.getRequestKey()));
-        return toStudyTaskResponse(studentStudyPlan, task);
+                        "Study day task not found for replayed request: " + existing.getRequestKey()));
     }
 
     private boolean matchesStudyRequest(
@@ -596,22 +807,6 @@ public class StudyPlanService {
                 .toList();
     }
 
-    @Transactional(readOnly = true)
-    public Map<Long, Integer> countTodayAttempts(
-            Long studentStudyPlanId,
-            LocalDate taskDate,
-            AppUser actor) {
-        StudentStudyPlan studentStudyPlan = getStudentStudyPlanEntity(studentStudyPlanId);
-        ensureStudentOwnsPlan(actor, studentStudyPlan);
-        Map<Long, Integer> attempts = new HashMap<>();
-        for (StudyRecord record : studyRecordRepository.findByStudentStudyPlanIdAndTaskDate(
-                studentStudyPlanId,
-                taskDate)) {
-            attempts.merge(record.getMetaWordId(), 1, Integer::sum);
-        }
-        return attempts;
-    }
-
     @Transactional(readOnly = true)
     public StudyPlanStudentAttentionResponse getPlanStudentAttention(
             Long studyPlanId,
@@ -685,6 +880,32 @@ public class StudyPlanService {
         normalizeReviewIntervals(request.getReviewIntervals());
     }
 
+    private PublishTarget resolvePublishTarget(StudyPlan studyPlan, AppUser actor) {
+        Dictionary dictionary = dictionaryService.findById(studyPlan.getDictionaryId())
+                .orElseThrow(() -> new ResourceNotFoundException("Dictionary not found: " + studyPlan.getDictionaryId()));
+
+        List<Long> classroomIds = studyPlanClassroomRepository.findByStudyPlanId(studyPlan.getId()).stream()
+                .map(StudyPlanClassroom::getClassroomId)
+                .toList();
+        List<Classroom> classrooms = resolveManagedClassrooms(classroomIds, actor);
+        ensureDictionaryAvailableForClassrooms(studyPlan.getDictionaryId(), classrooms, actor);
+
+        List<Long> studentIds = classroomMemberRepository.findByClassroomIdIn(classroomIds).stream()
+                .map(ClassroomMember::getStudentId)
+                .distinct()
+                .toList();
+        return new PublishTarget(dictionary, studentIds);
+    }
+
+    private int enrollStudents(StudyPlan studyPlan, Dictionary dictionary, List<Long> studentIds, AppUser actor) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+        accessControlService.ensureCanAssignDictionaryToStudents(actor, dictionary, studentIds);
+        dictionaryAssignmentService.assignDictionaryToStudents(dictionary, actor, studentIds);
+        return studentStudyPlanRepository.insertActiveStudents(studyPlan.getId(), studentIds, resolveNow(studyPlan));
+    }
+
     private List<Classroom> resolveManagedClassrooms(Collection<Long> classroomIds, AppUser actor) {
         if (classroomIds == null || classroomIds.isEmpty()) {
             throw new BadRequestException("classroomIds cannot be empty");
@@ -775,26 +996,40 @@ public class StudyPlanService {
         );
     }
 
+    private StudyPlanHistoryDayResponse toHistoryDay(StudyPlanDailyRollup rollup) {
+        return new StudyPlanHistoryDayResponse(
+                rollup.getTaskDate(),
+                rollup.getTaskCount(),
+                rollup.getNotStartedCount(),
+                rollup.getInProgressCount(),
+                rollup.getCompletedCount(),
+                rollup.getMissedCount(),
+                average(rollup.getCompletionRateTotal(), rollup.getTaskCount()),
+                average(rollup.getAttentionScoreTotal(), rollup.getTaskCount()),
+                rollup.getTotalFocusSeconds(),
+                rollup.getWordsLearned(),
+                rollup.isFinalized()
+        );
+    }
+
     private StudyPlanStudentSummaryResponse toPlanStudentSummary(
-            StudentStudyPlan studentStudyPlan,
-            AppUser student,
-            StudyDayTask studyDayTask,
+            StudentStudyPlanRepository.StudyPlanStudentDailyRow row,
             LocalDate taskDate) {
         return new StudyPlanStudentSummaryResponse(
-                student.getId(),
-                student.getDisplayName(),
-                studentStudyPlan.getId(),
-                studentStudyPlan.getStatus(),
+                row.getStudentId(),
+                row.getStudentName(),
+                row.getStudentStudyPlanId(),
+                StudentStudyPlanStatus.valueOf(row.getStatus()),
                 taskDate,
-                studyDayTask == null ? StudyDayTaskStatus.NOT_STARTED : studyDayTask.getStatus(),
-                studyDayTask == null ? 0 : studyDayTask.getCompletedCount(),
-                studyDayTask == null ? 0 : totalTaskCount(studyDayTask),
-                studyDayTask == null ? BigDecimal.ZERO : studyDayTask.getCompletionRate(),
-                studyDayTask == null ? 0 : studyDayTask.getTotalFocusSeconds(),
-                studyDayTask == null ? BigDecimal.ZERO : studyDayTask.getAvgFocusSecondsPerWord(),
-                studyDayTask == null ? BigDecimal.ZERO : studyDayTask.getAttentionScore(),
-                studentStudyPlan.getCurrentStreak(),
-                studentStudyPlan.getLastStudyAt()
+                StudyDayTaskStatus.valueOf(row.getTodayStatus()),
+                row.getCompletedCount(),
+                row.getTotalTaskCount(),
+                row.getCompletionRate(),
+                row.getTotalFocusSeconds(),
+                row.getAvgFocusSecondsPerWord(),
+                row.getAttentionScore(),
+                row.getCurrentStreak(),
+                row.getLastStudyAt()
         );
     }
 
@@ -832,8 +1067,10 @@ public class StudyPlanService {
                 .map(StudyDayTaskItem::getMetaWordId)
                 .toList();
         Map<Long, MetaWord> metaWordMap = loadMetaWords(metaWordIds);
-        Map<Long, StudyWordProgress> progressMap = buildStudyWordProgressMap(
-                studyWordProgressRepository.findByStudentStudyPlanId(studentStudyPlan.getId()));
+        Map<Long, StudyWordProgress> progressMap = metaWordIds.isEmpty()
+                ? Map.of()
+                : buildStudyWordProgressMap(studyWordProgressRepository
+                        .findByStudentStudyPlanIdAndMetaWordIdIn(studentStudyPlan.getId(), metaWordIds));
 
         List<StudyTaskItemResponse> queue = new ArrayList<>();
         for (StudyDayTaskItem taskItem : taskItems) {
@@ -890,15 +1127,6 @@ public class StudyPlanService {
         );
     }
 
-    private StudentStudyPlan createStudentStudyPlan(Long studyPlanId, Long studentId, LocalDateTime joinedAt) {
-        StudentStudyPlan studentStudyPlan = new StudentStudyPlan();
-        studentStudyPlan.setStudyPlanId(studyPlanId);
-        studentStudyPlan.setStudentId(studentId);
-        studentStudyPlan.setStatus(StudentStudyPlanStatus.ACTIVE);
-        studentStudyPlan.setJoinedAt(joinedAt);
-        return studentStudyPlan;
-    }
-
     private StudyWordProgress createProgressForExistingItem(
             Long studentStudyPlanId,
             Long metaWordId,
@@ -964,101 +1192,132 @@ public class StudyPlanService {
             StudentStudyPlan studentStudyPlan,
             StudyPlan studyPlan,
             StudyDayTask studyDayTask,
-            LocalDate taskDate) {
-        List<StudyRecord> studyRecords = studyRecordRepository.findByStudentStudyPlanIdAndTaskDate(studentStudyPlan.getId(), taskDate);
-        int totalFocusSeconds = studyRecords.stream()
-                .map(StudyRecord::getFocusSeconds)
-                .filter(Objects::nonNull)
-                .reduce(0, Integer::sum);
-        int totalDurationSeconds = studyRecords.stream()
-                .map(StudyRecord::getDurationSeconds)
-                .filter(Objects::nonNull)
-                .reduce(0, Integer::sum);
-        int totalIdleSeconds = studyRecords.stream()
-                .map(StudyRecord::getIdleSeconds)
-                .filter(Objects::nonNull)
-                .reduce(0, Integer::sum);
-        int totalInteractions = studyRecords.stream()
-                .map(StudyRecord::getInteractionCount)
-                .filter(Objects::nonNull)
-                .reduce(0, Integer::sum);
-        List<Integer> focusValues = studyRecords.stream()
-                .map(StudyRecord::getFocusSeconds)
-                .filter(Objects::nonNull)
-                .sorted()
-                .toList();
+            LocalDate taskDate,
+            List<RecordedStudy> recordedStudies) {
+        StudentAttentionDailyStat dailyStat = studentAttentionDailyStatRepository
+                .findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(studentStudyPlan.getId(), taskDate).stream()
+                .max(Comparator.comparing(StudentAttentionDailyStat::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(StudentAttentionDailyStat::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .orElse(null);
+        boolean newDay = dailyStat == null;
+        BigDecimal previousAvgFocus = newDay ? BigDecimal.ZERO : dailyStat.getAvgFocusSecondsPerWord();
+        BigDecimal previousAttention = newDay ? BigDecimal.ZERO : dailyStat.getAttentionScore();
+
+        FocusHistogram focusHistogram;
+        if (newDay) {
+            dailyStat = new StudentAttentionDailyStat();
+            dailyStat.setStudentStudyPlanId(studentStudyPlan.getId());
+            dailyStat.setTaskDate(taskDate);
+            focusHistogram = FocusHistogram.empty();
+            accumulateDailyStat(dailyStat, focusHistogram, recordedStudies, studyPlan);
+        } else if (dailyStat.getFocusHistogram() == null) {
+            focusHistogram = FocusHistogram.empty();
+            seedDailyStat(dailyStat, focusHistogram, studyPlan);
+        } else {
+            focusHistogram = FocusHistogram.parse(dailyStat.getFocusHistogram());
+            accumulateDailyStat(dailyStat, focusHistogram, recordedStudies, studyPlan);
+        }
 
-        int maxFocusSeconds = focusValues.isEmpty() ? 0 : focusValues.get(focusValues.size() - 1);
-        int wordsVisited = (int) studyRecords.stream()
-                .map(StudyRecord::getMetaWordId)
-                .distinct()
-                .count();
-        int wordsCompleted = (int) studyDayTaskItemRepository.countByStudyDayTaskIdAndCompletedAtIsNotNull(studyDayTask.getId());
-        int longStayWordCount = (int) studyRecords.stream()
-                .map(StudyRecord::getFocusSeconds)
-                .filter(Objects::nonNull)
-                .filter(focusSeconds -> focusSeconds >= studyPlan.getLongStayWarningSeconds())
-                .count();
-        int idleInterruptCount = (int) studyRecords.stream()
-                .filter(record -> record.getIdleSeconds() != null && record.getIdleSeconds() > 0)
-                .count();
-        BigDecimal avgFocusSeconds = average(BigDecimal.valueOf(totalFocusSeconds), wordsVisited);
-        BigDecimal medianFocusSeconds = calculateMedian(focusValues);
+        int totalFocusSeconds = dailyStat.getTotalFocusSeconds();
+        BigDecimal avgFocusSeconds = average(BigDecimal.valueOf(totalFocusSeconds), dailyStat.getWordsVisited());
         BigDecimal attentionScore = calculateAttentionScore(
-                totalDurationSeconds,
+                dailyStat.getTotalDurationSeconds(),
                 totalFocusSeconds,
-                totalIdleSeconds,
-                totalInteractions,
-                wordsVisited,
-                longStayWordCount,
+                dailyStat.getTotalIdleSeconds(),
+                dailyStat.getTotalInteractionCount(),
+                dailyStat.getWordsVisited(),
+                dailyStat.getLongStayWordCount(),
                 studyPlan);
 
         studyDayTask.setTotalFocusSeconds(totalFocusSeconds);
         studyDayTask.setAvgFocusSecondsPerWord(avgFocusSeconds);
-        studyDayTask.setMaxFocusSecondsPerWord(maxFocusSeconds);
+        studyDayTask.setMaxFocusSecondsPerWord(dailyStat.getMaxFocusSecondsPerWord());
         studyDayTask.setAttentionScore(attentionScore);
-        studyDayTask.setIdleInterruptCount(idleInterruptCount);
+        studyDayTask.setIdleInterruptCount(dailyStat.getIdleInterruptCount());
 
-        StudentAttentionDailyStat dailyStat = studentAttentionDailyStatRepository
-                .findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(studentStudyPlan.getId(), taskDate).stream()
-                .max(Comparator.comparing(StudentAttentionDailyStat::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
-                        .thenComparing(StudentAttentionDailyStat::getId, Comparator.nullsLast(Comparator.naturalOrder())))
-                .orElseGet(StudentAttentionDailyStat::new);
-        dailyStat.setStudentStudyPlanId(studentStudyPlan.getId());
-        dailyStat.setTaskDate(taskDate);
-        dailyStat.setWordsVisited(wordsVisited);
-        dailyStat.setWordsCompleted(wordsCompleted);
-        dailyStat.setTotalFocusSeconds(totalFocusSeconds);
+        dailyStat.setWordsCompleted((int) studyDayTaskItemRepository.countByStudyDayTaskIdAndCompletedAtIsNotNull(studyDayTask.getId()));
         dailyStat.setAvgFocusSecondsPerWord(avgFocusSeconds);
-        dailyStat.setMedianFocusSecondsPerWord(medianFocusSeconds);
-        dailyStat.setMaxFocusSecondsPerWord(maxFocusSeconds);
-        dailyStat.setLongStayWordCount(longStayWordCount);
-        dailyStat.setIdleInterruptCount(idleInterruptCount);
+        dailyStat.setMedianFocusSecondsPerWord(focusHistogram.median());
+        dailyStat.setFocusHistogram(focusHistogram.encode());
         dailyStat.setAttentionScore(attentionScore);
         studentAttentionDailyStatRepository.save(dailyStat);
+
+        if (newDay) {
+            studentStudyPlan.setStatDayCount(studentStudyPlan.getStatDayCount() + 1);
+        }
+        studentStudyPlan.setDailyAvgFocusTotal(studentStudyPlan.getDailyAvgFocusTotal()
+                .subtract(previousAvgFocus)
+                .add(avgFocusSeconds));
+        studentStudyPlan.setDailyAttentionTotal(studentStudyPlan.getDailyAttentionTotal()
+                .subtract(previousAttention)
+                .add(attentionScore));
+    }
+
+    private void accumulateDailyStat(
+            StudentAttentionDailyStat dailyStat,
+            FocusHistogram focusHistogram,
+            List<RecordedStudy> recordedStudies,
+            StudyPlan studyPlan) {
+        for (RecordedStudy recordedStudy : recordedStudies) {
+            accumulateDailyStat(dailyStat, focusHistogram, recordedStudy.studyRecord(), recordedStudy.firstVisitToday(), studyPlan);
+        }
+    }
+
+    private void accumulateDailyStat(
+            StudentAttentionDailyStat dailyStat,
+            FocusHistogram focusHistogram,
+            StudyRecord studyRecord,
+            boolean firstVisitToday,
+            StudyPlan studyPlan) {
+        int focusSeconds = safeInt(studyRecord.getFocusSeconds());
+        int idleSeconds = safeInt(studyRecord.getIdleSeconds());
+        dailyStat.setRecordCount(dailyStat.getRecordCount() + 1);
+        dailyStat.setTotalFocusSeconds(dailyStat.getTotalFocusSeconds() + focusSeconds);
+        dailyStat.setTotalDurationSeconds(dailyStat.getTotalDurationSeconds() + safeInt(studyRecord.getDurationSeconds()));
+        dailyStat.setTotalIdleSeconds(dailyStat.getTotalIdleSeconds() + idleSeconds);
+        dailyStat.setTotalInteractionCount(dailyStat.getTotalInteractionCount() + safeInt(studyRecord.getInteractionCount()));
+        if (firstVisitToday) {
+            dailyStat.setWordsVisited(dailyStat.getWordsVisited() + 1);
+        }
+        if (studyRecord.getFocusSeconds() != null) {
+            focusHistogram.add(focusSeconds);
+            dailyStat.setMaxFocusSecondsPerWord(Math.max(dailyStat.getMaxFocusSecondsPerWord(), focusSeconds));
+            if (focusSeconds >= studyPlan.getLongStayWarningSeconds()) {
+                dailyStat.setLongStayWordCount(dailyStat.getLongStayWordCount() + 1);
+            }
+        }
+        if (idleSeconds > 0) {
+            dailyStat.setIdleInterruptCount(dailyStat.getIdleInterruptCount() + 1);
+        }
+    }
+
+    private void seedDailyStat(StudentAttentionDailyStat dailyStat, FocusHistogram focusHistogram, StudyPlan studyPlan) {
+        dailyStat.setRecordCount(0);
+        dailyStat.setWordsVisited(0);
+        dailyStat.setTotalFocusSeconds(0);
+        dailyStat.setTotalDurationSeconds(0);
+        dailyStat.setTotalIdleSeconds(0);
+        dailyStat.setTotalInteractionCount(0);
+        dailyStat.setMaxFocusSecondsPerWord(0);
+        dailyStat.setLongStayWordCount(0);
+        dailyStat.setIdleInterruptCount(0);
+
+        Set<Long> visitedWordIds = new HashSet<>();
+        for (StudyRecord studyRecord : studyRecordRepository.findByStudentStudyPlanIdAndTaskDate(
+                dailyStat.getStudentStudyPlanId(),
+                dailyStat.getTaskDate())) {
+            accumulateDailyStat(dailyStat, focusHistogram, studyRecord, visitedWordIds.add(studyRecord.getMetaWordId()), studyPlan);
+        }
     }
 
     private void refreshStudentStudyPlanMetrics(StudentStudyPlan studentStudyPlan, StudyPlan studyPlan) {
         long totalWords = dictionaryWordRepository.countDistinctMetaWordIdByDictionaryId(studyPlan.getDictionaryId());
-        long reviewedWords = buildStudyWordProgressMap(studyWordProgressRepository.findByStudentStudyPlanId(studentStudyPlan.getId()))
-                .values().stream()
-                .filter(progress -> progress.getLastReviewAt() != null)
-                .count();
+        long reviewedWords = studyWordProgressRepository.countByStudentStudyPlanIdAndLastReviewAtIsNotNull(studentStudyPlan.getId());
         studentStudyPlan.setOverallProgress(percentage(reviewedWords, totalWords));
 
-        List<StudentAttentionDailyStat> dailyStats = studentAttentionDailyStatRepository
-                .findByStudentStudyPlanIdOrderByTaskDateDesc(studentStudyPlan.getId());
-        BigDecimal avgFocusTotal = dailyStats.stream()
-                .map(StudentAttentionDailyStat::getAvgFocusSecondsPerWord)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal attentionTotal = dailyStats.stream()
-                .map(StudentAttentionDailyStat::getAttentionScore)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long dayCount = dailyStats.size();
-        studentStudyPlan.setAvgFocusSeconds(average(avgFocusTotal, dayCount));
-        studentStudyPlan.setAttentionScore(average(attentionTotal, dayCount));
+        long dayCount = studentStudyPlan.getStatDayCount();
+        studentStudyPlan.setAvgFocusSeconds(average(studentStudyPlan.getDailyAvgFocusTotal(), dayCount));
+        studentStudyPlan.setAttentionScore(average(studentStudyPlan.getDailyAttentionTotal(), dayCount));
     }
 
     private void updateTaskStatusFromItems(StudentStudyPlan studentStudyPlan, StudyDayTask studyDayTask) {
@@ -1101,52 +1360,21 @@ public class StudyPlanService {
         studentStudyPlan.setLastStudyAt(now);
     }
 
-    private void markExpiredTasks(StudentStudyPlan studentStudyPlan, LocalDate taskDate) {
-        List<StudyDayTask> expiredTasks = studyDayTaskRepository
-                .findByStudentStudyPlanIdAndTaskDateBeforeOrderByTaskDateAsc(studentStudyPlan.getId(), taskDate);
-        boolean updated = false;
-        for (StudyDayTask expiredTask : expiredTasks) {
-            if (expiredTask.getStatus() == StudyDayTaskStatus.COMPLETED || expiredTask.getStatus() == StudyDayTaskStatus.MISSED) {
-                continue;
-            }
-
-            if (expiredTask.getCompletedCount() >= totalTaskCount(expiredTask)) {
-                expiredTask.setStatus(StudyDayTaskStatus.COMPLETED);
-                updated = true;
-                continue;
-            }
-
-            expiredTask.setStatus(StudyDayTaskStatus.MISSED);
-            updated = true;
-            studentStudyPlan.setMissedDays(studentStudyPlan.getMissedDays() + 1);
-            studentStudyPlan.setCurrentStreak(0);
-        }
-
-        if (updated) {
-            studyDayTaskRepository.saveAll(expiredTasks);
-            studentStudyPlanRepository.save(studentStudyPlan);
-        }
-    }
-
     private StudyDayTask getOrCreateTodayTask(StudentStudyPlan studentStudyPlan, StudyPlan studyPlan, LocalDate taskDate) {
         Optional<StudyDayTask> existingTask = findStudyDayTask(studentStudyPlan.getId(), taskDate);
         if (existingTask.isPresent()) {
             return existingTask.get();
         }
 
-        try {
-            return generateTodayTask(studentStudyPlan, studyPlan, taskDate);
-        } catch (DataIntegrityViolationException ex) {
-            return findStudyDayTask(studentStudyPlan.getId(), taskDate)
-                    .orElseThrow(() -> ex);
-        }
+        studyDayTaskGenerationGuard.acquire(studentStudyPlan.getId());
+        return findStudyDayTask(studentStudyPlan.getId(), taskDate)
+                .orElseGet(() -> generateTodayTask(studentStudyPlan, studyPlan, taskDate));
     }
 
     private StudyDayTask generateTodayTask(StudentStudyPlan studentStudyPlan, StudyPlan studyPlan, LocalDate taskDate) {
-        List<StudyWordProgress> existingProgresses = studyWordProgressRepository.findByStudentStudyPlanId(studentStudyPlan.getId());
-        Map<Long, StudyWordProgress> progressMap = buildStudyWordProgressMap(existingProgresses);
-
-        List<StudyWordProgress> reviewCandidates = existingProgresses.stream()
+        List<StudyWordProgress> reviewCandidates = studyWordProgressRepository
+                .findDueForReview(studentStudyPlan.getId(), taskDate, studyPlan.getDailyReviewLimit())
+                .stream()
                 .filter(progress -> isDueOn(progress, taskDate))
                 .filter(progress -> progress.getLastReviewAt() == null
                         || !progress.getLastReviewAt().toLocalDate().isEqual(taskDate))
@@ -1155,9 +1383,10 @@ public class StudyPlanService {
                 .toList();
 
         List<Long> newWordIds = resolveOrderedNewWordIds(
+                studentStudyPlan,
                 studyPlan.getDictionaryId(),
-                progressMap,
                 studyPlan.getDailyNewCount());
+        studentStudyPlanRepository.save(studentStudyPlan);
 
         List<StudyWordProgress> newProgresses = new ArrayList<>();
         for (Long newWordId : newWordIds) {
@@ -1200,6 +1429,7 @@ public class StudyPlanService {
                     reviewCandidate.getMetaWordId(),
                     resolveTaskType(reviewCandidate, taskDate),
                     taskOrder++,
+                    0,
                     null,
                     null
             ));
@@ -1211,6 +1441,7 @@ public class StudyPlanService {
                     newWordId,
                     StudyTaskType.NEW_LEARN,
                     taskOrder++,
+                    0,
                     null,
                     null
             ));
@@ -1223,21 +1454,55 @@ public class StudyPlanService {
             studyDayTaskRepository.save(savedStudyDayTask);
         }
 
+        studyPlanDailyRollupService.recordTaskChange(studentStudyPlan, null, savedStudyDayTask, 0);
         return savedStudyDayTask;
     }
 
     private List<Long> resolveOrderedNewWordIds(
+            StudentStudyPlan studentStudyPlan,
             Long dictionaryId,
-            Map<Long, StudyWordProgress> progressMap,
             Integer dailyNewCount) {
+        String dictionaryVersion = resourceVersionService
+                .currentStamp(ResourceVersionService.dictionaryKey(dictionaryId))
+                .tag();
+        if (!dictionaryVersion.equals(studentStudyPlan.getNewWordCursorVersion())) {
+            studentStudyPlan.setNewWordCursorSortKey("");
+            studentStudyPlan.setNewWordCursorEntryOrder(Integer.MIN_VALUE);
+            studentStudyPlan.setNewWordCursorWordId(0L);
+            studentStudyPlan.setNewWordCursorVersion(dictionaryVersion);
+        }
+
+        // A cursor reset by a dictionary edit rescans from the start, so pages must not shrink with dailyNewCount.
+        int scanPageSize = Math.max(dailyNewCount, NEW_WORD_SCAN_PAGE_SIZE);
         Set<Long> selectedMetaWordIds = new LinkedHashSet<>();
-        for (DictionaryWord dictionaryWord : dictionaryWordRepository.findByDictionaryIdOrderByDisplayOrder(dictionaryId)) {
-            Long metaWordId = dictionaryWord.getMetaWordId();
-            if (progressMap.containsKey(metaWordId) || selectedMetaWordIds.contains(metaWordId)) {
-                continue;
+        while (selectedMetaWordIds.size() < dailyNewCount) {
+            List<DictionaryWordRepository.DisplayPosition> positions = dictionaryWordRepository.findDisplayPositionsAfter(
+                    dictionaryId,
+                    studentStudyPlan.getNewWordCursorSortKey(),
+                    studentStudyPlan.getNewWordCursorEntryOrder(),
+                    studentStudyPlan.getNewWordCursorWordId(),
+                    PageRequest.of(0, scanPageSize)
+            );
+            if (positions.isEmpty()) {
+                break;
             }
-            selectedMetaWordIds.add(metaWordId);
-            if (selectedMetaWordIds.size() >= dailyNewCount) {
+
+            Set<Long> assignedMetaWordIds = new HashSet<>(studyWordProgressRepository.findAssignedMetaWordIds(
+                    studentStudyPlan.getId(),
+                    positions.stream().map(DictionaryWordRepository.DisplayPosition::getMetaWordId).toList()
+            ));
+            for (DictionaryWordRepository.DisplayPosition position : positions) {
+                studentStudyPlan.setNewWordCursorSortKey(position.getSortKey());
+                studentStudyPlan.setNewWordCursorEntryOrder(position.getEntryOrder());
+                studentStudyPlan.setNewWordCursorWordId(position.getId());
+                if (!assignedMetaWordIds.contains(position.getMetaWordId())) {
+                    selectedMetaWordIds.add(position.getMetaWordId());
+                }
+                if (selectedMetaWordIds.size() >= dailyNewCount) {
+                    break;
+                }
+            }
+            if (positions.size() < scanPageSize) {
                 break;
             }
         }
@@ -1267,7 +1532,7 @@ public class StudyPlanService {
         return StudyTaskType.TODAY_REVIEW;
     }
 
-    private boolean canGenerateTodayTask(StudyPlan studyPlan, LocalDate taskDate) {
+    boolean canGenerateTodayTask(StudyPlan studyPlan, LocalDate taskDate) {
         return !taskDate.isBefore(studyPlan.getStartDate())
                 && (studyPlan.getEndDate() == null || !taskDate.isAfter(studyPlan.getEndDate()));
     }
@@ -1340,21 +1605,6 @@ public class StudyPlanService {
         return average(total, currentCount + 1);
     }
 
-    private BigDecimal calculateMedian(List<Integer> sortedValues) {
-        if (sortedValues.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        int middleIndex = sortedValues.size() / 2;
-        if (sortedValues.size() % 2 == 1) {
-            return BigDecimal.valueOf(sortedValues.get(middleIndex)).setScale(2, RoundingMode.HALF_UP);
-        }
-
-        BigDecimal left = BigDecimal.valueOf(sortedValues.get(middleIndex - 1));
-        BigDecimal right = BigDecimal.valueOf(sortedValues.get(middleIndex));
-        return left.add(right).divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
-    }
-
     private BigDecimal calculateAttentionScore(
             int totalDurationSeconds,
             int totalFocusSeconds,
@@ -1442,6 +1692,29 @@ public class StudyPlanService {
         return new NormalizedStudyTiming(durationSeconds, focusSeconds, idleSeconds, interactionCount);
     }
 
+    private record StudySession(
+            StudentStudyPlan studentStudyPlan,
+            StudyPlan studyPlan,
+            LocalDate taskDate,
+            StudyDayTask studyDayTask,
+            boolean taskWasCompleted,
+            StudyPlanDailyRollupService.TaskSnapshot taskBefore,
+            List<Integer> reviewIntervals,
+            List<RecordedStudy> recordedStudies
+    ) {
+    }
+
+    private record RecordedStudy(
+            StudyRecord studyRecord,
+            StudyDayTaskItem taskItem,
+            boolean firstVisitToday,
+            boolean learnedNewWord
+    ) {
+    }
+
+    private record PublishTarget(Dictionary dictionary, List<Long> studentIds) {
+    }
+
     private record NormalizedStudyTiming(
             int durationSeconds,
             int focusSeconds,
@@ -1458,7 +1731,7 @@ public class StudyPlanService {
         return ZonedDateTime.now(resolveZoneId(studyPlan)).toLocalDateTime();
     }
 
-    private ZoneId resolveZoneId(StudyPlan studyPlan) {
+    public ZoneId resolveZoneId(StudyPlan studyPlan) {
         try {
             return ZoneId.of(studyPlan.getTimezone());
         } catch (Exception ex) {
@@ -1474,20 +1747,6 @@ public class StudyPlanService {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private StudentStudyPlan getOrCreateStudentStudyPlan(Long studyPlanId, Long studentId, LocalDateTime joinedAt) {
-        Optional<StudentStudyPlan> existingStudentStudyPlan = findStudentStudyPlanByPlanAndStudent(studyPlanId, studentId);
-        if (existingStudentStudyPlan.isPresent()) {
-            return existingStudentStudyPlan.get();
-        }
-
-        try {
-            return studentStudyPlanRepository.save(createStudentStudyPlan(studyPlanId, studentId, joinedAt));
-        } catch (DataIntegrityViolationException ex) {
-            return findStudentStudyPlanByPlanAndStudent(studyPlanId, studentId)
-                    .orElseThrow(() -> ex);
-        }
-    }
-
     private Optional<StudentStudyPlan> findStudentStudyPlanByPlanAndStudent(Long studyPlanId, Long studentId) {
         return studentStudyPlanRepository.findByStudyPlanIdAndStudentIdOrderByCreatedAtAsc(studyPlanId, studentId).stream()
                 .max(Comparator.comparing(StudentStudyPlan::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
@@ -22,12 +22,15 @@ public class SyllableBackfillService {
 
     private final MetaWordRepository metaWordRepository;
     private final AiGenerationService aiGenerationService;
+    private final ResourceVersionService resourceVersionService;
 
     public SyllableBackfillService(
             MetaWordRepository metaWordRepository,
-            AiGenerationService aiGenerationService) {
+            AiGenerationService aiGenerationService,
+            ResourceVersionService resourceVersionService) {
         this.metaWordRepository = metaWordRepository;
         this.aiGenerationService = aiGenerationService;
+        this.resourceVersionService = resourceVersionService;
     }
 
     public SyllableBackfillResponse backfillPublishedPlanWords(int requestedLimit) {
@@ -54,6 +57,9 @@ public class SyllableBackfillService {
                 ));
             }
         }
+        if (updated > 0) {
+            resourceVersionService.bump(ResourceVersionService.META_WORDS);
+        }
 
         return new SyllableBackfillResponse(
                 candidates.size(),
@@ -14,6 +14,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,13 +22,20 @@ import org.springframework.transaction.annotation.Transactional;
 public class TagService {
 
     public static final String DEFAULT_CHAPTER_NAME = "默认章节";
+    private static final int MAX_CACHED_TREES = 512;
 
     private final TagRepository tagRepository;
     private final DictionaryWordRepository dictionaryWordRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final Map<TreeCacheKey, CachedTree> treeCache = new ConcurrentHashMap<>();
 
-    public TagService(TagRepository tagRepository, DictionaryWordRepository dictionaryWordRepository) {
+    public TagService(
+            TagRepository tagRepository,
+            DictionaryWordRepository dictionaryWordRepository,
+            ResourceVersionService resourceVersionService) {
         this.tagRepository = tagRepository;
         this.dictionaryWordRepository = dictionaryWordRepository;
+        this.resourceVersionService = resourceVersionService;
     }
 
     public Optional<Tag> findById(Long id) {
@@ -35,6 +43,25 @@ public class TagService {
     }
 
     public List<TagTreeNodeResponse> getTagTree(Long dictionaryId, TagType type) {
+        String version = resourceVersionService.currentStamp(
+                ResourceVersionService.DICTIONARIES,
+                ResourceVersionService.dictionaryKey(dictionaryId)
+        ).tag();
+        TreeCacheKey cacheKey = new TreeCacheKey(dictionaryId, type);
+        CachedTree cached = treeCache.get(cacheKey);
+        if (cached != null && cached.version().equals(version)) {
+            return cached.roots();
+        }
+
+        List<TagTreeNodeResponse> roots = List.copyOf(buildTagTree(dictionaryId, type));
+        if (treeCache.size() >= MAX_CACHED_TREES) {
+            treeCache.clear();
+        }
+        treeCache.put(cacheKey, new CachedTree(version, roots));
+        return roots;
+    }
+
+    private List<TagTreeNodeResponse> buildTagTree(Long dictionaryId, TagType type) {
         List<Tag> tags = tagRepository.findByDictionaryIdAndTypeOrderBySortKeyAsc(dictionaryId, type);
         Map<Long, TagTreeNodeResponse> nodeMap = new LinkedHashMap<>();
         List<TagTreeNodeResponse> roots = new ArrayList<>();
@@ -79,6 +106,7 @@ public class TagService {
         tag.setSortKey("");
         Tag saved = tagRepository.save(tag);
         refreshTagPath(saved, parent);
+        resourceVersionService.bumpDictionary(dictionaryId);
         return saved;
     }
 
@@ -100,7 +128,11 @@ public class TagService {
         tag.setLevel(parent == null ? 1 : parent.getLevel() + 1);
         Tag saved = tagRepository.save(tag);
         refreshTagPath(saved, parent);
-        refreshDescendants(saved);
+        tagRepository.refreshDescendantPaths(saved.getId());
+        resourceVersionService.bump(
+                ResourceVersionService.dictionaryKey(saved.getDictionaryId()),
+                ResourceVersionService.META_WORDS
+        );
         return saved;
     }
 
@@ -115,6 +147,7 @@ public class TagService {
             throw new BadRequestException("Tag is referenced by dictionary words and cannot be deleted");
         }
         tagRepository.delete(tag);
+        resourceVersionService.bumpDictionary(tag.getDictionaryId());
     }
 
     @Transactional
@@ -146,6 +179,7 @@ public class TagService {
         tag.setSortKey("");
         Tag saved = tagRepository.save(tag);
         refreshTagPath(saved, null);
+        resourceVersionService.bumpDictionary(dictionaryId);
         return saved;
     }
 
@@ -176,14 +210,6 @@ public class TagService {
         return false;
     }
 
-    private void refreshDescendants(Tag parent) {
-        List<Tag> children = tagRepository.findByParentIdOrderBySortOrderAsc(parent.getId());
-        for (Tag child : children) {
-            refreshTagPath(child, parent);
-            refreshDescendants(child);
-        }
-    }
-
     private void refreshTagPath(Tag tag, Tag parent) {
         tag.setLevel(parent == null ? 1 : parent.getLevel() + 1);
         tag.setPathName(parent == null ? tag.getName() : parent.getPathName() + " > " + tag.getName());
@@ -201,4 +227,10 @@ public class TagService {
     private String pad(Integer sortOrder) {
         return String.format("%06d", normalizeSortOrder(sortOrder));
     }
+
+    private record TreeCacheKey(Long dictionaryId, TagType type) {
+    }
+
+    private record CachedTree(String version, List<TagTreeNodeResponse> roots) {
+    }
 }
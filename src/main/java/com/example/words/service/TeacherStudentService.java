@@ -32,18 +32,21 @@ public class TeacherStudentService {
     private final ClassroomMemberRepository classroomMemberRepository;
     private final AppUserRepository appUserRepository;
     private final UserService userService;
+    private final AuthorizationContextService authorizationContextService;
 
     public TeacherStudentService(
             TeacherStudentRelationRepository teacherStudentRelationRepository,
             ClassroomRepository classroomRepository,
             ClassroomMemberRepository classroomMemberRepository,
             AppUserRepository appUserRepository,
-            UserService userService) {
+            UserService userService,
+            AuthorizationContextService authorizationContextService) {
         this.teacherStudentRelationRepository = teacherStudentRelationRepository;
         this.classroomRepository = classroomRepository;
         this.classroomMemberRepository = classroomMemberRepository;
         this.appUserRepository = appUserRepository;
         this.userService = userService;
+        this.authorizationContextService = authorizationContextService;
     }
 
     @Transactional
@@ -57,11 +60,13 @@ public class TeacherStudentService {
         }
 
         teacherStudentRelationRepository.save(new TeacherStudentRelation(null, teacherId, studentId, null));
+        authorizationContextService.invalidateAll();
     }
 
     @Transactional
     public void removeStudent(Long teacherId, Long studentId) {
         teacherStudentRelationRepository.deleteByTeacherIdAndStudentId(teacherId, studentId);
+        authorizationContextService.invalidateAll();
     }
 
     @Transactional(readOnly = true)
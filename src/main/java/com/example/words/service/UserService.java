@@ -10,8 +10,12 @@ import com.example.words.model.AppUser;
 import com.example.words.model.UserRole;
 import com.example.words.model.UserStatus;
 import com.example.words.repository.AppUserRepository;
+import com.example.words.security.UserSnapshotCache;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -28,15 +32,18 @@ public class UserService {
     private final AppUserRepository appUserRepository;
     private final PasswordEncoder passwordEncoder;
     private final StudentPointAccountService studentPointAccountService;
+    private final UserSnapshotCache userSnapshotCache;
 
     public UserService(
             AppUserRepository appUserRepository,
             PasswordEncoder passwordEncoder,
-            StudentPointAccountService studentPointAccountService
+            StudentPointAccountService studentPointAccountService,
+            UserSnapshotCache userSnapshotCache
     ) {
         this.appUserRepository = appUserRepository;
         this.passwordEncoder = passwordEncoder;
         this.studentPointAccountService = studentPointAccountService;
+        this.userSnapshotCache = userSnapshotCache;
     }
 
     @Transactional
@@ -93,14 +100,18 @@ public class UserService {
     public UserResponse updateRole(Long id, UpdateUserRoleRequest request) {
         AppUser user = getUserEntity(id);
         user.setRole(request.getRole());
-        return UserResponse.from(appUserRepository.save(user));
+        AppUser savedUser = appUserRepository.save(user);
+        userSnapshotCache.evict(id);
+        return UserResponse.from(savedUser);
     }
 
     @Transactional
     public UserResponse updateStatus(Long id, UpdateUserStatusRequest request) {
         AppUser user = getUserEntity(id);
         user.setStatus(request.getStatus());
-        return UserResponse.from(appUserRepository.save(user));
+        AppUser savedUser = appUserRepository.save(user);
+        userSnapshotCache.evict(id);
+        return UserResponse.from(savedUser);
     }
 
     @Transactional(readOnly = true)
@@ -109,6 +120,18 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public List<AppUser> getUserEntities(Collection<Long> ids) {
+        List<AppUser> users = appUserRepository.findAllById(ids);
+        Set<Long> foundIds = users.stream().map(AppUser::getId).collect(Collectors.toSet());
+        for (Long id : ids) {
+            if (!foundIds.contains(id)) {
+                throw new ResourceNotFoundException("User not found: " + id);
+            }
+        }
+        return users;
+    }
+
     private String trimToNull(String value) {
         if (value == null || value.trim().isEmpty()) {
             return null;
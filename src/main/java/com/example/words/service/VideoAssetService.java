@@ -58,6 +58,7 @@ public class VideoAssetService {
     private final VideoStorageConfigService videoStorageConfigService;
     private final VideoStorageGatewayRegistry gatewayRegistry;
     private final AppUserRepository appUserRepository;
+    private final ResourceVersionService resourceVersionService;
 
     public VideoAssetService(
             VideoAssetRepository videoAssetRepository,
@@ -67,7 +68,8 @@ public class VideoAssetService {
             VideoStorageConfigService videoStorageConfigService,
             VideoStorageGatewayRegistry gatewayRegistry,
             AppUserRepository appUserRepository,
-            TeacherStudentService teacherStudentService) {
+            TeacherStudentService teacherStudentService,
+            ResourceVersionService resourceVersionService) {
         this.videoAssetRepository = videoAssetRepository;
         this.videoStorageConfigRepository = videoStorageConfigRepository;
         this.currentUserService = currentUserService;
@@ -75,6 +77,7 @@ public class VideoAssetService {
         this.videoStorageConfigService = videoStorageConfigService;
         this.gatewayRegistry = gatewayRegistry;
         this.appUserRepository = appUserRepository;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @Transactional(readOnly = true)
@@ -106,6 +109,11 @@ public class VideoAssetService {
         return enrichResponses(List.of(videoAsset), actor).get(0);
     }
 
+    @Transactional(readOnly = true)
+    public void ensureCanViewVideo(Long id) {
+        accessControlService.ensureCanViewVideo(currentUserService.getCurrentUser(), getVideoEntity(id));
+    }
+
     @Transactional
     public VideoResponse upload(MultipartFile file, String title, String description) {
         AppUser actor = currentUserService.getCurrentUser();
@@ -207,6 +215,9 @@ public class VideoAssetService {
             }
             offset += cloudItems.size();
         }
+        if (updated > 0) {
+            resourceVersionService.bump(ResourceVersionService.VIDEOS);
+        }
 
         return new VideoCloudSyncResponse(scanned, imported, updated);
     }
@@ -237,6 +248,7 @@ public class VideoAssetService {
         AppUser actor = currentUserService.getCurrentUser();
         VideoAsset videoAsset = getVideoEntity(id);
         accessControlService.ensureCanManageVideo(actor, videoAsset);
+        resourceVersionService.bumpVideo(id);
 
         VideoStorageConfig config = videoStorageConfigService.getConfigEntity(videoAsset.getStorageConfigId());
         VideoStorageGateway gateway = gatewayRegistry.get(config.getProviderType());
@@ -271,6 +283,7 @@ public class VideoAssetService {
         AppUser actor = currentUserService.getCurrentUser();
         VideoAsset videoAsset = getVideoEntity(id);
         accessControlService.ensureCanManageVideo(actor, videoAsset);
+        resourceVersionService.bumpVideo(id);
         String cloudMediaId = trimToNull(videoAsset.getTencentFileId());
         if (cloudMediaId == null) {
             throw new BadRequestException("Video cloud media id is required before publishing");
@@ -310,6 +323,7 @@ public class VideoAssetService {
         AppUser actor = currentUserService.getCurrentUser();
         VideoAsset videoAsset = getVideoEntity(id);
         accessControlService.ensureCanManageVideo(actor, videoAsset);
+        resourceVersionService.bumpVideo(id);
         VideoStorageConfig config = videoStorageConfigService.getConfigEntity(videoAsset.getStorageConfigId());
         VideoStorageGateway gateway = gatewayRegistry.get(config.getProviderType());
         gateway.unpublishMedia(config, videoAsset.getTencentFileId());
@@ -325,6 +339,7 @@ public class VideoAssetService {
         AppUser actor = currentUserService.getCurrentUser();
         VideoAsset videoAsset = getVideoEntity(id);
         accessControlService.ensureCanManageVideo(actor, videoAsset);
+        resourceVersionService.bumpVideo(id);
 
         VideoStorageConfig config = videoStorageConfigService.getConfigEntity(videoAsset.getStorageConfigId());
         VideoStorageGateway gateway = gatewayRegistry.get(config.getProviderType());
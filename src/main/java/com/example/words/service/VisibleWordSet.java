@@ -0,0 +1,60 @@
+package com.example.words.service;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Immutable set of meta-word ids. Ids are stored as bits offset by the smallest id, so a membership test is one bit
+ * lookup and a dictionary's mostly contiguous ids cost about one bit each.
+ */
+final class VisibleWordSet {
+
+    static final VisibleWordSet EMPTY = new VisibleWordSet(0L, new BitSet(), 0);
+
+    private final long offset;
+    private final BitSet bits;
+    private final int size;
+
+    private VisibleWordSet(long offset, BitSet bits, int size) {
+        this.offset = offset;
+        this.bits = bits;
+        this.size = size;
+    }
+
+    static VisibleWordSet of(Collection<Long> metaWordIds) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (Long metaWordId : metaWordIds) {
+            if (metaWordId != null) {
+                min = Math.min(min, metaWordId);
+                max = Math.max(max, metaWordId);
+            }
+        }
+        if (min > max) {
+            return EMPTY;
+        }
+        if (max - min >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Meta word id range is too wide for a visible word set");
+        }
+
+        BitSet bits = new BitSet((int) (max - min + 1));
+        for (Long metaWordId : metaWordIds) {
+            if (metaWordId != null) {
+                bits.set((int) (metaWordId - min));
+            }
+        }
+        return new VisibleWordSet(min, bits, bits.cardinality());
+    }
+
+    boolean contains(Long metaWordId) {
+        if (metaWordId == null) {
+            return false;
+        }
+        long index = metaWordId - offset;
+        return index >= 0 && index < bits.length() && bits.get((int) index);
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,5 @@
+CREATE TABLE resource_versions (
+    resource_key VARCHAR(128) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
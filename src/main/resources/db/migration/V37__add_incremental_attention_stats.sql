@@ -0,0 +1,28 @@
+ALTER TABLE student_attention_daily_stats
+    ADD COLUMN IF NOT EXISTS record_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS total_duration_seconds INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS total_idle_seconds INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS total_interaction_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS focus_histogram TEXT;
+
+ALTER TABLE student_study_plans
+    ADD COLUMN IF NOT EXISTS stat_day_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS daily_avg_focus_total NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS daily_attention_total NUMERIC(12, 2) NOT NULL DEFAULT 0;
+
+UPDATE student_study_plans plan
+   SET stat_day_count = totals.day_count,
+       daily_avg_focus_total = totals.avg_focus_total,
+       daily_attention_total = totals.attention_total
+  FROM (
+        SELECT student_study_plan_id,
+               COUNT(*) AS day_count,
+               COALESCE(SUM(avg_focus_seconds_per_word), 0) AS avg_focus_total,
+               COALESCE(SUM(attention_score), 0) AS attention_total
+          FROM student_attention_daily_stats
+         GROUP BY student_study_plan_id
+       ) totals
+ WHERE plan.id = totals.student_study_plan_id;
+
+CREATE INDEX IF NOT EXISTS idx_study_records_plan_date_word
+    ON study_records(student_study_plan_id, task_date, meta_word_id);
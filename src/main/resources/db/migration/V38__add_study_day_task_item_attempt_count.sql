@@ -0,0 +1,21 @@
+ALTER TABLE study_day_task_items
+    ADD COLUMN IF NOT EXISTS attempt_count INT NOT NULL DEFAULT 0;
+
+UPDATE study_day_task_items item
+   SET attempt_count = attempts.attempt_count
+  FROM (
+        SELECT task.id AS study_day_task_id,
+               record.meta_word_id,
+               COUNT(*) AS attempt_count
+          FROM study_day_tasks task
+          JOIN study_records record
+            ON record.student_study_plan_id = task.student_study_plan_id
+           AND record.task_date = task.task_date
+         GROUP BY task.id, record.meta_word_id
+       ) attempts
+ WHERE item.study_day_task_id = attempts.study_day_task_id
+   AND item.meta_word_id = attempts.meta_word_id;
+
+CREATE INDEX IF NOT EXISTS idx_study_day_task_items_pending
+    ON study_day_task_items(study_day_task_id, task_order)
+    WHERE completed_at IS NULL;
@@ -0,0 +1,16 @@
+ALTER TABLE student_study_plans
+    ADD COLUMN IF NOT EXISTS new_word_cursor_sort_key TEXT,
+    ADD COLUMN IF NOT EXISTS new_word_cursor_entry_order INT,
+    ADD COLUMN IF NOT EXISTS new_word_cursor_word_id BIGINT,
+    ADD COLUMN IF NOT EXISTS new_word_cursor_version VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_study_word_progresses_plan_meta_word
+    ON study_word_progresses(student_study_plan_id, meta_word_id);
+
+CREATE INDEX IF NOT EXISTS idx_study_word_progresses_due_review
+    ON study_word_progresses(student_study_plan_id, next_review_date, meta_word_id)
+    WHERE next_review_date IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_study_word_progresses_unreviewed_new
+    ON study_word_progresses(student_study_plan_id, assigned_date, meta_word_id)
+    WHERE next_review_date IS NULL AND last_review_at IS NULL AND status = 'NEW';
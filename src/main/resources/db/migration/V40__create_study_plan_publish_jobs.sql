@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS study_plan_publish_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    study_plan_id BIGINT NOT NULL,
+    requested_by_user_id BIGINT NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    pregenerate_tasks BOOLEAN NOT NULL DEFAULT FALSE,
+    total_students INT NOT NULL DEFAULT 0,
+    enrolled_students INT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_study_plan_publish_jobs_plan FOREIGN KEY (study_plan_id) REFERENCES study_plans(id) ON DELETE CASCADE,
+    CONSTRAINT fk_study_plan_publish_jobs_user FOREIGN KEY (requested_by_user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_study_plan_publish_jobs_plan_status
+    ON study_plan_publish_jobs(study_plan_id, status);
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_study_day_tasks_unfinished
+    ON study_day_tasks(task_date, id)
+    WHERE status IN ('NOT_STARTED', 'IN_PROGRESS');
@@ -0,0 +1,2 @@
+ALTER TABLE student_study_plans
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
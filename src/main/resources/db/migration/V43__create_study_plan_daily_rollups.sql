@@ -0,0 +1,82 @@
+ALTER TABLE student_study_plans ADD COLUMN IF NOT EXISTS classroom_id BIGINT;
+
+UPDATE student_study_plans plan
+SET classroom_id = (
+    SELECT MIN(member.classroom_id)
+    FROM classroom_members member
+    JOIN study_plan_classrooms plan_classroom ON plan_classroom.classroom_id = member.classroom_id
+    WHERE plan_classroom.study_plan_id = plan.study_plan_id
+      AND member.student_id = plan.student_id
+)
+WHERE plan.classroom_id IS NULL;
+
+-- classroom_id = 0 holds the whole-plan totals; other rows are per source classroom.
+CREATE TABLE IF NOT EXISTS study_plan_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    study_plan_id BIGINT NOT NULL,
+    classroom_id BIGINT NOT NULL DEFAULT 0,
+    task_date DATE NOT NULL,
+    task_count INT NOT NULL DEFAULT 0,
+    not_started_count INT NOT NULL DEFAULT 0,
+    in_progress_count INT NOT NULL DEFAULT 0,
+    completed_count INT NOT NULL DEFAULT 0,
+    missed_count INT NOT NULL DEFAULT 0,
+    completion_rate_total NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    attention_score_total NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    total_focus_seconds BIGINT NOT NULL DEFAULT 0,
+    words_learned INT NOT NULL DEFAULT 0,
+    finalized BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_study_plan_daily_rollups_plan FOREIGN KEY (study_plan_id) REFERENCES study_plans(id) ON DELETE CASCADE,
+    CONSTRAINT uk_study_plan_daily_rollups_scope_date UNIQUE (study_plan_id, classroom_id, task_date)
+);
+
+INSERT INTO study_plan_daily_rollups (
+    study_plan_id, classroom_id, task_date, task_count, not_started_count, in_progress_count,
+    completed_count, missed_count, completion_rate_total, attention_score_total, total_focus_seconds,
+    words_learned, finalized
+)
+SELECT day_task.study_plan_id,
+       scope.classroom_id,
+       day_task.task_date,
+       COUNT(*),
+       SUM(CASE WHEN day_task.bucket = 'NOT_STARTED' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN day_task.bucket = 'IN_PROGRESS' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN day_task.bucket = 'COMPLETED' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN day_task.bucket = 'MISSED' THEN 1 ELSE 0 END),
+       SUM(day_task.completion_rate),
+       SUM(day_task.attention_score),
+       SUM(day_task.total_focus_seconds),
+       SUM(day_task.words_learned),
+       BOOL_AND(day_task.closed) AND day_task.task_date < CURRENT_DATE
+FROM (
+    SELECT plan.study_plan_id,
+           plan.classroom_id,
+           task.task_date,
+           CASE
+               WHEN task.completed_count >= task.new_count + task.review_count + task.overdue_count THEN 'COMPLETED'
+               WHEN task.status = 'MISSED' THEN 'MISSED'
+               WHEN task.status = 'NOT_STARTED' AND task.completed_count = 0 THEN 'NOT_STARTED'
+               ELSE 'IN_PROGRESS'
+           END AS bucket,
+           task.completion_rate,
+           task.attention_score,
+           task.total_focus_seconds,
+           (SELECT COUNT(*)
+              FROM study_day_task_items item
+             WHERE item.study_day_task_id = task.id
+               AND item.task_type = 'NEW_LEARN'
+               AND item.completed_at IS NOT NULL) AS words_learned,
+           task.status IN ('COMPLETED', 'MISSED') AS closed
+    FROM study_day_tasks task
+    JOIN student_study_plans plan ON plan.id = task.student_study_plan_id
+) day_task
+CROSS JOIN LATERAL (VALUES (CAST(0 AS BIGINT)), (day_task.classroom_id)) scope(classroom_id)
+WHERE scope.classroom_id IS NOT NULL
+GROUP BY day_task.study_plan_id, scope.classroom_id, day_task.task_date
+ON CONFLICT (study_plan_id, classroom_id, task_date) DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_study_plan_daily_rollups_open_days
+    ON study_plan_daily_rollups(task_date, study_plan_id)
+    WHERE finalized = FALSE AND classroom_id = 0;
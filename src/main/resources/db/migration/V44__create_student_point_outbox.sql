@@ -0,0 +1,8 @@
+CREATE TABLE student_point_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    source_id BIGINT NOT NULL,
+    source_key VARCHAR(200) NOT NULL,
+    rule_code VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS student_point_reconciliation_watermarks (
+    source_type VARCHAR(32) PRIMARY KEY,
+    last_checked_id BIGINT NOT NULL DEFAULT 0,
+    last_run_at TIMESTAMP,
+    last_published_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO student_point_reconciliation_watermarks (source_type)
+VALUES ('STUDY_RECORD'), ('STUDY_TASK')
+ON CONFLICT (source_type) DO NOTHING;
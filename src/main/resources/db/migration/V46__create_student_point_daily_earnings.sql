@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS student_point_daily_earnings (
+    id BIGSERIAL PRIMARY KEY,
+    student_id BIGINT NOT NULL,
+    earned_date DATE NOT NULL,
+    earned_points BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_student_point_daily_earnings_student_date UNIQUE (student_id, earned_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_student_point_daily_earnings_date
+    ON student_point_daily_earnings(earned_date, student_id);
+
+-- Same definition as the earned sums it replaces: EARN transactions that have not been reversed.
+INSERT INTO student_point_daily_earnings (student_id, earned_date, earned_points)
+SELECT transaction.student_id,
+       CAST(transaction.created_at AS DATE),
+       SUM(transaction.amount)
+FROM student_point_transactions transaction
+WHERE transaction.transaction_type = 'EARN'
+  AND NOT EXISTS (
+      SELECT 1
+        FROM student_point_transactions reversal
+       WHERE reversal.transaction_type = 'REVERSE'
+         AND reversal.reversed_transaction_id = transaction.id
+  )
+GROUP BY transaction.student_id, CAST(transaction.created_at AS DATE)
+ON CONFLICT (student_id, earned_date) DO NOTHING;
@@ -0,0 +1,14 @@
+-- History pages seek on (created_at, id) instead of OFFSET; these indexes serve each seek directly.
+DROP INDEX IF EXISTS idx_student_point_transactions_student_created;
+
+CREATE INDEX IF NOT EXISTS idx_student_point_transactions_student_history
+    ON student_point_transactions (student_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_student_point_transactions_history
+    ON student_point_transactions (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_student_point_events_history
+    ON student_point_events (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_student_point_events_status_history
+    ON student_point_events (status, created_at DESC, id DESC);
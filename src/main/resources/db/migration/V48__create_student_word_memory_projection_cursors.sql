@@ -0,0 +1,29 @@
+ALTER TABLE student_word_memory_events ADD COLUMN IF NOT EXISTS occurred_at TIMESTAMP;
+
+-- Plan study events used to be applied at plan-local time; created_at is server time (the JDBC session zone).
+UPDATE student_word_memory_events event
+SET occurred_at = (event.created_at AT TIME ZONE current_setting('TimeZone')) AT TIME ZONE study_plan.timezone
+FROM study_records record
+JOIN student_study_plans plan ON plan.id = record.student_study_plan_id
+JOIN study_plans study_plan ON study_plan.id = plan.study_plan_id
+WHERE event.occurred_at IS NULL
+  AND event.source_type = 'PLAN_STUDY'
+  AND record.id = event.source_id
+  AND study_plan.timezone IN (SELECT name FROM pg_timezone_names);
+
+UPDATE student_word_memory_events
+SET occurred_at = created_at
+WHERE occurred_at IS NULL;
+
+CREATE TABLE IF NOT EXISTS student_word_memory_projection_cursors (
+    source_type VARCHAR(32) PRIMARY KEY,
+    last_source_id BIGINT NOT NULL DEFAULT 0,
+    last_projected_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Study records written before this release were already applied to memories in their own transaction.
+INSERT INTO student_word_memory_projection_cursors (source_type, last_source_id)
+SELECT 'PLAN_STUDY', COALESCE(MAX(id), 0)
+FROM study_records
+ON CONFLICT (source_type) DO NOTHING;
@@ -0,0 +1,18 @@
+-- Listings page by (updated_at, id) within one student; the wrong-word and favorite views also filter on their flag.
+CREATE INDEX IF NOT EXISTS idx_student_word_memories_student_updated
+    ON student_word_memories(student_id, updated_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_student_word_memories_student_auto_wrong_updated
+    ON student_word_memories(student_id, auto_wrong, updated_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_student_word_memories_student_favorite_updated
+    ON student_word_memories(student_id, favorite, updated_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_student_word_memories_student_next_review
+    ON student_word_memories(student_id, next_review_date);
+
+-- Superseded by the listing indexes above; student-only lookups use uk_student_word_memories_student_word.
+DROP INDEX IF EXISTS idx_student_word_memories_student_id;
+DROP INDEX IF EXISTS idx_student_word_memories_auto_wrong;
+DROP INDEX IF EXISTS idx_student_word_memories_favorite;
+DROP INDEX IF EXISTS idx_student_word_memories_next_review_date;
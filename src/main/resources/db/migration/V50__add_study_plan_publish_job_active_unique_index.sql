@@ -0,0 +1,18 @@
+-- Only the newest active job per plan survives; older duplicates from the racy check-then-insert are failed.
+UPDATE study_plan_publish_jobs job
+   SET status = 'FAILED',
+       error_message = 'Superseded by a newer publish job',
+       finished_at = CURRENT_TIMESTAMP,
+       updated_at = CURRENT_TIMESTAMP
+ WHERE job.status IN ('PENDING', 'ENROLLING', 'PREGENERATING')
+   AND EXISTS (
+       SELECT 1
+         FROM study_plan_publish_jobs newer
+        WHERE newer.study_plan_id = job.study_plan_id
+          AND newer.status IN ('PENDING', 'ENROLLING', 'PREGENERATING')
+          AND newer.id > job.id
+   );
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_study_plan_publish_jobs_active_plan
+    ON study_plan_publish_jobs(study_plan_id)
+    WHERE status IN ('PENDING', 'ENROLLING', 'PREGENERATING');
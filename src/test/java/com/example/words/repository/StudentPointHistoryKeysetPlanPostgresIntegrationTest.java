@@ -0,0 +1,74 @@
+package com.example.words.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.words.support.PostgresIntegrationTest;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The history seeks must bound the index range at the cursor instead of filtering every newer row. These queries
+ * mirror the repository predicates; sequential scans and sorts are disabled so the planner shows its index use even
+ * on a small table.
+ */
+@PostgresIntegrationTest
+class StudentPointHistoryKeysetPlanPostgresIntegrationTest {
+
+    private static final String CURSOR = "TIMESTAMP '2025-03-01 08:00:00'";
+    private static final String SEEK = " created_at <= " + CURSOR
+            + " AND (created_at < " + CURSOR + " OR (created_at = " + CURSOR + " AND id < 100))"
+            + " ORDER BY created_at DESC, id DESC LIMIT 20";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_sort = off");
+    }
+
+    @Test
+    void studentTransactionHistoryShouldStartTheIndexRangeAtTheCursor() {
+        assertRangeScan(
+                "SELECT id FROM student_point_transactions WHERE student_id = 12 AND" + SEEK,
+                "idx_student_point_transactions_student_history"
+        );
+    }
+
+    @Test
+    void transactionHistoryShouldStartTheIndexRangeAtTheCursor() {
+        assertRangeScan(
+                "SELECT id FROM student_point_transactions WHERE" + SEEK,
+                "idx_student_point_transactions_history"
+        );
+    }
+
+    @Test
+    void eventHistoryShouldStartTheIndexRangeAtTheCursor() {
+        assertRangeScan(
+                "SELECT id FROM student_point_events WHERE" + SEEK,
+                "idx_student_point_events_history"
+        );
+    }
+
+    @Test
+    void eventHistoryByStatusShouldStartTheIndexRangeAtTheCursor() {
+        assertRangeScan(
+                "SELECT id FROM student_point_events WHERE status = 'FAILED' AND" + SEEK,
+                "idx_student_point_events_status_history"
+        );
+    }
+
+    private void assertRangeScan(String query, String indexName) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + query, String.class);
+        String text = String.join("\n", plan);
+
+        assertTrue(text.contains(indexName), text);
+        assertTrue(plan.stream().anyMatch(line -> line.contains("Index Cond") && line.contains("created_at <=")), text);
+        assertTrue(plan.stream().noneMatch(line -> line.contains("Sort")), text);
+    }
+}
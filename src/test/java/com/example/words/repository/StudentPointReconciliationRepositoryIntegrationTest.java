@@ -1,6 +1,8 @@
 package com.example.words.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.example.words.model.AttentionState;
 import com.example.words.model.PointEventStatus;
@@ -54,11 +56,13 @@ class StudentPointReconciliationRepositoryIntegrationTest {
     }
 
     @Test
-    void correctRecordQueryShouldExcludeExistingEventsAndHonorBatchLimit() {
+    void correctRecordCandidatesShouldStartAfterWatermarkAndFlagMissingEvents() {
+        StudyRecord skipped = saveRecord("record-0", StudyRecordResult.CORRECT, true);
         saveRecord("historical-correct", StudyRecordResult.CORRECT, false);
         StudyRecord first = saveRecord("record-1", StudyRecordResult.CORRECT, true);
         StudyRecord second = saveRecord("record-2", StudyRecordResult.CORRECT, true);
         saveRecord("record-3", StudyRecordResult.INCORRECT, true);
+        saveRecord("record-4", StudyRecordResult.CORRECT, true);
         saveExistingEvent(
                 first.getId(),
                 "study-record:" + first.getId() + ":correct",
@@ -66,22 +70,23 @@ class StudentPointReconciliationRepositoryIntegrationTest {
                 PointSourceType.STUDY_RECORD
         );
 
-        List<StudyRecordRepository.MissingCorrectPointSource> missing =
-                studyRecordRepository.findMissingCorrectPointSources(1);
+        List<StudyRecordRepository.CorrectPointCandidate> candidates =
+                studyRecordRepository.findCorrectPointCandidatesAfter(skipped.getId(), 2);
 
-        assertEquals(1, missing.size());
-        assertEquals(second.getId(), missing.get(0).getSourceId());
-        assertEquals(20L, missing.get(0).getStudentId());
+        assertEquals(2, candidates.size());
+        assertEquals(first.getId(), candidates.get(0).getSourceId());
+        assertFalse(candidates.get(0).getEventMissing());
+        assertEquals(second.getId(), candidates.get(1).getSourceId());
+        assertTrue(candidates.get(1).getEventMissing());
+        assertEquals(20L, candidates.get(1).getStudentId());
     }
 
     @Test
-    void completedTaskQueryShouldExcludeExistingEventsAndHonorBatchLimit() {
-        saveTask(StudyDayTaskStatus.COMPLETED, 1, 1, false);
-        saveTask(StudyDayTaskStatus.COMPLETED, 0, 0, true);
-        saveTask(StudyDayTaskStatus.COMPLETED, 2, 1, true);
+    void completedTaskCandidatesShouldFlagClosedTasksAndMissingEvents() {
+        StudyDayTask ineligible = saveTask(StudyDayTaskStatus.COMPLETED, 1, 1, false);
         StudyDayTask first = saveTask(StudyDayTaskStatus.COMPLETED, 1, 1, true);
         StudyDayTask second = saveTask(StudyDayTaskStatus.COMPLETED, 1, 1, true);
-        saveTask(StudyDayTaskStatus.IN_PROGRESS, 1, 0, true);
+        StudyDayTask open = saveTask(StudyDayTaskStatus.IN_PROGRESS, 1, 0, true);
         saveExistingEvent(
                 first.getId(),
                 "study-day-task:" + first.getId() + ":completed",
@@ -89,12 +94,17 @@ class StudentPointReconciliationRepositoryIntegrationTest {
                 PointSourceType.STUDY_TASK
         );
 
-        List<StudyDayTaskRepository.MissingCompletedPointSource> missing =
-                studyDayTaskRepository.findMissingCompletedPointSources(1);
-
-        assertEquals(1, missing.size());
-        assertEquals(second.getId(), missing.get(0).getSourceId());
-        assertEquals(20L, missing.get(0).getStudentId());
+        List<StudyDayTaskRepository.CompletedPointCandidate> candidates =
+                studyDayTaskRepository.findCompletedPointCandidatesAfter(0L, 10);
+
+        assertEquals(List.of(ineligible.getId(), first.getId(), second.getId(), open.getId()),
+                candidates.stream().map(StudyDayTaskRepository.CompletedPointCandidate::getSourceId).toList());
+        assertFalse(candidates.get(0).getEventMissing());
+        assertFalse(candidates.get(1).getEventMissing());
+        assertTrue(candidates.get(2).getEventMissing());
+        assertTrue(candidates.get(2).getClosed());
+        assertFalse(candidates.get(3).getClosed());
+        assertFalse(candidates.get(3).getEventMissing());
     }
 
     private StudyRecord saveRecord(String requestKey, StudyRecordResult result, boolean pointsEligible) {
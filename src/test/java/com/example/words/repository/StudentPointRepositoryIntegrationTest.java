@@ -11,11 +11,13 @@ import com.example.words.model.PointSourceType;
 import com.example.words.model.PointTransactionType;
 import com.example.words.model.StudentPointAccount;
 import com.example.words.model.StudentPointAdjustmentRequest;
+import com.example.words.model.StudentPointDailyEarning;
 import com.example.words.model.StudentPointEvent;
 import com.example.words.model.StudentPointEventAttempt;
 import com.example.words.model.StudentPointRule;
 import com.example.words.model.StudentPointTransaction;
 import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -49,6 +51,9 @@ class StudentPointRepositoryIntegrationTest {
     @Autowired
     private StudentPointAdjustmentRequestRepository adjustmentRequestRepository;
 
+    @Autowired
+    private StudentPointDailyEarningRepository dailyEarningRepository;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -77,41 +82,56 @@ class StudentPointRepositoryIntegrationTest {
     }
 
     @Test
-    void todayEarnedCountsOnlyUnreversedEarnTransactions() {
-        LocalDateTime now = LocalDateTime.now();
-        StudentPointTransaction reversedEarn = transaction("earn-reversed", 10L);
-        reversedEarn.setAmount(10);
-        reversedEarn.setBalanceAfter(10);
-        reversedEarn.setCreatedAt(now);
-        reversedEarn = transactionRepository.saveAndFlush(reversedEarn);
-
-        StudentPointTransaction earn = transaction("earn-kept", 10L);
-        earn.setAmount(3);
-        earn.setBalanceBefore(10);
-        earn.setBalanceAfter(13);
-        earn.setCreatedAt(now);
-        transactionRepository.saveAndFlush(earn);
-
-        StudentPointTransaction reversal = transaction("reverse-earn", 10L);
-        reversal.setTransactionType(PointTransactionType.REVERSE);
-        reversal.setAmount(-10);
-        reversal.setBalanceBefore(13);
-        reversal.setBalanceAfter(3);
-        reversal.setReversedTransactionId(reversedEarn.getId());
-        reversal.setCreatedAt(now);
-        transactionRepository.saveAndFlush(reversal);
-
-        StudentPointTransaction reverseDeduction = transaction("reverse-deduction", 10L);
-        reverseDeduction.setTransactionType(PointTransactionType.REVERSE);
-        reverseDeduction.setAmount(5);
-        reverseDeduction.setBalanceBefore(3);
-        reverseDeduction.setBalanceAfter(8);
-        reverseDeduction.setReversedTransactionId(999L);
-        reverseDeduction.setCreatedAt(now);
-        transactionRepository.saveAndFlush(reverseDeduction);
-
-        assertEquals(3L, transactionRepository.sumEarnedByStudentIdBetween(
-                10L, now.minusMinutes(1), now.plusMinutes(1)));
+    void dailyEarningsKeepOnlyUnreversedEarnedPoints() {
+        LocalDate today = LocalDate.of(2025, 3, 4);
+        LocalDateTime firstEarn = LocalDateTime.of(2025, 3, 4, 8, 0);
+        LocalDateTime reversal = firstEarn.plusMinutes(5);
+        StudentPointDailyEarning earning = new StudentPointDailyEarning();
+        earning.setStudentId(10L);
+        earning.setEarnedDate(today);
+        earning.setEarnedPoints(10L);
+        earning.setUpdatedAt(firstEarn);
+        dailyEarningRepository.saveAndFlush(earning);
+        StudentPointDailyEarning otherDay = new StudentPointDailyEarning();
+        otherDay.setStudentId(10L);
+        otherDay.setEarnedDate(today.minusDays(1));
+        otherDay.setEarnedPoints(4L);
+        otherDay.setUpdatedAt(firstEarn.minusDays(1));
+        dailyEarningRepository.saveAndFlush(otherDay);
+
+        dailyEarningRepository.addEarnedPoints(10L, today, 3L, firstEarn.plusMinutes(1));
+        dailyEarningRepository.addEarnedPoints(10L, today, -10L, reversal);
+        entityManager.clear();
+
+        assertEquals(3L, dailyEarningRepository.findByStudentIdAndEarnedDate(10L, today)
+                .orElseThrow()
+                .getEarnedPoints());
+        List<StudentPointDailyEarningRepository.EarnedTotal> todayTotals =
+                dailyEarningRepository.sumEarnedBetween(today, today);
+        assertEquals(1, todayTotals.size());
+        assertEquals(3L, todayTotals.get(0).getTotal());
+        assertEquals(reversal, todayTotals.get(0).getLastUpdatedAt());
+        assertEquals(7L, dailyEarningRepository.sumEarnedByStudent().get(0).getTotal());
+    }
+
+    @Test
+    void transactionHistorySeeksPastCursorIncludingRowsWithTheSameTimestamp() {
+        LocalDateTime tied = LocalDateTime.of(2025, 3, 1, 8, 0);
+        Long older = transactionRepository.saveAndFlush(transaction("history-older", 12L)).getId();
+        Long firstTied = transactionRepository.saveAndFlush(transaction("history-tied-1", 12L)).getId();
+        Long secondTied = transactionRepository.saveAndFlush(transaction("history-tied-2", 12L)).getId();
+        transactionRepository.saveAndFlush(transaction("history-other-student", 13L));
+        stampCreatedAt(older, tied.minusDays(30));
+        stampCreatedAt(firstTied, tied);
+        stampCreatedAt(secondTied, tied);
+        entityManager.clear();
+
+        List<StudentPointTransaction> first = transactionRepository.findLatestByStudentId(12L, PageRequest.of(0, 2));
+        List<StudentPointTransaction> next = transactionRepository.findByStudentIdBefore(
+                12L, first.get(1).getCreatedAt(), first.get(1).getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(secondTied, firstTied), first.stream().map(StudentPointTransaction::getId).toList());
+        assertEquals(List.of(older), next.stream().map(StudentPointTransaction::getId).toList());
     }
 
     @Test
@@ -258,6 +278,13 @@ class StudentPointRepositoryIntegrationTest {
         assertEquals(List.of(missingTimestamp.getId()), ids);
     }
 
+    private void stampCreatedAt(Long transactionId, LocalDateTime createdAt) {
+        entityManager.createNativeQuery("UPDATE student_point_transactions SET created_at = ?1 WHERE id = ?2")
+                .setParameter(1, createdAt)
+                .setParameter(2, transactionId)
+                .executeUpdate();
+    }
+
     private StudentPointTransaction transaction(String idempotencyKey, Long studentId) {
         StudentPointTransaction transaction = new StudentPointTransaction();
         transaction.setAccountId(1L);
@@ -0,0 +1,75 @@
+package com.example.words.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.model.AppUser;
+import com.example.words.model.UserRole;
+import com.example.words.model.UserStatus;
+import com.example.words.repository.AppUserRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UserSnapshotCacheTest {
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    private UserSnapshotCache userSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        userSnapshotCache = new UserSnapshotCache(appUserRepository, 60_000L);
+    }
+
+    @Test
+    void findShouldServeRepeatedLookupsFromCache() {
+        when(appUserRepository.findById(20L)).thenReturn(Optional.of(user(UserStatus.ACTIVE)));
+
+        AuthenticatedUser first = userSnapshotCache.find(20L).orElseThrow();
+        AuthenticatedUser second = userSnapshotCache.find(20L).orElseThrow();
+
+        assertEquals(first, second);
+        assertTrue(second.isEnabled());
+        verify(appUserRepository, times(1)).findById(20L);
+    }
+
+    @Test
+    void evictShouldExposeUpdatedStatusOnNextLookup() {
+        when(appUserRepository.findById(20L))
+                .thenReturn(Optional.of(user(UserStatus.ACTIVE)))
+                .thenReturn(Optional.of(user(UserStatus.DISABLED)));
+
+        assertTrue(userSnapshotCache.find(20L).orElseThrow().isEnabled());
+        userSnapshotCache.evict(20L);
+
+        assertFalse(userSnapshotCache.find(20L).orElseThrow().isEnabled());
+        verify(appUserRepository, times(2)).findById(20L);
+    }
+
+    @Test
+    void findShouldReturnEmptyForUnknownUser() {
+        when(appUserRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertTrue(userSnapshotCache.find(99L).isEmpty());
+    }
+
+    private AppUser user(UserStatus status) {
+        AppUser user = new AppUser();
+        user.setId(20L);
+        user.setUsername("student");
+        user.setPasswordHash("hash");
+        user.setRole(UserRole.STUDENT);
+        user.setStatus(status);
+        return user;
+    }
+}
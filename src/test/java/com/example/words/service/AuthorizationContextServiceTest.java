@@ -0,0 +1,148 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.model.AppUser;
+import com.example.words.model.Classroom;
+import com.example.words.model.ClassroomDictionaryAssignment;
+import com.example.words.model.ClassroomMember;
+import com.example.words.model.DictionaryAssignment;
+import com.example.words.model.TeacherStudentRelation;
+import com.example.words.model.UserRole;
+import com.example.words.repository.ClassroomDictionaryAssignmentRepository;
+import com.example.words.repository.ClassroomMemberRepository;
+import com.example.words.repository.ClassroomRepository;
+import com.example.words.repository.DictionaryAssignmentRepository;
+import com.example.words.repository.TeacherStudentRelationRepository;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationContextServiceTest {
+
+    @Mock
+    private TeacherStudentRelationRepository teacherStudentRelationRepository;
+
+    @Mock
+    private ClassroomRepository classroomRepository;
+
+    @Mock
+    private ClassroomMemberRepository classroomMemberRepository;
+
+    @Mock
+    private ClassroomDictionaryAssignmentRepository classroomDictionaryAssignmentRepository;
+
+    @Mock
+    private DictionaryAssignmentRepository dictionaryAssignmentRepository;
+
+    private AuthorizationContextService authorizationContextService;
+
+    @BeforeEach
+    void setUp() {
+        authorizationContextService = new AuthorizationContextService(
+                teacherStudentRelationRepository,
+                classroomRepository,
+                classroomMemberRepository,
+                classroomDictionaryAssignmentRepository,
+                dictionaryAssignmentRepository,
+                60_000L
+        );
+    }
+
+    @Test
+    void teacherContextShouldUnionDirectStudentsAndClassroomMembersAndBeCached() {
+        AppUser teacher = user(7L, UserRole.TEACHER);
+        stubTeacherScope();
+
+        AuthorizationContextService.AuthorizationContext first = authorizationContextService.getContext(teacher);
+        AuthorizationContextService.AuthorizationContext second = authorizationContextService.getContext(teacher);
+
+        assertSame(first, second);
+        assertEquals(Set.of(20L, 21L), first.responsibleStudentIds());
+        assertEquals(Set.of(100L), first.classroomIds());
+        assertEquals(Set.of(10L), first.assignedDictionaryIds());
+        assertTrue(first.isResponsibleForStudent(21L));
+        assertFalse(first.isResponsibleForStudent(22L));
+        verify(classroomRepository, times(1)).findByTeacherId(7L);
+        verify(classroomMemberRepository, times(1)).findByClassroomIdIn(Set.of(100L));
+    }
+
+    @Test
+    void invalidateAllShouldForceReload() {
+        AppUser teacher = user(7L, UserRole.TEACHER);
+        stubTeacherScope();
+
+        authorizationContextService.getContext(teacher);
+        authorizationContextService.invalidateAll();
+        authorizationContextService.getContext(teacher);
+
+        verify(classroomRepository, times(2)).findByTeacherId(7L);
+        verify(teacherStudentRelationRepository, times(2)).findByTeacherId(7L);
+    }
+
+    @Test
+    void studentContextShouldIncludeDirectAndClassroomDictionaries() {
+        AppUser student = user(20L, UserRole.STUDENT);
+        when(classroomMemberRepository.findByStudentId(20L))
+                .thenReturn(List.of(new ClassroomMember(1L, 100L, 20L, null)));
+        when(dictionaryAssignmentRepository.findByStudentId(20L))
+                .thenReturn(List.of(new DictionaryAssignment(1L, 11L, 20L, 7L, null)));
+        when(classroomDictionaryAssignmentRepository.findByClassroomIdIn(Set.of(100L)))
+                .thenReturn(List.of(new ClassroomDictionaryAssignment(1L, 100L, 10L, 7L, null)));
+
+        AuthorizationContextService.AuthorizationContext context = authorizationContextService.getContext(student);
+
+        assertEquals(Set.of(10L, 11L), context.assignedDictionaryIds());
+        assertEquals(Set.of(100L), context.classroomIds());
+        assertTrue(context.responsibleStudentIds().isEmpty());
+    }
+
+    @Test
+    void adminContextShouldNotQueryRepositories() {
+        AppUser admin = user(1L, UserRole.ADMIN);
+
+        AuthorizationContextService.AuthorizationContext context = authorizationContextService.getContext(admin);
+
+        assertTrue(context.assignedDictionaryIds().isEmpty());
+        verify(classroomRepository, never()).findByTeacherId(1L);
+        verify(classroomMemberRepository, never()).findByClassroomIdIn(anyCollection());
+    }
+
+    private void stubTeacherScope() {
+        when(classroomRepository.findByTeacherId(7L)).thenReturn(List.of(classroom(100L, 7L)));
+        when(teacherStudentRelationRepository.findByTeacherId(7L))
+                .thenReturn(List.of(new TeacherStudentRelation(1L, 7L, 20L, null)));
+        when(classroomMemberRepository.findByClassroomIdIn(Set.of(100L)))
+                .thenReturn(List.of(new ClassroomMember(1L, 100L, 21L, null)));
+        when(classroomDictionaryAssignmentRepository.findByClassroomIdIn(Set.of(100L)))
+                .thenReturn(List.of(new ClassroomDictionaryAssignment(1L, 100L, 10L, 7L, null)));
+    }
+
+    private AppUser user(Long id, UserRole role) {
+        AppUser user = new AppUser();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setRole(role);
+        return user;
+    }
+
+    private Classroom classroom(Long id, Long teacherId) {
+        Classroom classroom = new Classroom();
+        classroom.setId(id);
+        classroom.setTeacherId(teacherId);
+        return classroom;
+    }
+}
@@ -57,6 +57,9 @@ class BooksImportJobServiceTest {
     @Mock
     private TagService tagService;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     @Mock
     private Executor booksImportTaskExecutor;
 
@@ -85,6 +88,7 @@ class BooksImportJobServiceTest {
                 dictionaryWordRepository,
                 dictionaryService,
                 tagService,
+                resourceVersionService,
                 booksImportTaskExecutor,
                 booksImportProgressEmitterService,
                 jdbcTemplate,
@@ -40,6 +40,9 @@ class ClassroomDictionaryAssignmentServiceTest {
     @Mock
     private DictionaryRepository dictionaryRepository;
 
+    @Mock
+    private AuthorizationContextService authorizationContextService;
+
     private ClassroomDictionaryAssignmentService classroomDictionaryAssignmentService;
 
     @BeforeEach
@@ -48,7 +51,8 @@ class ClassroomDictionaryAssignmentServiceTest {
                 classroomDictionaryAssignmentRepository,
                 classroomRepository,
                 classroomMemberRepository,
-                dictionaryRepository
+                dictionaryRepository,
+                authorizationContextService
         );
     }
 
@@ -254,7 +254,7 @@ class ClassroomGroupFeedServiceTest {
 
         service.completeVideoPlayback(100L, 30L, student);
 
-        verify(studentPointEventPublisher).publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+        verify(studentPointEventPublisher).enqueue(new StudentPointEventPublisher.PublishRequest(
                 20L,
                 30L,
                 "classroom-video:100:30:student:20:completed",
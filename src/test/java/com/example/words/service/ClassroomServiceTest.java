@@ -47,6 +47,9 @@ class ClassroomServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private AuthorizationContextService authorizationContextService;
+
     private ClassroomService classroomService;
 
     @BeforeEach
@@ -56,7 +59,8 @@ class ClassroomServiceTest {
                 classroomMemberRepository,
                 studyPlanClassroomRepository,
                 classroomDictionaryAssignmentRepository,
-                userService
+                userService,
+                authorizationContextService
         );
     }
 
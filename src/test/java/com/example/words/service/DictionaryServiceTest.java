@@ -2,7 +2,10 @@ package com.example.words.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.example.words.model.AppUser;
@@ -15,11 +18,14 @@ import com.example.words.repository.DictionaryRepository;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +46,12 @@ class DictionaryServiceTest {
     @Mock
     private ClassroomRepository classroomRepository;
 
+    @Mock
+    private AuthorizationContextService authorizationContextService;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     private DictionaryService dictionaryService;
 
     @BeforeEach
@@ -49,7 +61,9 @@ class DictionaryServiceTest {
                 dictionaryAssignmentService,
                 classroomDictionaryAssignmentService,
                 accessControlService,
-                classroomRepository
+                classroomRepository,
+                authorizationContextService,
+                resourceVersionService
         );
     }
 
@@ -61,15 +75,14 @@ class DictionaryServiceTest {
 
         Dictionary dictionary1 = dictionary(1L, "高考核心", ResourceScopeType.SYSTEM);
         Dictionary dictionary2 = dictionary(2L, "高考进阶", ResourceScopeType.SYSTEM);
-        Dictionary dictionary3 = dictionary(3L, "阅读专项", ResourceScopeType.SYSTEM);
         Classroom classroom = classroom(100L, "一班", 7L);
 
-        when(dictionaryRepository.findAll()).thenReturn(List.of(dictionary1, dictionary2, dictionary3));
         when(classroomRepository.findById(100L)).thenReturn(Optional.of(classroom));
         when(classroomDictionaryAssignmentService.intersectAssignedDictionaryIdsForClassrooms(List.of(100L)))
                 .thenReturn(new LinkedHashSet<>(List.of(1L, 2L)));
-        when(classroomDictionaryAssignmentService.getAssignedDictionaryIdsForTeacher(7L))
-                .thenReturn(new LinkedHashSet<>(List.of(1L, 2L)));
+        when(authorizationContextService.getContext(teacher)).thenReturn(context(Set.of(1L, 2L)));
+        when(dictionaryRepository.findAll(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(dictionary1, dictionary2));
 
         List<Dictionary> result = dictionaryService.findVisibleDictionariesForClassrooms(List.of(100L), teacher);
 
@@ -82,19 +95,17 @@ class DictionaryServiceTest {
         teacher.setId(7L);
         teacher.setRole(UserRole.TEACHER);
 
-        Dictionary dictionary1 = dictionary(1L, "高考核心", ResourceScopeType.SYSTEM);
         Dictionary dictionary2 = dictionary(2L, "高考进阶", ResourceScopeType.SYSTEM);
-        Dictionary dictionary3 = dictionary(3L, "阅读专项", ResourceScopeType.SYSTEM);
         Classroom classroom1 = classroom(100L, "一班", 7L);
         Classroom classroom2 = classroom(101L, "二班", 7L);
 
-        when(dictionaryRepository.findAll()).thenReturn(List.of(dictionary1, dictionary2, dictionary3));
         when(classroomRepository.findById(100L)).thenReturn(Optional.of(classroom1));
         when(classroomRepository.findById(101L)).thenReturn(Optional.of(classroom2));
         when(classroomDictionaryAssignmentService.intersectAssignedDictionaryIdsForClassrooms(List.of(100L, 101L)))
                 .thenReturn(new LinkedHashSet<>(List.of(2L)));
-        when(classroomDictionaryAssignmentService.getAssignedDictionaryIdsForTeacher(7L))
-                .thenReturn(new LinkedHashSet<>(List.of(1L, 2L, 3L)));
+        when(authorizationContextService.getContext(teacher)).thenReturn(context(Set.of(1L, 2L, 3L)));
+        when(dictionaryRepository.findAll(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(dictionary2));
 
         List<Dictionary> result = dictionaryService.findVisibleDictionariesForClassrooms(List.of(100L, 101L), teacher);
 
@@ -107,7 +118,8 @@ class DictionaryServiceTest {
         Dictionary dictionary2 = dictionary(2L, "高考进阶", ResourceScopeType.SYSTEM);
         Dictionary dictionary3 = dictionary(3L, "阅读专项", ResourceScopeType.SYSTEM);
 
-        when(dictionaryRepository.findAll()).thenReturn(List.of(dictionary1, dictionary2, dictionary3));
+        when(dictionaryRepository.findAll(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(dictionary1, dictionary2, dictionary3));
         when(dictionaryAssignmentService.getAssignedDictionaryIdsForStudent(88L))
                 .thenReturn(new LinkedHashSet<>(List.of(1L)));
         when(classroomDictionaryAssignmentService.getAssignedDictionaryIdsForStudent(88L))
@@ -132,6 +144,19 @@ class DictionaryServiceTest {
         assertTrue(dictionaryService.findByIdVisibleToUser(10L, student).isEmpty());
     }
 
+    @Test
+    void findAssignedDictionariesForStudentShouldSkipQueryWithoutAssignments() {
+        when(dictionaryAssignmentService.getAssignedDictionaryIdsForStudent(88L)).thenReturn(Set.of());
+        when(classroomDictionaryAssignmentService.getAssignedDictionaryIdsForStudent(88L)).thenReturn(Set.of());
+
+        assertTrue(dictionaryService.findAssignedDictionariesForStudent(88L).isEmpty());
+        verify(dictionaryRepository, never()).findAll(any(Specification.class), any(Sort.class));
+    }
+
+    private AuthorizationContextService.AuthorizationContext context(Set<Long> assignedDictionaryIds) {
+        return new AuthorizationContextService.AuthorizationContext(Set.of(), Set.of(), assignedDictionaryIds);
+    }
+
     private Dictionary dictionary(Long id, String name, ResourceScopeType scopeType) {
         Dictionary dictionary = new Dictionary();
         dictionary.setId(id);
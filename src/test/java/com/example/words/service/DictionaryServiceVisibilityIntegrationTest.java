@@ -0,0 +1,118 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.example.words.model.AppUser;
+import com.example.words.model.Dictionary;
+import com.example.words.model.ResourceScopeType;
+import com.example.words.model.UserRole;
+import com.example.words.repository.DictionaryRepository;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(DictionaryService.class)
+class DictionaryServiceVisibilityIntegrationTest {
+
+    @Autowired
+    private DictionaryService dictionaryService;
+
+    @Autowired
+    private DictionaryRepository dictionaryRepository;
+
+    @MockBean
+    private DictionaryAssignmentService dictionaryAssignmentService;
+
+    @MockBean
+    private ClassroomDictionaryAssignmentService classroomDictionaryAssignmentService;
+
+    @MockBean
+    private AccessControlService accessControlService;
+
+    @MockBean
+    private AuthorizationContextService authorizationContextService;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    private Dictionary systemDictionary;
+    private Dictionary ownDictionary;
+    private Dictionary assignedDictionary;
+    private Dictionary foreignDictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionaryRepository.deleteAll();
+        systemDictionary = save("系统词书", ResourceScopeType.SYSTEM, null, "高考");
+        ownDictionary = save("我的词书", ResourceScopeType.TEACHER, 7L, "高考");
+        assignedDictionary = save("班级词书", ResourceScopeType.TEACHER, 8L, "中考");
+        foreignDictionary = save("他人词书", ResourceScopeType.TEACHER, 9L, "中考");
+    }
+
+    @Test
+    void teacherShouldSeeSystemOwnedAndClassroomAssignedDictionaries() {
+        AppUser teacher = user(7L, UserRole.TEACHER);
+        when(authorizationContextService.getContext(teacher)).thenReturn(context(Set.of(assignedDictionary.getId())));
+
+        List<Dictionary> result = dictionaryService.findVisibleDictionaries(teacher);
+
+        assertEquals(
+                List.of(systemDictionary.getId(), ownDictionary.getId(), assignedDictionary.getId()),
+                result.stream().map(Dictionary::getId).toList()
+        );
+    }
+
+    @Test
+    void studentWithoutAssignmentsShouldOnlySeeSystemDictionaries() {
+        AppUser student = user(20L, UserRole.STUDENT);
+        when(authorizationContextService.getContext(student)).thenReturn(context(Set.of()));
+
+        List<Dictionary> result = dictionaryService.findVisibleDictionaries(student);
+
+        assertEquals(List.of(systemDictionary.getId()), result.stream().map(Dictionary::getId).toList());
+    }
+
+    @Test
+    void visiblePageShouldApplyCategoryFilterAndPaging() {
+        AppUser student = user(20L, UserRole.STUDENT);
+        when(authorizationContextService.getContext(student))
+                .thenReturn(context(Set.of(assignedDictionary.getId(), foreignDictionary.getId())));
+
+        Page<Dictionary> page = dictionaryService.findVisibleDictionariesPage(student, 1, 1, "中考", null);
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(assignedDictionary.getId()), page.getContent().stream().map(Dictionary::getId).toList());
+    }
+
+    private Dictionary save(String name, ResourceScopeType scopeType, Long ownerUserId, String category) {
+        Dictionary dictionary = new Dictionary();
+        dictionary.setName(name);
+        dictionary.setCategory(category);
+        dictionary.setScopeType(scopeType);
+        dictionary.setOwnerUserId(ownerUserId);
+        dictionary.setCreatedBy(ownerUserId);
+        return dictionaryRepository.saveAndFlush(dictionary);
+    }
+
+    private AuthorizationContextService.AuthorizationContext context(Set<Long> assignedDictionaryIds) {
+        return new AuthorizationContextService.AuthorizationContext(Set.of(), Set.of(), assignedDictionaryIds);
+    }
+
+    private AppUser user(Long id, UserRole role) {
+        AppUser user = new AppUser();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -45,6 +45,9 @@ class DictionaryWordServiceTest {
     @Mock
     private TagService tagService;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     private DictionaryWordService dictionaryWordService;
     private RecordingDictionaryService dictionaryService;
 
@@ -56,7 +59,8 @@ class DictionaryWordServiceTest {
                 metaWordRepository,
                 tagRepository,
                 tagService,
-                dictionaryService
+                dictionaryService,
+                resourceVersionService
         );
     }
 
@@ -254,7 +258,7 @@ class DictionaryWordServiceTest {
         private Integer lastUpdatedEntryCount;
 
         private RecordingDictionaryService() {
-            super(null, null, null, null, null);
+            super(null, null, null, null, null, null, null);
         }
 
         @Override
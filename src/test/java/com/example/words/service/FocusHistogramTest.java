@@ -0,0 +1,43 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FocusHistogramTest {
+
+    @Test
+    void medianShouldMatchSortedListMedianForOddAndEvenCounts() {
+        FocusHistogram histogram = FocusHistogram.empty();
+        assertEquals(BigDecimal.ZERO, histogram.median());
+
+        for (int focusSeconds : List.of(30, 5, 12, 12)) {
+            histogram.add(focusSeconds);
+        }
+        assertEquals(new BigDecimal("12.00"), histogram.median());
+
+        histogram.add(7);
+        assertEquals(new BigDecimal("12.00"), histogram.median());
+
+        histogram.add(9);
+        assertEquals(new BigDecimal("10.50"), histogram.median());
+    }
+
+    @Test
+    void encodedHistogramShouldRoundTrip() {
+        FocusHistogram histogram = FocusHistogram.empty();
+        histogram.add(22);
+        histogram.add(3);
+        histogram.add(22);
+
+        String encoded = histogram.encode();
+        FocusHistogram restored = FocusHistogram.parse(encoded);
+        restored.add(40);
+
+        assertEquals("3:1,22:2", encoded);
+        assertEquals(new BigDecimal("22.00"), restored.median());
+        assertEquals("3:1,22:2,40:1", restored.encode());
+    }
+}
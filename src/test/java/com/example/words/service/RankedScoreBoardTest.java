@@ -0,0 +1,78 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RankedScoreBoardTest {
+
+    @Test
+    void topShouldOrderByPointsThenStudentIdAndShareRanksOnTies() {
+        RankedScoreBoard board = new RankedScoreBoard();
+        board.put(5L, 10);
+        board.put(3L, 30);
+        board.put(4L, 10);
+        board.put(9L, 0);
+
+        List<RankedScoreBoard.Entry> top = board.top(10);
+
+        assertEquals(List.of(
+                new RankedScoreBoard.Entry(3L, 30, 1),
+                new RankedScoreBoard.Entry(4L, 10, 2),
+                new RankedScoreBoard.Entry(5L, 10, 2),
+                new RankedScoreBoard.Entry(9L, 0, 4)
+        ), top);
+        assertEquals(2, board.rank(5L));
+        assertEquals(4, board.rank(9L));
+        assertEquals(0, board.rank(404L));
+    }
+
+    @Test
+    void addShouldMoveContainedStudentsAndIgnoreOthers() {
+        RankedScoreBoard board = new RankedScoreBoard();
+        board.put(1L, 5);
+        board.put(2L, 8);
+
+        board.add(1L, 4);
+        board.add(7L, 100);
+
+        assertEquals(1, board.rank(1L));
+        assertEquals(9, board.points(1L));
+        assertEquals(2, board.size());
+        assertFalse(board.contains(7L));
+        assertEquals(List.of(new RankedScoreBoard.Entry(1L, 9, 1)), board.top(1));
+    }
+
+    @Test
+    void ranksShouldMatchSortedOrderAfterRandomUpdates() {
+        RankedScoreBoard board = new RankedScoreBoard();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int step = 0; step < 2000; step++) {
+            long studentId = random.nextInt(200);
+            long points = random.nextInt(50);
+            board.put(studentId, points);
+            expected.put(studentId, points);
+        }
+
+        List<Map.Entry<Long, Long>> sorted = expected.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .toList();
+        List<RankedScoreBoard.Entry> top = board.top(sorted.size());
+        assertEquals(sorted.size(), board.size());
+        for (int index = 0; index < sorted.size(); index++) {
+            Long studentId = sorted.get(index).getKey();
+            long higher = expected.values().stream().filter(points -> points > expected.get(studentId)).count();
+            assertEquals(studentId, top.get(index).studentId());
+            assertEquals(higher + 1, board.rank(studentId));
+            assertEquals(higher + 1, top.get(index).rank());
+        }
+    }
+}
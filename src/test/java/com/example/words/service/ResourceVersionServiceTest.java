@@ -0,0 +1,111 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.model.ResourceVersion;
+import com.example.words.repository.ResourceVersionRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceVersionServiceTest {
+
+    @Mock
+    private ResourceVersionRepository resourceVersionRepository;
+
+    private NoOpTransactionManager transactionManager;
+    private ResourceVersionService resourceVersionService;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new NoOpTransactionManager();
+        resourceVersionService = new ResourceVersionService(resourceVersionRepository, transactionManager);
+    }
+
+    @Test
+    void bumpShouldCoalesceKeysAndApplyThemInOrderBeforeCommit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            resourceVersionService.bump(ResourceVersionService.META_WORDS);
+            resourceVersionService.bumpDictionary(7L);
+            resourceVersionService.bump(ResourceVersionService.META_WORDS, ResourceVersionService.dictionaryKey(7L));
+            verify(resourceVersionRepository, never()).bump(anyString());
+        });
+
+        InOrder order = inOrder(resourceVersionRepository);
+        order.verify(resourceVersionRepository).bump("dictionary:7");
+        order.verify(resourceVersionRepository).bump(ResourceVersionService.META_WORDS);
+        verify(resourceVersionRepository, times(2)).bump(anyString());
+    }
+
+    @Test
+    void bumpShouldBeDiscardedWhenTransactionRollsBack() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            resourceVersionService.bumpVideo(3L);
+            status.setRollbackOnly();
+        });
+
+        verify(resourceVersionRepository, never()).bump(anyString());
+    }
+
+    @Test
+    void currentStampShouldCombineVersionsAndAnswerNotModified() {
+        when(resourceVersionRepository.findAllById(List.of(ResourceVersionService.DICTIONARIES, "dictionary:7")))
+                .thenReturn(List.of(new ResourceVersion("dictionary:7", 4L, LocalDateTime.of(2026, 3, 1, 8, 0))));
+
+        ResourceVersionService.VersionStamp stamp = resourceVersionService.currentStamp(
+                ResourceVersionService.DICTIONARIES,
+                ResourceVersionService.dictionaryKey(7L)
+        );
+
+        assertEquals("\"0.4\"", stamp.etag());
+        assertEquals("\"0.4-12\"", stamp.scopedTo(12L).etag());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dictionaries/7");
+        request.addHeader("If-None-Match", "\"0.4\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(stamp.checkNotModified(new ServletWebRequest(request, response)));
+        assertEquals(304, response.getStatus());
+        assertEquals("private, no-cache", response.getHeader("Cache-Control"));
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
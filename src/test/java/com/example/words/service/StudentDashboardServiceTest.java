@@ -1,99 +1,151 @@
 package com.example.words.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.dto.RecordStudyRequest;
+import com.example.words.dto.StudentDashboardRecordRequest;
+import com.example.words.dto.StudentDashboardRecordResponse;
 import com.example.words.dto.StudentDashboardResponse;
-import com.example.words.dto.StudentStudyPlanSummaryResponse;
-import com.example.words.dto.StudyTaskItemResponse;
-import com.example.words.dto.StudyTaskResponse;
 import com.example.words.model.AppUser;
-import com.example.words.model.StudentStudyPlanStatus;
+import com.example.words.model.AttentionState;
+import com.example.words.model.MetaWord;
+import com.example.words.model.StudyActionType;
+import com.example.words.model.StudyDayTaskItem;
+import com.example.words.model.StudyRecordResult;
 import com.example.words.model.StudyTaskType;
 import com.example.words.model.UserRole;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.math.BigDecimal;
+import com.example.words.repository.MetaWordRepository;
+import com.example.words.repository.StudentStudyPlanRepository;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.time.ZoneOffset;
 import java.util.List;
-import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class StudentDashboardServiceTest {
 
-    private FakeStudyPlanService studyPlanService;
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-06-22T02:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime UTC_NOW = LocalDateTime.of(2026, 6, 22, 2, 0);
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 22);
+
+    private StudyPlanService studyPlanService;
+    private StudentStudyPlanRepository studentStudyPlanRepository;
+    private MetaWordRepository metaWordRepository;
     private StudentDashboardService dashboardService;
 
     @BeforeEach
     void setUp() {
-        studyPlanService = new FakeStudyPlanService();
-        dashboardService = new StudentDashboardService(studyPlanService);
+        studyPlanService = mock(StudyPlanService.class);
+        studentStudyPlanRepository = mock(StudentStudyPlanRepository.class);
+        metaWordRepository = mock(MetaWordRepository.class);
+        dashboardService = new StudentDashboardService(
+                studyPlanService,
+                studentStudyPlanRepository,
+                metaWordRepository,
+                CLOCK
+        );
     }
 
     @Test
     void getDashboardShouldAggregateAndOrderTasksWithoutDeduplicatingWords() {
-        LocalDate today = LocalDate.of(2026, 6, 22);
-        AppUser student = student();
+        when(studentStudyPlanRepository.findDashboardQueueRows(20L, UTC_NOW)).thenReturn(List.of(
+                row(200L, 50L, "晨读计划", LocalDateTime.of(2026, 6, 20, 9, 0), 300L, 0, 1,
+                        401L, 1L, StudyTaskType.TODAY_REVIEW, TODAY, 0),
+                row(201L, 51L, "复习计划", LocalDateTime.of(2026, 6, 21, 9, 0), 301L, 1, 0,
+                        402L, 1L, StudyTaskType.OVERDUE_REVIEW, TODAY.minusDays(2), 0)
+        ));
+        when(metaWordRepository.findAllById(any())).thenReturn(List.of(metaWord(1L, "resilient")));
 
-        StudentStudyPlanSummaryResponse firstPlan = planSummary(
-                200L,
-                50L,
-                "晨读计划",
-                LocalDateTime.of(2026, 6, 20, 9, 0),
-                today
-        );
-        StudentStudyPlanSummaryResponse secondPlan = planSummary(
-                201L,
-                51L,
-                "复习计划",
-                LocalDateTime.of(2026, 6, 21, 9, 0),
-                today
-        );
-        studyPlanService.plans = List.of(firstPlan, secondPlan);
-        studyPlanService.tasks.put(200L, task(200L, today, 0, 1, 0, 0, List.of(
-                item(401L, 1L, "resilient", StudyTaskType.TODAY_REVIEW, today)
-        )));
-        studyPlanService.tasks.put(201L, task(201L, today, 1, 0, 0, 0, List.of(
-                item(402L, 1L, "resilient", StudyTaskType.OVERDUE_REVIEW, today.minusDays(2))
-        )));
-
-        StudentDashboardResponse response = dashboardService.getDashboard(student);
+        StudentDashboardResponse response = dashboardService.getDashboard(student());
 
         assertTrue(response.getHasPlans());
+        assertEquals(TODAY, response.getTaskDate());
         assertEquals(2, response.getTotalCount());
         assertEquals(2, response.getQueue().size());
         assertEquals(402L, response.getQueue().get(0).getStudyDayTaskItemId());
         assertEquals(401L, response.getQueue().get(1).getStudyDayTaskItemId());
         assertEquals(201L, response.getQueue().get(0).getStudentStudyPlanId());
         assertEquals(200L, response.getQueue().get(1).getStudentStudyPlanId());
+        assertEquals("resilient", response.getQueue().get(1).getWord());
     }
 
     @Test
     void getDashboardShouldMoveAttemptedTaskBehindUntouchedTasks() {
-        LocalDate today = LocalDate.of(2026, 6, 22);
-        StudentStudyPlanSummaryResponse plan = planSummary(
-                200L,
-                50L,
-                "晨读计划",
-                LocalDateTime.of(2026, 6, 20, 9, 0),
-                today
-        );
-        studyPlanService.plans = List.of(plan);
-        studyPlanService.tasks.put(200L, task(200L, today, 2, 0, 0, 0, List.of(
-                item(401L, 1L, "resilient", StudyTaskType.OVERDUE_REVIEW, today.minusDays(3)),
-                item(402L, 2L, "persistent", StudyTaskType.OVERDUE_REVIEW, today.minusDays(1))
-        )));
-        studyPlanService.attempts.put(200L, Map.of(1L, 1));
+        LocalDateTime publishedAt = LocalDateTime.of(2026, 6, 20, 9, 0);
+        when(studentStudyPlanRepository.findDashboardQueueRows(20L, UTC_NOW)).thenReturn(List.of(
+                row(200L, 50L, "晨读计划", publishedAt, 300L, 2, 0,
+                        401L, 1L, StudyTaskType.OVERDUE_REVIEW, TODAY.minusDays(3), 1),
+                row(200L, 50L, "晨读计划", publishedAt, 300L, 2, 0,
+                        402L, 2L, StudyTaskType.OVERDUE_REVIEW, TODAY.minusDays(1), 0)
+        ));
+        when(metaWordRepository.findAllById(any())).thenReturn(List.of());
 
         StudentDashboardResponse response = dashboardService.getDashboard(student());
 
+        assertEquals(2, response.getOverdueCount());
         assertEquals(402L, response.getQueue().get(0).getStudyDayTaskItemId());
         assertEquals(401L, response.getQueue().get(1).getStudyDayTaskItemId());
         assertEquals(1, response.getQueue().get(1).getAttemptCount());
     }
 
+    @Test
+    void getDashboardShouldGenerateMissingTodayTaskBeforeReloadingQueue() {
+        StudentStudyPlanRepository.StudentDashboardQueueRow missingTask =
+                mock(StudentStudyPlanRepository.StudentDashboardQueueRow.class);
+        when(missingTask.getStudentStudyPlanId()).thenReturn(200L);
+        when(missingTask.getTaskExpected()).thenReturn(true);
+        StudentStudyPlanRepository.StudentDashboardQueueRow completedTask = row(
+                200L, 50L, "晨读计划", LocalDateTime.of(2026, 6, 20, 9, 0), 300L, 0, 1,
+                null, null, null, null, 0);
+        when(completedTask.getCompletedCount()).thenReturn(1);
+        when(studentStudyPlanRepository.findDashboardQueueRows(20L, UTC_NOW))
+                .thenReturn(List.of(missingTask))
+                .thenReturn(List.of(completedTask));
+        AppUser student = student();
+
+        StudentDashboardResponse response = dashboardService.getDashboard(student);
+
+        verify(studyPlanService).ensureTodayTask(200L, student);
+        assertTrue(response.getAllTasksCompleted());
+        assertEquals(1, response.getCompletedCount());
+        assertTrue(response.getQueue().isEmpty());
+        assertTrue(response.getReminders().isEmpty());
+    }
+
+    @Test
+    void recordShouldReturnTheUpdatedQueueItemInsteadOfTheWholeDashboard() {
+        StudyDayTaskItem taskItem = new StudyDayTaskItem();
+        taskItem.setId(401L);
+        taskItem.setMetaWordId(1L);
+        taskItem.setAttemptCount(2);
+        when(studyPlanService.recordStudyItem(eq(200L), any(RecordStudyRequest.class), any(AppUser.class)))
+                .thenReturn(taskItem);
+        StudentDashboardRecordRequest request = new StudentDashboardRecordRequest();
+        request.setStudentStudyPlanId(200L);
+        request.setMetaWordId(1L);
+        request.setActionType(StudyActionType.REVIEW);
+        request.setResult(StudyRecordResult.INCORRECT);
+        request.setAttentionState(AttentionState.FOCUSED);
+        request.setRequestKey("dashboard-request-1");
+
+        StudentDashboardRecordResponse response = dashboardService.record(request, student());
+
+        assertEquals(200L, response.getStudentStudyPlanId());
+        assertEquals(401L, response.getStudyDayTaskItemId());
+        assertEquals(2, response.getAttemptCount());
+        assertFalse(response.getCompleted());
+    }
+
     private AppUser student() {
         AppUser student = new AppUser();
         student.setId(20L);
@@ -101,86 +153,44 @@ class StudentDashboardServiceTest {
         return student;
     }
 
-    private StudentStudyPlanSummaryResponse planSummary(
+    private MetaWord metaWord(Long id, String word) {
+        MetaWord metaWord = new MetaWord();
+        metaWord.setId(id);
+        metaWord.setWord(word);
+        return metaWord;
+    }
+
+    private StudentStudyPlanRepository.StudentDashboardQueueRow row(
             Long studentStudyPlanId,
             Long studyPlanId,
             String planName,
             LocalDateTime planPublishedAt,
-            LocalDate taskDate) {
-        StudentStudyPlanSummaryResponse response = new StudentStudyPlanSummaryResponse();
-        response.setStudentStudyPlanId(studentStudyPlanId);
-        response.setStudyPlanId(studyPlanId);
-        response.setPlanName(planName);
-        response.setPlanPublishedAt(planPublishedAt);
-        response.setStatus(StudentStudyPlanStatus.ACTIVE);
-        response.setTaskDate(taskDate);
-        return response;
-    }
-
-    private StudyTaskResponse task(
-            Long studentStudyPlanId,
-            LocalDate taskDate,
+            Long studyDayTaskId,
             int overdue,
             int review,
-            int newWords,
-            int completed,
-            List<StudyTaskItemResponse> queue) {
-        StudyTaskResponse response = new StudyTaskResponse();
-        response.setStudentStudyPlanId(studentStudyPlanId);
-        response.setTaskDate(taskDate);
-        response.setOverdueCount(overdue);
-        response.setReviewCount(review);
-        response.setNewCount(newWords);
-        response.setCompletedCount(completed);
-        response.setCompletionRate(BigDecimal.ZERO);
-        response.setQueue(queue);
-        return response;
-    }
-
-    private StudyTaskItemResponse item(
-            Long taskItemId,
+            Long studyDayTaskItemId,
             Long metaWordId,
-            String word,
             StudyTaskType taskType,
-            LocalDate dueDate) {
-        StudyTaskItemResponse response = new StudyTaskItemResponse();
-        response.setStudyDayTaskItemId(taskItemId);
-        response.setMetaWordId(metaWordId);
-        response.setWord(word);
-        response.setTaskType(taskType);
-        response.setDueDate(dueDate);
-        return response;
-    }
-
-    private static final class FakeStudyPlanService extends StudyPlanService {
-
-        private List<StudentStudyPlanSummaryResponse> plans = List.of();
-        private final Map<Long, StudyTaskResponse> tasks = new HashMap<>();
-        private final Map<Long, Map<Long, Integer>> attempts = new HashMap<>();
-
-        private FakeStudyPlanService() {
-            super(
-                    null, null, null, null, null, null, null, null, null,
-                    null, null, null, null, null, null, null, null, null, new ObjectMapper()
-            );
-        }
-
-        @Override
-        public List<StudentStudyPlanSummaryResponse> listStudentStudyPlans(AppUser actor) {
-            return plans;
-        }
-
-        @Override
-        public StudyTaskResponse getTodayTask(Long studentStudyPlanId, AppUser actor) {
-            return tasks.get(studentStudyPlanId);
-        }
-
-        @Override
-        public Map<Long, Integer> countTodayAttempts(
-                Long studentStudyPlanId,
-                LocalDate taskDate,
-                AppUser actor) {
-            return attempts.getOrDefault(studentStudyPlanId, Map.of());
-        }
+            LocalDate dueDate,
+            int attemptCount) {
+        StudentStudyPlanRepository.StudentDashboardQueueRow row =
+                mock(StudentStudyPlanRepository.StudentDashboardQueueRow.class);
+        when(row.getStudentStudyPlanId()).thenReturn(studentStudyPlanId);
+        when(row.getStudyPlanId()).thenReturn(studyPlanId);
+        when(row.getPlanName()).thenReturn(planName);
+        when(row.getPlanPublishedAt()).thenReturn(planPublishedAt);
+        when(row.getTaskDate()).thenReturn(TODAY);
+        when(row.getTaskExpected()).thenReturn(true);
+        when(row.getStudyDayTaskId()).thenReturn(studyDayTaskId);
+        when(row.getOverdueCount()).thenReturn(overdue);
+        when(row.getReviewCount()).thenReturn(review);
+        when(row.getNewCount()).thenReturn(0);
+        when(row.getCompletedCount()).thenReturn(0);
+        when(row.getStudyDayTaskItemId()).thenReturn(studyDayTaskItemId);
+        when(row.getMetaWordId()).thenReturn(metaWordId);
+        when(row.getTaskType()).thenReturn(taskType == null ? null : taskType.name());
+        when(row.getAttemptCount()).thenReturn(attemptCount);
+        when(row.getDueDate()).thenReturn(dueDate);
+        return row;
     }
 }
@@ -57,6 +57,7 @@ import org.springframework.transaction.annotation.Transactional;
         StudentPointPostingTransaction.class,
         StudentPointFailureRecorder.class,
         StudentPointLedgerService.class,
+        StudentPointDailyEarningService.class,
         StudentPointAdjustmentIdempotencyIntegrationTest.FixedClockConfiguration.class
 })
 @Transactional(propagation = Propagation.NOT_SUPPORTED)
@@ -65,6 +66,9 @@ class StudentPointAdjustmentIdempotencyIntegrationTest {
     private static final Instant NOW = Instant.parse("2026-07-22T07:00:00Z");
     private static final String REQUEST_KEY = "ad0d7910-f61a-439c-8ee4-bf6af607d065";
 
+    @MockBean
+    private StudentPointLeaderboardService leaderboardService;
+
     @Autowired
     private StudentPointAdjustmentService service;
     @Autowired
@@ -1,8 +1,11 @@
 package com.example.words.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
+import com.example.words.exception.StudentPointOperationException;
 import com.example.words.model.AppUser;
 import com.example.words.model.PointAccountStatus;
 import com.example.words.model.PointEventStatus;
@@ -18,6 +21,7 @@ import com.example.words.repository.StudentPointEventRepository;
 import com.example.words.repository.StudentPointRuleAuditRepository;
 import com.example.words.repository.StudentPointRuleRepository;
 import com.example.words.repository.StudentPointTransactionRepository;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -89,11 +93,11 @@ class StudentPointAdminQueryServiceTest {
         transaction.setBalanceAfter(5);
         transaction.setSourceType(PointSourceType.STUDY_RECORD);
         transaction.setSourceKey("study:13");
-        when(transactionRepository.findAll(org.mockito.ArgumentMatchers.any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(transaction)));
+        when(transactionRepository.findLatest(org.mockito.ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(transaction));
         when(userRepository.findAllById(List.of(42L))).thenReturn(List.of(student(42L, "student42", "小明")));
 
-        var response = service.getTransactions(0, 20).getContent().get(0);
+        var response = service.getTransactions(null, 20).content().get(0);
 
         assertEquals("student42", response.studentUsername());
         assertEquals("小明", response.studentName());
@@ -111,16 +115,58 @@ class StudentPointAdminQueryServiceTest {
         event.setPoints(5);
         event.setStatus(PointEventStatus.FAILED);
         event.setAutoAttemptCount(3);
-        when(eventRepository.findAll(org.mockito.ArgumentMatchers.any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(event)));
+        when(eventRepository.findLatest(org.mockito.ArgumentMatchers.any(Pageable.class)))
+                .thenReturn(List.of(event));
         when(userRepository.findAllById(List.of(42L))).thenReturn(List.of(student(42L, "student42", "小明")));
 
-        var response = service.getEvents(null, 0, 20).getContent().get(0);
+        var response = service.getEvents(null, null, 20).content().get(0);
 
         assertEquals("student42", response.studentUsername());
         assertEquals("小明", response.studentName());
     }
 
+    @Test
+    void eventHistorySeeksFromCursorAndReturnsNextCursorWhenMoreRowsRemain() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 8, 30, 15, 123456000);
+        String cursor = StudentPointHistoryCursor.encode(createdAt, 50L);
+        StudentPointEvent first = failedEvent(49L, createdAt);
+        StudentPointEvent second = failedEvent(48L, createdAt.minusMinutes(1));
+        when(eventRepository.findByStatusBefore(
+                org.mockito.ArgumentMatchers.eq(PointEventStatus.FAILED),
+                org.mockito.ArgumentMatchers.eq(createdAt),
+                org.mockito.ArgumentMatchers.eq(50L),
+                org.mockito.ArgumentMatchers.argThat(pageable -> pageable.getPageSize() == 2)))
+                .thenReturn(List.of(first, second));
+        when(userRepository.findAllById(List.of(42L))).thenReturn(List.of(student(42L, "student42", "小明")));
+
+        var page = service.getEvents(PointEventStatus.FAILED, cursor, 1);
+
+        assertEquals(1, page.content().size());
+        assertEquals(49L, page.content().get(0).id());
+        assertEquals(StudentPointHistoryCursor.encode(createdAt, 49L), page.nextCursor());
+        assertFalse(page.last());
+    }
+
+    @Test
+    void malformedHistoryCursorIsRejectedWithStableCode() {
+        StudentPointOperationException failure = assertThrows(
+                StudentPointOperationException.class, () -> service.getTransactions("not-a-cursor", 20));
+
+        assertEquals("INVALID_HISTORY_CURSOR", failure.getCode());
+    }
+
+    private StudentPointEvent failedEvent(Long id, LocalDateTime createdAt) {
+        StudentPointEvent event = new StudentPointEvent();
+        event.setId(id);
+        event.setStudentId(42L);
+        event.setSourceType(PointSourceType.STUDY_RECORD);
+        event.setSourceKey("study:" + id);
+        event.setPoints(1);
+        event.setStatus(PointEventStatus.FAILED);
+        event.setCreatedAt(createdAt);
+        return event;
+    }
+
     private AppUser student(Long id, String username, String displayName) {
         AppUser user = new AppUser();
         user.setId(id);
@@ -0,0 +1,90 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.words.model.PointTransactionType;
+import com.example.words.model.StudentPointDailyEarning;
+import com.example.words.model.StudentPointTransaction;
+import com.example.words.repository.StudentPointDailyEarningRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class StudentPointDailyEarningServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-04T08:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDate EARNED_DATE = LocalDate.of(2026, 3, 3);
+
+    private final StudentPointDailyEarningRepository earningRepository = mock(StudentPointDailyEarningRepository.class);
+    private final StudentPointLeaderboardService leaderboardService = mock(StudentPointLeaderboardService.class);
+
+    private StudentPointDailyEarningService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StudentPointDailyEarningService(earningRepository, leaderboardService, CLOCK);
+    }
+
+    @Test
+    void earnShouldIncrementExistingDayAndNotifyLeaderboard() {
+        when(earningRepository.addEarnedPoints(any(), any(), any(Long.class), any())).thenReturn(1);
+
+        service.recordPosted(transaction(PointTransactionType.EARN, 6));
+
+        verify(earningRepository).addEarnedPoints(42L, EARNED_DATE, 6L, LocalDateTime.now(CLOCK));
+        verify(earningRepository, never()).save(any());
+        verify(leaderboardService).recordEarned(42L, EARNED_DATE, 6L, LocalDateTime.now(CLOCK));
+    }
+
+    @Test
+    void firstEarnOfTheDayShouldInsertRow() {
+        when(earningRepository.addEarnedPoints(any(), any(), any(Long.class), any())).thenReturn(0);
+
+        service.recordPosted(transaction(PointTransactionType.EARN, 6));
+
+        ArgumentCaptor<StudentPointDailyEarning> captor = ArgumentCaptor.forClass(StudentPointDailyEarning.class);
+        verify(earningRepository).save(captor.capture());
+        assertEquals(42L, captor.getValue().getStudentId());
+        assertEquals(EARNED_DATE, captor.getValue().getEarnedDate());
+        assertEquals(6L, captor.getValue().getEarnedPoints());
+    }
+
+    @Test
+    void reversalShouldSubtractFromOriginalEarnDateOnly() {
+        when(earningRepository.addEarnedPoints(any(), any(), any(Long.class), any())).thenReturn(1);
+
+        service.recordReversed(transaction(PointTransactionType.EARN, 6));
+        service.recordReversed(transaction(PointTransactionType.DEDUCT, -4));
+        service.recordPosted(transaction(PointTransactionType.DEDUCT, -4));
+
+        verify(earningRepository).addEarnedPoints(42L, EARNED_DATE, -6L, LocalDateTime.now(CLOCK));
+        verify(leaderboardService).recordEarned(42L, EARNED_DATE, -6L, LocalDateTime.now(CLOCK));
+    }
+
+    @Test
+    void deductionsShouldNotTouchRollup() {
+        service.recordPosted(transaction(PointTransactionType.DEDUCT, -4));
+
+        verifyNoInteractions(earningRepository, leaderboardService);
+    }
+
+    private StudentPointTransaction transaction(PointTransactionType type, int amount) {
+        StudentPointTransaction transaction = new StudentPointTransaction();
+        transaction.setStudentId(42L);
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        transaction.setCreatedAt(EARNED_DATE.atTime(21, 30));
+        return transaction;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.model.PointEventStatus;
+import com.example.words.model.StudentPointEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StudentPointEventDispatcherTest {
+
+    @Mock
+    private StudentPointEventProcessor processor;
+
+    @Test
+    void dispatchShouldKeepEachStudentOnOneLane() {
+        RecordingLane first = new RecordingLane();
+        RecordingLane second = new RecordingLane();
+        StudentPointEventDispatcher dispatcher = new StudentPointEventDispatcher(processor, List.of(first, second));
+
+        dispatcher.dispatch(event(1L, 20L));
+        dispatcher.dispatch(event(2L, 21L));
+        dispatcher.dispatch(event(3L, 20L));
+
+        assertEquals(2, first.tasks.size());
+        assertEquals(1, second.tasks.size());
+        first.runAll();
+        second.runAll();
+        verify(processor).process(1L, StudentPointEventService.AttemptContext.auto());
+        verify(processor).process(2L, StudentPointEventService.AttemptContext.auto());
+        verify(processor).process(3L, StudentPointEventService.AttemptContext.auto());
+    }
+
+    @Test
+    void dispatchShouldSkipSettledEventsAndLeaveRejectedOnesToTheScheduler() {
+        Executor fullLane = command -> {
+            throw new RejectedExecutionException("lane full");
+        };
+        StudentPointEventDispatcher dispatcher = new StudentPointEventDispatcher(processor, List.of(fullLane));
+        StudentPointEvent settled = event(4L, 20L);
+        settled.setStatus(PointEventStatus.SUCCEEDED);
+
+        dispatcher.dispatch(settled);
+        assertDoesNotThrow(() -> dispatcher.dispatch(event(5L, 20L)));
+
+        verify(processor, never()).process(any(), any());
+    }
+
+    @Test
+    void processingFailureShouldNotEscapeTheLane() {
+        StudentPointEventDispatcher dispatcher = new StudentPointEventDispatcher(processor, List.of(Runnable::run));
+        when(processor.process(6L, StudentPointEventService.AttemptContext.auto()))
+                .thenThrow(new IllegalStateException("claim conflict"));
+
+        assertDoesNotThrow(() -> dispatcher.dispatch(event(6L, 20L)));
+    }
+
+    @Test
+    void dispatchAllShouldGroupEventsByStudent() {
+        RecordingLane lane = new RecordingLane();
+        StudentPointEventDispatcher dispatcher = new StudentPointEventDispatcher(processor, List.of(lane));
+
+        dispatcher.dispatchAll(List.of(event(7L, 20L), event(8L, 21L), event(9L, 20L)));
+
+        assertEquals(2, lane.tasks.size());
+        lane.runAll();
+        verify(processor).processBatch(List.of(7L, 9L), StudentPointEventService.AttemptContext.auto());
+        verify(processor).process(8L, StudentPointEventService.AttemptContext.auto());
+    }
+
+    private StudentPointEvent event(Long id, Long studentId) {
+        StudentPointEvent event = new StudentPointEvent();
+        event.setId(id);
+        event.setStudentId(studentId);
+        event.setStatus(PointEventStatus.PENDING);
+        return event;
+    }
+
+    private static final class RecordingLane implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        private void runAll() {
+            tasks.forEach(Runnable::run);
+        }
+    }
+}
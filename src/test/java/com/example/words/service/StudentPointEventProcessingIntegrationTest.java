@@ -6,7 +6,9 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 
 import com.example.words.exception.StudentPointOperationException;
 import com.example.words.model.PointAdjustmentStatus;
@@ -16,9 +18,11 @@ import com.example.words.model.PointEventStatus;
 import com.example.words.model.PointSourceType;
 import com.example.words.model.StudentPointAccount;
 import com.example.words.model.StudentPointAdjustmentRequest;
+import com.example.words.model.StudentPointDailyEarning;
 import com.example.words.model.StudentPointEvent;
 import com.example.words.repository.StudentPointAccountRepository;
 import com.example.words.repository.StudentPointAdjustmentRequestRepository;
+import com.example.words.repository.StudentPointDailyEarningRepository;
 import com.example.words.repository.StudentPointEventAttemptRepository;
 import com.example.words.repository.StudentPointEventRepository;
 import com.example.words.repository.StudentPointTransactionRepository;
@@ -32,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
@@ -46,6 +51,7 @@ import org.springframework.transaction.annotation.Transactional;
 })
 @Import({
         StudentPointLedgerService.class,
+        StudentPointDailyEarningService.class,
         StudentPointEventService.class,
         StudentPointEventFactory.class,
         StudentPointEventCreationTransaction.class,
@@ -61,6 +67,9 @@ class StudentPointEventProcessingIntegrationTest {
 
     private static final Instant NOW = Instant.parse("2026-07-22T02:00:00Z");
 
+    @MockBean
+    private StudentPointLeaderboardService leaderboardService;
+
     @Autowired
     private StudentPointEventService eventService;
 
@@ -88,6 +97,9 @@ class StudentPointEventProcessingIntegrationTest {
     @Autowired
     private StudentPointAdjustmentRequestRepository adjustmentRepository;
 
+    @Autowired
+    private StudentPointDailyEarningRepository dailyEarningRepository;
+
     @BeforeEach
     void setUp() {
         attemptRepository.deleteAll();
@@ -95,6 +107,7 @@ class StudentPointEventProcessingIntegrationTest {
         transactionRepository.deleteAll();
         adjustmentRepository.deleteAll();
         accountRepository.deleteAll();
+        dailyEarningRepository.deleteAll();
     }
 
     @Test
@@ -112,6 +125,11 @@ class StudentPointEventProcessingIntegrationTest {
         assertEquals(1, attemptRepository.count());
         assertEquals(PointEventAttemptStatus.SUCCEEDED,
                 attemptRepository.findByEventIdOrderByAttemptNoAsc(event.getId()).get(0).getStatus());
+        StudentPointDailyEarning earning = dailyEarningRepository.findAll().get(0);
+        assertEquals(42L, earning.getStudentId());
+        assertEquals(1L, earning.getEarnedPoints());
+        verify(leaderboardService).recordEarned(
+                eq(42L), eq(earning.getEarnedDate()), eq(1L), any());
     }
 
     @Test
@@ -149,6 +167,7 @@ class StudentPointEventProcessingIntegrationTest {
         assertEquals(0, accountRepository.findById(account.getId()).orElseThrow().getAvailablePoints());
         assertEquals(0, transactionRepository.count());
         assertEquals(0, attemptRepository.count());
+        assertEquals(0, dailyEarningRepository.count());
         StudentPointEvent reloadedEvent = eventRepository.findById(event.getId()).orElseThrow();
         assertEquals(PointEventStatus.PROCESSING, reloadedEvent.getStatus());
         assertNull(reloadedEvent.getTransactionId());
@@ -15,6 +15,7 @@ import com.example.words.model.StudentPointEvent;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -99,6 +100,47 @@ class StudentPointEventProcessorTest {
         verify(postingTransaction, never()).post(any(), any());
     }
 
+    @Test
+    void processBatchShouldPostClaimedEventsTogether() {
+        StudentPointEventService.AttemptContext context = StudentPointEventService.AttemptContext.auto();
+        when(eventService.claim(10L, context, CLOCK.instant())).thenReturn(event(10L, PointEventStatus.PROCESSING));
+        when(eventService.claim(11L, context, CLOCK.instant())).thenReturn(event(11L, PointEventStatus.SUCCEEDED));
+        when(eventService.claim(12L, context, CLOCK.instant())).thenReturn(event(12L, PointEventStatus.PROCESSING));
+
+        processor.processBatch(List.of(10L, 11L, 12L), context);
+
+        verify(postingTransaction).postBatch(List.of(10L, 12L), CLOCK.instant());
+        verify(postingTransaction, never()).post(any(), any());
+    }
+
+    @Test
+    void postClaimedShouldSkipClaimingAndRecordSingleEventFailure() {
+        IllegalStateException failure = new IllegalStateException("account frozen");
+        when(postingTransaction.post(20L, CLOCK.instant())).thenThrow(failure);
+
+        processor.postClaimed(List.of(20L));
+
+        verify(failureRecorder).recordFailure(20L, failure, CLOCK.instant());
+        verify(eventService, never()).claim(any(), any(), any());
+        verify(postingTransaction, never()).postBatch(any(), any());
+    }
+
+    @Test
+    void processBatchShouldFallBackToSinglePostingsWhenBatchFails() {
+        StudentPointEventService.AttemptContext context = StudentPointEventService.AttemptContext.auto();
+        IllegalStateException failure = new IllegalStateException("insufficient balance");
+        when(eventService.claim(10L, context, CLOCK.instant())).thenReturn(event(10L, PointEventStatus.PROCESSING));
+        when(eventService.claim(11L, context, CLOCK.instant())).thenReturn(event(11L, PointEventStatus.PROCESSING));
+        when(postingTransaction.postBatch(List.of(10L, 11L), CLOCK.instant())).thenThrow(failure);
+        when(postingTransaction.post(10L, CLOCK.instant())).thenReturn(event(10L, PointEventStatus.SUCCEEDED));
+        when(postingTransaction.post(11L, CLOCK.instant())).thenThrow(failure);
+
+        processor.processBatch(List.of(10L, 11L), context);
+
+        verify(failureRecorder).recordFailure(11L, failure, CLOCK.instant());
+        verify(failureRecorder, never()).recordFailure(org.mockito.ArgumentMatchers.eq(10L), any(), any());
+    }
+
     private StudentPointEvent event(Long id, PointEventStatus status) {
         StudentPointEvent event = new StudentPointEvent();
         event.setId(id);
@@ -1,48 +1,42 @@
 package com.example.words.service;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
+import com.example.words.model.StudentPointOutboxEntry;
+import com.example.words.repository.StudentPointOutboxRepository;
 import org.junit.jupiter.api.Test;
-import org.springframework.core.task.SyncTaskExecutor;
+import org.mockito.ArgumentCaptor;
 
 class StudentPointEventPublisherTest {
 
-    private final StudentPointEventService eventService = mock(StudentPointEventService.class);
-    private final StudentPointEventPublisher publisher =
-            new StudentPointEventPublisher(eventService, new SyncTaskExecutor());
+    private final StudentPointOutboxRepository outboxRepository = mock(StudentPointOutboxRepository.class);
+    private final StudentPointOutboxRelay relay = mock(StudentPointOutboxRelay.class);
+    private final StudentPointEventPublisher publisher = new StudentPointEventPublisher(outboxRepository, relay);
 
     @Test
-    void shouldCreateImmediatelyWithoutActiveTransaction() {
-        StudentPointEventPublisher.PublishRequest request = request(101L);
-
-        publisher.publishAfterCommit(request);
-
-        verify(eventService).create(new StudentPointEventService.CreateRequest(
-                20L,
-                101L,
-                "study-record:101:correct",
-                "STUDY_RECORD_CORRECT",
-                null,
-                null
-        ));
+    void shouldWriteOutboxEntryAndRequestDrainWithoutActiveTransaction() {
+        publisher.enqueue(request(101L));
+
+        ArgumentCaptor<StudentPointOutboxEntry> captor = ArgumentCaptor.forClass(StudentPointOutboxEntry.class);
+        verify(outboxRepository).save(captor.capture());
+        StudentPointOutboxEntry entry = captor.getValue();
+        assertEquals(20L, entry.getStudentId());
+        assertEquals(101L, entry.getSourceId());
+        assertEquals("study-record:101:correct", entry.getSourceKey());
+        assertEquals("STUDY_RECORD_CORRECT", entry.getRuleCode());
+        verify(relay).requestDrain();
     }
 
     @Test
-    void shouldSwallowEventCreationFailure() {
-        StudentPointEventPublisher.PublishRequest request = request(102L);
-        when(eventService.create(new StudentPointEventService.CreateRequest(
-                20L,
-                102L,
-                "study-record:102:correct",
-                "STUDY_RECORD_CORRECT",
-                null,
-                null
-        ))).thenThrow(new IllegalStateException("database unavailable"));
-
-        assertDoesNotThrow(() -> publisher.publishAfterCommit(request));
+    void shouldIgnoreInvalidRequest() {
+        publisher.enqueue(new StudentPointEventPublisher.PublishRequest(20L, 102L, " ", "RULE"));
+
+        verify(outboxRepository, never()).save(any());
+        verify(relay, never()).requestDrain();
     }
 
     private StudentPointEventPublisher.PublishRequest request(Long sourceId) {
@@ -14,6 +14,7 @@ import com.example.words.model.PointSourceType;
 import com.example.words.model.StudentPointEvent;
 import com.example.words.repository.StudentPointEventRepository;
 import java.time.Clock;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -280,6 +281,28 @@ class StudentPointEventServiceTest {
                 42L, 77L, 5, new StudentPointEventService.Actor(1L, "ADMIN"), "原因"));
     }
 
+    @Test
+    void createBatchShouldSkipInvalidDuplicateAndExistingRequests() {
+        when(eventRepository.findByIdempotencyKeyIn(any()))
+                .thenReturn(List.of(matchingRuleEvent(PointEventStatus.SUCCEEDED)));
+        StudentPointEvent created = ruleEvent(42L, 89L, "record:89", "STUDY_RECORD_CORRECT");
+        when(creationTransaction.createRuleEvents(any())).thenReturn(List.of(created));
+
+        List<StudentPointEvent> result = eventService.createBatch(List.of(
+                ruleRequest(),
+                new StudentPointEventService.CreateRequest(42L, 89L, "record:89", "STUDY_RECORD_CORRECT", null, null),
+                new StudentPointEventService.CreateRequest(42L, 89L, "record:89", "STUDY_RECORD_CORRECT", null, null),
+                new StudentPointEventService.CreateRequest(null, 90L, "record:90", "STUDY_RECORD_CORRECT", null, null)
+        ));
+
+        assertEquals(List.of(created), result);
+        ArgumentCaptor<List<StudentPointEventCreationTransaction.RuleEventRequest>> captor =
+                ArgumentCaptor.forClass(List.class);
+        verify(creationTransaction).createRuleEvents(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals("record:89:STUDY_RECORD_CORRECT", captor.getValue().get(0).idempotencyKey());
+    }
+
     private StudentPointEventService.CreateRequest ruleRequest() {
         return ruleRequest(42L, "record:88", "STUDY_RECORD_CORRECT", SYSTEM_ACTOR, "答对单词");
     }
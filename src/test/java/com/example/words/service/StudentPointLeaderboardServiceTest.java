@@ -0,0 +1,215 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.dto.StudentPointLeaderboardResponse;
+import com.example.words.model.AppUser;
+import com.example.words.model.PointLeaderboardPeriod;
+import com.example.words.repository.StudentPointDailyEarningRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StudentPointLeaderboardServiceTest {
+
+    // Wednesday; the week starts on Monday 2026-03-02.
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 4);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-04T08:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime COUNTED_AT = LocalDateTime.of(2026, 3, 4, 7, 0);
+    private static final LocalDateTime POSTED_AT = LocalDateTime.of(2026, 3, 4, 8, 0);
+
+    private final StudentPointDailyEarningRepository earningRepository = mock(StudentPointDailyEarningRepository.class);
+    private final ClassroomService classroomService = mock(ClassroomService.class);
+    private final UserService userService = mock(UserService.class);
+    private final AppUser teacher = new AppUser();
+
+    private StudentPointLeaderboardService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StudentPointLeaderboardService(earningRepository, classroomService, userService, CLOCK, 10);
+        when(earningRepository.sumEarnedBetween(TODAY, TODAY)).thenReturn(List.of(total(1L, 5), total(2L, 9)));
+        when(earningRepository.sumEarnedBetween(LocalDate.of(2026, 3, 2), TODAY))
+                .thenReturn(List.of(total(1L, 20), total(2L, 9), total(3L, 4)));
+        when(earningRepository.sumEarnedByStudent())
+                .thenReturn(List.of(total(1L, 50), total(2L, 9), total(3L, 60), total(4L, 1)));
+        when(classroomService.getStudentIdsForClassrooms(List.of(7L), teacher)).thenReturn(Set.of(1L, 2L, 3L));
+        when(userService.getUserEntities(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::user).toList();
+        });
+        service.refresh();
+    }
+
+    @Test
+    void leaderboardShouldRankOnlyClassroomMembersForEachPeriod() {
+        StudentPointLeaderboardResponse today = service.getLeaderboard(
+                7L, PointLeaderboardPeriod.TODAY, 10, 3L, teacher);
+        StudentPointLeaderboardResponse week = service.getLeaderboard(
+                7L, PointLeaderboardPeriod.WEEK, 1, null, teacher);
+        StudentPointLeaderboardResponse lifetime = service.getLeaderboard(
+                7L, PointLeaderboardPeriod.LIFETIME, 10, null, teacher);
+
+        assertEquals(3, today.participantCount());
+        assertEquals(List.of(2L, 1L, 3L), today.entries().stream().map(entry -> entry.studentId()).toList());
+        assertEquals(3, today.student().rank());
+        assertEquals(0L, today.student().points());
+        assertEquals("student-2", today.entries().get(0).studentName());
+        assertEquals(1, week.entries().size());
+        assertEquals(1L, week.entries().get(0).studentId());
+        assertNull(week.student());
+        assertEquals(List.of(3L, 1L, 2L), lifetime.entries().stream().map(entry -> entry.studentId()).toList());
+    }
+
+    @Test
+    void recordedEarningsShouldUpdateCachedBoardsByPeriod() {
+        service.getLeaderboard(7L, PointLeaderboardPeriod.TODAY, 10, null, teacher);
+
+        service.recordEarned(3L, TODAY, 10, POSTED_AT);
+        service.recordEarned(1L, LocalDate.of(2026, 3, 2), 30, POSTED_AT);
+
+        StudentPointLeaderboardResponse today = service.getLeaderboard(
+                7L, PointLeaderboardPeriod.TODAY, 10, null, teacher);
+        StudentPointLeaderboardResponse week = service.getLeaderboard(
+                7L, PointLeaderboardPeriod.WEEK, 10, null, teacher);
+        assertEquals(3L, today.entries().get(0).studentId());
+        assertEquals(10L, today.entries().get(0).points());
+        assertEquals(50L, week.entries().get(0).points());
+        assertEquals(14L, week.entries().get(1).points());
+        verify(earningRepository, times(1)).sumEarnedByStudent();
+    }
+
+    @Test
+    void membershipChangesShouldRebuildTheClassroomBoard() {
+        service.getLeaderboard(7L, PointLeaderboardPeriod.LIFETIME, 10, null, teacher);
+        when(classroomService.getStudentIdsForClassrooms(List.of(7L), teacher)).thenReturn(Set.of(1L, 4L));
+
+        StudentPointLeaderboardResponse lifetime = service.getLeaderboard(
+                7L, PointLeaderboardPeriod.LIFETIME, 10, 4L, teacher);
+
+        assertEquals(2, lifetime.participantCount());
+        assertEquals(2, lifetime.student().rank());
+        assertEquals(1L, lifetime.student().points());
+    }
+
+    @Test
+    void recordedEarningsShouldOnlyReachBoardsTheStudentBelongsTo() {
+        service.getLeaderboard(7L, PointLeaderboardPeriod.LIFETIME, 10, null, teacher);
+        when(classroomService.getStudentIdsForClassrooms(List.of(7L), teacher)).thenReturn(Set.of(1L, 4L));
+        service.getLeaderboard(7L, PointLeaderboardPeriod.LIFETIME, 10, null, teacher);
+
+        service.recordEarned(2L, TODAY, 100, POSTED_AT);
+        service.recordEarned(4L, TODAY, 100, POSTED_AT);
+
+        StudentPointLeaderboardResponse lifetime = service.getLeaderboard(
+                7L, PointLeaderboardPeriod.LIFETIME, 10, null, teacher);
+        assertEquals(List.of(4L, 1L), lifetime.entries().stream().map(entry -> entry.studentId()).toList());
+        assertEquals(101L, lifetime.entries().get(0).points());
+    }
+
+    @Test
+    void postingsShouldNotWaitForTheRefreshQueries() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(earningRepository.sumEarnedByStudent()).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return List.of(total(1L, 50));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> refresh = executor.submit(service::refresh);
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+            executor.submit(() -> service.recordEarned(3L, TODAY, 10, POSTED_AT)).get(1, TimeUnit.SECONDS);
+
+            releaseQuery.countDown();
+            refresh.get(5, TimeUnit.SECONDS);
+        } finally {
+            releaseQuery.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void postingsDuringARebuildShouldBeReplayedOntoTheRebuiltTotals() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(earningRepository.sumEarnedByStudent()).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return List.of(total(1L, 50), total(2L, 9), total(3L, 60));
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> refresh = executor.submit(service::refresh);
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            service.recordEarned(2L, TODAY, 100, POSTED_AT);
+            releaseQuery.countDown();
+            refresh.get(5, TimeUnit.SECONDS);
+        } finally {
+            releaseQuery.countDown();
+            executor.shutdownNow();
+        }
+
+        StudentPointLeaderboardResponse lifetime = service.getLeaderboard(
+                7L, PointLeaderboardPeriod.LIFETIME, 10, null, teacher);
+        assertEquals(2L, lifetime.entries().get(0).studentId());
+        assertEquals(109L, lifetime.entries().get(0).points());
+    }
+
+    @Test
+    void postingsAlreadyCountedByTheRebuildShouldNotBeAppliedAgain() {
+        service.recordEarned(3L, TODAY, 10, COUNTED_AT);
+        service.recordEarned(3L, TODAY, 10, COUNTED_AT.minusMinutes(1));
+
+        StudentPointLeaderboardResponse lifetime = service.getLeaderboard(
+                7L, PointLeaderboardPeriod.LIFETIME, 10, null, teacher);
+        assertEquals(60L, lifetime.entries().get(0).points());
+    }
+
+    private AppUser user(Long id) {
+        AppUser user = new AppUser();
+        user.setId(id);
+        user.setDisplayName("student-" + id);
+        return user;
+    }
+
+    private StudentPointDailyEarningRepository.EarnedTotal total(Long studentId, long points) {
+        return new StudentPointDailyEarningRepository.EarnedTotal() {
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public Long getTotal() {
+                return points;
+            }
+
+            @Override
+            public LocalDateTime getLastUpdatedAt() {
+                return COUNTED_AT;
+            }
+        };
+    }
+}
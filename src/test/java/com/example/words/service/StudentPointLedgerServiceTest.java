@@ -21,6 +21,7 @@ import com.example.words.model.StudentPointTransaction;
 import com.example.words.repository.StudentPointAccountRepository;
 import com.example.words.repository.StudentPointAdjustmentRequestRepository;
 import com.example.words.repository.StudentPointTransactionRepository;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
@@ -49,6 +50,9 @@ class StudentPointLedgerServiceTest {
     @Mock
     private StudentPointAdjustmentRequestRepository adjustmentRequestRepository;
 
+    @Mock
+    private StudentPointDailyEarningService dailyEarningService;
+
     private StudentPointLedgerService ledgerService;
 
     @BeforeEach
@@ -56,7 +60,8 @@ class StudentPointLedgerServiceTest {
         ledgerService = new StudentPointLedgerService(
                 accountRepository,
                 transactionRepository,
-                adjustmentRequestRepository
+                adjustmentRequestRepository,
+                dailyEarningService
         );
         AtomicLong transactionIds = new AtomicLong(100L);
         lenient().when(transactionRepository.saveAndFlush(any(StudentPointTransaction.class)))
@@ -98,6 +103,7 @@ class StudentPointLedgerServiceTest {
         assertEquals(25, account.getLifetimeEarnedPoints());
         assertEquals(5, account.getLifetimeSpentPoints());
         verify(accountRepository).save(account);
+        verify(dailyEarningService).recordPosted(result);
     }
 
     @Test
@@ -114,6 +120,7 @@ class StudentPointLedgerServiceTest {
         verify(accountRepository, never()).findByStudentIdForUpdate(any());
         verify(accountRepository, never()).save(any());
         verify(transactionRepository, never()).saveAndFlush(any());
+        verify(dailyEarningService, never()).recordPosted(any());
     }
 
     @Test
@@ -334,6 +341,7 @@ class StudentPointLedgerServiceTest {
         assertEquals(5, account.getAvailablePoints());
         assertEquals(30, account.getLifetimeEarnedPoints());
         assertEquals(4, account.getLifetimeSpentPoints());
+        verify(dailyEarningService).recordReversed(original);
     }
 
     @Test
@@ -476,6 +484,64 @@ class StudentPointLedgerServiceTest {
                 () -> ledgerService.reverse(77L, ADMIN_ACTOR, "调整单状态错误"));
     }
 
+    @Test
+    void postBatchShouldChainBalancesUnderOneLockAndReplayExistingKeys() {
+        StudentPointAccount account = account(7L, 42L, 10, 0, 20, 5, PointAccountStatus.ACTIVE);
+        StudentPointTransaction existing = matchingTransaction(81L, 42L, 5, "batch:1");
+        when(transactionRepository.findByIdempotencyKeyIn(any()))
+                .thenReturn(List.of(existing))
+                .thenReturn(List.of());
+        when(accountRepository.findByStudentIdForUpdate(42L)).thenReturn(Optional.of(account));
+
+        List<StudentPointTransaction> results = ledgerService.postBatch(List.of(
+                postRequest(42L, 5, "batch:1"),
+                postRequest(42L, 3, "batch:2"),
+                postRequest(42L, -2, "batch:3"),
+                postRequest(42L, 3, "batch:2")
+        ));
+
+        assertEquals(4, results.size());
+        assertSame(existing, results.get(0));
+        assertEquals(10, results.get(1).getBalanceBefore());
+        assertEquals(13, results.get(1).getBalanceAfter());
+        assertEquals(PointTransactionType.DEDUCT, results.get(2).getTransactionType());
+        assertEquals(13, results.get(2).getBalanceBefore());
+        assertEquals(11, results.get(2).getBalanceAfter());
+        assertSame(results.get(1), results.get(3));
+        assertEquals(11, account.getAvailablePoints());
+        assertEquals(23, account.getLifetimeEarnedPoints());
+        assertEquals(7, account.getLifetimeSpentPoints());
+        ArgumentCaptor<List<StudentPointTransaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAllAndFlush(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        verify(accountRepository).save(account);
+        verify(dailyEarningService).recordPosted(results.get(1));
+        verify(dailyEarningService).recordPosted(results.get(2));
+        verify(dailyEarningService, never()).recordPosted(existing);
+    }
+
+    @Test
+    void postBatchShouldRejectRequestsForDifferentStudents() {
+        assertCode("POINT_BATCH_STUDENT_MISMATCH", () -> ledgerService.postBatch(List.of(
+                postRequest(42L, 5, "batch:1"),
+                postRequest(43L, 5, "batch:2")
+        )));
+        verify(accountRepository, never()).findByStudentIdForUpdate(any());
+    }
+
+    @Test
+    void postBatchShouldRejectWholeBatchWhenBalanceWouldGoNegative() {
+        StudentPointAccount account = account(7L, 42L, 2, 0, 2, 0, PointAccountStatus.ACTIVE);
+        when(transactionRepository.findByIdempotencyKeyIn(any())).thenReturn(List.of());
+        when(accountRepository.findByStudentIdForUpdate(42L)).thenReturn(Optional.of(account));
+
+        assertCode("INSUFFICIENT_POINTS", () -> ledgerService.postBatch(List.of(
+                postRequest(42L, 1, "batch:1"),
+                postRequest(42L, -5, "batch:2")
+        )));
+        verify(transactionRepository, never()).saveAllAndFlush(any());
+    }
+
     private void prepareReversal(StudentPointTransaction original, StudentPointAccount account) {
         when(transactionRepository.findByIdempotencyKey("reverse:" + original.getId())).thenReturn(Optional.empty());
         when(transactionRepository.findById(original.getId())).thenReturn(Optional.of(original));
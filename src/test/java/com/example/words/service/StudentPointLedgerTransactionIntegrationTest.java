@@ -20,6 +20,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -37,6 +38,9 @@ class StudentPointLedgerTransactionIntegrationTest {
     private static final StudentPointLedgerService.Actor ADMIN_ACTOR =
             new StudentPointLedgerService.Actor(1L, "ADMIN");
 
+    @MockBean
+    private StudentPointDailyEarningService dailyEarningService;
+
     @Autowired
     private StudentPointLedgerService ledgerService;
 
@@ -27,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.transaction.annotation.Propagation;
@@ -40,6 +41,7 @@ import org.springframework.transaction.annotation.Transactional;
         StudentPointAdjustmentTransaction.class,
         StudentPointAdminTransaction.class,
         StudentPointLedgerService.class,
+        StudentPointDailyEarningService.class,
         StudentPointEventFactory.class,
         StudentPointEventCreationTransaction.class,
         StudentPointEventService.class,
@@ -54,6 +56,9 @@ class StudentPointManualWorkflowTransactionIntegrationTest {
     private static final Instant NOW = Instant.parse("2026-07-22T04:00:00Z");
     private static final AtomicLong REQUEST_SEQUENCE = new AtomicLong();
 
+    @MockBean
+    private StudentPointLeaderboardService leaderboardService;
+
     @Autowired
     private StudentPointAdjustmentTransaction adjustmentTransaction;
 
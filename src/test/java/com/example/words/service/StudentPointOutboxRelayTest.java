@@ -0,0 +1,121 @@
+package com.example.words.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.model.PointEventStatus;
+import com.example.words.model.StudentPointEvent;
+import com.example.words.model.StudentPointOutboxEntry;
+import com.example.words.repository.StudentPointOutboxRepository;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class StudentPointOutboxRelayTest {
+
+    private static final PageRequest BATCH = PageRequest.of(0, StudentPointOutboxRelay.BATCH_SIZE);
+
+    @Mock
+    private StudentPointOutboxRepository outboxRepository;
+
+    @Mock
+    private StudentPointEventService eventService;
+
+    @Mock
+    private StudentPointEventDispatcher dispatcher;
+
+    private StudentPointOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new StudentPointOutboxRelay(
+                outboxRepository,
+                eventService,
+                dispatcher,
+                new SyncTaskExecutor(),
+                new NoOpTransactionManager()
+        );
+    }
+
+    @Test
+    void drainShouldCreateEventsInBatchesDeleteRowsAndDispatchCreatedEvents() {
+        List<StudentPointOutboxEntry> firstBatch = LongStream.rangeClosed(1, StudentPointOutboxRelay.BATCH_SIZE)
+                .mapToObj(this::entry)
+                .toList();
+        List<StudentPointOutboxEntry> secondBatch = List.of(entry(StudentPointOutboxRelay.BATCH_SIZE + 1L));
+        StudentPointEvent created = event(77L);
+        when(outboxRepository.lockNextBatch(BATCH)).thenReturn(firstBatch).thenReturn(secondBatch);
+        when(eventService.createBatch(any())).thenReturn(List.of(created)).thenReturn(List.of());
+
+        relay.drain();
+
+        verify(outboxRepository).deleteAllInBatch(firstBatch);
+        verify(outboxRepository).deleteAllInBatch(secondBatch);
+        verify(outboxRepository, times(2)).lockNextBatch(BATCH);
+        verify(dispatcher).dispatchAll(List.of(created));
+    }
+
+    @Test
+    void drainShouldKeepRowsWhenEventCreationFails() {
+        List<StudentPointOutboxEntry> batch = List.of(entry(1L));
+        when(outboxRepository.lockNextBatch(BATCH)).thenReturn(batch);
+        when(eventService.createBatch(any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        relay.drain();
+
+        verify(outboxRepository, never()).deleteAllInBatch(any());
+        verify(dispatcher, never()).dispatchAll(any());
+    }
+
+    private StudentPointOutboxEntry entry(long sourceId) {
+        StudentPointOutboxEntry entry = StudentPointOutboxEntry.create(
+                20L,
+                sourceId,
+                "study-record:" + sourceId + ":correct",
+                "STUDY_RECORD_CORRECT"
+        );
+        entry.setId(sourceId);
+        return entry;
+    }
+
+    private StudentPointEvent event(Long id) {
+        StudentPointEvent event = new StudentPointEvent();
+        event.setId(id);
+        event.setStudentId(20L);
+        event.setStatus(PointEventStatus.PENDING);
+        return event;
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
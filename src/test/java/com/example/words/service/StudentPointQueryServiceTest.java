@@ -1,14 +1,19 @@
 package com.example.words.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 import com.example.words.exception.StudentPointOperationException;
+import com.example.words.model.PointTransactionType;
 import com.example.words.model.StudentPointAccount;
+import com.example.words.model.StudentPointTransaction;
 import com.example.words.repository.StudentPointAccountRepository;
 import com.example.words.repository.StudentPointTransactionRepository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,11 +33,15 @@ class StudentPointQueryServiceTest {
     @Mock
     private TeacherStudentService teacherStudentService;
 
+    @Mock
+    private StudentPointDailyEarningService dailyEarningService;
+
     private StudentPointQueryService service;
 
     @BeforeEach
     void setUp() {
-        service = new StudentPointQueryService(accountRepository, transactionRepository, teacherStudentService);
+        service = new StudentPointQueryService(
+                accountRepository, transactionRepository, teacherStudentService, dailyEarningService);
     }
 
     @Test
@@ -42,8 +51,7 @@ class StudentPointQueryServiceTest {
         account.setAvailablePoints(35);
         account.setLifetimeEarnedPoints(50);
         when(accountRepository.findByStudentId(8L)).thenReturn(Optional.of(account));
-        when(transactionRepository.sumEarnedByStudentIdBetween(
-                org.mockito.ArgumentMatchers.eq(8L), any(), any())).thenReturn(12L);
+        when(dailyEarningService.todayEarned(8L)).thenReturn(12L);
 
         var response = service.getSummary(8L);
 
@@ -73,12 +81,24 @@ class StudentPointQueryServiceTest {
     }
 
     @Test
-    void transactionPagesUseStableCreatedAtAndIdOrdering() {
-        var pageable = service.page(0, 20);
-
-        assertEquals(org.springframework.data.domain.Sort.Direction.DESC,
-                pageable.getSort().getOrderFor("createdAt").getDirection());
-        assertEquals(org.springframework.data.domain.Sort.Direction.DESC,
-                pageable.getSort().getOrderFor("id").getDirection());
+    void transactionHistoryStartsAtNewestRowsAndMarksLastPage() {
+        StudentPointAccount account = StudentPointAccount.create(8L);
+        when(accountRepository.findByStudentId(8L)).thenReturn(Optional.of(account));
+        StudentPointTransaction transaction = new StudentPointTransaction();
+        transaction.setId(3L);
+        transaction.setStudentId(8L);
+        transaction.setTransactionType(PointTransactionType.EARN);
+        transaction.setAmount(2);
+        transaction.setCreatedAt(LocalDateTime.of(2025, 3, 1, 8, 0));
+        when(transactionRepository.findLatestByStudentId(
+                org.mockito.ArgumentMatchers.eq(8L),
+                org.mockito.ArgumentMatchers.argThat(pageable -> pageable.getPageSize() == 21)))
+                .thenReturn(List.of(transaction));
+
+        var page = service.getTransactions(8L, null, 20);
+
+        assertEquals(1, page.content().size());
+        assertTrue(page.last());
+        assertNull(page.nextCursor());
     }
 }
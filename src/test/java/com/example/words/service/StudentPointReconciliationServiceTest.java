@@ -1,92 +1,293 @@
 package com.example.words.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.words.dto.StudentPointReconciliationStatusResponse;
+import com.example.words.model.PointSourceType;
+import com.example.words.model.StudentPointReconciliationWatermark;
+import com.example.words.repository.StudentPointReconciliationWatermarkRepository;
 import com.example.words.repository.StudyDayTaskRepository;
 import com.example.words.repository.StudyRecordRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
 
 class StudentPointReconciliationServiceTest {
 
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-07-22T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime SETTLED = LocalDateTime.of(2026, 7, 22, 11, 0);
+    private static final LocalDateTime RECENT = LocalDateTime.of(2026, 7, 22, 11, 58);
+
     private StudyRecordRepository studyRecordRepository;
     private StudyDayTaskRepository studyDayTaskRepository;
+    private StudentPointReconciliationWatermarkRepository watermarkRepository;
     private StudentPointEventPublisher publisher;
     private StudentPointReconciliationService service;
+    private StudentPointReconciliationWatermark recordWatermark;
+    private StudentPointReconciliationWatermark taskWatermark;
 
     @BeforeEach
     void setUp() {
         studyRecordRepository = mock(StudyRecordRepository.class);
         studyDayTaskRepository = mock(StudyDayTaskRepository.class);
+        watermarkRepository = mock(StudentPointReconciliationWatermarkRepository.class);
         publisher = mock(StudentPointEventPublisher.class);
         service = new StudentPointReconciliationService(
                 studyRecordRepository,
                 studyDayTaskRepository,
-                publisher
+                watermarkRepository,
+                publisher,
+                new NoOpTransactionManager(),
+                CLOCK,
+                300
         );
+        recordWatermark = StudentPointReconciliationWatermark.start(PointSourceType.STUDY_RECORD);
+        recordWatermark.setLastCheckedId(10L);
+        taskWatermark = StudentPointReconciliationWatermark.start(PointSourceType.STUDY_TASK);
+        when(watermarkRepository.findById(PointSourceType.STUDY_RECORD)).thenReturn(Optional.of(recordWatermark));
+        when(watermarkRepository.findById(PointSourceType.STUDY_TASK)).thenReturn(Optional.of(taskWatermark));
     }
 
     @Test
-    void shouldPublishExactRequestsForMissingRecordsAndTasks() {
-        StudyRecordRepository.MissingCorrectPointSource record = recordSource(11L, 20L);
-        StudyDayTaskRepository.MissingCompletedPointSource task = taskSource(22L, 20L);
-        when(studyRecordRepository.findMissingCorrectPointSources(100))
-                .thenReturn(List.of(record));
-        when(studyDayTaskRepository.findMissingCompletedPointSources(100))
-                .thenReturn(List.of(task));
+    void shouldPublishMissingSourcesAfterWatermarkAndAdvanceIt() {
+        when(studyRecordRepository.findCorrectPointCandidatesAfter(10L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of(
+                        new RecordCandidate(11L, 20L, SETTLED, true),
+                        new RecordCandidate(12L, 20L, SETTLED, false)
+                ));
+        when(studyDayTaskRepository.findCompletedPointCandidatesAfter(0L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of(new TaskCandidate(22L, 20L, true, SETTLED, true)));
 
         service.reconcileMissingEvents();
 
-        verify(publisher).publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+        verify(publisher).enqueue(new StudentPointEventPublisher.PublishRequest(
                 20L,
                 11L,
                 "study-record:11:correct",
                 "STUDY_RECORD_CORRECT"
         ));
-        verify(publisher).publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+        verify(publisher).enqueue(new StudentPointEventPublisher.PublishRequest(
                 20L,
                 22L,
                 "study-day-task:22:completed",
                 "DAILY_TASK_COMPLETED"
         ));
+        assertEquals(12L, recordWatermark.getLastCheckedId());
+        assertEquals(1, recordWatermark.getLastPublishedCount());
+        assertEquals(22L, taskWatermark.getLastCheckedId());
+        verify(watermarkRepository).save(recordWatermark);
+        verify(watermarkRepository).save(taskWatermark);
+    }
+
+    @Test
+    void shouldNotMovePastRowsInsideGraceWindowOrTasksStillOpen() {
+        when(studyRecordRepository.findCorrectPointCandidatesAfter(10L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of(
+                        new RecordCandidate(11L, 20L, SETTLED, true),
+                        new RecordCandidate(12L, 20L, RECENT, true)
+                ));
+        when(studyDayTaskRepository.findCompletedPointCandidatesAfter(0L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of(
+                        new TaskCandidate(21L, 20L, false, SETTLED, false),
+                        new TaskCandidate(22L, 20L, true, SETTLED, true)
+                ));
+
+        service.reconcileMissingEvents();
+
+        assertEquals(11L, recordWatermark.getLastCheckedId());
+        assertEquals(0L, taskWatermark.getLastCheckedId());
+        verify(publisher).enqueue(new StudentPointEventPublisher.PublishRequest(
+                20L, 11L, "study-record:11:correct", "STUDY_RECORD_CORRECT"));
+        verify(publisher).enqueue(new StudentPointEventPublisher.PublishRequest(
+                20L, 22L, "study-day-task:22:completed", "DAILY_TASK_COMPLETED"));
+    }
+
+    @Test
+    void shouldKeepScanningTaskChunksPastOpenTasks() {
+        List<StudyDayTaskRepository.CompletedPointCandidate> fullChunk = new ArrayList<>();
+        fullChunk.add(new TaskCandidate(1L, 20L, false, SETTLED, false));
+        for (long id = 2; id <= StudentPointReconciliationService.CHUNK_SIZE; id++) {
+            fullChunk.add(new TaskCandidate(id, 20L, true, SETTLED, false));
+        }
+        long lastId = StudentPointReconciliationService.CHUNK_SIZE;
+        when(studyRecordRepository.findCorrectPointCandidatesAfter(10L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of());
+        when(studyDayTaskRepository.findCompletedPointCandidatesAfter(0L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(fullChunk);
+        when(studyDayTaskRepository.findCompletedPointCandidatesAfter(lastId, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of(new TaskCandidate(lastId + 1, 21L, true, SETTLED, true)));
+
+        service.reconcileMissingEvents();
+
+        assertEquals(0L, taskWatermark.getLastCheckedId());
+        verify(publisher).enqueue(new StudentPointEventPublisher.PublishRequest(
+                21L,
+                lastId + 1,
+                "study-day-task:" + (lastId + 1) + ":completed",
+                "DAILY_TASK_COMPLETED"
+        ));
     }
 
     @Test
-    void shouldIsolateOneSourceFailureAndContinueTheBatch() {
+    void shouldScanKeysetChunksUntilCaughtUp() {
+        List<StudyRecordRepository.CorrectPointCandidate> fullChunk = new ArrayList<>();
+        for (long id = 11; id < 11 + StudentPointReconciliationService.CHUNK_SIZE; id++) {
+            fullChunk.add(new RecordCandidate(id, 20L, SETTLED, false));
+        }
+        long lastId = 10L + StudentPointReconciliationService.CHUNK_SIZE;
+        when(studyRecordRepository.findCorrectPointCandidatesAfter(10L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(fullChunk);
+        when(studyRecordRepository.findCorrectPointCandidatesAfter(lastId, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of(new RecordCandidate(lastId + 1, 21L, SETTLED, true)));
+        when(studyDayTaskRepository.findCompletedPointCandidatesAfter(0L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of());
+
+        service.reconcileMissingEvents();
+
+        assertEquals(lastId + 1, recordWatermark.getLastCheckedId());
+        verify(publisher).enqueue(new StudentPointEventPublisher.PublishRequest(
+                21L,
+                lastId + 1,
+                "study-record:" + (lastId + 1) + ":correct",
+                "STUDY_RECORD_CORRECT"
+        ));
+    }
+
+    @Test
+    void shouldStopTheChunkAtAFailedPublishSoItIsRetried() {
         StudentPointEventPublisher.PublishRequest first = new StudentPointEventPublisher.PublishRequest(
                 20L, 11L, "study-record:11:correct", "STUDY_RECORD_CORRECT");
         StudentPointEventPublisher.PublishRequest second = new StudentPointEventPublisher.PublishRequest(
                 20L, 12L, "study-record:12:correct", "STUDY_RECORD_CORRECT");
-        StudyRecordRepository.MissingCorrectPointSource firstSource = recordSource(11L, 20L);
-        StudyRecordRepository.MissingCorrectPointSource secondSource = recordSource(12L, 20L);
-        when(studyRecordRepository.findMissingCorrectPointSources(100))
-                .thenReturn(List.of(firstSource, secondSource));
-        when(studyDayTaskRepository.findMissingCompletedPointSources(100)).thenReturn(List.of());
+        when(studyRecordRepository.findCorrectPointCandidatesAfter(10L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of(
+                        new RecordCandidate(11L, 20L, SETTLED, true),
+                        new RecordCandidate(12L, 20L, SETTLED, true)
+                ));
+        when(studyDayTaskRepository.findCompletedPointCandidatesAfter(0L, StudentPointReconciliationService.CHUNK_SIZE))
+                .thenReturn(List.of(
+                        new TaskCandidate(21L, 20L, true, SETTLED, false),
+                        new TaskCandidate(22L, 20L, true, SETTLED, true),
+                        new TaskCandidate(23L, 20L, true, SETTLED, false)
+                ));
         org.mockito.Mockito.doThrow(new IllegalStateException("missing rule"))
-                .when(publisher).publishAfterCommit(first);
+                .when(publisher).enqueue(any());
 
         service.reconcileMissingEvents();
 
-        verify(publisher).publishAfterCommit(first);
-        verify(publisher).publishAfterCommit(second);
+        verify(publisher).enqueue(first);
+        verify(publisher, never()).enqueue(second);
+        assertEquals(10L, recordWatermark.getLastCheckedId());
+        assertEquals(21L, taskWatermark.getLastCheckedId());
     }
 
-    private StudyRecordRepository.MissingCorrectPointSource recordSource(Long sourceId, Long studentId) {
-        StudyRecordRepository.MissingCorrectPointSource source =
-                mock(StudyRecordRepository.MissingCorrectPointSource.class);
-        when(source.getSourceId()).thenReturn(sourceId);
-        when(source.getStudentId()).thenReturn(studentId);
-        return source;
+    @Test
+    void statusShouldReportIdAndTimeLag() {
+        recordWatermark.setLastRunAt(SETTLED);
+        when(studyRecordRepository.findMaxId()).thenReturn(40L);
+        when(studyRecordRepository.findOldestCreatedAtAfter(10L)).thenReturn(RECENT);
+        when(studyDayTaskRepository.findMaxId()).thenReturn(null);
+
+        List<StudentPointReconciliationStatusResponse> status = service.getStatus();
+
+        assertEquals(PointSourceType.STUDY_RECORD, status.get(0).getSourceType());
+        assertEquals(30L, status.get(0).getPendingIdLag());
+        assertEquals(120L, status.get(0).getLagSeconds());
+        assertEquals(SETTLED, status.get(0).getLastRunAt());
+        assertEquals(0L, status.get(1).getPendingIdLag());
+        assertEquals(0L, status.get(1).getLagSeconds());
+        verify(publisher, never()).enqueue(any());
     }
 
-    private StudyDayTaskRepository.MissingCompletedPointSource taskSource(Long sourceId, Long studentId) {
-        StudyDayTaskRepository.MissingCompletedPointSource source =
-                mock(StudyDayTaskRepository.MissingCompletedPointSource.class);
-        when(source.getSourceId()).thenReturn(sourceId);
-        when(source.getStudentId()).thenReturn(studentId);
-        return source;
+    private record RecordCandidate(Long sourceId, Long studentId, LocalDateTime settledAt, Boolean eventMissing)
+            implements StudyRecordRepository.CorrectPointCandidate {
+
+        @Override
+        public Long getSourceId() {
+            return sourceId;
+        }
+
+        @Override
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        @Override
+        public LocalDateTime getSettledAt() {
+            return settledAt;
+        }
+
+        @Override
+        public Boolean getEventMissing() {
+            return eventMissing;
+        }
+    }
+
+    private record TaskCandidate(
+            Long sourceId,
+            Long studentId,
+            Boolean closed,
+            LocalDateTime settledAt,
+            Boolean eventMissing
+    ) implements StudyDayTaskRepository.CompletedPointCandidate {
+
+        @Override
+        public Long getSourceId() {
+            return sourceId;
+        }
+
+        @Override
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        @Override
+        public Boolean getClosed() {
+            return closed;
+        }
+
+        @Override
+        public LocalDateTime getSettledAt() {
+            return settledAt;
+        }
+
+        @Override
+        public Boolean getEventMissing() {
+            return eventMissing;
+        }
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
     }
 }
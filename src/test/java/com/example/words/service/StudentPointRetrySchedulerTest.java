@@ -1,16 +1,13 @@
 package com.example.words.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.example.words.config.StudentPointSchedulingConfig;
-import com.example.words.model.StudentPointEvent;
 import com.example.words.repository.StudentPointEventRepository;
 import java.time.Clock;
 import java.time.Instant;
@@ -36,6 +33,9 @@ class StudentPointRetrySchedulerTest {
     @Mock
     private StudentPointEventRepository eventRepository;
 
+    @Mock
+    private StudentPointEventService eventService;
+
     @Mock
     private StudentPointEventProcessor processor;
 
@@ -46,26 +46,53 @@ class StudentPointRetrySchedulerTest {
 
     @BeforeEach
     void setUp() {
-        scheduler = new StudentPointRetryScheduler(eventRepository, processor, failureRecorder, CLOCK);
+        scheduler = new StudentPointRetryScheduler(
+                eventRepository, eventService, processor, failureRecorder, Runnable::run, CLOCK);
     }
 
     @Test
-    void retryDueEventsShouldIsolatePerEventFailures() {
-        when(eventRepository.findDueEventIds(NOW, 3, PageRequest.of(0, 100)))
-                .thenReturn(List.of(1L, 2L, 3L));
-        doAnswer(invocation -> {
-            if (invocation.getArgument(0, Long.class).equals(2L)) {
-                throw new IllegalStateException("one event failed");
-            }
-            return new StudentPointEvent();
-        }).when(processor).process(
-                anyLong(), eq(StudentPointEventService.AttemptContext.auto()));
+    void retryDueEventsShouldPostClaimedEventsPerStudentAndIsolateFailures() {
+        when(eventService.claimDueBatch(100, CLOCK.instant()))
+                .thenReturn(List.of(claimed(1L, 7L), claimed(2L, 8L), claimed(3L, 7L)));
+        doThrow(new IllegalStateException("one student failed"))
+                .when(processor).postClaimed(List.of(1L, 3L));
 
         scheduler.retryDueEvents();
 
-        verify(processor).process(1L, StudentPointEventService.AttemptContext.auto());
-        verify(processor).process(2L, StudentPointEventService.AttemptContext.auto());
-        verify(processor).process(3L, StudentPointEventService.AttemptContext.auto());
+        verify(processor).postClaimed(List.of(1L, 3L));
+        verify(processor).postClaimed(List.of(2L));
+        verify(eventService).claimDueBatch(100, CLOCK.instant());
+    }
+
+    @Test
+    void retryDueEventsShouldKeepClaimingWhileBatchesAreFull() {
+        List<StudentPointEventRepository.ClaimedEvent> full = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            full.add(claimed(id, id));
+        }
+        when(eventService.claimDueBatch(100, CLOCK.instant()))
+                .thenReturn(full)
+                .thenReturn(List.of(claimed(101L, 5L)));
+
+        scheduler.retryDueEvents();
+
+        verify(processor).postClaimed(List.of(100L));
+        verify(processor).postClaimed(List.of(101L));
+        verify(eventService, times(2)).claimDueBatch(100, CLOCK.instant());
+    }
+
+    @Test
+    void retryDueEventsShouldStopAfterTheBatchLimitOfOneRun() {
+        List<StudentPointEventRepository.ClaimedEvent> full = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            full.add(claimed(id, id));
+        }
+        when(eventService.claimDueBatch(100, CLOCK.instant())).thenReturn(full);
+
+        scheduler.retryDueEvents();
+
+        verify(eventService, times(StudentPointRetryScheduler.MAX_BATCHES_PER_RUN))
+                .claimDueBatch(100, CLOCK.instant());
     }
 
     @Test
@@ -163,4 +190,18 @@ class StudentPointRetrySchedulerTest {
 
         assertEquals(ZoneId.systemDefault(), productionClock.getZone());
     }
+
+    private StudentPointEventRepository.ClaimedEvent claimed(Long id, Long studentId) {
+        return new StudentPointEventRepository.ClaimedEvent() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+        };
+    }
 }
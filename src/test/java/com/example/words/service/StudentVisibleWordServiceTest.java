@@ -0,0 +1,125 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.model.AppUser;
+import com.example.words.model.UserRole;
+import com.example.words.repository.DictionaryWordRepository;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StudentVisibleWordServiceTest {
+
+    @Mock
+    private AuthorizationContextService authorizationContextService;
+
+    @Mock
+    private DictionaryWordRepository dictionaryWordRepository;
+
+    private StudentVisibleWordService studentVisibleWordService;
+
+    @BeforeEach
+    void setUp() {
+        studentVisibleWordService = new StudentVisibleWordService(
+                authorizationContextService,
+                dictionaryWordRepository,
+                30_000L,
+                100
+        );
+    }
+
+    @Test
+    void isVisibleShouldAnswerRepeatedChecksFromTheCachedWordSet() {
+        AppUser student = user(7L, UserRole.STUDENT);
+        when(authorizationContextService.getContext(student)).thenReturn(context(Set.of(44L, 45L)));
+        when(dictionaryWordRepository.findDistinctMetaWordIdsByDictionaryIdIn(Set.of(44L, 45L)))
+                .thenReturn(List.of(11L, 12L, 30L));
+
+        assertTrue(studentVisibleWordService.isVisible(student, 11L));
+        assertTrue(studentVisibleWordService.isVisible(student, 30L));
+        assertTrue(studentVisibleWordService.isVisible(student, 12L));
+
+        verify(dictionaryWordRepository, times(1)).findDistinctMetaWordIdsByDictionaryIdIn(anyCollection());
+        verify(dictionaryWordRepository, never()).existsByDictionaryIdInAndMetaWordId(anyCollection(), any());
+    }
+
+    @Test
+    void isVisibleShouldShareOneWordSetBetweenStudentsWithTheSameDictionaries() {
+        AppUser first = user(7L, UserRole.STUDENT);
+        AppUser second = user(8L, UserRole.STUDENT);
+        when(authorizationContextService.getContext(first)).thenReturn(context(Set.of(44L, 45L)));
+        when(authorizationContextService.getContext(second)).thenReturn(context(Set.of(45L, 44L)));
+        when(dictionaryWordRepository.findDistinctMetaWordIdsByDictionaryIdIn(Set.of(44L, 45L)))
+                .thenReturn(List.of(11L, 12L));
+
+        assertTrue(studentVisibleWordService.isVisible(first, 11L));
+        assertTrue(studentVisibleWordService.isVisible(second, 12L));
+
+        verify(dictionaryWordRepository, times(1)).findDistinctMetaWordIdsByDictionaryIdIn(anyCollection());
+    }
+
+    @Test
+    void isVisibleShouldConfirmMissesSoNewlyAddedWordsAreVisible() {
+        AppUser student = user(7L, UserRole.STUDENT);
+        when(authorizationContextService.getContext(student)).thenReturn(context(Set.of(44L)));
+        when(dictionaryWordRepository.findDistinctMetaWordIdsByDictionaryIdIn(Set.of(44L))).thenReturn(List.of(11L));
+        when(dictionaryWordRepository.existsByDictionaryIdInAndMetaWordId(Set.of(44L), 12L)).thenReturn(true);
+        when(dictionaryWordRepository.existsByDictionaryIdInAndMetaWordId(Set.of(44L), 99L)).thenReturn(false);
+
+        assertTrue(studentVisibleWordService.isVisible(student, 12L));
+        assertFalse(studentVisibleWordService.isVisible(student, 99L));
+    }
+
+    @Test
+    void isVisibleShouldReloadWhenAssignedDictionariesChange() {
+        AppUser student = user(7L, UserRole.STUDENT);
+        when(authorizationContextService.getContext(student))
+                .thenReturn(context(Set.of(44L)))
+                .thenReturn(context(Set.of(44L, 45L)));
+        when(dictionaryWordRepository.findDistinctMetaWordIdsByDictionaryIdIn(Set.of(44L))).thenReturn(List.of(11L));
+        when(dictionaryWordRepository.findDistinctMetaWordIdsByDictionaryIdIn(Set.of(44L, 45L)))
+                .thenReturn(List.of(11L, 20L));
+
+        assertTrue(studentVisibleWordService.isVisible(student, 11L));
+        assertTrue(studentVisibleWordService.isVisible(student, 20L));
+
+        verify(dictionaryWordRepository, times(2)).findDistinctMetaWordIdsByDictionaryIdIn(anyCollection());
+        verify(dictionaryWordRepository, never()).existsByDictionaryIdInAndMetaWordId(anyCollection(), any());
+    }
+
+    @Test
+    void isVisibleShouldRejectStudentsWithoutDictionariesAndNonStudents() {
+        AppUser student = user(7L, UserRole.STUDENT);
+        when(authorizationContextService.getContext(student)).thenReturn(context(Set.of()));
+
+        assertFalse(studentVisibleWordService.isVisible(student, 11L));
+        assertFalse(studentVisibleWordService.isVisible(user(2L, UserRole.TEACHER), 11L));
+
+        verify(dictionaryWordRepository, never()).findDistinctMetaWordIdsByDictionaryIdIn(anyCollection());
+        verify(dictionaryWordRepository, never()).existsByDictionaryIdInAndMetaWordId(anyCollection(), any());
+    }
+
+    private AuthorizationContextService.AuthorizationContext context(Set<Long> dictionaryIds) {
+        return new AuthorizationContextService.AuthorizationContext(Set.of(), Set.of(), dictionaryIds);
+    }
+
+    private AppUser user(Long id, UserRole role) {
+        AppUser user = new AppUser();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.words.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.dto.StudentWordMemoryRebuildResponse;
+import com.example.words.model.StudentWordMemoryProjectionCursor;
+import com.example.words.model.StudentWordMemorySourceType;
+import com.example.words.model.StudyRecordResult;
+import com.example.words.repository.StudentWordMemoryProjectionCursorRepository;
+import com.example.words.repository.StudentWordMemoryRepository;
+import com.example.words.repository.StudyRecordRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+class StudentWordMemoryProjectorTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-07-22T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime SETTLED = LocalDateTime.of(2026, 7, 22, 11, 59);
+    private static final LocalDateTime RECENT = LocalDateTime.of(2026, 7, 22, 11, 59, 59);
+
+    private StudyRecordRepository studyRecordRepository;
+    private StudentWordMemoryProjectionCursorRepository cursorRepository;
+    private StudentWordMemoryRepository memoryRepository;
+    private StudentWordMemoryService memoryService;
+    private StudentWordMemoryProjector projector;
+    private StudentWordMemoryProjectionCursor cursor;
+
+    @BeforeEach
+    void setUp() {
+        studyRecordRepository = mock(StudyRecordRepository.class);
+        cursorRepository = mock(StudentWordMemoryProjectionCursorRepository.class);
+        memoryRepository = mock(StudentWordMemoryRepository.class);
+        memoryService = mock(StudentWordMemoryService.class);
+        projector = new StudentWordMemoryProjector(
+                studyRecordRepository,
+                cursorRepository,
+                memoryRepository,
+                memoryService,
+                Runnable::run,
+                new NoOpTransactionManager(),
+                CLOCK,
+                5,
+                1000
+        );
+        cursor = StudentWordMemoryProjectionCursor.start(StudentWordMemorySourceType.PLAN_STUDY);
+        cursor.setLastSourceId(10L);
+        when(cursorRepository.findForUpdate(StudentWordMemorySourceType.PLAN_STUDY)).thenReturn(Optional.of(cursor));
+    }
+
+    @Test
+    void shouldProjectUnprojectedRecordsInPlanTimezoneAndAdvanceCursor() {
+        when(studyRecordRepository.findMemoryProjectionCandidatesAfter(10L, StudentWordMemoryProjector.CHUNK_SIZE))
+                .thenReturn(List.of(
+                        new Candidate(11L, 20L, 3L, "Asia/Shanghai", "CORRECT", SETTLED, false),
+                        new Candidate(12L, 20L, 4L, "Asia/Shanghai", "INCORRECT", RECENT, true),
+                        new Candidate(13L, 21L, 3L, "UTC", "SKIPPED", RECENT, false)
+                ));
+
+        projector.drain();
+
+        List<StudentWordMemoryService.PlanStudy> studies = projectedStudies();
+        assertThat(studies).containsExactly(
+                new StudentWordMemoryService.PlanStudy(
+                        11L, 20L, 3L, 10L, StudyRecordResult.CORRECT, LocalDateTime.of(2026, 7, 22, 19, 59)),
+                new StudentWordMemoryService.PlanStudy(
+                        13L, 21L, 3L, 10L, StudyRecordResult.SKIPPED, RECENT)
+        );
+        assertThat(cursor.getLastSourceId()).isEqualTo(13L);
+        assertThat(cursor.getLastProjectedAt()).isEqualTo(LocalDateTime.now(CLOCK));
+        verify(cursorRepository).save(cursor);
+    }
+
+    @Test
+    void shouldWaitAtGapBeforeUnsettledRecordButCrossSettledGaps() {
+        when(studyRecordRepository.findMemoryProjectionCandidatesAfter(10L, StudentWordMemoryProjector.CHUNK_SIZE))
+                .thenReturn(List.of(
+                        new Candidate(12L, 20L, 3L, "UTC", "CORRECT", SETTLED, false),
+                        new Candidate(13L, 20L, 3L, "UTC", "CORRECT", SETTLED, false),
+                        new Candidate(15L, 20L, 3L, "UTC", "CORRECT", RECENT, false)
+                ));
+
+        projector.drain();
+
+        assertThat(projectedStudies())
+                .extracting(StudentWordMemoryService.PlanStudy::sourceId)
+                .containsExactly(12L, 13L);
+        assertThat(cursor.getLastSourceId()).isEqualTo(13L);
+    }
+
+    @Test
+    void shouldLeaveCursorUntouchedWhenNothingIsReady() {
+        when(studyRecordRepository.findMemoryProjectionCandidatesAfter(10L, StudentWordMemoryProjector.CHUNK_SIZE))
+                .thenReturn(List.of(new Candidate(12L, 20L, 3L, "UTC", "CORRECT", RECENT, false)));
+
+        projector.drain();
+
+        verify(memoryService, never()).projectPlanStudies(any());
+        verify(cursorRepository, never()).save(any());
+        assertThat(cursor.getLastSourceId()).isEqualTo(10L);
+    }
+
+    @Test
+    void sweepShouldProjectRecordsCommittedBehindCursor() {
+        cursor.setLastSourceId(1500L);
+        when(studyRecordRepository.findUnprojectedMemoryCandidatesBetween(500L, 1500L, StudentWordMemoryProjector.CHUNK_SIZE))
+                .thenReturn(List.of(new Candidate(1490L, 20L, 3L, "UTC", "CORRECT", SETTLED, false)));
+
+        projector.sweep();
+
+        assertThat(projectedStudies())
+                .extracting(StudentWordMemoryService.PlanStudy::sourceId)
+                .containsExactly(1490L);
+        verify(cursorRepository, never()).save(any());
+    }
+
+    @Test
+    void rebuildAllShouldReplayEveryStudentWithMemories() {
+        when(memoryRepository.findStudentIdsAfter(any(), any())).thenReturn(List.of(20L, 21L));
+        when(memoryService.rebuildFromEvents(20L)).thenReturn(3);
+        when(memoryService.rebuildFromEvents(21L)).thenReturn(2);
+
+        StudentWordMemoryRebuildResponse response = projector.rebuildAll();
+
+        assertThat(response).isEqualTo(new StudentWordMemoryRebuildResponse(2, 5));
+        verify(memoryService).rebuildFromEvents(20L);
+        verify(memoryService).rebuildFromEvents(21L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StudentWordMemoryService.PlanStudy> projectedStudies() {
+        ArgumentCaptor<List<StudentWordMemoryService.PlanStudy>> captor = ArgumentCaptor.forClass(List.class);
+        verify(memoryService).projectPlanStudies(captor.capture());
+        return captor.getValue();
+    }
+
+    private record Candidate(
+            Long sourceId,
+            Long studentId,
+            Long metaWordId,
+            String timezone,
+            String result,
+            LocalDateTime createdAt,
+            Boolean projected
+    ) implements StudyRecordRepository.MemoryProjectionCandidate {
+
+        @Override
+        public Long getSourceId() {
+            return sourceId;
+        }
+
+        @Override
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        @Override
+        public Long getMetaWordId() {
+            return metaWordId;
+        }
+
+        @Override
+        public Long getDictionaryId() {
+            return 10L;
+        }
+
+        @Override
+        public String getTimezone() {
+            return timezone;
+        }
+
+        @Override
+        public String getResult() {
+            return result;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public Boolean getProjected() {
+            return projected;
+        }
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
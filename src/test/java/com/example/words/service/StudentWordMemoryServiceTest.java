@@ -2,15 +2,16 @@ package com.example.words.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.words.dto.StudentWordMemoryResponse;
+import com.example.words.exception.BadRequestException;
 import com.example.words.model.AppUser;
-import com.example.words.model.ClassroomDictionaryAssignment;
-import com.example.words.model.ClassroomMember;
-import com.example.words.model.DictionaryWord;
 import com.example.words.model.MetaWord;
 import com.example.words.model.StudentWordMemory;
 import com.example.words.model.StudentWordMemoryEvent;
@@ -18,19 +19,21 @@ import com.example.words.model.StudentWordMemorySourceType;
 import com.example.words.model.StudyRecordResult;
 import com.example.words.model.UserRole;
 import com.example.words.model.UserStatus;
-import com.example.words.repository.ClassroomDictionaryAssignmentRepository;
-import com.example.words.repository.ClassroomMemberRepository;
-import com.example.words.repository.DictionaryAssignmentRepository;
-import com.example.words.repository.DictionaryWordRepository;
 import com.example.words.repository.MetaWordRepository;
 import com.example.words.repository.StudentWordMemoryEventRepository;
 import com.example.words.repository.StudentWordMemoryRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 
 class StudentWordMemoryServiceTest {
@@ -38,10 +41,7 @@ class StudentWordMemoryServiceTest {
     private StudentWordMemoryRepository memoryRepository;
     private StudentWordMemoryEventRepository eventRepository;
     private MetaWordRepository metaWordRepository;
-    private DictionaryAssignmentRepository dictionaryAssignmentRepository;
-    private DictionaryWordRepository dictionaryWordRepository;
-    private ClassroomMemberRepository classroomMemberRepository;
-    private ClassroomDictionaryAssignmentRepository classroomDictionaryAssignmentRepository;
+    private StudentVisibleWordService studentVisibleWordService;
     private StudentWordMemoryService service;
 
     @BeforeEach
@@ -49,40 +49,24 @@ class StudentWordMemoryServiceTest {
         memoryRepository = org.mockito.Mockito.mock(StudentWordMemoryRepository.class);
         eventRepository = org.mockito.Mockito.mock(StudentWordMemoryEventRepository.class);
         metaWordRepository = org.mockito.Mockito.mock(MetaWordRepository.class);
-        dictionaryAssignmentRepository = org.mockito.Mockito.mock(DictionaryAssignmentRepository.class);
-        dictionaryWordRepository = org.mockito.Mockito.mock(DictionaryWordRepository.class);
-        classroomMemberRepository = org.mockito.Mockito.mock(ClassroomMemberRepository.class);
-        classroomDictionaryAssignmentRepository = org.mockito.Mockito.mock(ClassroomDictionaryAssignmentRepository.class);
+        studentVisibleWordService = org.mockito.Mockito.mock(StudentVisibleWordService.class);
         service = new StudentWordMemoryService(
                 memoryRepository,
                 eventRepository,
                 metaWordRepository,
-                dictionaryAssignmentRepository,
-                dictionaryWordRepository,
-                classroomMemberRepository,
-                classroomDictionaryAssignmentRepository
+                studentVisibleWordService
         );
     }
 
     @Test
-    void recordPlanStudyMarksIncorrectWordAsAutoWrongAndWritesEvent() {
+    void projectPlanStudiesMarksIncorrectWordAsAutoWrongAndWritesEvent() {
         LocalDateTime now = LocalDateTime.of(2026, 6, 22, 9, 30);
-        when(memoryRepository.findByStudentIdAndMetaWordId(7L, 11L)).thenReturn(Optional.empty());
-        when(memoryRepository.save(any(StudentWordMemory.class))).thenAnswer(invocation -> {
-            StudentWordMemory memory = invocation.getArgument(0);
-            memory.setId(99L);
-            return memory;
-        });
+        when(memoryRepository.findByStudentIdAndMetaWordIdIn(eq(7L), any())).thenReturn(List.of());
+        assignIdsOnSave(99L);
 
-        StudentWordMemory memory = service.recordPlanStudy(
-                7L,
-                11L,
-                101L,
-                3L,
-                StudyRecordResult.INCORRECT,
-                now
-        );
+        service.projectPlanStudies(List.of(study(101L, 11L, StudyRecordResult.INCORRECT, now)));
 
+        StudentWordMemory memory = savedMemories().get(0);
         assertThat(memory.getStudentId()).isEqualTo(7L);
         assertThat(memory.getMetaWordId()).isEqualTo(11L);
         assertThat(memory.getBoxLevel()).isZero();
@@ -90,13 +74,12 @@ class StudentWordMemoryServiceTest {
         assertThat(memory.getCorrectTimes()).isZero();
         assertThat(memory.getCorrectStreak()).isZero();
         assertThat(memory.getAutoWrong()).isTrue();
+        assertThat(memory.getFavorite()).isFalse();
         assertThat(memory.getLastResult()).isEqualTo(StudyRecordResult.INCORRECT);
         assertThat(memory.getLastSource()).isEqualTo(StudentWordMemorySourceType.PLAN_STUDY);
         assertThat(memory.getNextReviewDate()).isEqualTo(now.toLocalDate());
 
-        ArgumentCaptor<StudentWordMemoryEvent> eventCaptor = ArgumentCaptor.forClass(StudentWordMemoryEvent.class);
-        verify(eventRepository).save(eventCaptor.capture());
-        StudentWordMemoryEvent event = eventCaptor.getValue();
+        StudentWordMemoryEvent event = savedEvents().get(0);
         assertThat(event.getStudentWordMemoryId()).isEqualTo(99L);
         assertThat(event.getStudentId()).isEqualTo(7L);
         assertThat(event.getMetaWordId()).isEqualTo(11L);
@@ -106,27 +89,18 @@ class StudentWordMemoryServiceTest {
         assertThat(event.getResult()).isEqualTo(StudyRecordResult.INCORRECT);
         assertThat(event.getBoxLevelBefore()).isZero();
         assertThat(event.getBoxLevelAfter()).isZero();
+        assertThat(event.getOccurredAt()).isEqualTo(now);
     }
 
     @Test
-    void recordPlanStudyTreatsSkippedWordAsAutoWrong() {
+    void projectPlanStudiesTreatsSkippedWordAsAutoWrong() {
         LocalDateTime now = LocalDateTime.of(2026, 6, 22, 9, 45);
-        when(memoryRepository.findByStudentIdAndMetaWordId(7L, 11L)).thenReturn(Optional.empty());
-        when(memoryRepository.save(any(StudentWordMemory.class))).thenAnswer(invocation -> {
-            StudentWordMemory memory = invocation.getArgument(0);
-            memory.setId(100L);
-            return memory;
-        });
+        when(memoryRepository.findByStudentIdAndMetaWordIdIn(eq(7L), any())).thenReturn(List.of());
+        assignIdsOnSave(100L);
 
-        StudentWordMemory memory = service.recordPlanStudy(
-                7L,
-                11L,
-                101L,
-                3L,
-                StudyRecordResult.SKIPPED,
-                now
-        );
+        service.projectPlanStudies(List.of(study(101L, 11L, StudyRecordResult.SKIPPED, now)));
 
+        StudentWordMemory memory = savedMemories().get(0);
         assertThat(memory.getBoxLevel()).isZero();
         assertThat(memory.getWrongTimes()).isEqualTo(1);
         assertThat(memory.getCorrectTimes()).isZero();
@@ -137,7 +111,7 @@ class StudentWordMemoryServiceTest {
     }
 
     @Test
-    void recordPlanStudyClearsAutoWrongAfterHighBoxCorrectStreak() {
+    void projectPlanStudiesClearsAutoWrongAfterHighBoxCorrectStreak() {
         LocalDateTime now = LocalDateTime.of(2026, 6, 22, 10, 0);
         StudentWordMemory existing = new StudentWordMemory();
         existing.setId(77L);
@@ -148,37 +122,83 @@ class StudentWordMemoryServiceTest {
         existing.setWrongTimes(2);
         existing.setCorrectStreak(2);
         existing.setAutoWrong(true);
+        when(memoryRepository.findByStudentIdAndMetaWordIdIn(eq(7L), any())).thenReturn(List.of(existing));
 
-        when(memoryRepository.findByStudentIdAndMetaWordId(7L, 11L)).thenReturn(Optional.of(existing));
-        when(memoryRepository.save(any(StudentWordMemory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        service.projectPlanStudies(List.of(study(102L, 11L, StudyRecordResult.CORRECT, now)));
 
-        StudentWordMemory memory = service.recordPlanStudy(
-                7L,
-                11L,
-                102L,
-                3L,
-                StudyRecordResult.CORRECT,
-                now
-        );
+        assertThat(existing.getBoxLevel()).isEqualTo(6);
+        assertThat(existing.getCorrectTimes()).isEqualTo(5);
+        assertThat(existing.getWrongTimes()).isEqualTo(2);
+        assertThat(existing.getCorrectStreak()).isEqualTo(3);
+        assertThat(existing.getAutoWrong()).isFalse();
+        assertThat(existing.getNextReviewDate()).isEqualTo(now.toLocalDate().plusDays(30));
+        assertThat(savedEvents().get(0).getStudentWordMemoryId()).isEqualTo(77L);
+    }
 
-        assertThat(memory.getBoxLevel()).isEqualTo(6);
-        assertThat(memory.getCorrectTimes()).isEqualTo(5);
-        assertThat(memory.getWrongTimes()).isEqualTo(2);
-        assertThat(memory.getCorrectStreak()).isEqualTo(3);
-        assertThat(memory.getAutoWrong()).isFalse();
-        assertThat(memory.getNextReviewDate()).isEqualTo(now.toLocalDate().plusDays(30));
+    @Test
+    void projectPlanStudiesAppliesRepeatedWordsInOrderWithOneLookupPerStudent() {
+        LocalDateTime now = LocalDateTime.of(2026, 6, 22, 10, 0);
+        when(memoryRepository.findByStudentIdAndMetaWordIdIn(eq(7L), any())).thenReturn(List.of());
+        assignIdsOnSave(120L);
+
+        service.projectPlanStudies(List.of(
+                study(201L, 11L, StudyRecordResult.CORRECT, now),
+                study(202L, 11L, StudyRecordResult.CORRECT, now.plusMinutes(1)),
+                study(203L, 11L, StudyRecordResult.INCORRECT, now.plusMinutes(2))
+        ));
+
+        verify(memoryRepository).findByStudentIdAndMetaWordIdIn(eq(7L), any());
+        StudentWordMemory memory = savedMemories().get(0);
+        assertThat(savedMemories()).hasSize(1);
+        assertThat(memory.getBoxLevel()).isEqualTo(1);
+        assertThat(memory.getCorrectTimes()).isEqualTo(2);
+        assertThat(memory.getWrongTimes()).isEqualTo(1);
+        assertThat(savedEvents())
+                .extracting(StudentWordMemoryEvent::getBoxLevelBefore, StudentWordMemoryEvent::getBoxLevelAfter)
+                .containsExactly(tuple(0, 1), tuple(1, 2), tuple(2, 1));
+        assertThat(savedEvents()).extracting(StudentWordMemoryEvent::getStudentWordMemoryId).containsOnly(120L);
+    }
+
+    @Test
+    void rebuildFromEventsReplaysEventsAndKeepsFavorite() {
+        LocalDateTime first = LocalDateTime.of(2026, 6, 20, 9, 0);
+        LocalDateTime second = LocalDateTime.of(2026, 6, 21, 9, 0);
+        StudentWordMemory drifted = new StudentWordMemory();
+        drifted.setId(77L);
+        drifted.setStudentId(7L);
+        drifted.setMetaWordId(11L);
+        drifted.setBoxLevel(6);
+        drifted.setCorrectTimes(40);
+        drifted.setWrongTimes(0);
+        drifted.setCorrectStreak(40);
+        drifted.setAutoWrong(false);
+        drifted.setFavorite(true);
+        when(memoryRepository.findByStudentId(7L)).thenReturn(List.of(drifted));
+        when(eventRepository.findByStudentIdOrderByIdAsc(7L)).thenReturn(List.of(
+                event(77L, StudyRecordResult.CORRECT, first),
+                event(77L, StudyRecordResult.INCORRECT, second)
+        ));
+
+        int rebuilt = service.rebuildFromEvents(7L);
+
+        assertThat(rebuilt).isEqualTo(1);
+        assertThat(drifted.getBoxLevel()).isZero();
+        assertThat(drifted.getCorrectTimes()).isEqualTo(1);
+        assertThat(drifted.getWrongTimes()).isEqualTo(1);
+        assertThat(drifted.getCorrectStreak()).isZero();
+        assertThat(drifted.getAutoWrong()).isTrue();
+        assertThat(drifted.getFavorite()).isTrue();
+        assertThat(drifted.getLastStudiedAt()).isEqualTo(second);
+        assertThat(drifted.getNextReviewDate()).isEqualTo(second.toLocalDate());
+        verify(memoryRepository).saveAll(any());
     }
 
     @Test
     void updateFavoriteRejectsWordsOutsideAssignedDictionaries() {
         AppUser student = student(7L);
         MetaWord metaWord = metaWord(11L, "adapt");
-        DictionaryWord dictionaryWord = new DictionaryWord();
-        dictionaryWord.setDictionaryId(44L);
-        dictionaryWord.setMetaWordId(11L);
         when(metaWordRepository.findById(11L)).thenReturn(Optional.of(metaWord));
-        when(dictionaryWordRepository.findByMetaWordId(11L)).thenReturn(List.of(dictionaryWord));
-        when(dictionaryAssignmentRepository.existsByDictionaryIdAndStudentId(44L, 7L)).thenReturn(false);
+        when(studentVisibleWordService.isVisible(student, 11L)).thenReturn(false);
 
         assertThatThrownBy(() -> service.updateFavorite(11L, true, student))
                 .isInstanceOf(AccessDeniedException.class)
@@ -191,12 +211,8 @@ class StudentWordMemoryServiceTest {
     void updateFavoriteCreatesMemoryForAssignedVisibleWord() {
         AppUser student = student(7L);
         MetaWord metaWord = metaWord(11L, "adapt");
-        DictionaryWord dictionaryWord = new DictionaryWord();
-        dictionaryWord.setDictionaryId(44L);
-        dictionaryWord.setMetaWordId(11L);
         when(metaWordRepository.findById(11L)).thenReturn(Optional.of(metaWord));
-        when(dictionaryWordRepository.findByMetaWordId(11L)).thenReturn(List.of(dictionaryWord));
-        when(dictionaryAssignmentRepository.existsByDictionaryIdAndStudentId(44L, 7L)).thenReturn(true);
+        when(studentVisibleWordService.isVisible(student, 11L)).thenReturn(true);
         when(memoryRepository.findByStudentIdAndMetaWordId(7L, 11L)).thenReturn(Optional.empty());
         when(memoryRepository.save(any(StudentWordMemory.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -208,39 +224,10 @@ class StudentWordMemoryServiceTest {
         assertThat(memory.getAutoWrong()).isFalse();
     }
 
-    @Test
-    void updateFavoriteCreatesMemoryForClassroomAssignedVisibleWord() {
-        AppUser student = student(7L);
-        MetaWord metaWord = metaWord(11L, "adapt");
-        DictionaryWord dictionaryWord = new DictionaryWord();
-        dictionaryWord.setDictionaryId(44L);
-        dictionaryWord.setMetaWordId(11L);
-        when(metaWordRepository.findById(11L)).thenReturn(Optional.of(metaWord));
-        when(dictionaryWordRepository.findByMetaWordId(11L)).thenReturn(List.of(dictionaryWord));
-        when(dictionaryAssignmentRepository.existsByDictionaryIdAndStudentId(44L, 7L)).thenReturn(false);
-        ClassroomMember classroomMember = new ClassroomMember();
-        classroomMember.setClassroomId(3L);
-        classroomMember.setStudentId(7L);
-        when(classroomMemberRepository.findByStudentId(7L)).thenReturn(List.of(classroomMember));
-        when(classroomDictionaryAssignmentRepository.existsByDictionaryIdAndClassroomIdIn(44L, List.of(3L)))
-                .thenReturn(true);
-        when(memoryRepository.findByStudentIdAndMetaWordId(7L, 11L)).thenReturn(Optional.empty());
-        when(memoryRepository.save(any(StudentWordMemory.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        StudentWordMemory memory = service.updateFavorite(11L, true, student);
-
-        assertThat(memory.getStudentId()).isEqualTo(7L);
-        assertThat(memory.getMetaWordId()).isEqualTo(11L);
-        assertThat(memory.getFavorite()).isTrue();
-    }
-
     @Test
     void updateFavoriteKeepsAutoWrongStateWhenRemovingFavorite() {
         AppUser student = student(7L);
         MetaWord metaWord = metaWord(11L, "adapt");
-        DictionaryWord dictionaryWord = new DictionaryWord();
-        dictionaryWord.setDictionaryId(44L);
-        dictionaryWord.setMetaWordId(11L);
         StudentWordMemory existing = new StudentWordMemory();
         existing.setId(80L);
         existing.setStudentId(7L);
@@ -248,8 +235,7 @@ class StudentWordMemoryServiceTest {
         existing.setAutoWrong(true);
         existing.setFavorite(true);
         when(metaWordRepository.findById(11L)).thenReturn(Optional.of(metaWord));
-        when(dictionaryWordRepository.findByMetaWordId(11L)).thenReturn(List.of(dictionaryWord));
-        when(dictionaryAssignmentRepository.existsByDictionaryIdAndStudentId(44L, 7L)).thenReturn(true);
+        when(studentVisibleWordService.isVisible(student, 11L)).thenReturn(true);
         when(memoryRepository.findByStudentIdAndMetaWordId(7L, 11L)).thenReturn(Optional.of(existing));
         when(memoryRepository.save(any(StudentWordMemory.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -260,29 +246,49 @@ class StudentWordMemoryServiceTest {
     }
 
     @Test
-    void listWrongWordsReturnsAutoWrongMemoriesWithWordDetails() {
+    void listWrongWordsPassesFiltersAndClampsPageSize() {
         AppUser student = student(7L);
-        StudentWordMemory memory = new StudentWordMemory();
-        memory.setStudentId(7L);
-        memory.setMetaWordId(11L);
-        memory.setBoxLevel(2);
-        memory.setWrongTimes(3);
-        memory.setCorrectTimes(1);
-        memory.setCorrectStreak(0);
-        memory.setAutoWrong(true);
-        memory.setFavorite(false);
-        MetaWord metaWord = metaWord(11L, "adapt");
-        metaWord.setTranslation("适应");
-        when(memoryRepository.findByStudentIdAndAutoWrongTrueOrderByUpdatedAtDesc(7L)).thenReturn(List.of(memory));
-        when(metaWordRepository.findById(11L)).thenReturn(Optional.of(metaWord));
+        StudentWordMemoryResponse response = new StudentWordMemoryResponse();
+        response.setMetaWordId(11L);
+        response.setWord("adapt");
+        response.setAutoWrong(true);
+        LocalDate due = LocalDate.of(2026, 6, 22);
+        when(memoryRepository.findWrongWordResponses(
+                eq(7L), eq(due), eq(1), eq(4), eq(new BigDecimal("20")), eq(new BigDecimal("80")), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(response)));
+
+        Page<StudentWordMemoryResponse> page = service.listWrongWords(
+                student,
+                new StudentWordMemoryService.ListingFilter(due, 1, 4, new BigDecimal("20"), new BigDecimal("80")),
+                -1,
+                500
+        );
 
-        List<com.example.words.dto.StudentWordMemoryResponse> responses = service.listWrongWords(student);
+        assertThat(page.getContent()).containsExactly(response);
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(memoryRepository).findWrongWordResponses(
+                eq(7L), eq(due), eq(1), eq(4), any(), any(), pageableCaptor.capture());
+        assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+        assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(100);
+        verify(metaWordRepository, never()).findById(any());
+    }
 
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).getMetaWordId()).isEqualTo(11L);
-        assertThat(responses.get(0).getWord()).isEqualTo("adapt");
-        assertThat(responses.get(0).getTranslation()).isEqualTo("适应");
-        assertThat(responses.get(0).getAutoWrong()).isTrue();
+    @Test
+    void listMemoriesRejectsInvertedRanges() {
+        AppUser student = student(7L);
+
+        assertThatThrownBy(() -> service.listMemories(
+                student,
+                new StudentWordMemoryService.ListingFilter(null, 4, 1, null, null),
+                0,
+                20
+        )).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.listFavoriteWords(
+                student,
+                new StudentWordMemoryService.ListingFilter(null, null, null, new BigDecimal("90"), new BigDecimal("10")),
+                0,
+                20
+        )).isInstanceOf(BadRequestException.class);
     }
 
     private AppUser student(Long id) {
@@ -303,4 +309,54 @@ class StudentWordMemoryServiceTest {
         metaWord.setDefinition("definition");
         return metaWord;
     }
+
+    private StudentWordMemoryService.PlanStudy study(
+            Long sourceId,
+            Long metaWordId,
+            StudyRecordResult result,
+            LocalDateTime occurredAt
+    ) {
+        return new StudentWordMemoryService.PlanStudy(sourceId, 7L, metaWordId, 3L, result, occurredAt);
+    }
+
+    private StudentWordMemoryEvent event(Long memoryId, StudyRecordResult result, LocalDateTime occurredAt) {
+        StudentWordMemoryEvent event = new StudentWordMemoryEvent();
+        event.setStudentWordMemoryId(memoryId);
+        event.setStudentId(7L);
+        event.setMetaWordId(11L);
+        event.setSourceType(StudentWordMemorySourceType.PLAN_STUDY);
+        event.setResult(result);
+        event.setOccurredAt(occurredAt);
+        return event;
+    }
+
+    private void assignIdsOnSave(Long firstId) {
+        when(memoryRepository.saveAll(any())).thenAnswer(invocation -> {
+            long nextId = firstId;
+            for (StudentWordMemory memory : invocation.<Iterable<StudentWordMemory>>getArgument(0)) {
+                if (memory.getId() == null) {
+                    memory.setId(nextId++);
+                }
+            }
+            return List.of();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StudentWordMemory> savedMemories() {
+        ArgumentCaptor<Iterable<StudentWordMemory>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(memoryRepository).saveAll(captor.capture());
+        List<StudentWordMemory> memories = new ArrayList<>();
+        captor.getValue().forEach(memories::add);
+        return memories;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StudentWordMemoryEvent> savedEvents() {
+        ArgumentCaptor<Iterable<StudentWordMemoryEvent>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(eventRepository).saveAll(captor.capture());
+        List<StudentWordMemoryEvent> events = new ArrayList<>();
+        captor.getValue().forEach(events::add);
+        return events;
+    }
 }
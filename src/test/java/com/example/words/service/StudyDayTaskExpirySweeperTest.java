@@ -0,0 +1,88 @@
+package com.example.words.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.repository.StudyDayTaskRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class StudyDayTaskExpirySweeperTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-07-22T16:30:00Z"), ZoneId.of("Asia/Shanghai"));
+    private static final LocalDateTime UTC_NOW = LocalDateTime.of(2026, 7, 22, 16, 30);
+
+    @Mock
+    private StudyDayTaskRepository studyDayTaskRepository;
+
+    private StudyDayTaskExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new StudyDayTaskExpirySweeper(studyDayTaskRepository, new NoOpTransactionManager(), CLOCK);
+    }
+
+    @Test
+    void sweepExpiredTasksShouldCloseTasksInChunksUntilBacklogIsDrained() {
+        List<Long> firstChunk = LongStream.rangeClosed(1, StudyDayTaskExpirySweeper.CHUNK_SIZE).boxed().toList();
+        List<Long> secondChunk = List.of(StudyDayTaskExpirySweeper.CHUNK_SIZE + 1L);
+        when(studyDayTaskRepository.lockExpiredUnfinishedTaskIds(UTC_NOW, StudyDayTaskExpirySweeper.CHUNK_SIZE))
+                .thenReturn(firstChunk)
+                .thenReturn(secondChunk);
+
+        sweeper.sweepExpiredTasks();
+
+        verify(studyDayTaskRepository).addMissedDaysForTasks(firstChunk);
+        verify(studyDayTaskRepository).closeExpiredTasks(firstChunk);
+        verify(studyDayTaskRepository).addMissedDaysForTasks(secondChunk);
+        verify(studyDayTaskRepository).closeExpiredTasks(secondChunk);
+        verify(studyDayTaskRepository, times(2)).lockExpiredUnfinishedTaskIds(UTC_NOW, StudyDayTaskExpirySweeper.CHUNK_SIZE);
+    }
+
+    @Test
+    void sweepExpiredTasksShouldSkipUpdatesWhenNothingExpired() {
+        when(studyDayTaskRepository.lockExpiredUnfinishedTaskIds(UTC_NOW, StudyDayTaskExpirySweeper.CHUNK_SIZE))
+                .thenReturn(List.of());
+
+        sweeper.sweepExpiredTasks();
+
+        verify(studyDayTaskRepository, never()).addMissedDaysForTasks(any());
+        verify(studyDayTaskRepository, never()).closeExpiredTasks(any());
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.words.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.model.StudentStudyPlanStatus;
+import com.example.words.model.StudyPlan;
+import com.example.words.model.StudyPlanStatus;
+import com.example.words.repository.StudentStudyPlanRepository;
+import com.example.words.repository.StudyDayTaskRepository;
+import com.example.words.repository.StudyPlanRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class StudyDayTaskPregenerationSchedulerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-07-22T16:30:00Z"), ZoneOffset.UTC);
+    private static final LocalDate SHANGHAI_TODAY = LocalDate.of(2026, 7, 23);
+    private static final PageRequest CHUNK = PageRequest.of(0, StudyDayTaskPregenerationScheduler.CHUNK_SIZE);
+
+    @Mock
+    private StudyPlanRepository studyPlanRepository;
+
+    @Mock
+    private StudentStudyPlanRepository studentStudyPlanRepository;
+
+    @Mock
+    private StudyDayTaskRepository studyDayTaskRepository;
+
+    @Mock
+    private StudyPlanService studyPlanService;
+
+    private StudyPlan studyPlan;
+    private StudyDayTaskPregenerationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        studyPlan = new StudyPlan();
+        studyPlan.setId(9L);
+        studyPlan.setStatus(StudyPlanStatus.PUBLISHED);
+        studyPlan.setTimezone("Asia/Shanghai");
+        when(studyPlanRepository.findByStatusOrderByIdAsc(StudyPlanStatus.PUBLISHED)).thenReturn(List.of(studyPlan));
+        when(studyPlanService.resolveZoneId(studyPlan)).thenReturn(ZoneId.of("Asia/Shanghai"));
+        when(studyPlanService.canGenerateTodayTask(studyPlan, SHANGHAI_TODAY)).thenReturn(true);
+        scheduler = new StudyDayTaskPregenerationScheduler(
+                studyPlanRepository,
+                studentStudyPlanRepository,
+                studyDayTaskRepository,
+                studyPlanService,
+                Runnable::run,
+                CLOCK
+        );
+    }
+
+    @Test
+    void pregenerateTodayTasksShouldWalkActivePlansInIdChunksOncePerLocalDay() {
+        List<Long> firstChunk = LongStream.rangeClosed(1, StudyDayTaskPregenerationScheduler.CHUNK_SIZE).boxed().toList();
+        long lastId = StudyDayTaskPregenerationScheduler.CHUNK_SIZE;
+        when(studentStudyPlanRepository.findIdsByStudyPlanIdAndStatusAfter(9L, StudentStudyPlanStatus.ACTIVE, 0L, CHUNK))
+                .thenReturn(firstChunk);
+        when(studentStudyPlanRepository.findIdsByStudyPlanIdAndStatusAfter(9L, StudentStudyPlanStatus.ACTIVE, lastId, CHUNK))
+                .thenReturn(List.of(lastId + 1));
+        when(studyDayTaskRepository.findStudentStudyPlanIdsWithTaskOn(firstChunk, SHANGHAI_TODAY))
+                .thenReturn(List.of(1L, 2L));
+        when(studyDayTaskRepository.findStudentStudyPlanIdsWithTaskOn(List.of(lastId + 1), SHANGHAI_TODAY))
+                .thenReturn(List.of());
+
+        scheduler.pregenerateTodayTasks();
+        scheduler.pregenerateTodayTasks();
+
+        verify(studyPlanService, never()).pregenerateTodayTask(eq(1L), any(), any());
+        verify(studyPlanService, never()).pregenerateTodayTask(eq(2L), any(), any());
+        verify(studyPlanService).pregenerateTodayTask(3L, studyPlan, SHANGHAI_TODAY);
+        verify(studyPlanService).pregenerateTodayTask(lastId + 1, studyPlan, SHANGHAI_TODAY);
+        verify(studyPlanService, times(StudyDayTaskPregenerationScheduler.CHUNK_SIZE - 1))
+                .pregenerateTodayTask(anyLong(), eq(studyPlan), eq(SHANGHAI_TODAY));
+        verify(studyDayTaskRepository, times(2)).findStudentStudyPlanIdsWithTaskOn(anyList(), eq(SHANGHAI_TODAY));
+    }
+
+    @Test
+    void pregenerateTodayTasksShouldRetryPlanWhenAStudentFails() {
+        when(studentStudyPlanRepository.findIdsByStudyPlanIdAndStatusAfter(9L, StudentStudyPlanStatus.ACTIVE, 0L, CHUNK))
+                .thenReturn(List.of(4L, 5L));
+        when(studyDayTaskRepository.findStudentStudyPlanIdsWithTaskOn(List.of(4L, 5L), SHANGHAI_TODAY))
+                .thenReturn(List.of());
+        doThrow(new IllegalStateException("generation failed"))
+                .when(studyPlanService).pregenerateTodayTask(4L, studyPlan, SHANGHAI_TODAY);
+
+        scheduler.pregenerateTodayTasks();
+        scheduler.pregenerateTodayTasks();
+
+        verify(studyPlanService, times(2)).pregenerateTodayTask(4L, studyPlan, SHANGHAI_TODAY);
+        verify(studyPlanService, times(2)).pregenerateTodayTask(5L, studyPlan, SHANGHAI_TODAY);
+    }
+}
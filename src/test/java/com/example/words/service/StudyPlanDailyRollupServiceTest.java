@@ -0,0 +1,155 @@
+package com.example.words.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.words.model.StudentStudyPlan;
+import com.example.words.model.StudyDayTask;
+import com.example.words.model.StudyDayTaskStatus;
+import com.example.words.repository.StudyPlanDailyRollupRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class StudyPlanDailyRollupServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-07-22T08:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDate TASK_DATE = LocalDate.of(2026, 7, 22);
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 7, 22, 8, 0);
+
+    @Mock
+    private StudyPlanDailyRollupRepository studyPlanDailyRollupRepository;
+
+    private StudentStudyPlan studentStudyPlan;
+    private StudyPlanDailyRollupService studyPlanDailyRollupService;
+
+    @BeforeEach
+    void setUp() {
+        studentStudyPlan = new StudentStudyPlan();
+        studentStudyPlan.setId(200L);
+        studentStudyPlan.setStudyPlanId(55L);
+        studentStudyPlan.setClassroomId(100L);
+        studyPlanDailyRollupService = new StudyPlanDailyRollupService(
+                studyPlanDailyRollupRepository,
+                new NoOpTransactionManager(),
+                CLOCK
+        );
+    }
+
+    @Test
+    void recordTaskChangeShouldMoveTaskBetweenBucketsForPlanAndClassroom() {
+        StudyDayTask task = task(StudyDayTaskStatus.IN_PROGRESS, 1, "50.00", 12);
+        StudyPlanDailyRollupService.TaskSnapshot before = StudyPlanDailyRollupService.TaskSnapshot.of(task);
+        task.setStatus(StudyDayTaskStatus.COMPLETED);
+        task.setCompletedCount(2);
+        task.setCompletionRate(new BigDecimal("100.00"));
+        task.setTotalFocusSeconds(20);
+
+        studyPlanDailyRollupService.recordTaskChange(studentStudyPlan, before, task, 1);
+        studyPlanDailyRollupService.flushPendingDeltas();
+
+        verify(studyPlanDailyRollupRepository).applyDelta(
+                55L, 0L, TASK_DATE, 0, 0, -1, 1, 0,
+                new BigDecimal("50.00"), BigDecimal.ZERO, 8L, 1, NOW);
+        verify(studyPlanDailyRollupRepository).applyDelta(
+                55L, 100L, TASK_DATE, 0, 0, -1, 1, 0,
+                new BigDecimal("50.00"), BigDecimal.ZERO, 8L, 1, NOW);
+    }
+
+    @Test
+    void recordTaskChangeShouldCountGeneratedTaskAndSkipUnchangedTask() {
+        studentStudyPlan.setClassroomId(null);
+        StudyDayTask task = task(StudyDayTaskStatus.NOT_STARTED, 0, "0.00", 0);
+
+        studyPlanDailyRollupService.recordTaskChange(studentStudyPlan, null, task, 0);
+        studyPlanDailyRollupService.recordTaskChange(
+                studentStudyPlan, StudyPlanDailyRollupService.TaskSnapshot.of(task), task, 0);
+        studyPlanDailyRollupService.flushPendingDeltas();
+
+        verify(studyPlanDailyRollupRepository).applyDelta(
+                55L, 0L, TASK_DATE, 1, 1, 0, 0, 0,
+                new BigDecimal("0.00"), BigDecimal.ZERO, 0L, 0, NOW);
+        verify(studyPlanDailyRollupRepository, times(1)).applyDelta(
+                any(), any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                any(), any(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void flushPendingDeltasShouldFoldAnswersIntoOneWritePerRollupRow() {
+        studentStudyPlan.setClassroomId(null);
+        StudyDayTask task = task(StudyDayTaskStatus.NOT_STARTED, 0, "0.00", 0);
+        StudyPlanDailyRollupService.TaskSnapshot generated = StudyPlanDailyRollupService.TaskSnapshot.of(task);
+        task.setStatus(StudyDayTaskStatus.IN_PROGRESS);
+        task.setCompletedCount(1);
+        task.setCompletionRate(new BigDecimal("50.00"));
+        task.setTotalFocusSeconds(10);
+        studyPlanDailyRollupService.recordTaskChange(studentStudyPlan, generated, task, 1);
+        StudyPlanDailyRollupService.TaskSnapshot firstAnswer = StudyPlanDailyRollupService.TaskSnapshot.of(task);
+        task.setStatus(StudyDayTaskStatus.COMPLETED);
+        task.setCompletedCount(2);
+        task.setCompletionRate(new BigDecimal("100.00"));
+        task.setTotalFocusSeconds(25);
+        studyPlanDailyRollupService.recordTaskChange(studentStudyPlan, firstAnswer, task, 1);
+
+        verify(studyPlanDailyRollupRepository, never()).applyDelta(
+                any(), any(), any(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                any(), any(), anyLong(), anyInt(), any());
+
+        studyPlanDailyRollupService.flushPendingDeltas();
+        studyPlanDailyRollupService.flushPendingDeltas();
+
+        verify(studyPlanDailyRollupRepository).applyDelta(
+                55L, 0L, TASK_DATE, 0, -1, 0, 1, 0,
+                new BigDecimal("100.00"), BigDecimal.ZERO, 25L, 2, NOW);
+    }
+
+    private StudyDayTask task(StudyDayTaskStatus status, int completedCount, String completionRate, int focusSeconds) {
+        StudyDayTask task = new StudyDayTask();
+        task.setStudentStudyPlanId(200L);
+        task.setTaskDate(TASK_DATE);
+        task.setNewCount(2);
+        task.setReviewCount(0);
+        task.setOverdueCount(0);
+        task.setCompletedCount(completedCount);
+        task.setCompletionRate(new BigDecimal(completionRate));
+        task.setTotalFocusSeconds(focusSeconds);
+        task.setStatus(status);
+        return task;
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
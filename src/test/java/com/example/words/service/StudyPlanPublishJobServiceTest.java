@@ -0,0 +1,216 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.dto.StudyPlanPublishJobResponse;
+import com.example.words.exception.ConflictException;
+import com.example.words.model.AppUser;
+import com.example.words.model.StudyPlan;
+import com.example.words.model.StudyPlanPublishJob;
+import com.example.words.model.StudyPlanPublishJobStatus;
+import com.example.words.model.StudyPlanStatus;
+import com.example.words.model.UserRole;
+import com.example.words.repository.StudyPlanPublishJobRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class StudyPlanPublishJobServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-07-22T16:30:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private StudyPlanPublishJobRepository studyPlanPublishJobRepository;
+
+    @Mock
+    private StudyPlanService studyPlanService;
+
+    @Mock
+    private StudyDayTaskPregenerationScheduler pregenerationScheduler;
+
+    private AppUser teacher;
+    private StudyPlanPublishJob storedJob;
+    private StudyPlanPublishJobService studyPlanPublishJobService;
+
+    @BeforeEach
+    void setUp() {
+        teacher = new AppUser();
+        teacher.setId(7L);
+        teacher.setRole(UserRole.TEACHER);
+        studyPlanPublishJobService = new StudyPlanPublishJobService(
+                studyPlanPublishJobRepository,
+                studyPlanService,
+                pregenerationScheduler,
+                Runnable::run,
+                new NoOpTransactionManager(),
+                CLOCK,
+                1_800_000L
+        );
+    }
+
+    @Test
+    void startPublishShouldEnrollStudentsInChunksAndReportProgress() {
+        List<Long> studentIds = LongStream.rangeClosed(1, StudyPlanPublishJobService.CHUNK_SIZE + 1).boxed().toList();
+        StudyPlan studyPlan = studyPlan();
+        when(studyPlanService.resolvePublishStudentIds(55L, teacher)).thenReturn(studentIds);
+        stubJobStorage();
+        when(studyPlanService.markPublished(55L)).thenReturn(studyPlan);
+
+        StudyPlanPublishJobResponse response = studyPlanPublishJobService.startPublish(55L, false, teacher);
+
+        assertEquals(StudyPlanPublishJobStatus.SUCCEEDED, response.getStatus());
+        assertEquals(studentIds.size(), response.getTotalStudents());
+        assertEquals(studentIds.size(), response.getEnrolledStudents());
+        verify(studyPlanService).enrollPublishStudents(
+                55L, studentIds.subList(0, StudyPlanPublishJobService.CHUNK_SIZE), teacher);
+        verify(studyPlanService).enrollPublishStudents(
+                55L, studentIds.subList(StudyPlanPublishJobService.CHUNK_SIZE, studentIds.size()), teacher);
+        verify(pregenerationScheduler, never()).pregeneratePlan(any(), any());
+    }
+
+    @Test
+    void startPublishShouldPregenerateDayOneTasksWhenRequested() {
+        StudyPlan studyPlan = studyPlan();
+        LocalDate shanghaiToday = LocalDate.of(2026, 7, 23);
+        when(studyPlanService.resolvePublishStudentIds(55L, teacher)).thenReturn(List.of(21L, 22L));
+        stubJobStorage();
+        when(studyPlanService.markPublished(55L)).thenReturn(studyPlan);
+        when(studyPlanService.resolveZoneId(studyPlan)).thenReturn(ZoneId.of("Asia/Shanghai"));
+        when(studyPlanService.canGenerateTodayTask(studyPlan, shanghaiToday)).thenReturn(true);
+
+        StudyPlanPublishJobResponse response = studyPlanPublishJobService.startPublish(55L, true, teacher);
+
+        assertEquals(StudyPlanPublishJobStatus.SUCCEEDED, response.getStatus());
+        verify(pregenerationScheduler).pregeneratePlan(studyPlan, shanghaiToday);
+    }
+
+    @Test
+    void startPublishShouldRecordFailureWhenEnrollmentFails() {
+        when(studyPlanService.resolvePublishStudentIds(55L, teacher)).thenReturn(List.of(21L));
+        stubJobStorage();
+        when(studyPlanService.enrollPublishStudents(55L, List.of(21L), teacher))
+                .thenThrow(new IllegalStateException("enrollment failed"));
+
+        StudyPlanPublishJobResponse response = studyPlanPublishJobService.startPublish(55L, false, teacher);
+
+        assertEquals(StudyPlanPublishJobStatus.FAILED, response.getStatus());
+        assertEquals("enrollment failed", response.getErrorMessage());
+        assertEquals(0, response.getEnrolledStudents());
+        verify(studyPlanService, never()).markPublished(55L);
+    }
+
+    @Test
+    void startPublishShouldRejectWhileAnotherJobIsRunning() {
+        when(studyPlanService.resolvePublishStudentIds(55L, teacher)).thenReturn(List.of(21L));
+        when(studyPlanPublishJobRepository.existsByStudyPlanIdAndStatusIn(any(), any())).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> studyPlanPublishJobService.startPublish(55L, false, teacher));
+        verify(studyPlanPublishJobRepository, never()).save(any());
+    }
+
+    @Test
+    void startPublishShouldRejectWhenAnotherJobWinsTheActiveJobIndex() {
+        when(studyPlanService.resolvePublishStudentIds(55L, teacher)).thenReturn(List.of(21L));
+        when(studyPlanPublishJobRepository.save(any(StudyPlanPublishJob.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_study_plan_publish_jobs_active_plan"));
+
+        assertThrows(ConflictException.class, () -> studyPlanPublishJobService.startPublish(55L, false, teacher));
+        verify(studyPlanService, never()).enrollPublishStudents(any(), any(), any());
+    }
+
+    @Test
+    void failStaleJobsShouldFailActiveJobsWithoutRecentProgress() {
+        when(studyPlanPublishJobRepository.failStaleJobs(any(), any(), any(), any())).thenReturn(1);
+
+        studyPlanPublishJobService.failStaleJobs();
+
+        verify(studyPlanPublishJobRepository).failStaleJobs(
+                eq(EnumSet.of(
+                        StudyPlanPublishJobStatus.PENDING,
+                        StudyPlanPublishJobStatus.ENROLLING,
+                        StudyPlanPublishJobStatus.PREGENERATING)),
+                eq(LocalDateTime.of(2026, 7, 22, 16, 0)),
+                eq(LocalDateTime.of(2026, 7, 22, 16, 30)),
+                any());
+    }
+
+    @Test
+    void startPublishShouldNotReviveJobFailedByTheStaleSweep() {
+        when(studyPlanService.resolvePublishStudentIds(55L, teacher)).thenReturn(List.of(21L));
+        stubJobStorage();
+        when(studyPlanService.enrollPublishStudents(55L, List.of(21L), teacher)).thenAnswer(invocation -> {
+            storedJob.setStatus(StudyPlanPublishJobStatus.FAILED);
+            return 1;
+        });
+        when(studyPlanService.markPublished(55L)).thenReturn(studyPlan());
+
+        StudyPlanPublishJobResponse response = studyPlanPublishJobService.startPublish(55L, false, teacher);
+
+        assertEquals(StudyPlanPublishJobStatus.FAILED, response.getStatus());
+        assertEquals(0, response.getEnrolledStudents());
+    }
+
+    private void stubJobStorage() {
+        when(studyPlanPublishJobRepository.save(any(StudyPlanPublishJob.class))).thenAnswer(invocation -> {
+            StudyPlanPublishJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(1L);
+            }
+            storedJob = job;
+            return job;
+        });
+        when(studyPlanPublishJobRepository.findById(1L)).thenAnswer(invocation -> Optional.ofNullable(storedJob));
+    }
+
+    private StudyPlan studyPlan() {
+        StudyPlan studyPlan = new StudyPlan();
+        studyPlan.setId(55L);
+        studyPlan.setTeacherId(7L);
+        studyPlan.setTimezone("Asia/Shanghai");
+        studyPlan.setStatus(StudyPlanStatus.PUBLISHED);
+        return studyPlan;
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+import com.example.words.dto.RecordStudyRequest;
+import com.example.words.dto.StudyTaskResponse;
+import com.example.words.model.AppUser;
+import com.example.words.model.AttentionState;
+import com.example.words.model.ReviewMode;
+import com.example.words.model.StudentStudyPlan;
+import com.example.words.model.StudyActionType;
+import com.example.words.model.StudyDayTask;
+import com.example.words.model.StudyDayTaskItem;
+import com.example.words.model.StudyDayTaskStatus;
+import com.example.words.model.StudyPlan;
+import com.example.words.model.StudyPlanStatus;
+import com.example.words.model.StudyRecordResult;
+import com.example.words.model.StudyTaskType;
+import com.example.words.model.StudyWordProgress;
+import com.example.words.model.UserRole;
+import com.example.words.repository.StudentStudyPlanRepository;
+import com.example.words.repository.StudyDayTaskItemRepository;
+import com.example.words.repository.StudyDayTaskRepository;
+import com.example.words.repository.StudyPlanRepository;
+import com.example.words.repository.StudyRecordRepository;
+import com.example.words.repository.StudyWordProgressRepository;
+import com.example.words.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@PostgresIntegrationTest
+@Import({
+        StudyPlanService.class,
+        StudyDayTaskGenerationGuard.class,
+        StudyPlanRecordConcurrencyPostgresIntegrationTest.Configuration.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudyPlanRecordConcurrencyPostgresIntegrationTest {
+
+    @Autowired
+    private StudyPlanService studyPlanService;
+
+    @Autowired
+    private StudyPlanRepository studyPlanRepository;
+
+    @Autowired
+    private StudentStudyPlanRepository studentStudyPlanRepository;
+
+    @Autowired
+    private StudyDayTaskRepository studyDayTaskRepository;
+
+    @Autowired
+    private StudyDayTaskItemRepository studyDayTaskItemRepository;
+
+    @Autowired
+    private StudyWordProgressRepository studyWordProgressRepository;
+
+    @SpyBean
+    private StudyRecordRepository studyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private DictionaryService dictionaryService;
+
+    @MockBean
+    private DictionaryAssignmentService dictionaryAssignmentService;
+
+    @MockBean
+    private AccessControlService accessControlService;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private StudentWordMemoryProjector studentWordMemoryProjector;
+
+    @MockBean
+    private StudentPointEventPublisher studentPointEventPublisher;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    @MockBean
+    private StudyPlanDailyRollupService studyPlanDailyRollupService;
+
+    private String suffix;
+    private Long teacherId;
+    private Long studentId;
+    private Long dictionaryId;
+    private Long metaWordId;
+    private Long studentStudyPlanId;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString();
+        teacherId = insertUser("teacher-" + suffix, "TEACHER");
+        studentId = insertUser("student-" + suffix, "STUDENT");
+        dictionaryId = jdbcTemplate.queryForObject(
+                "INSERT INTO dictionaries (name) VALUES (?) RETURNING id", Long.class, "dictionary-" + suffix);
+        metaWordId = jdbcTemplate.queryForObject(
+                "INSERT INTO meta_words (word, normalized_word) VALUES (?, ?) RETURNING id",
+                Long.class, "word-" + suffix, "word-" + suffix);
+        jdbcTemplate.update(
+                "INSERT INTO dictionary_words (dictionary_id, meta_word_id) VALUES (?, ?)", dictionaryId, metaWordId);
+
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Shanghai"));
+        StudyPlan plan = new StudyPlan();
+        plan.setName("Concurrency plan " + suffix);
+        plan.setTeacherId(teacherId);
+        plan.setDictionaryId(dictionaryId);
+        plan.setStartDate(today.minusDays(1));
+        plan.setTimezone("Asia/Shanghai");
+        plan.setDailyNewCount(1);
+        plan.setDailyReviewLimit(1);
+        plan.setReviewMode(ReviewMode.EBBINGHAUS);
+        plan.setReviewIntervalsJson("[0,1,2]");
+        plan.setCompletionThreshold(BigDecimal.valueOf(100));
+        plan.setDailyDeadlineTime(LocalTime.of(21, 30));
+        plan.setStatus(StudyPlanStatus.PUBLISHED);
+        plan = studyPlanRepository.saveAndFlush(plan);
+
+        StudentStudyPlan studentPlan = new StudentStudyPlan();
+        studentPlan.setStudyPlanId(plan.getId());
+        studentPlan.setStudentId(studentId);
+        studentStudyPlanId = studentStudyPlanRepository.saveAndFlush(studentPlan).getId();
+
+        StudyDayTask task = new StudyDayTask();
+        task.setStudentStudyPlanId(studentStudyPlanId);
+        task.setTaskDate(today);
+        task.setNewCount(1);
+        task.setStatus(StudyDayTaskStatus.NOT_STARTED);
+        task.setDeadlineAt(today.atTime(21, 30));
+        Long taskId = studyDayTaskRepository.saveAndFlush(task).getId();
+
+        StudyDayTaskItem item = new StudyDayTaskItem();
+        item.setStudyDayTaskId(taskId);
+        item.setMetaWordId(metaWordId);
+        item.setTaskType(StudyTaskType.NEW_LEARN);
+        item.setTaskOrder(1);
+        studyDayTaskItemRepository.saveAndFlush(item);
+
+        StudyWordProgress progress = new StudyWordProgress();
+        progress.setStudentStudyPlanId(studentStudyPlanId);
+        progress.setMetaWordId(metaWordId);
+        progress.setAssignedDate(today);
+        studyWordProgressRepository.saveAndFlush(progress);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", teacherId, studentId);
+        jdbcTemplate.update("DELETE FROM dictionaries WHERE id = ?", dictionaryId);
+        jdbcTemplate.update("DELETE FROM meta_words WHERE id = ?", metaWordId);
+    }
+
+    @Test
+    void sameRequestKeyInsertedConcurrentlyShouldReplayInsteadOfConflicting() throws Exception {
+        RecordStudyRequest request = request("concurrent-" + suffix);
+        CountDownLatch bothLookedUp = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            Object found = invocation.callRealMethod();
+            bothLookedUp.countDown();
+            bothLookedUp.await(5, TimeUnit.SECONDS);
+            return found;
+        }).when(studyRecordRepository).findByRequestKey(anyString());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<StudyTaskResponse> first = executor.submit(() -> record(request));
+            Future<StudyTaskResponse> second = executor.submit(() -> record(request));
+
+            assertNotNull(first.get(20, TimeUnit.SECONDS));
+            assertNotNull(second.get(20, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM study_records WHERE request_key = ?", Integer.class, request.getRequestKey()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT completed_count FROM study_day_tasks WHERE student_study_plan_id = ?",
+                Integer.class, studentStudyPlanId));
+    }
+
+    private StudyTaskResponse record(RecordStudyRequest request) {
+        AppUser student = new AppUser();
+        student.setId(studentId);
+        student.setRole(UserRole.STUDENT);
+        return studyPlanService.recordStudy(studentStudyPlanId, request, student);
+    }
+
+    private Long insertUser(String username, String role) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, password_hash, display_name, role) VALUES (?, 'x', ?, ?) RETURNING id",
+                Long.class, username, username, role);
+    }
+
+    private RecordStudyRequest request(String requestKey) {
+        return new RecordStudyRequest(
+                metaWordId,
+                StudyActionType.LEARN,
+                StudyRecordResult.CORRECT,
+                10,
+                9,
+                1,
+                1,
+                AttentionState.FOCUSED,
+                requestKey
+        );
+    }
+
+    @TestConfiguration
+    static class Configuration {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+}
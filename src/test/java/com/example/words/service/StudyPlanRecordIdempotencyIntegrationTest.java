@@ -27,6 +27,8 @@ import com.example.words.model.UserRole;
 import com.example.words.repository.DictionaryWordRepository;
 import com.example.words.repository.StudentAttentionDailyStatRepository;
 import com.example.words.repository.StudentPointEventRepository;
+import com.example.words.repository.StudentPointOutboxRepository;
+import com.example.words.repository.StudentPointReconciliationWatermarkRepository;
 import com.example.words.repository.StudentPointRuleRepository;
 import com.example.words.repository.StudentStudyPlanRepository;
 import com.example.words.repository.StudyDayTaskItemRepository;
@@ -62,11 +64,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 @DataJpaTest(properties = {
         "spring.flyway.enabled=false",
-        "spring.jpa.hibernate.ddl-auto=create-drop"
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "student-points.reconciliation.grace-seconds=0"
 })
 @Import({
         StudyPlanService.class,
+        StudyDayTaskGenerationGuard.class,
         StudentPointEventPublisher.class,
+        StudentPointOutboxRelay.class,
         StudentPointEventService.class,
         StudentPointEventCreationTransaction.class,
         StudentPointEventFactory.class,
@@ -109,6 +114,12 @@ class StudyPlanRecordIdempotencyIntegrationTest {
     @Autowired
     private StudentPointEventRepository eventRepository;
 
+    @Autowired
+    private StudentPointOutboxRepository outboxRepository;
+
+    @Autowired
+    private StudentPointReconciliationWatermarkRepository watermarkRepository;
+
     @Autowired
     private StudentPointReconciliationService reconciliationService;
 
@@ -128,7 +139,16 @@ class StudyPlanRecordIdempotencyIntegrationTest {
     private UserService userService;
 
     @MockBean
-    private StudentWordMemoryService studentWordMemoryService;
+    private StudentWordMemoryProjector studentWordMemoryProjector;
+
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+
+    @MockBean
+    private StudyPlanDailyRollupService studyPlanDailyRollupService;
+
+    @MockBean
+    private StudentPointEventDispatcher studentPointEventDispatcher;
 
     private Long studentStudyPlanId;
     private Long taskId;
@@ -136,6 +156,8 @@ class StudyPlanRecordIdempotencyIntegrationTest {
     @BeforeEach
     void setUp() {
         pointExecutor.clear();
+        outboxRepository.deleteAll();
+        watermarkRepository.deleteAll();
         eventRepository.deleteAll();
         ruleRepository.deleteAll();
         attentionRepository.deleteAll();
@@ -235,6 +257,7 @@ class StudyPlanRecordIdempotencyIntegrationTest {
 
         pointExecutor.runAll();
         assertEquals(0, studyRecordRepository.count());
+        assertEquals(0, outboxRepository.count());
         assertEquals(0, eventRepository.count());
     }
 
@@ -279,6 +302,7 @@ class StudyPlanRecordIdempotencyIntegrationTest {
                 .build());
 
         reconciliationService.reconcileMissingEvents();
+        pointExecutor.runAll();
 
         assertEquals(1, eventRepository.count());
         assertEquals(
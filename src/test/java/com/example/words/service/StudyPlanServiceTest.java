@@ -5,8 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -14,7 +17,12 @@ import static org.mockito.Mockito.times;
 
 import com.example.words.dto.AppendStudyPlanStudentsRequest;
 import com.example.words.dto.CreateStudyPlanRequest;
+import com.example.words.dto.RecordStudyBatchItemResponse;
+import com.example.words.dto.RecordStudyBatchRequest;
+import com.example.words.dto.RecordStudyBatchResponse;
 import com.example.words.dto.RecordStudyRequest;
+import com.example.words.dto.StudyPlanHistoryReportResponse;
+import com.example.words.dto.StudyPlanOverviewResponse;
 import com.example.words.dto.StudyPlanResponse;
 import com.example.words.dto.StudyTaskResponse;
 import com.example.words.exception.BadRequestException;
@@ -24,7 +32,6 @@ import com.example.words.model.AttentionState;
 import com.example.words.model.Classroom;
 import com.example.words.model.ClassroomStatus;
 import com.example.words.model.Dictionary;
-import com.example.words.model.DictionaryWord;
 import com.example.words.model.MetaWord;
 import com.example.words.model.ReviewMode;
 import com.example.words.model.StudentAttentionDailyStat;
@@ -36,6 +43,7 @@ import com.example.words.model.StudyDayTaskItem;
 import com.example.words.model.StudyDayTaskStatus;
 import com.example.words.model.StudyPlan;
 import com.example.words.model.StudyPlanClassroom;
+import com.example.words.model.StudyPlanDailyRollup;
 import com.example.words.model.StudyPlanStatus;
 import com.example.words.model.StudyRecord;
 import com.example.words.model.StudyRecordResult;
@@ -70,7 +78,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class StudyPlanServiceTest {
@@ -124,11 +136,23 @@ class StudyPlanServiceTest {
     private UserService userService;
 
     @Mock
-    private StudentWordMemoryService studentWordMemoryService;
+    private StudentWordMemoryProjector studentWordMemoryProjector;
 
     @Mock
     private StudentPointEventPublisher studentPointEventPublisher;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private StudyDayTaskGenerationGuard studyDayTaskGenerationGuard;
+
+    @Mock
+    private StudyPlanDailyRollupService studyPlanDailyRollupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private StudyPlanService studyPlanService;
 
     @BeforeEach
@@ -150,8 +174,12 @@ class StudyPlanServiceTest {
                 metaWordRepository,
                 accessControlService,
                 userService,
-                studentWordMemoryService,
+                studentWordMemoryProjector,
                 studentPointEventPublisher,
+                resourceVersionService,
+                studyDayTaskGenerationGuard,
+                studyPlanDailyRollupService,
+                transactionManager,
                 new ObjectMapper()
         );
     }
@@ -373,13 +401,8 @@ class StudyPlanServiceTest {
         when(classroomRepository.findById(100L)).thenReturn(Optional.of(classroom(100L, "一班", 7L)));
         when(classroomMemberRepository.existsByClassroomIdInAndStudentId(List.of(100L), 22L)).thenReturn(true);
         when(dictionaryService.findById(10L)).thenReturn(Optional.of(dictionary));
-        when(studentStudyPlanRepository.findByStudyPlanIdAndStudentIdOrderByCreatedAtAsc(55L, 22L))
-                .thenReturn(List.of());
-        when(studentStudyPlanRepository.save(any(StudentStudyPlan.class))).thenAnswer(invocation -> {
-            StudentStudyPlan studentStudyPlan = invocation.getArgument(0);
-            studentStudyPlan.setId(222L);
-            return studentStudyPlan;
-        });
+        when(studentStudyPlanRepository.insertActiveStudents(eq(55L), eq(List.of(22L)), any(LocalDateTime.class)))
+                .thenReturn(1);
         when(studentStudyPlanRepository.findByStudyPlanIdOrderByStudentIdAsc(55L))
                 .thenReturn(List.of(new StudentStudyPlan(), new StudentStudyPlan()));
 
@@ -390,9 +413,93 @@ class StudyPlanServiceTest {
         );
 
         assertEquals(2L, response.getStudentCount());
-        verify(accessControlService).ensureCanAssignDictionaryToStudent(teacher, dictionary, 22L);
+        verify(accessControlService).ensureCanAssignDictionaryToStudents(teacher, dictionary, List.of(22L));
         verify(dictionaryAssignmentService).assignDictionaryToStudents(dictionary, teacher, List.of(22L));
-        verify(studentStudyPlanRepository).save(any(StudentStudyPlan.class));
+        verify(studentStudyPlanRepository, never()).save(any(StudentStudyPlan.class));
+    }
+
+    @Test
+    void getOverviewShouldAggregateTodayProgressWithoutTouchingTasks() {
+        AppUser teacher = new AppUser();
+        teacher.setId(7L);
+        teacher.setRole(UserRole.TEACHER);
+        StudentStudyPlanRepository.StudyPlanDailyAggregate aggregate =
+                mock(StudentStudyPlanRepository.StudyPlanDailyAggregate.class);
+        when(aggregate.getTotalStudents()).thenReturn(3L);
+        when(aggregate.getCompletedStudents()).thenReturn(1L);
+        when(aggregate.getNotStartedStudents()).thenReturn(1L);
+        when(aggregate.getInProgressStudents()).thenReturn(1L);
+        when(aggregate.getMissedStudents()).thenReturn(0L);
+        when(aggregate.getCompletionRateTotal()).thenReturn(new BigDecimal("150.00"));
+        when(aggregate.getAttentionScoreTotal()).thenReturn(new BigDecimal("170.00"));
+        when(studyPlanRepository.findById(55L))
+                .thenReturn(Optional.of(studyPlan(55L, 7L, 10L, StudyPlanStatus.PUBLISHED)));
+        when(studentStudyPlanRepository.aggregateDailyProgress(eq(55L), any(LocalDate.class))).thenReturn(aggregate);
+
+        StudyPlanOverviewResponse overview = studyPlanService.getOverview(55L, teacher);
+
+        assertEquals(3L, overview.getTotalStudents());
+        assertEquals(1L, overview.getInProgressStudents());
+        assertEquals(new BigDecimal("50.00"), overview.getAverageCompletionRate());
+        assertEquals(new BigDecimal("56.67"), overview.getAverageAttentionScore());
+        verify(studyDayTaskRepository, never()).save(any(StudyDayTask.class));
+        verify(studentStudyPlanRepository, never()).findByStudyPlanIdOrderByStudentIdAsc(55L);
+    }
+
+    @Test
+    void getHistoryReportShouldReadClassroomRollupsForTheRequestedRange() {
+        AppUser teacher = new AppUser();
+        teacher.setId(7L);
+        teacher.setRole(UserRole.TEACHER);
+        LocalDate from = LocalDate.of(2026, 3, 2);
+        LocalDate to = LocalDate.of(2026, 3, 3);
+        StudyPlanDailyRollup firstDay = dailyRollup(from, 4, 1, "250.00", 6);
+        StudyPlanDailyRollup secondDay = dailyRollup(to, 4, 2, "200.00", 3);
+        when(studyPlanRepository.findById(55L))
+                .thenReturn(Optional.of(studyPlan(55L, 7L, 10L, StudyPlanStatus.PUBLISHED)));
+        when(studyPlanClassroomRepository.existsByStudyPlanIdAndClassroomId(55L, 100L)).thenReturn(true);
+        when(studyPlanDailyRollupService.findDays(55L, 100L, from, to)).thenReturn(List.of(firstDay, secondDay));
+
+        StudyPlanHistoryReportResponse report = studyPlanService.getHistoryReport(55L, from, to, 100L, teacher);
+
+        assertEquals(2, report.getDays().size());
+        assertEquals(new BigDecimal("62.50"), report.getDays().get(0).getAverageCompletionRate());
+        assertEquals(3L, report.getMissedDays());
+        assertEquals(9L, report.getWordsLearned());
+        verify(studentStudyPlanRepository, never()).aggregateDailyProgress(any(), any());
+    }
+
+    @Test
+    void getHistoryReportShouldRejectClassroomOutsideThePlan() {
+        AppUser teacher = new AppUser();
+        teacher.setId(7L);
+        teacher.setRole(UserRole.TEACHER);
+        when(studyPlanRepository.findById(55L))
+                .thenReturn(Optional.of(studyPlan(55L, 7L, 10L, StudyPlanStatus.PUBLISHED)));
+        when(studyPlanClassroomRepository.existsByStudyPlanIdAndClassroomId(55L, 101L)).thenReturn(false);
+
+        assertThrows(
+                BadRequestException.class,
+                () -> studyPlanService.getHistoryReport(55L, null, null, 101L, teacher)
+        );
+        verify(studyPlanDailyRollupService, never()).findDays(any(), any(), any(), any());
+    }
+
+    @Test
+    void getHistoryReportShouldLimitTheInclusiveRangeTo366Days() {
+        AppUser teacher = new AppUser();
+        teacher.setId(7L);
+        teacher.setRole(UserRole.TEACHER);
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        when(studyPlanRepository.findById(55L))
+                .thenReturn(Optional.of(studyPlan(55L, 7L, 10L, StudyPlanStatus.PUBLISHED)));
+        when(studyPlanDailyRollupService.findDays(55L, null, from, from.plusDays(365))).thenReturn(List.of());
+
+        studyPlanService.getHistoryReport(55L, from, from.plusDays(365), null, teacher);
+        assertThrows(
+                BadRequestException.class,
+                () -> studyPlanService.getHistoryReport(55L, from, from.plusDays(366), null, teacher)
+        );
     }
 
     @Test
@@ -474,17 +581,23 @@ class StudyPlanServiceTest {
 
         when(studentStudyPlanRepository.findById(200L)).thenReturn(Optional.of(studentStudyPlan));
         when(studyPlanRepository.findById(55L)).thenReturn(Optional.of(studyPlan));
-        when(studyDayTaskRepository.findByStudentStudyPlanIdAndTaskDateBeforeOrderByTaskDateAsc(200L, today))
-                .thenReturn(List.of());
         when(studyDayTaskRepository.findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(200L, today)).thenReturn(List.of());
-        when(studyWordProgressRepository.findByStudentStudyPlanId(200L))
-                .thenReturn(List.of(dueProgress, futureProgress), generatedProgresses);
-        when(dictionaryWordRepository.findByDictionaryIdOrderByDisplayOrder(10L)).thenReturn(List.of(
-                new DictionaryWord(1L, 10L, 1L, (java.time.LocalDateTime) null),
-                new DictionaryWord(2L, 10L, 2L, (java.time.LocalDateTime) null),
-                new DictionaryWord(3L, 10L, 3L, (java.time.LocalDateTime) null),
-                new DictionaryWord(4L, 10L, 4L, (java.time.LocalDateTime) null)
-        ));
+        when(studyWordProgressRepository.findDueForReview(200L, today, 2)).thenReturn(List.of(dueProgress));
+        when(resourceVersionService.currentStamp("dictionary:10"))
+                .thenReturn(new ResourceVersionService.VersionStamp("3", -1L));
+        List<DictionaryWordRepository.DisplayPosition> positions = List.of(
+                displayPosition(1L, 1L, 1),
+                displayPosition(2L, 2L, 2),
+                displayPosition(3L, 3L, 3),
+                displayPosition(4L, 4L, 4),
+                displayPosition(5L, 5L, 5)
+        );
+        when(dictionaryWordRepository.findDisplayPositionsAfter(10L, "", Integer.MIN_VALUE, 0L, PageRequest.of(0, 500)))
+                .thenReturn(positions);
+        when(studyWordProgressRepository.findAssignedMetaWordIds(200L, List.of(1L, 2L, 3L, 4L, 5L)))
+                .thenReturn(List.of(1L, 2L));
+        when(studyWordProgressRepository.findByStudentStudyPlanIdAndMetaWordIdIn(200L, List.of(1L, 3L, 4L)))
+                .thenReturn(generatedProgresses);
         when(studyWordProgressRepository.saveAll(any())).thenAnswer(invocation -> {
             List<StudyWordProgress> progressList = invocation.getArgument(0);
             generatedProgresses.addAll(progressList);
@@ -519,6 +632,9 @@ class StudyPlanServiceTest {
         assertEquals(Long.valueOf(1L), response.getQueue().get(0).getMetaWordId());
         assertEquals(StudyTaskType.NEW_LEARN, response.getQueue().get(1).getTaskType());
         assertEquals(StudyTaskType.NEW_LEARN, response.getQueue().get(2).getTaskType());
+        assertEquals(4L, studentStudyPlan.getNewWordCursorWordId());
+        assertEquals("3", studentStudyPlan.getNewWordCursorVersion());
+        verify(studyDayTaskGenerationGuard).acquire(200L);
     }
 
     @Test
@@ -579,17 +695,13 @@ class StudyPlanServiceTest {
         studyWordProgress.setPhase(0);
         studyWordProgress.setStatus(StudyWordProgressStatus.NEW);
 
-        when(studentStudyPlanRepository.findByIdForUpdate(200L)).thenReturn(Optional.of(studentStudyPlan));
+        when(studentStudyPlanRepository.findById(200L)).thenReturn(Optional.of(studentStudyPlan));
         when(studyPlanRepository.findById(55L)).thenReturn(Optional.of(studyPlan));
-        when(studyDayTaskRepository.findByStudentStudyPlanIdAndTaskDateBeforeOrderByTaskDateAsc(200L, today))
-                .thenReturn(List.of());
         when(studyDayTaskRepository.findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(200L, today))
                 .thenReturn(List.of(studyDayTask));
         when(studyDayTaskItemRepository.findByStudyDayTaskIdAndMetaWordIdOrderByCreatedAtAsc(300L, 3L))
                 .thenReturn(List.of(studyDayTaskItem));
         when(dictionaryWordRepository.existsByDictionaryIdAndMetaWordId(10L, 3L)).thenReturn(true);
-        when(studyRecordRepository.findByStudentStudyPlanIdAndTaskDate(200L, today))
-                .thenAnswer(invocation -> savedRecordRef.get() == null ? List.of() : List.of(savedRecordRef.get()));
         when(studyWordProgressRepository.findByStudentStudyPlanIdAndMetaWordId(200L, 3L))
                 .thenReturn(List.of(studyWordProgress));
         when(studyWordProgressRepository.save(any(StudyWordProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -608,10 +720,7 @@ class StudyPlanServiceTest {
             savedDailyStatRef.set(dailyStat);
             return dailyStat;
         });
-        when(studentAttentionDailyStatRepository.findByStudentStudyPlanIdOrderByTaskDateDesc(200L))
-                .thenAnswer(invocation -> savedDailyStatRef.get() == null ? List.of() : List.of(savedDailyStatRef.get()));
         when(studyDayTaskItemRepository.findByStudyDayTaskIdOrderByTaskOrderAsc(300L)).thenReturn(List.of(studyDayTaskItem));
-        when(studyWordProgressRepository.findByStudentStudyPlanId(200L)).thenReturn(List.of(studyWordProgress));
 
         RecordStudyRequest request = new RecordStudyRequest(
                 3L,
@@ -631,26 +740,28 @@ class StudyPlanServiceTest {
         assertEquals(1, response.getCompletedCount());
         assertTrue(response.getQueue().isEmpty());
         assertEquals(BigDecimal.valueOf(100).setScale(2), response.getCompletionRate());
+        assertEquals(1, studyDayTaskItem.getAttemptCount());
         assertNotNull(savedDailyStatRef.get());
         assertEquals(22, savedDailyStatRef.get().getTotalFocusSeconds());
+        assertEquals(1, savedDailyStatRef.get().getRecordCount());
+        assertEquals(1, savedDailyStatRef.get().getWordsVisited());
+        assertEquals("22:1", savedDailyStatRef.get().getFocusHistogram());
+        assertEquals(new BigDecimal("22.00"), savedDailyStatRef.get().getMedianFocusSecondsPerWord());
+        assertEquals(new BigDecimal("67.81"), savedDailyStatRef.get().getAttentionScore());
+        assertEquals(1, studentStudyPlan.getStatDayCount());
+        assertEquals(new BigDecimal("22.00"), studentStudyPlan.getAvgFocusSeconds());
+        assertEquals(new BigDecimal("67.81"), studentStudyPlan.getAttentionScore());
         assertTrue(savedRecordRef.get().isPointsEligible());
         assertTrue(studyDayTask.isPointsEligible());
         verify(studyRecordRepository).save(any(StudyRecord.class));
-        verify(studentWordMemoryService).recordPlanStudy(
-                eq(20L),
-                eq(3L),
-                eq(600L),
-                eq(10L),
-                eq(StudyRecordResult.CORRECT),
-                any(LocalDateTime.class)
-        );
-        verify(studentPointEventPublisher).publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+        verify(studentWordMemoryProjector).requestProjectionAfterCommit();
+        verify(studentPointEventPublisher).enqueue(new StudentPointEventPublisher.PublishRequest(
                 20L,
                 600L,
                 "study-record:600:correct",
                 "STUDY_RECORD_CORRECT"
         ));
-        verify(studentPointEventPublisher).publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+        verify(studentPointEventPublisher).enqueue(new StudentPointEventPublisher.PublishRequest(
                 20L,
                 300L,
                 "study-day-task:300:completed",
@@ -659,6 +770,142 @@ class StudyPlanServiceTest {
         verify(studentAttentionDailyStatRepository).save(any(StudentAttentionDailyStat.class));
     }
 
+    @Test
+    void recordStudyBatchShouldApplyRecordsInOneTransactionAndReportEachItem() {
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Shanghai"));
+        RecordStudyScenario scenario = prepareRecordStudyScenario(
+                StudyRecordResult.CORRECT,
+                StudyDayTaskStatus.IN_PROGRESS,
+                2,
+                0,
+                null,
+                610L
+        );
+        StudyRecord replayedRecord = StudyRecord.builder()
+                .id(700L)
+                .requestKey("replay-key")
+                .studentStudyPlanId(200L)
+                .metaWordId(3L)
+                .taskDate(today)
+                .actionType(StudyActionType.LEARN)
+                .result(StudyRecordResult.CORRECT)
+                .durationSeconds(26)
+                .focusSeconds(22)
+                .idleSeconds(4)
+                .interactionCount(5)
+                .attentionState(AttentionState.FOCUSED)
+                .build();
+        when(studyRecordRepository.findByRequestKey("replay-key")).thenReturn(Optional.of(replayedRecord));
+        RecordStudyRequest replay = new RecordStudyRequest(
+                3L, StudyActionType.LEARN, StudyRecordResult.CORRECT, 26, 22, 4, 5, AttentionState.FOCUSED, "replay-key");
+        RecordStudyRequest unscheduled = new RecordStudyRequest(
+                99L, StudyActionType.LEARN, StudyRecordResult.CORRECT, 26, 22, 4, 5, AttentionState.FOCUSED, "unscheduled-key");
+
+        RecordStudyBatchResponse response = studyPlanService.recordStudyBatch(
+                200L,
+                new RecordStudyBatchRequest(List.of(scenario.request(), replay, unscheduled)),
+                scenario.student()
+        );
+
+        assertEquals(
+                List.of(
+                        RecordStudyBatchItemResponse.Status.RECORDED,
+                        RecordStudyBatchItemResponse.Status.REPLAYED,
+                        RecordStudyBatchItemResponse.Status.REJECTED
+                ),
+                response.getResults().stream().map(RecordStudyBatchItemResponse::getStatus).toList()
+        );
+        assertEquals(610L, response.getResults().get(0).getStudyRecordId());
+        assertEquals(700L, response.getResults().get(1).getStudyRecordId());
+        assertEquals("BAD_REQUEST", response.getResults().get(2).getErrorCode());
+        assertEquals(1, response.getTask().getCompletedCount());
+        verify(studentStudyPlanRepository, times(1)).findById(200L);
+        verify(studentAttentionDailyStatRepository, times(1)).save(any(StudentAttentionDailyStat.class));
+        verify(studyRecordRepository, times(1)).save(any(StudyRecord.class));
+    }
+
+    @Test
+    void recordStudyBatchShouldNotFinishSessionWhenEveryItemIsRejected() {
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Shanghai"));
+        AppUser student = new AppUser();
+        student.setId(20L);
+        student.setRole(UserRole.STUDENT);
+        StudentStudyPlan studentStudyPlan = new StudentStudyPlan();
+        studentStudyPlan.setId(200L);
+        studentStudyPlan.setStudyPlanId(55L);
+        studentStudyPlan.setStudentId(20L);
+        StudyPlan studyPlan = studyPlan(55L, 7L, 10L, StudyPlanStatus.PUBLISHED);
+        studyPlan.setStartDate(today.minusDays(1));
+        StudyDayTask studyDayTask = new StudyDayTask();
+        studyDayTask.setId(300L);
+        studyDayTask.setStudentStudyPlanId(200L);
+        studyDayTask.setTaskDate(today);
+        studyDayTask.setNewCount(1);
+        studyDayTask.setStatus(StudyDayTaskStatus.IN_PROGRESS);
+        when(studentStudyPlanRepository.findById(200L)).thenReturn(Optional.of(studentStudyPlan));
+        when(studyPlanRepository.findById(55L)).thenReturn(Optional.of(studyPlan));
+        when(studyDayTaskRepository.findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(200L, today))
+                .thenReturn(List.of(studyDayTask));
+        RecordStudyRequest unscheduled = new RecordStudyRequest(
+                99L, StudyActionType.LEARN, StudyRecordResult.CORRECT, 26, 22, 4, 5, AttentionState.FOCUSED, "unscheduled-key");
+
+        RecordStudyBatchResponse response = studyPlanService.recordStudyBatch(
+                200L,
+                new RecordStudyBatchRequest(List.of(unscheduled)),
+                student
+        );
+
+        assertEquals(RecordStudyBatchItemResponse.Status.REJECTED, response.getResults().get(0).getStatus());
+        assertEquals(StudyDayTaskStatus.IN_PROGRESS, response.getTask().getStatus());
+        verify(studentAttentionDailyStatRepository, never()).save(any(StudentAttentionDailyStat.class));
+        verify(studentStudyPlanRepository, never()).save(any(StudentStudyPlan.class));
+        verify(studyDayTaskRepository, never()).save(any(StudyDayTask.class));
+        verify(studyPlanDailyRollupService, never()).recordTaskChange(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void recordStudyBatchShouldReplayItemCommittedByConcurrentRequestWithTheSameKey() {
+        RecordStudyScenario scenario = prepareRecordStudyScenario(
+                StudyRecordResult.CORRECT,
+                StudyDayTaskStatus.IN_PROGRESS,
+                2,
+                0,
+                null,
+                611L
+        );
+        StudyRecord committed = StudyRecord.builder()
+                .id(711L)
+                .requestKey("study-request-611")
+                .studentStudyPlanId(200L)
+                .metaWordId(3L)
+                .taskDate(LocalDate.now(ZoneId.of("Asia/Shanghai")))
+                .actionType(StudyActionType.LEARN)
+                .result(StudyRecordResult.CORRECT)
+                .durationSeconds(26)
+                .focusSeconds(22)
+                .idleSeconds(4)
+                .interactionCount(5)
+                .attentionState(AttentionState.FOCUSED)
+                .build();
+        when(studyRecordRepository.findByRequestKey("study-request-611"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(committed));
+        doThrow(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"uk_study_records_request_key\""))
+                .when(studyRecordRepository).save(any(StudyRecord.class));
+
+        RecordStudyBatchResponse response = studyPlanService.recordStudyBatch(
+                200L,
+                new RecordStudyBatchRequest(List.of(scenario.request())),
+                scenario.student()
+        );
+
+        assertEquals(RecordStudyBatchItemResponse.Status.REPLAYED, response.getResults().get(0).getStatus());
+        assertEquals(711L, response.getResults().get(0).getStudyRecordId());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+    }
+
     @Test
     void recordStudyShouldNotPublishCorrectEventForIncorrectAnswer() {
         RecordStudyScenario scenario = prepareRecordStudyScenario(
@@ -672,7 +919,70 @@ class StudyPlanServiceTest {
 
         studyPlanService.recordStudy(200L, scenario.request(), scenario.student());
 
-        verify(studentPointEventPublisher, never()).publishAfterCommit(any());
+        verify(studentPointEventPublisher, never()).enqueue(any());
+    }
+
+    @Test
+    void recordStudyShouldRetryInFreshTransactionAfterConcurrentPlanUpdate() {
+        RecordStudyScenario scenario = prepareRecordStudyScenario(
+                StudyRecordResult.CORRECT,
+                StudyDayTaskStatus.IN_PROGRESS,
+                2,
+                0,
+                null,
+                602L
+        );
+        Optional<StudentStudyPlan> studentStudyPlan = studentStudyPlanRepository.findById(200L);
+        when(studentStudyPlanRepository.findById(200L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(StudentStudyPlan.class, 200L))
+                .thenReturn(studentStudyPlan);
+
+        StudyTaskResponse response = studyPlanService.recordStudy(200L, scenario.request(), scenario.student());
+
+        assertNotNull(response);
+        verify(studyRecordRepository, times(1)).save(any(StudyRecord.class));
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void recordStudyShouldReplayRecordCommittedByConcurrentRequestWithTheSameKey() {
+        RecordStudyScenario scenario = prepareRecordStudyScenario(
+                StudyRecordResult.CORRECT,
+                StudyDayTaskStatus.IN_PROGRESS,
+                2,
+                0,
+                null,
+                604L
+        );
+        StudyRecord committed = StudyRecord.builder()
+                .id(704L)
+                .requestKey("study-request-604")
+                .studentStudyPlanId(200L)
+                .metaWordId(3L)
+                .taskDate(LocalDate.now(ZoneId.of("Asia/Shanghai")))
+                .actionType(StudyActionType.LEARN)
+                .result(StudyRecordResult.CORRECT)
+                .durationSeconds(26)
+                .focusSeconds(22)
+                .idleSeconds(4)
+                .interactionCount(5)
+                .attentionState(AttentionState.FOCUSED)
+                .build();
+        when(studyRecordRepository.findByRequestKey("study-request-604"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(committed));
+        doThrow(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"uk_study_records_request_key\""))
+                .when(studyRecordRepository).save(any(StudyRecord.class));
+
+        StudyTaskResponse response = studyPlanService.recordStudy(200L, scenario.request(), scenario.student());
+
+        assertNotNull(response);
+        verify(studyRecordRepository, times(1)).save(any(StudyRecord.class));
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        verify(studentPointEventPublisher, never()).enqueue(any());
     }
 
     @Test
@@ -688,13 +998,13 @@ class StudyPlanServiceTest {
 
         studyPlanService.recordStudy(200L, scenario.request(), scenario.student());
 
-        verify(studentPointEventPublisher).publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+        verify(studentPointEventPublisher).enqueue(new StudentPointEventPublisher.PublishRequest(
                 20L,
                 300L,
                 "study-day-task:300:completed",
                 "DAILY_TASK_COMPLETED"
         ));
-        verify(studentPointEventPublisher, times(1)).publishAfterCommit(any());
+        verify(studentPointEventPublisher, times(1)).enqueue(any());
     }
 
     @Test
@@ -710,13 +1020,13 @@ class StudyPlanServiceTest {
 
         studyPlanService.recordStudy(200L, scenario.request(), scenario.student());
 
-        verify(studentPointEventPublisher).publishAfterCommit(new StudentPointEventPublisher.PublishRequest(
+        verify(studentPointEventPublisher).enqueue(new StudentPointEventPublisher.PublishRequest(
                 20L,
                 603L,
                 "study-record:603:correct",
                 "STUDY_RECORD_CORRECT"
         ));
-        verify(studentPointEventPublisher, times(1)).publishAfterCommit(any());
+        verify(studentPointEventPublisher, times(1)).enqueue(any());
     }
 
     @Test
@@ -728,7 +1038,7 @@ class StudyPlanServiceTest {
         assertEquals(StudyDayTaskStatus.COMPLETED, response.getStatus());
         verify(studyRecordRepository, never()).save(any());
         verify(studyWordProgressRepository, never()).save(any());
-        verify(studentPointEventPublisher, never()).publishAfterCommit(any());
+        verify(studentPointEventPublisher, never()).enqueue(any());
     }
 
     @Test
@@ -742,7 +1052,7 @@ class StudyPlanServiceTest {
 
         assertEquals("IDEMPOTENCY_KEY_CONFLICT", exception.getCode());
         verify(studyRecordRepository, never()).save(any());
-        verify(studentPointEventPublisher, never()).publishAfterCommit(any());
+        verify(studentPointEventPublisher, never()).enqueue(any());
     }
 
     @Test
@@ -872,17 +1182,13 @@ class StudyPlanServiceTest {
         preferredProgress.setLastReviewAt(today.minusDays(1).atTime(10, 0));
         preferredProgress.setStatus(StudyWordProgressStatus.REVIEWING);
 
-        when(studentStudyPlanRepository.findByIdForUpdate(200L)).thenReturn(Optional.of(studentStudyPlan));
+        when(studentStudyPlanRepository.findById(200L)).thenReturn(Optional.of(studentStudyPlan));
         when(studyPlanRepository.findById(55L)).thenReturn(Optional.of(studyPlan));
-        when(studyDayTaskRepository.findByStudentStudyPlanIdAndTaskDateBeforeOrderByTaskDateAsc(200L, today))
-                .thenReturn(List.of());
         when(studyDayTaskRepository.findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(200L, today))
                 .thenReturn(List.of(studyDayTask));
         when(studyDayTaskItemRepository.findByStudyDayTaskIdAndMetaWordIdOrderByCreatedAtAsc(300L, 3L))
                 .thenReturn(List.of(studyDayTaskItem));
         when(dictionaryWordRepository.existsByDictionaryIdAndMetaWordId(10L, 3L)).thenReturn(true);
-        when(studyRecordRepository.findByStudentStudyPlanIdAndTaskDate(200L, today))
-                .thenAnswer(invocation -> savedRecordRef.get() == null ? List.of() : List.of(savedRecordRef.get()));
         when(studyWordProgressRepository.findByStudentStudyPlanIdAndMetaWordId(200L, 3L))
                 .thenReturn(List.of(staleProgress, preferredProgress));
         when(studyWordProgressRepository.save(any(StudyWordProgress.class))).thenAnswer(invocation -> {
@@ -904,10 +1210,7 @@ class StudyPlanServiceTest {
             savedDailyStatRef.set(dailyStat);
             return dailyStat;
         });
-        when(studentAttentionDailyStatRepository.findByStudentStudyPlanIdOrderByTaskDateDesc(200L))
-                .thenAnswer(invocation -> savedDailyStatRef.get() == null ? List.of() : List.of(savedDailyStatRef.get()));
         when(studyDayTaskItemRepository.findByStudyDayTaskIdOrderByTaskOrderAsc(300L)).thenReturn(List.of(studyDayTaskItem));
-        when(studyWordProgressRepository.findByStudentStudyPlanId(200L)).thenReturn(List.of(staleProgress, preferredProgress));
 
         RecordStudyRequest request = new RecordStudyRequest(
                 3L,
@@ -984,36 +1287,31 @@ class StudyPlanServiceTest {
         progress.setMetaWordId(3L);
         progress.setAssignedDate(today);
 
-        when(studentStudyPlanRepository.findByIdForUpdate(200L)).thenReturn(Optional.of(studentStudyPlan));
+        when(studentStudyPlanRepository.findById(200L)).thenReturn(Optional.of(studentStudyPlan));
         when(studyPlanRepository.findById(55L)).thenReturn(Optional.of(studyPlan));
-        when(studyDayTaskRepository.findByStudentStudyPlanIdAndTaskDateBeforeOrderByTaskDateAsc(200L, today))
-                .thenReturn(List.of());
         when(studyDayTaskRepository.findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(200L, today))
                 .thenReturn(List.of(studyDayTask));
         when(studyDayTaskItemRepository.findByStudyDayTaskIdAndMetaWordIdOrderByCreatedAtAsc(300L, 3L))
                 .thenReturn(List.of(taskItem));
         when(dictionaryWordRepository.existsByDictionaryIdAndMetaWordId(10L, 3L)).thenReturn(true);
-        when(studyRecordRepository.findByStudentStudyPlanIdAndTaskDate(200L, today)).thenReturn(List.of());
         when(studyWordProgressRepository.findByStudentStudyPlanIdAndMetaWordId(200L, 3L))
                 .thenReturn(List.of(progress));
         when(studyWordProgressRepository.save(any(StudyWordProgress.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
-        when(studyRecordRepository.save(any(StudyRecord.class))).thenAnswer(invocation -> {
+        lenient().when(studyRecordRepository.save(any(StudyRecord.class))).thenAnswer(invocation -> {
             StudyRecord record = invocation.getArgument(0);
             record.setId(savedRecordId);
             return record;
         });
         lenient().when(studyDayTaskItemRepository.save(any(StudyDayTaskItem.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
-        when(studentAttentionDailyStatRepository.findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(200L, today))
+        lenient().when(studentAttentionDailyStatRepository
+                        .findByStudentStudyPlanIdAndTaskDateOrderByCreatedAtAsc(200L, today))
                 .thenReturn(List.of());
-        when(studentAttentionDailyStatRepository.save(any(StudentAttentionDailyStat.class)))
+        lenient().when(studentAttentionDailyStatRepository.save(any(StudentAttentionDailyStat.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
-        when(studentAttentionDailyStatRepository.findByStudentStudyPlanIdOrderByTaskDateDesc(200L))
-                .thenReturn(List.of());
         when(studyDayTaskItemRepository.findByStudyDayTaskIdOrderByTaskOrderAsc(300L))
                 .thenReturn(List.of(taskItem));
-        when(studyWordProgressRepository.findByStudentStudyPlanId(200L)).thenReturn(List.of(progress));
 
         RecordStudyRequest request = new RecordStudyRequest(
                 3L,
@@ -1087,7 +1385,7 @@ class StudyPlanServiceTest {
         task.setStatus(StudyDayTaskStatus.COMPLETED);
         task.setDeadlineAt(today.atTime(21, 30));
 
-        when(studentStudyPlanRepository.findByIdForUpdate(200L)).thenReturn(Optional.of(studentStudyPlan));
+        when(studentStudyPlanRepository.findById(200L)).thenReturn(Optional.of(studentStudyPlan));
         lenient().when(studyPlanRepository.findById(55L)).thenReturn(Optional.of(studyPlan));
         when(studyRecordRepository.findByRequestKey("replay-key")).thenReturn(Optional.of(existing));
         lenient().when(studyDayTaskRepository
@@ -1116,6 +1414,26 @@ class StudyPlanServiceTest {
     private record ReplayScenario(AppUser student, RecordStudyRequest request) {
     }
 
+    private StudyPlanDailyRollup dailyRollup(
+            LocalDate taskDate,
+            int taskCount,
+            int missedCount,
+            String completionRateTotal,
+            int wordsLearned
+    ) {
+        StudyPlanDailyRollup rollup = new StudyPlanDailyRollup();
+        rollup.setStudyPlanId(55L);
+        rollup.setClassroomId(100L);
+        rollup.setTaskDate(taskDate);
+        rollup.setTaskCount(taskCount);
+        rollup.setMissedCount(missedCount);
+        rollup.setCompletedCount(taskCount - missedCount);
+        rollup.setCompletionRateTotal(new BigDecimal(completionRateTotal));
+        rollup.setWordsLearned(wordsLearned);
+        rollup.setFinalized(true);
+        return rollup;
+    }
+
     private Classroom classroom(Long id, String name, Long teacherId) {
         Classroom classroom = new Classroom();
         classroom.setId(id);
@@ -1156,4 +1474,13 @@ class StudyPlanServiceTest {
         metaWord.setPhonetic("/" + word + "/");
         return metaWord;
     }
+
+    private DictionaryWordRepository.DisplayPosition displayPosition(Long id, Long metaWordId, int entryOrder) {
+        DictionaryWordRepository.DisplayPosition position = mock(DictionaryWordRepository.DisplayPosition.class);
+        when(position.getId()).thenReturn(id);
+        when(position.getMetaWordId()).thenReturn(metaWordId);
+        when(position.getSortKey()).thenReturn("");
+        when(position.getEntryOrder()).thenReturn(entryOrder);
+        return position;
+    }
 }
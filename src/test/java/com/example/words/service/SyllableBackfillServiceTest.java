@@ -33,7 +33,14 @@ class SyllableBackfillServiceTest {
                 )),
                 "book", entry("book", List.of(segment("boo", "/bʊ/")))
         ));
-        SyllableBackfillService service = new SyllableBackfillService(repository, ai);
+        List<String> bumpedKeys = new ArrayList<>();
+        ResourceVersionService resourceVersionService = new ResourceVersionService(null, null) {
+            @Override
+            public void bump(String... resourceKeys) {
+                bumpedKeys.addAll(List.of(resourceKeys));
+            }
+        };
+        SyllableBackfillService service = new SyllableBackfillService(repository, ai, resourceVersionService);
 
         SyllableBackfillResponse response = service.backfillPublishedPlanWords(50);
 
@@ -41,6 +48,7 @@ class SyllableBackfillServiceTest {
         assertEquals(1, response.getUpdated());
         assertEquals(2, response.getFailures().size());
         assertEquals(List.of(resilient), saved);
+        assertEquals(List.of(ResourceVersionService.META_WORDS), bumpedKeys);
         assertEquals("re", resilient.getSyllableDetail().getSegments().get(0).getText());
     }
 
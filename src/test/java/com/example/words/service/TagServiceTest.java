@@ -0,0 +1,98 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.words.dto.TagTreeNodeResponse;
+import com.example.words.dto.UpdateTagRequest;
+import com.example.words.model.Tag;
+import com.example.words.model.TagType;
+import com.example.words.repository.DictionaryWordRepository;
+import com.example.words.repository.TagRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TagServiceTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private DictionaryWordRepository dictionaryWordRepository;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    private TagService tagService;
+
+    @BeforeEach
+    void setUp() {
+        tagService = new TagService(tagRepository, dictionaryWordRepository, resourceVersionService);
+    }
+
+    @Test
+    void getTagTreeShouldServeCachedSnapshotUntilDictionaryVersionChanges() {
+        when(resourceVersionService.currentStamp(ResourceVersionService.DICTIONARIES, "dictionary:5"))
+                .thenReturn(new ResourceVersionService.VersionStamp("0.1", -1L))
+                .thenReturn(new ResourceVersionService.VersionStamp("0.1", -1L))
+                .thenReturn(new ResourceVersionService.VersionStamp("0.2", -1L));
+        when(tagRepository.findByDictionaryIdAndTypeOrderBySortKeyAsc(5L, TagType.CHAPTER))
+                .thenReturn(List.of(tag(1L, null, "Unit 1", "1"), tag(2L, 1L, "Lesson 1", "1/2")));
+
+        List<TagTreeNodeResponse> first = tagService.getTagTree(5L, TagType.CHAPTER);
+        List<TagTreeNodeResponse> second = tagService.getTagTree(5L, TagType.CHAPTER);
+        tagService.getTagTree(5L, TagType.CHAPTER);
+
+        assertSame(first, second);
+        assertEquals(1, first.size());
+        assertEquals(2L, first.get(0).getChildren().get(0).getId());
+        verify(tagRepository, times(2)).findByDictionaryIdAndTypeOrderBySortKeyAsc(5L, TagType.CHAPTER);
+    }
+
+    @Test
+    void updateTagShouldRewriteDescendantPathsWithSingleSubtreeUpdate() {
+        Tag moved = tag(3L, null, "Unit 3", "3");
+        Tag newParent = tag(1L, null, "Unit 1", "1");
+        newParent.setSortKey("000001");
+        when(tagRepository.findById(3L)).thenReturn(Optional.of(moved));
+        when(tagRepository.findById(1L)).thenReturn(Optional.of(newParent));
+        when(tagRepository.save(any(Tag.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UpdateTagRequest request = new UpdateTagRequest();
+        request.setName("Unit 3");
+        request.setParentId(1L);
+        request.setSortOrder(2);
+
+        Tag updated = tagService.updateTag(3L, request);
+
+        assertEquals("Unit 1 > Unit 3", updated.getPathName());
+        assertEquals("1/3", updated.getPathKey());
+        assertEquals("000001.000002", updated.getSortKey());
+        assertEquals(2, updated.getLevel());
+        verify(tagRepository).refreshDescendantPaths(3L);
+        verify(resourceVersionService).bump("dictionary:5", ResourceVersionService.META_WORDS);
+    }
+
+    private Tag tag(Long id, Long parentId, String name, String pathKey) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setDictionaryId(5L);
+        tag.setType(TagType.CHAPTER);
+        tag.setParentId(parentId);
+        tag.setName(name);
+        tag.setPathName(name);
+        tag.setPathKey(pathKey);
+        tag.setLevel(parentId == null ? 1 : 2);
+        return tag;
+    }
+}
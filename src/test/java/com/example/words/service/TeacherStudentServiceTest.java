@@ -46,6 +46,9 @@ class TeacherStudentServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private AuthorizationContextService authorizationContextService;
+
     private TeacherStudentService teacherStudentService;
 
     @BeforeEach
@@ -55,7 +58,8 @@ class TeacherStudentServiceTest {
                 classroomRepository,
                 classroomMemberRepository,
                 appUserRepository,
-                userService
+                userService,
+                authorizationContextService
         );
     }
 
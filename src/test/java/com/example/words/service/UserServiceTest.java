@@ -7,10 +7,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.example.words.dto.CreateUserRequest;
+import com.example.words.dto.UpdateUserStatusRequest;
 import com.example.words.dto.UserResponse;
 import com.example.words.model.AppUser;
 import com.example.words.model.UserRole;
+import com.example.words.model.UserStatus;
 import com.example.words.repository.AppUserRepository;
+import com.example.words.security.UserSnapshotCache;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,11 +35,19 @@ class UserServiceTest {
     @Mock
     private StudentPointAccountService studentPointAccountService;
 
+    @Mock
+    private UserSnapshotCache userSnapshotCache;
+
     private UserService userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserService(appUserRepository, passwordEncoder, studentPointAccountService);
+        userService = new UserService(
+                appUserRepository,
+                passwordEncoder,
+                studentPointAccountService,
+                userSnapshotCache
+        );
     }
 
     @Test
@@ -85,6 +97,22 @@ class UserServiceTest {
         verify(studentPointAccountService, never()).createForStudent(any());
     }
 
+    @Test
+    void updateStatusShouldEvictCachedUserSnapshot() {
+        AppUser user = new AppUser();
+        user.setId(101L);
+        user.setUsername("student.one");
+        user.setRole(UserRole.STUDENT);
+        user.setStatus(UserStatus.ACTIVE);
+        when(appUserRepository.findById(101L)).thenReturn(Optional.of(user));
+        when(appUserRepository.save(user)).thenReturn(user);
+
+        UserResponse response = userService.updateStatus(101L, new UpdateUserStatusRequest(UserStatus.DISABLED));
+
+        assertEquals(UserStatus.DISABLED, response.getStatus());
+        verify(userSnapshotCache).evict(101L);
+    }
+
     private void arrangeSavedUser(Long id) {
         when(appUserRepository.existsByUsername("student.one")).thenReturn(false);
         when(passwordEncoder.encode("password")).thenReturn("encoded-password");
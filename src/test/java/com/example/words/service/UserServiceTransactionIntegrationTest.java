@@ -10,6 +10,7 @@ import static org.mockito.Mockito.when;
 import com.example.words.dto.CreateUserRequest;
 import com.example.words.model.UserRole;
 import com.example.words.repository.AppUserRepository;
+import com.example.words.security.UserSnapshotCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +42,9 @@ class UserServiceTransactionIntegrationTest {
     @MockBean
     private StudentPointAccountService studentPointAccountService;
 
+    @MockBean
+    private UserSnapshotCache userSnapshotCache;
+
     @BeforeEach
     void setUp() {
         appUserRepository.deleteAll();
@@ -71,6 +71,9 @@ class VideoAssetServiceTest {
     @Mock
     private AppUserRepository appUserRepository;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     private TeacherStudentService teacherStudentService;
     private Set<Long> responsibleTeacherIds;
 
@@ -84,7 +87,7 @@ class VideoAssetServiceTest {
     @BeforeEach
     void setUp() {
         currentUserService = new CurrentUserService(appUserRepository);
-        accessControlService = new AccessControlService(null, null, null);
+        accessControlService = new AccessControlService(null);
         when(tencentStorageGateway.providerType()).thenReturn(VideoStorageProviderType.TENCENT_VOD);
         when(volcengineStorageGateway.providerType()).thenReturn(VideoStorageProviderType.VOLCENGINE_VOD);
         gatewayRegistry = new VideoStorageGatewayRegistry(List.of(tencentStorageGateway, volcengineStorageGateway));
@@ -100,7 +103,7 @@ class VideoAssetServiceTest {
             }
         };
         responsibleTeacherIds = Set.of();
-        teacherStudentService = new TeacherStudentService(null, null, null, null, null) {
+        teacherStudentService = new TeacherStudentService(null, null, null, null, null, null) {
             @Override
             public Set<Long> getResponsibleTeacherIdsForStudent(Long studentId) {
                 return responsibleTeacherIds;
@@ -119,7 +122,8 @@ class VideoAssetServiceTest {
                 videoStorageConfigService,
                 gatewayRegistry,
                 appUserRepository,
-                teacherStudentService
+                teacherStudentService,
+                resourceVersionService
         );
     }
 
@@ -69,7 +69,7 @@ class VideoStorageConfigServiceTest {
                 Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes())
         );
         currentUserService = new CurrentUserService(appUserRepository);
-        accessControlService = new AccessControlService(null, null, null);
+        accessControlService = new AccessControlService(null);
         when(tencentStorageGateway.providerType()).thenReturn(VideoStorageProviderType.TENCENT_VOD);
         when(volcengineStorageGateway.providerType()).thenReturn(VideoStorageProviderType.VOLCENGINE_VOD);
         gatewayRegistry = new VideoStorageGatewayRegistry(List.of(tencentStorageGateway, volcengineStorageGateway));
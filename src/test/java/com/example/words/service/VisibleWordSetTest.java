@@ -0,0 +1,41 @@
+package com.example.words.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class VisibleWordSetTest {
+
+    @Test
+    void containsShouldMatchOnlyAddedIds() {
+        VisibleWordSet words = VisibleWordSet.of(List.of(1_000_005L, 1_000_001L, 1_000_005L, 1_000_300L));
+
+        assertEquals(3, words.size());
+        assertTrue(words.contains(1_000_001L));
+        assertTrue(words.contains(1_000_005L));
+        assertTrue(words.contains(1_000_300L));
+        assertFalse(words.contains(1_000_000L));
+        assertFalse(words.contains(1_000_002L));
+        assertFalse(words.contains(1_000_301L));
+        assertFalse(words.contains(1L));
+        assertFalse(words.contains(null));
+    }
+
+    @Test
+    void ofShouldReturnEmptySetWhenNoIdsArePresent() {
+        assertSame(VisibleWordSet.EMPTY, VisibleWordSet.of(List.of()));
+        assertSame(VisibleWordSet.EMPTY, VisibleWordSet.of(Arrays.asList(null, null)));
+        assertFalse(VisibleWordSet.EMPTY.contains(0L));
+    }
+
+    @Test
+    void ofShouldRejectRangesThatDoNotFitABitSet() {
+        assertThrows(IllegalArgumentException.class, () -> VisibleWordSet.of(List.of(1L, Integer.MAX_VALUE + 2L)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.words.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+/**
+ * JPA slice against a real Postgres database migrated by Flyway, for behaviour H2 does not reproduce such as
+ * unique-key waits and query plans. Enabled with {@code -Dpostgres.integrationTest=true}; the database is read from
+ * {@code POSTGRES_TEST_URL}, {@code POSTGRES_TEST_USERNAME} and {@code POSTGRES_TEST_PASSWORD}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(properties = {
+        "spring.datasource.url=${POSTGRES_TEST_URL:jdbc:postgresql://localhost:5432/words_test}",
+        "spring.datasource.username=${POSTGRES_TEST_USERNAME:postgres}",
+        "spring.datasource.password=${POSTGRES_TEST_PASSWORD:postgres}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Tag("integration")
+@EnabledIfSystemProperty(named = "postgres.integrationTest", matches = "true")
+public @interface PostgresIntegrationTest {
+}